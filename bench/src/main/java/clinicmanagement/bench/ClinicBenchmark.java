@@ -0,0 +1,165 @@
+package clinicmanagement.bench;
+
+import clinicmanagement.Clinic;
+import clinicmanagement.ClinicalStaff;
+import clinicmanagement.Patient;
+import clinicmanagement.Room;
+import clinicmanagement.Staff;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of the clinic's lookups and of the room and
+ * discharge operations on clinics of 1,000, 100,000 and 1,000,000 patients.
+ *
+ * <p>Each lookup asks for a patient or staff member picked at random from the
+ * whole clinic, so the timings are the average over every position in the
+ * lists. Operations that change the clinic are arranged to leave it the same
+ * size: patients are moved back and forth between an exam room and an empty
+ * one, and a patient sent home is readmitted before the next call.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+@State(Scope.Thread)
+public class ClinicBenchmark {
+  private static final int PROBES = 1024;
+
+  @Param({"1000", "100000", "1000000"})
+  public int patients;
+
+  private SyntheticClinic synthetic;
+  private Clinic clinic;
+  private Patient[] patientProbes;
+  private int[] staffProbes;
+  private int nextProbe;
+  private boolean[] inSpareRoom;
+  private int nextMove;
+
+  /**
+   * Builds the clinic and picks the patients and staff to look up.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    synthetic = new SyntheticClinic(patients, 42);
+    clinic = synthetic.getClinic();
+    SplittableRandom random = new SplittableRandom(7);
+    patientProbes = new Patient[PROBES];
+    staffProbes = new int[PROBES];
+    for (int i = 0; i < PROBES; i++) {
+      patientProbes[i] = synthetic.getPatient(random.nextInt(synthetic.getPatientCount()));
+      staffProbes[i] = synthetic.getClinician(random.nextInt(synthetic.getClinicianCount()))
+          .getSerialNumber();
+    }
+    inSpareRoom = new boolean[SyntheticClinic.OCCUPIED_EXAM_ROOMS];
+  }
+
+  /**
+   * Gets the index of the next probe to use.
+   *
+   * @return The probe index.
+   */
+  private int nextProbe() {
+    nextProbe = (nextProbe + 1) & (PROBES - 1);
+    return nextProbe;
+  }
+
+  /**
+   * Finds a patient by first and last name.
+   *
+   * @return The patient found.
+   */
+  @Benchmark
+  public Patient findPatientByName() {
+    Patient patient = patientProbes[nextProbe()];
+    return clinic.findPatientByName(patient.getFirstName(), patient.getLastName());
+  }
+
+  /**
+   * Finds a clinician by serial number.
+   *
+   * @return The staff member found.
+   */
+  @Benchmark
+  public Staff findStaffBySerialNumber() {
+    return clinic.findStaffBySerialNumber(staffProbes[nextProbe()]);
+  }
+
+  /**
+   * Finds the room a patient is in.
+   *
+   * @return The patient's room.
+   */
+  @Benchmark
+  public Room getPatientCurrentRoom() {
+    return clinic.getPatientCurrentRoom(patientProbes[nextProbe()]);
+  }
+
+  /**
+   * Moves one of the exam room patients to its empty partner room, or back
+   * again, taking each patient in turn.
+   */
+  @Benchmark
+  public void assignPatientToRoom() {
+    int index = nextMove;
+    nextMove = (nextMove + 1) % SyntheticClinic.OCCUPIED_EXAM_ROOMS;
+    String roomName = inSpareRoom[index]
+        ? SyntheticClinic.examRoomName(index) : SyntheticClinic.spareExamRoomName(index);
+    clinic.assignPatientToRoom(synthetic.getPatient(index), roomName);
+    inSpareRoom[index] = !inSpareRoom[index];
+  }
+
+  /**
+   * Sends a waiting room patient home. Each call discharges a different
+   * patient, who is readmitted before the next call.
+   *
+   * @param discharge The patient to send home and the approving clinician.
+   */
+  @Benchmark
+  public void sendPatientHome(Discharge discharge) {
+    clinic.sendPatientHome(discharge.patient, discharge.approver);
+  }
+
+  /**
+   * The patient sent home by one {@link #sendPatientHome} call. Before each
+   * call the previous patient is registered again, which reactivates them in
+   * the waiting room, and the next waiting room patient is chosen.
+   */
+  @State(Scope.Thread)
+  public static class Discharge {
+    private Patient patient;
+    private ClinicalStaff approver;
+    private int next;
+
+    /**
+     * Readmits the last patient sent home and picks the next one.
+     *
+     * @param benchmark The benchmark whose clinic is used.
+     */
+    @Setup(Level.Invocation)
+    public void readmit(ClinicBenchmark benchmark) {
+      if (patient != null && patient.isDeactivated()) {
+        benchmark.clinic.registerNewPatient(patient);
+      }
+      SyntheticClinic synthetic = benchmark.synthetic;
+      int waiting = synthetic.getPatientCount() - SyntheticClinic.OCCUPIED_EXAM_ROOMS;
+      patient = synthetic.getPatient(SyntheticClinic.OCCUPIED_EXAM_ROOMS + next);
+      approver = synthetic.getClinician(next % synthetic.getClinicianCount());
+      next = (next + 7919) % waiting;
+    }
+  }
+}
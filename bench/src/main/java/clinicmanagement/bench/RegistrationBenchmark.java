@@ -0,0 +1,64 @@
+package clinicmanagement.bench;
+
+import clinicmanagement.Clinic;
+import clinicmanagement.Patient;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures registering new patients on clinics of 1,000, 100,000 and
+ * 1,000,000 patients.
+ *
+ * <p>Every registration makes the clinic bigger, so a timed run would measure
+ * an ever-growing clinic. Instead each iteration rebuilds the clinic and times
+ * one batch of {@link #BATCH} registrations; the score is the time per batch,
+ * and the throughput is {@link #BATCH} divided by that time.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = RegistrationBenchmark.BATCH)
+@Measurement(iterations = 20, batchSize = RegistrationBenchmark.BATCH)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+@State(Scope.Thread)
+public class RegistrationBenchmark {
+  /**
+   * The number of patients registered in each timed batch.
+   */
+  public static final int BATCH = 100;
+
+  @Param({"1000", "100000", "1000000"})
+  public int patients;
+
+  private Clinic clinic;
+  private int nextPatient;
+
+  /**
+   * Builds a fresh clinic for each batch.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    clinic = new SyntheticClinic(patients, 42).getClinic();
+  }
+
+  /**
+   * Registers a patient the clinic has not seen before.
+   *
+   * @return The registered patient.
+   */
+  @Benchmark
+  public Patient registerNewPatient() {
+    Patient patient = new Patient(1, "Newcomer" + nextPatient++, "Registrant", "6/15/1985");
+    return clinic.registerNewPatient(patient);
+  }
+}
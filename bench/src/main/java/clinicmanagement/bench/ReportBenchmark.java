@@ -0,0 +1,93 @@
+package clinicmanagement.bench;
+
+import clinicmanagement.Clinic;
+import clinicmanagement.ReportEngine;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long each clinic-wide report takes, run sequentially and on
+ * fork-join pools of 1, 2, 4 and 8 workers, on clinics of 100,000 and
+ * 1,000,000 patients with up to two visits each over the last 900 days.
+ *
+ * <p>A report engine caches its results until the clinic changes, so every call
+ * uses a new engine and the score is the time to compute the report rather
+ * than to read the cache. Comparing the {@code workers} scores of one report
+ * gives its speedup across cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class ReportBenchmark {
+  @Param({"100000", "1000000"})
+  public int patients;
+
+  /**
+   * The number of fork-join workers, or 0 to run the report sequentially.
+   */
+  @Param({"0", "1", "2", "4", "8"})
+  public int workers;
+
+  @Param
+  public ReportEngine.ReportType report;
+
+  private Clinic clinic;
+  private ForkJoinPool pool;
+
+  /**
+   * Builds the clinic, records the visits and starts the pool.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    SyntheticClinic synthetic = new SyntheticClinic(patients, 42);
+    clinic = synthetic.getClinic();
+    SplittableRandom random = new SplittableRandom(11);
+    LocalDateTime now = LocalDateTime.now();
+    for (int i = 0; i < synthetic.getPatientCount(); i++) {
+      int visits = random.nextInt(3);
+      for (int v = 0; v < visits; v++) {
+        synthetic.getPatient(i).addVisitRecord(now.minusDays(random.nextInt(900)),
+            "Checkup", 37.0);
+      }
+    }
+    pool = workers > 0 ? new ForkJoinPool(workers) : null;
+  }
+
+  /**
+   * Shuts the pool down.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Computes the report on a fresh engine.
+   *
+   * @return The number of rows in the report.
+   */
+  @Benchmark
+  public long computeReport() {
+    return new ReportEngine(clinic, pool).rows(report).count();
+  }
+}
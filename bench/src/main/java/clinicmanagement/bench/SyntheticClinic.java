@@ -0,0 +1,155 @@
+package clinicmanagement.bench;
+
+import clinicmanagement.Clinic;
+import clinicmanagement.ClinicalStaff;
+import clinicmanagement.Patient;
+import clinicmanagement.Room;
+import clinicmanagement.Staff;
+import java.util.SplittableRandom;
+
+/**
+ * Builds clinics of a chosen size for the benchmarks. The same size and seed
+ * always give the same clinic.
+ *
+ * <p>Room 1 is the waiting room and holds every patient except the first
+ * {@link #OCCUPIED_EXAM_ROOMS}, who each sit alone in an exam room. As many
+ * exam rooms again are left empty so patients can be moved between rooms.
+ * There is one clinician per 100 patients, at least 10, and every patient is
+ * on one clinician's caseload.
+ */
+public final class SyntheticClinic {
+  /**
+   * The number of exam rooms that start with a patient in them.
+   */
+  public static final int OCCUPIED_EXAM_ROOMS = 32;
+
+  private static final String[] LAST_NAMES = {
+      "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis",
+      "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson",
+      "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson",
+      "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson"
+  };
+
+  private final Clinic clinic;
+  private final Patient[] patients;
+  private final ClinicalStaff[] clinicians;
+
+  /**
+   * Builds a clinic.
+   *
+   * @param patientCount The number of patients, at least
+   *                     {@link #OCCUPIED_EXAM_ROOMS}.
+   * @param seed         The seed for dates of birth and name choice.
+   * @throws IllegalArgumentException if there are too few patients.
+   */
+  public SyntheticClinic(int patientCount, long seed) throws IllegalArgumentException {
+    if (patientCount < OCCUPIED_EXAM_ROOMS) {
+      throw new IllegalArgumentException("At least " + OCCUPIED_EXAM_ROOMS
+          + " patients are needed.");
+    }
+    SplittableRandom random = new SplittableRandom(seed);
+    clinic = new Clinic();
+    clinic.setName("Benchmark Clinic");
+    Room waitingRoom = new Room("0 0 80 10 waiting Lobby", 1);
+    clinic.addRoom(waitingRoom);
+    Room[] examRooms = new Room[OCCUPIED_EXAM_ROOMS * 2];
+    for (int i = 0; i < examRooms.length; i++) {
+      int x = (i % 8) * 10;
+      int y = 10 + (i / 8) * 10;
+      examRooms[i] = new Room(x + " " + y + " " + (x + 10) + " " + (y + 10)
+          + " exam Exam" + (i + 1), i + 2);
+      clinic.addRoom(examRooms[i]);
+    }
+
+    clinicians = new ClinicalStaff[Math.max(10, patientCount / 100)];
+    for (int i = 0; i < clinicians.length; i++) {
+      clinicians[i] = new ClinicalStaff(i % 3 == 0 ? "Nurse" : "Physician", "Clinician" + i,
+          LAST_NAMES[i % LAST_NAMES.length], Staff.EducationLevel.DOCTORAL,
+          String.format("%010d", i));
+    }
+
+    patients = new Patient[patientCount];
+    for (int i = 0; i < patientCount; i++) {
+      Room room = i < OCCUPIED_EXAM_ROOMS ? examRooms[i] : waitingRoom;
+      String dateOfBirth = (1 + random.nextInt(12)) + "/" + (1 + random.nextInt(28)) + "/"
+          + (1930 + random.nextInt(90));
+      Patient patient = new Patient(room.getRoomNumber(), "Patient" + i,
+          LAST_NAMES[random.nextInt(LAST_NAMES.length)], dateOfBirth);
+      patient.populateRoomInfo(room);
+      room.getAssignedPatients().add(patient);
+      clinic.addPatient(patient);
+      clinicians[i % clinicians.length].getAssignedPatients().add(patient);
+      patients[i] = patient;
+    }
+    for (ClinicalStaff clinician : clinicians) {
+      clinic.addStaff(clinician);
+    }
+  }
+
+  /**
+   * Gets the clinic.
+   *
+   * @return The clinic.
+   */
+  public Clinic getClinic() {
+    return clinic;
+  }
+
+  /**
+   * Gets a patient by the order it was added in.
+   *
+   * @param index The index, from 0.
+   * @return The patient.
+   */
+  public Patient getPatient(int index) {
+    return patients[index];
+  }
+
+  /**
+   * Gets the number of patients.
+   *
+   * @return The patient count.
+   */
+  public int getPatientCount() {
+    return patients.length;
+  }
+
+  /**
+   * Gets a clinician by the order it was added in.
+   *
+   * @param index The index, from 0.
+   * @return The clinician.
+   */
+  public ClinicalStaff getClinician(int index) {
+    return clinicians[index];
+  }
+
+  /**
+   * Gets the number of clinicians.
+   *
+   * @return The clinician count.
+   */
+  public int getClinicianCount() {
+    return clinicians.length;
+  }
+
+  /**
+   * Gets the name of the empty exam room paired with an occupied one.
+   *
+   * @param index The occupied exam room's index, below {@link #OCCUPIED_EXAM_ROOMS}.
+   * @return The empty room's name.
+   */
+  public static String spareExamRoomName(int index) {
+    return "Exam" + (OCCUPIED_EXAM_ROOMS + index + 1);
+  }
+
+  /**
+   * Gets the name of an exam room that starts occupied.
+   *
+   * @param index The index, below {@link #OCCUPIED_EXAM_ROOMS}.
+   * @return The room's name.
+   */
+  public static String examRoomName(int index) {
+    return "Exam" + (index + 1);
+  }
+}
@@ -0,0 +1,26 @@
+package clinicmanagement;
+
+/**
+ * Listener notified whenever a clinical staff member's caseload or lifetime
+ * patient count changes. The clinic's workload view uses it to keep its counts
+ * in step with the staff, however the caseload was changed, without recounting
+ * anything when the dashboard opens.
+ */
+public interface CaseloadListener {
+
+  /**
+   * Called after patients have been added to or removed from a caseload.
+   *
+   * @param clinicalStaff The clinical staff member whose caseload changed.
+   * @param delta         The change in the number of assigned patients.
+   */
+  void caseloadChanged(ClinicalStaff clinicalStaff, int delta);
+
+  /**
+   * Called after a patient has been counted for a clinical staff member for
+   * the first time.
+   *
+   * @param clinicalStaff The clinical staff member whose lifetime count grew.
+   */
+  void uniquePatientCounted(ClinicalStaff clinicalStaff);
+}
@@ -0,0 +1,145 @@
+package clinicmanagement;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An {@link Appendable} that encodes characters as UTF-8 straight into a
+ * byte channel. Characters are gathered in a fixed char buffer and encoded into
+ * a fixed direct byte buffer, so memory use stays the same however much text
+ * is written.
+ */
+public class ChannelWriter implements Appendable, Closeable {
+  private final WritableByteChannel channel;
+  private final CharsetEncoder encoder;
+  private final CharBuffer chars;
+  private final ByteBuffer bytes;
+  private boolean closed;
+
+  /**
+   * Creates a writer over a channel.
+   *
+   * @param channel    The channel to write to.
+   * @param bufferSize The size of the character and byte buffers.
+   * @throws IllegalArgumentException if the channel is null or the buffer size is too small.
+   */
+  public ChannelWriter(WritableByteChannel channel, int bufferSize)
+      throws IllegalArgumentException {
+    if (channel == null) {
+      throw new IllegalArgumentException("Channel cannot be null.");
+    }
+    if (bufferSize < 4) {
+      throw new IllegalArgumentException("Buffer size must be at least 4.");
+    }
+    this.channel = channel;
+    this.encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.chars = CharBuffer.allocate(bufferSize);
+    this.bytes = ByteBuffer.allocateDirect(bufferSize * 3);
+  }
+
+  @Override
+  public ChannelWriter append(char c) throws IOException {
+    if (!chars.hasRemaining()) {
+      encode(false);
+    }
+    chars.put(c);
+    return this;
+  }
+
+  @Override
+  public ChannelWriter append(CharSequence csq) throws IOException {
+    CharSequence text = csq == null ? "null" : csq;
+    return append(text, 0, text.length());
+  }
+
+  @Override
+  public ChannelWriter append(CharSequence csq, int start, int end) throws IOException {
+    CharSequence text = csq == null ? "null" : csq;
+    int position = start;
+    while (position < end) {
+      if (!chars.hasRemaining()) {
+        encode(false);
+      }
+      int count = Math.min(chars.remaining(), end - position);
+      for (int i = 0; i < count; i++) {
+        chars.put(text.charAt(position + i));
+      }
+      position += count;
+    }
+    return this;
+  }
+
+  /**
+   * Encodes and writes every buffered character to the channel.
+   *
+   * @throws IOException if writing fails.
+   */
+  public void flush() throws IOException {
+    encode(false);
+    writeBytes();
+  }
+
+  /**
+   * Flushes the remaining characters and closes the channel.
+   *
+   * @throws IOException if writing or closing fails.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      encode(true);
+      while (encoder.flush(bytes).isOverflow()) {
+        writeBytes();
+      }
+      writeBytes();
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Encodes the buffered characters into the byte buffer, writing it out
+   * whenever it fills. A trailing high surrogate stays buffered until its pair arrives.
+   *
+   * @param endOfInput True if no more characters will follow.
+   * @throws IOException if writing fails.
+   */
+  private void encode(boolean endOfInput) throws IOException {
+    chars.flip();
+    while (true) {
+      CoderResult result = encoder.encode(chars, bytes, endOfInput);
+      if (result.isOverflow()) {
+        writeBytes();
+      } else {
+        break;
+      }
+    }
+    chars.compact();
+  }
+
+  /**
+   * Writes the byte buffer to the channel and empties it.
+   *
+   * @throws IOException if writing fails.
+   */
+  private void writeBytes() throws IOException {
+    bytes.flip();
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+    bytes.clear();
+  }
+}
@@ -1,19 +1,29 @@
 package clinicmanagement;
 
 import java.awt.Dimension;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
+import java.awt.GraphicsEnvironment;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JScrollPane;
@@ -26,6 +36,8 @@ import javax.swing.JTextField;
  * patients, staff, and assignments.
  */
 public class Clinic implements ClinicInterface {
+  private static final DateTimeFormatter DOB_FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy");
+  private static final int MAX_VISIT_COUNTERS = 8;
   private String name;
   private final List<Room> rooms;
   private final List<Patient> patients;
@@ -33,17 +45,57 @@ public class Clinic implements ClinicInterface {
   private final Map<Room, Patient> roomAssignments;
   private final Map<Room, List<Patient>> waitingRoomAssignments;
   private final Map<Patient, List<Staff>> patientAssignments;
+  private final Clock clock;
+  private final Map<Integer, RollingVisitCounter> visitCounters;
+  private final VisitListener visitListener;
+  private final List<RoomListener> roomListeners;
+  private final OpenVisitIndex openVisitIndex;
+  private final StaffWorkloadView workloadView;
+  private final PatientIndex patientIndex;
+  private final StringDictionary strings;
+  private ClinicMapLayout mapLayout;
+  private long modelVersion;
+  private long rosterVersion;
+  private ReportEngine reportEngine;
 
   /**
    * Constructs a new clinic with empty lists and maps for rooms, patients, staff, and assignments.
    **/
   public Clinic() throws IllegalArgumentException {
+    this(Clock.systemDefaultZone());
+  }
+
+  /**
+   * Constructs a new clinic whose time-windowed logic reads the date from the
+   * given clock, so reports and deactivation dates can be reproduced exactly.
+   *
+   * @param clock The clock that decides the current date.
+   * @throws IllegalArgumentException if the clock is null.
+   */
+  public Clinic(Clock clock) throws IllegalArgumentException {
+    if (clock == null) {
+      throw new IllegalArgumentException("Clock cannot be null.");
+    }
+    this.clock = clock;
     rooms = new ArrayList<>();
     patients = new ArrayList<>();
     staff = new ArrayList<>();
     roomAssignments = new HashMap<>();
     waitingRoomAssignments = new HashMap<>();
     patientAssignments = new HashMap<>();
+    visitCounters = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, RollingVisitCounter> eldest) {
+        return size() > MAX_VISIT_COUNTERS;
+      }
+    };
+    visitListener = this::onVisitRecorded;
+    roomListeners = new ArrayList<>();
+    workloadView = new StaffWorkloadView();
+    openVisitIndex = new OpenVisitIndex(workloadView);
+    patientIndex = new PatientIndex(this);
+    strings = new StringDictionary();
+    reportEngine = new ReportEngine(this);
     if (rooms == null || patients == null || staff == null || roomAssignments == null
         ||
         waitingRoomAssignments == null || patientAssignments == null) {
@@ -78,6 +130,7 @@ public class Clinic implements ClinicInterface {
       throw new IllegalArgumentException("Name cannot be null.");
     }
     this.name = name;
+    modelChanged();
   }
 
   /**
@@ -92,6 +145,59 @@ public class Clinic implements ClinicInterface {
       throw new IllegalArgumentException("Room cannot be null.");
     }
     rooms.add(room);
+    mapLayout = null;
+    modelChanged();
+  }
+
+  /**
+   * Registers a listener to be told when the patients in a room change.
+   *
+   * @param listener The listener to add.
+   * @throws IllegalArgumentException if the listener is null.
+   */
+  @Override
+  public void addRoomListener(RoomListener listener) throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null.");
+    }
+    if (!roomListeners.contains(listener)) {
+      roomListeners.add(listener);
+    }
+  }
+
+  /**
+   * Removes a room listener.
+   *
+   * @param listener The listener to remove.
+   */
+  @Override
+  public void removeRoomListener(RoomListener listener) {
+    roomListeners.remove(listener);
+  }
+
+  /**
+   * Notifies the room listeners that a room's assigned patients changed.
+   *
+   * @param room The room that changed.
+   */
+  private void fireRoomOccupantsChanged(Room room) {
+    for (RoomListener listener : roomListeners) {
+      listener.roomOccupantsChanged(room);
+    }
+  }
+
+  /**
+   * Gets the map layout of the current rooms, building it the first time it is
+   * needed after the rooms change.
+   *
+   * @return The map layout, or null if the clinic has no rooms.
+   */
+  @Override
+  public ClinicMapLayout getMapLayout() {
+    if (mapLayout == null && !rooms.isEmpty()) {
+      mapLayout = new ClinicMapLayout(rooms);
+    }
+    return mapLayout;
   }
 
   @Override
@@ -100,6 +206,10 @@ public class Clinic implements ClinicInterface {
       throw new IllegalArgumentException("Patient cannot be null.");
     }
     patients.add(patient);
+    patient.setClock(clock);
+    patient.setStringDictionary(strings);
+    patient.addVisitListener(visitListener);
+    rosterChanged();
   }
 
 
@@ -111,10 +221,16 @@ public class Clinic implements ClinicInterface {
    */
   @Override
   public void addStaff(Staff staffMember) throws IllegalArgumentException {
-    if (staff == null) {
+    if (staffMember == null) {
       throw new IllegalArgumentException("Staff cannot be null.");
     }
+    staffMember.internNames(strings);
     staff.add(staffMember);
+    if (staffMember instanceof ClinicalStaff) {
+      workloadView.register((ClinicalStaff) staffMember);
+      openVisitIndex.staffAdded((ClinicalStaff) staffMember);
+    }
+    modelChanged();
   }
 
   /**
@@ -138,23 +254,23 @@ public class Clinic implements ClinicInterface {
       if (existingPatient != null && existingPatient.isDeactivated()) {
         // Reactivate the existing patient
         existingPatient.setReactivated();
+        rosterChanged();
         // Update the existing patient's room information and add them to the room
         Room room = getRoomByNumber(1); // Assuming logic to get the correct room number
         if (room != null) {
           existingPatient.setRoomName(room.getName());
           existingPatient.setRoomType(room.getType());
           room.getAssignedPatients().add(existingPatient); // Add the patient to the room's list
-          JOptionPane.showMessageDialog(null,
+          fireRoomOccupantsChanged(room);
+          showMessage(
               "Duplicate patient found. Reactivated patient: " + existingPatient.getFullName());
           return existingPatient;
         } else {
-          JOptionPane.showMessageDialog(null,
-              "Primary Waiting Room with number " + 1 + " not found.");
+          showMessage("Primary Waiting Room with number " + 1 + " not found.");
         }
       } else {
         // Inform user about the duplicate patient
-        JOptionPane.showMessageDialog(null,
-            "Duplicate patient found. This patient is already registered.");
+        showMessage("Duplicate patient found. This patient is already registered.");
       }
     } else {
       // Proceed with registering the new patient
@@ -163,17 +279,20 @@ public class Clinic implements ClinicInterface {
         newPatient.setRoomName(room.getName());
         newPatient.setRoomType(room.getType());
         room.getAssignedPatients().add(newPatient); // Add the patient to the room's list
+        fireRoomOccupantsChanged(room);
         patients.add(newPatient); // Also add the patient to the clinic's overall list
+        newPatient.setClock(clock);
+        newPatient.setStringDictionary(strings);
+        newPatient.addVisitListener(visitListener);
         roomAssignments.put(room, newPatient); // Update room assignments map
-        JOptionPane.showMessageDialog(null,
-            "Patient " + newPatient.getFullName()
-                + " registered successfully in room "
-                + room.getRoomNumber() + ": " + room.getName()
-                + " (Type: " + room.getType() + ")");
+        rosterChanged();
+        showMessage("Patient " + newPatient.getFullName()
+            + " registered successfully in room "
+            + room.getRoomNumber() + ": " + room.getName()
+            + " (Type: " + room.getType() + ")");
         return newPatient;
       } else {
-        JOptionPane.showMessageDialog(null,
-            "Room with number " + 1 + " not found.");
+        showMessage("Room with number " + 1 + " not found.");
       }
     }
     return null; // Return null if patient registration fails
@@ -246,7 +365,11 @@ public class Clinic implements ClinicInterface {
 
     // Remove the patient from any room assignments
     if (rooms != null) {
-      rooms.forEach(room -> room.getAssignedPatients().remove(patient));
+      rooms.forEach(room -> {
+        if (room.getAssignedPatients().remove(patient)) {
+          fireRoomOccupantsChanged(room);
+        }
+      });
     }
 
     // Remove the patient from any clinical staff's list of assigned patients
@@ -257,6 +380,8 @@ public class Clinic implements ClinicInterface {
         }
       });
     }
+    openVisitIndex.patientDischarged(patient);
+    rosterChanged();
   }
 
 
@@ -271,6 +396,8 @@ public class Clinic implements ClinicInterface {
         // Assuming getAssignedPatients is mutable
         clinicalStaffMember.assignPatientforCount(patientToStaff);
         // Handle patient count
+        modelChanged();
+        openVisitIndex.patientAssigned(clinicalStaffMember, patientToStaff);
 
         // GUI feedback
         JOptionPane.showMessageDialog(null,
@@ -297,6 +424,150 @@ public class Clinic implements ClinicInterface {
 
 
 
+  /**
+   * Removes a clinical staff member from a patient's care team.
+   *
+   * @param patient       The patient to unassign the staff member from.
+   * @param clinicalStaff The clinical staff member to unassign.
+   * @throws IllegalArgumentException if the patient or staff member is null.
+   */
+  @Override
+  public void unassignClinicalStaffFromPatient(Patient patient, ClinicalStaff clinicalStaff)
+      throws IllegalArgumentException {
+    if (patient == null || clinicalStaff == null) {
+      throw new IllegalArgumentException("Patient and clinical staff cannot be null.");
+    }
+    patient.unassignClinicalStaff(clinicalStaff);
+    clinicalStaff.getAssignedPatients().remove(patient);
+    openVisitIndex.patientUnassigned(clinicalStaff, patient);
+    modelChanged();
+  }
+
+  /**
+   * Deactivates a clinical staff member and removes them from every active
+   * patient's care team.
+   *
+   * @param clinicalStaff The clinical staff member to deactivate.
+   * @throws IllegalArgumentException if the staff member is null.
+   */
+  @Override
+  public void deactivateClinicalStaff(ClinicalStaff clinicalStaff)
+      throws IllegalArgumentException {
+    if (clinicalStaff == null) {
+      throw new IllegalArgumentException("Clinical staff cannot be null.");
+    }
+    // Iterate through all patients and unassign the staff member
+    // using the unassignClinicalStaff method
+    for (Patient patient : getAllPatients()) {
+      if (patient.getAssignedClinicalStaff().contains(clinicalStaff)) {
+        patient.unassignClinicalStaff(clinicalStaff);
+      }
+    }
+
+    // Deactivate the staff member
+    clinicalStaff.setDeactivated(true);
+    openVisitIndex.staffDeactivated(clinicalStaff);
+    workloadView.staffDeactivated(clinicalStaff);
+    modelChanged();
+  }
+
+  /**
+   * Gets the clock that decides the current date for every time-windowed
+   * operation of the clinic.
+   *
+   * @return The clinic's clock.
+   */
+  @Override
+  public Clock getClock() {
+    return clock;
+  }
+
+  /**
+   * Gets the model version. The version starts at zero and increases every time
+   * the clinic's rooms, patients, staff, assignments or visits change.
+   *
+   * @return The current model version.
+   */
+  @Override
+  public long getModelVersion() {
+    return modelVersion;
+  }
+
+  /**
+   * Gets the roster version. The version starts at zero and increases only when
+   * a patient is added, registered, discharged or reactivated, so views of the
+   * patient list are not rebuilt when visits or assignments change.
+   *
+   * @return The current roster version.
+   */
+  @Override
+  public long getRosterVersion() {
+    return rosterVersion;
+  }
+
+  /**
+   * Advances the model version after a mutation.
+   */
+  private void modelChanged() {
+    modelVersion++;
+  }
+
+  /**
+   * Advances both the roster and the model version after a patient is added,
+   * registered, discharged or reactivated.
+   */
+  private void rosterChanged() {
+    rosterVersion++;
+    modelChanged();
+  }
+
+  /**
+   * Shows a message to the user in a dialog. Nothing is shown when there is no
+   * display, so the model can be driven by tools and benchmarks that run
+   * headless.
+   *
+   * @param message The message to show.
+   */
+  private void showMessage(String message) {
+    if (!GraphicsEnvironment.isHeadless()) {
+      JOptionPane.showMessageDialog(null, message);
+    }
+  }
+
+  /**
+   * Gets the live workload view of every clinical staff member, with open
+   * visit counts brought up to date as of today. The open visit index is
+   * built on the first call and pruned on the first call of each day; any
+   * other call only returns the view.
+   *
+   * @return The staff workload view.
+   */
+  @Override
+  public StaffWorkloadView getStaffWorkloadView() {
+    getOpenVisitIndex(LocalDate.now(clock).minusYears(1));
+    return workloadView;
+  }
+
+  /**
+   * Gets the index of patients with an open visit per clinical staff member,
+   * building it on first use and dropping visits older than the cutoff.
+   *
+   * @param cutoff The earliest last-visit date that still counts as open.
+   * @return The pruned open visit index.
+   * @throws IllegalArgumentException if the cutoff is null.
+   */
+  @Override
+  public OpenVisitIndex getOpenVisitIndex(LocalDate cutoff) throws IllegalArgumentException {
+    if (cutoff == null) {
+      throw new IllegalArgumentException("Cutoff date cannot be null.");
+    }
+    if (!openVisitIndex.isBuilt()) {
+      openVisitIndex.rebuild(getClinicalStaffList());
+    }
+    openVisitIndex.prune(cutoff);
+    return openVisitIndex;
+  }
+
   /**
    * Assigns a patient to a room, superseding any previous assignment.
    *
@@ -320,38 +591,36 @@ public class Clinic implements ClinicInterface {
         .orElse(null);
 
     if (roomToAssign == null) {
-      JOptionPane.showMessageDialog(null,
-          "Error: Room with name '" + roomName + "' not found.");
+      showMessage("Error: Room with name '" + roomName + "' not found.");
       return;
     }
 
     if (isRoomOccupied(roomName) && !roomToAssign.isWaitingRoom()) {
-      JOptionPane.showMessageDialog(null,
-          "Error: The selected room is already occupied by another patient.");
+      showMessage("Error: The selected room is already occupied by another patient.");
       return;
     }
 
     if (isPatientInExamOrProcedureRoom(patient) && roomToAssign.isWaitingRoom()) {
-      JOptionPane.showMessageDialog(null,
-          "Error: Patient is already in an Exam or "
-              +
-              "Procedure Room and cannot be assigned to a Waiting Room.");
+      showMessage("Error: Patient is already in an Exam or "
+          + "Procedure Room and cannot be assigned to a Waiting Room.");
       return;
     }
 
     // Remove the patient from their current room's assigned patient list
     Room currentRoom = getPatientCurrentRoom(patient);
     if (currentRoom != null && currentRoom.getName().equalsIgnoreCase(roomName)) {
-      JOptionPane.showMessageDialog(null,
-          "Error: Patient is already assigned to the specified room.");
+      showMessage("Error: Patient is already assigned to the specified room.");
       return;
     }
     if (currentRoom != null) {
       currentRoom.getAssignedPatients().remove(patient);
+      fireRoomOccupantsChanged(currentRoom);
     }
 
     // Assign the patient to the new room
     roomToAssign.getAssignedPatients().add(patient);
+    fireRoomOccupantsChanged(roomToAssign);
+    modelChanged();
 
     // Update the patient's room details
     patient.setRoomNumber(roomToAssign.getRoomNumber());
@@ -359,7 +628,7 @@ public class Clinic implements ClinicInterface {
     patient.setRoomType(roomToAssign.getType());
 
 
-    JOptionPane.showMessageDialog(null, "Patient "
+    showMessage("Patient "
         + patient.getFullName() + " assigned to room: " + roomName);
   }
 
@@ -485,32 +754,11 @@ public class Clinic implements ClinicInterface {
       throw new IllegalArgumentException("Staff list cannot be null.");
     }
 
-    StringBuilder staffListBuilder = new StringBuilder();
-    staffListBuilder.append("<html><body>Clinical Staff List:<br>");
-
-    for (Staff staffMember : staff) {
-      if (staffMember instanceof ClinicalStaff) {
-        ClinicalStaff clinicalStaff = (ClinicalStaff) staffMember;
-        if (!clinicalStaff.isDeactivated()) {
-          String prefix = clinicalStaff.getPrefix();
-          // getPrefix method should exist in ClinicalStaff
-          staffListBuilder.append("Serial Number: ")
-              .append(clinicalStaff.getSerialNumber()).append("<br>");
-          staffListBuilder.append("Name: ").append(prefix).append(" ")
-              .append(clinicalStaff.getFullName()).append("<br>");
-          staffListBuilder.append("Job Title: ").append(clinicalStaff
-              .getJobTitle()).append("<br>");
-          staffListBuilder.append("Education Level: ").append(clinicalStaff
-              .getEducationLevel()).append("<br>");
-          staffListBuilder.append("Unique Identifier (NPI): ").append(clinicalStaff
-              .getNpi()).append("<br>");
-          staffListBuilder.append("--------------------------<br>");
-        }
-      }
-    }
-
-    staffListBuilder.append("</body></html>");
-    JOptionPane.showMessageDialog(frame, staffListBuilder.toString(),
+    // The table reads each active clinical staff member's cells on demand
+    JTable table = new JTable(StaffTableModel.directory(this));
+    table.setPreferredScrollableViewportSize(new Dimension(700, 200));
+    table.setFillsViewportHeight(true);
+    JOptionPane.showMessageDialog(frame, new JScrollPane(table),
         "Clinical Staff List", JOptionPane.INFORMATION_MESSAGE);
   }
 
@@ -733,6 +981,48 @@ public class Clinic implements ClinicInterface {
   }
 
 
+  /**
+   * Retrieves a read-only view of every patient, active or not, in registration order.
+   * Unlike {@link #getAllPatients()} the list is not copied, and its spliterator is
+   * the backing array list's, so it splits evenly for parallel report runs.
+   *
+   * @return Read-only view of all Patient objects.
+   */
+  @Override
+  public List<Patient> getPatientRoster() {
+    return Collections.unmodifiableList(patients);
+  }
+
+  /**
+   * Gets the index that keeps the patients sorted by name for pickers and tables.
+   *
+   * @return The patient index.
+   */
+  @Override
+  public PatientIndex getPatientIndex() {
+    return patientIndex;
+  }
+
+  /**
+   * Creates a type-ahead picker over the active patients, searching the patient index.
+   *
+   * @return The patient picker, with the first patient selected.
+   */
+  private PatientPicker createActivePatientPicker() {
+    return new PatientPicker(patientIndex, PatientIndex.Filter.ACTIVE);
+  }
+
+  /**
+   * Retrieves a read-only view of every staff member, clinical or not, in
+   * registration order, without copying the list.
+   *
+   * @return Read-only view of all Staff objects.
+   */
+  @Override
+  public List<Staff> getStaffRoster() {
+    return Collections.unmodifiableList(staff);
+  }
+
   /**
    * Displays a GUI dialog to register a new patient and adds them to the clinic.
    *
@@ -756,7 +1046,7 @@ public class Clinic implements ClinicInterface {
         String firstName = firstNameField.getText().trim();
         String lastName = lastNameField.getText().trim();
         String dobStr = dobField.getText().trim();
-        LocalDate dob = LocalDate.parse(dobStr, DateTimeFormatter.ofPattern("M/d/yyyy"));
+        LocalDate dob = LocalDate.parse(dobStr, DOB_FORMATTER);
 
         // Placeholder for room number - ensure your Patient
         // constructor handles this appropriately
@@ -786,47 +1076,38 @@ public class Clinic implements ClinicInterface {
   @Override
   public void assignPatientToRoomGui(GuiController guiController) {
     try {
-      List<Patient> patients = getAllPatients();
-      if (patients.isEmpty()) {
+      PatientPicker patientPicker = createActivePatientPicker();
+      if (patientPicker.isRosterEmpty()) {
         JOptionPane.showMessageDialog(null,
             "No patients are currently registered.",
             "Error", JOptionPane.ERROR_MESSAGE);
         return;
       }
 
-      JComboBox<Patient> patientComboBox = new JComboBox<>(patients.toArray(new Patient[0]));
-      Object[] message = {"Select Patient:", patientComboBox};
+      Object[] message = {"Select Patient:", patientPicker};
       int option = JOptionPane.showConfirmDialog(null,
           message, "Assign Patient to Room", JOptionPane.OK_CANCEL_OPTION);
 
       if (option == JOptionPane.OK_OPTION) {
-        Patient selectedPatient = (Patient) patientComboBox.getSelectedItem();
+        Patient selectedPatient = patientPicker.getSelectedPatient();
         if (selectedPatient != null) {
           JOptionPane.showMessageDialog(guiController.frame,
               "Please click on the clinic map to select a room.",
               "Select Room", JOptionPane.INFORMATION_MESSAGE);
 
-          guiController.clinicMapLabel.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-              guiController.clinicMapLabel.removeMouseListener(this);
-              int x = e.getX();
-              int y = e.getY();
-              Room clickedRoom = ClinicMap.getRoomFromCoordinates(Clinic.this, x, y);
-
-              if (clickedRoom != null) {
-                try {
-                  assignPatientToRoom(selectedPatient, clickedRoom.getName());
-                  guiController.updateClinicMap(); // Call to update the clinic map
-                } catch (IllegalArgumentException ex) {
-                  JOptionPane.showMessageDialog(guiController.frame, ex.getMessage(),
-                      "Error", JOptionPane.ERROR_MESSAGE);
-                }
-              } else {
-                JOptionPane.showMessageDialog(guiController.frame,
-                    "No room found at the clicked location.", "Error",
-                    JOptionPane.ERROR_MESSAGE);
+          guiController.selectRoomOnMap(clickedRoom -> {
+            if (clickedRoom != null) {
+              try {
+                assignPatientToRoom(selectedPatient, clickedRoom.getName());
+                guiController.updateClinicMap(); // Call to update the clinic map
+              } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(guiController.frame, ex.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
               }
+            } else {
+              JOptionPane.showMessageDialog(guiController.frame,
+                  "No room found at the clicked location.", "Error",
+                  JOptionPane.ERROR_MESSAGE);
             }
           });
         } else {
@@ -847,27 +1128,20 @@ public class Clinic implements ClinicInterface {
    */
   @Override
   public void addVisitRecordGui(GuiController guiController) {
-    List<Patient> patients = getAllPatients();
-    if (patients.isEmpty()) {
+    PatientPicker patientPicker = createActivePatientPicker();
+    if (patientPicker.isRosterEmpty()) {
       JOptionPane.showMessageDialog(guiController.frame,
            "There are no registered patients to add a visit record for.",
           "No Patients", JOptionPane.INFORMATION_MESSAGE);
       return;
     }
 
-    JComboBox<Patient> patientComboBox = new JComboBox<>();
-    for (Patient patient : patients) {
-      if (!patient.isDeactivated()) { // Assuming isDeactivated is a method in Patient
-        patientComboBox.addItem(patient);
-      }
-    }
-
     int result = JOptionPane.showConfirmDialog(guiController.frame,
-         patientComboBox, "Select a patient to add a visit record for:",
+         patientPicker, "Select a patient to add a visit record for:",
         JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE);
 
     if (result == JOptionPane.OK_OPTION) {
-      Patient selectedPatient = (Patient) patientComboBox.getSelectedItem();
+      Patient selectedPatient = patientPicker.getSelectedPatient();
       if (selectedPatient != null) {
         // Displaying the selected patient's full information
         selectedPatient.displayPatientFullInformation(guiController);
@@ -885,10 +1159,14 @@ public class Clinic implements ClinicInterface {
    */
   @Override
   public void registerNewClinicalStaff(ClinicalStaff staffMember) throws IllegalArgumentException {
-    if (staff == null) {
+    if (staffMember == null) {
       throw new IllegalArgumentException("staff cannot be null.");
     }
+    staffMember.internNames(strings);
     staff.add(staffMember);
+    workloadView.register(staffMember);
+    openVisitIndex.staffAdded(staffMember);
+    modelChanged();
   }
 
   /**
@@ -955,30 +1233,28 @@ public class Clinic implements ClinicInterface {
   @Override
   public void assignStaffToPatientGui() {
     // Select a patient
-    JComboBox<Patient> patientComboBox = new JComboBox<>();
-    List<Patient> allPatients = getAllPatients();
-    if (allPatients.isEmpty()) {
+    PatientPicker patientPicker = createActivePatientPicker();
+    if (patientPicker.isRosterEmpty()) {
       JOptionPane.showMessageDialog(null,
           "There are no patients available for assignment.",
           "No Patients", JOptionPane.INFORMATION_MESSAGE);
       return;
     }
-    allPatients.forEach(patientComboBox::addItem);
 
     int patientChoice = JOptionPane.showConfirmDialog(null,
-        patientComboBox, "Select a Patient", JOptionPane.OK_CANCEL_OPTION,
+        patientPicker, "Select a Patient", JOptionPane.OK_CANCEL_OPTION,
         JOptionPane.QUESTION_MESSAGE);
     if (patientChoice != JOptionPane.OK_OPTION) {
       return;
     }
 
-    Patient selectedPatient = patientComboBox.getItemAt(patientComboBox
-        .getSelectedIndex());
+    Patient selectedPatient = patientPicker.getSelectedPatient();
+    if (selectedPatient == null) {
+      return;
+    }
 
     // Show patient information including assigned clinical staff
-    JOptionPane.showMessageDialog(null,
-        selectedPatient.getFullInformation(), "Patient Information",
-        JOptionPane.INFORMATION_MESSAGE);
+    PatientDetailsView.showDialog(null, selectedPatient, "Patient Information");
 
     // Select clinical staff, filtering out the deactivated and already assigned staff
     JComboBox<String> staffComboBox = new JComboBox<>();
@@ -1028,9 +1304,7 @@ public class Clinic implements ClinicInterface {
     assignClinicalStaffToPatient(selectedPatient, selectedStaff);
 
     // Show updated patient information
-    JOptionPane.showMessageDialog(null,
-        selectedPatient.getFullInformation(),
-        "Updated Patient Information", JOptionPane.INFORMATION_MESSAGE);
+    PatientDetailsView.showDialog(null, selectedPatient, "Updated Patient Information");
   }
 
 
@@ -1044,25 +1318,25 @@ public class Clinic implements ClinicInterface {
   @Override
   public void sendPatientHomeGui(GuiController guiController) {
     // Select a patient
-    JComboBox<Patient> patientComboBox = new JComboBox<>();
-    List<Patient> allPatients = getAllPatients();
-    if (allPatients.isEmpty()) {
+    PatientPicker patientPicker = createActivePatientPicker();
+    if (patientPicker.isRosterEmpty()) {
       JOptionPane.showMessageDialog(null,
           "There are no patients available.", "No Patients",
           JOptionPane.INFORMATION_MESSAGE);
       return;
     }
-    allPatients.forEach(patientComboBox::addItem);
 
-    int patientChoice = JOptionPane.showConfirmDialog(null, patientComboBox,
+    int patientChoice = JOptionPane.showConfirmDialog(null, patientPicker,
         "Select a Patient to Send Home", JOptionPane.OK_CANCEL_OPTION,
         JOptionPane.QUESTION_MESSAGE);
     if (patientChoice != JOptionPane.OK_OPTION) {
       return;
     }
 
-    Patient selectedPatient = patientComboBox.getItemAt(patientComboBox
-        .getSelectedIndex());
+    Patient selectedPatient = patientPicker.getSelectedPatient();
+    if (selectedPatient == null) {
+      return;
+    }
 
     // Select approving clinical staff (only Physicians)
     JComboBox<String> staffComboBox = new JComboBox<>();
@@ -1148,16 +1422,7 @@ public class Clinic implements ClinicInterface {
     String selectedStaffDisplay = (String) staffComboBox.getSelectedItem();
     ClinicalStaff selectedStaff = staffMap.get(selectedStaffDisplay);
 
-    // Iterate through all patients and unassign the staff member
-    // using the unassignClinicalStaff method
-    for (Patient patient : getAllPatients()) {
-      if (patient.getAssignedClinicalStaff().contains(selectedStaff)) {
-        patient.unassignClinicalStaff(selectedStaff);
-      }
-    }
-
-    // Deactivate the staff member
-    selectedStaff.setDeactivated(true);
+    deactivateClinicalStaff(selectedStaff);
 
     JOptionPane.showMessageDialog(null,
         "Clinical staff member " + selectedStaffDisplay
@@ -1170,23 +1435,11 @@ public class Clinic implements ClinicInterface {
    */
   @Override
   public void showPatientDetailsGui() {
-    // Initialize the patient selection combo box
-    JComboBox<Patient> patientComboBox = new JComboBox<>();
-    List<Patient> allPatients = getAllPatients(); // Retrieve all patients
-    if (allPatients.isEmpty()) {
-      JOptionPane.showMessageDialog(null,
-          "There are no patients available.",
-          "No Patients", JOptionPane.INFORMATION_MESSAGE);
-      return;
-    }
-
-    // Add only active patients to the combo box
-    allPatients.stream()
-        .filter(patient -> !patient.isDeactivated())
-        .forEach(patientComboBox::addItem);
+    // Initialize the patient selection combo box with the active patients
+    PatientPicker patientPicker = createActivePatientPicker();
 
     // Show a message if there are no active patients
-    if (patientComboBox.getItemCount() == 0) {
+    if (patientPicker.isRosterEmpty()) {
       JOptionPane.showMessageDialog(null,
           "There are no active patients available.",
           "No Active Patients", JOptionPane.INFORMATION_MESSAGE);
@@ -1195,7 +1448,7 @@ public class Clinic implements ClinicInterface {
 
     // Show the combo box in a confirm dialog
     int patientChoice = JOptionPane.showConfirmDialog(null,
-        patientComboBox, "Select an Active Patient", JOptionPane.OK_CANCEL_OPTION,
+        patientPicker, "Select an Active Patient", JOptionPane.OK_CANCEL_OPTION,
         JOptionPane.QUESTION_MESSAGE);
     if (patientChoice != JOptionPane.OK_OPTION) {
       return;
@@ -1203,10 +1456,11 @@ public class Clinic implements ClinicInterface {
     // User cancelled or closed the dialog
 
     // Retrieve the selected patient and display their full information
-    Patient selectedPatient = (Patient) patientComboBox.getSelectedItem();
-    String patientDetails = selectedPatient.getFullInformation();
-    JOptionPane.showMessageDialog(null, patientDetails,
-        "Patient Details", JOptionPane.INFORMATION_MESSAGE);
+    Patient selectedPatient = patientPicker.getSelectedPatient();
+    if (selectedPatient == null) {
+      return;
+    }
+    PatientDetailsView.showDialog(null, selectedPatient, "Patient Details");
   }
 
   /**
@@ -1216,30 +1470,28 @@ public class Clinic implements ClinicInterface {
   @Override
   public void unassignStaffFromPatientGui() {
     // Select a patient
-    JComboBox<Patient> patientComboBox = new JComboBox<>();
-    List<Patient> allPatients = getAllPatients();  // Retrieve all patients
-    if (allPatients.isEmpty()) {
+    PatientPicker patientPicker = createActivePatientPicker();
+    if (patientPicker.isRosterEmpty()) {
       JOptionPane.showMessageDialog(null,
           "There are no patients available.", "No Patients",
           JOptionPane.INFORMATION_MESSAGE);
       return;
     }
-    allPatients.forEach(patientComboBox::addItem);
 
     int patientChoice = JOptionPane.showConfirmDialog(null,
-        patientComboBox, "Select a Patient", JOptionPane.OK_CANCEL_OPTION,
+        patientPicker, "Select a Patient", JOptionPane.OK_CANCEL_OPTION,
         JOptionPane.QUESTION_MESSAGE);
     if (patientChoice != JOptionPane.OK_OPTION) {
       return;
     }
 
-    Patient selectedPatient = patientComboBox.getItemAt(patientComboBox
-        .getSelectedIndex());
+    Patient selectedPatient = patientPicker.getSelectedPatient();
+    if (selectedPatient == null) {
+      return;
+    }
 
     // Show patient information including assigned clinical staff
-    JOptionPane.showMessageDialog(null,
-        selectedPatient.getFullInformation(), "Patient Information",
-        JOptionPane.INFORMATION_MESSAGE);
+    PatientDetailsView.showDialog(null, selectedPatient, "Patient Information");
 
     // Select clinical staff to unassign
     JComboBox<String> staffComboBox = new JComboBox<>();
@@ -1281,13 +1533,10 @@ public class Clinic implements ClinicInterface {
     }
 
     // Unassign the selected staff from the selected patient
-    selectedPatient.unassignClinicalStaff(selectedStaff);
-    selectedStaff.getAssignedPatients().remove(selectedPatient);
+    unassignClinicalStaffFromPatient(selectedPatient, selectedStaff);
 
     // Show updated patient information
-    JOptionPane.showMessageDialog(null,
-        selectedPatient.getFullInformation(),
-        "Updated Patient Information", JOptionPane.INFORMATION_MESSAGE);
+    PatientDetailsView.showDialog(null, selectedPatient, "Updated Patient Information");
   }
 
   /**
@@ -1296,29 +1545,8 @@ public class Clinic implements ClinicInterface {
    */
   @Override
   public void listClinicalStaffAndPatientCountsGui() {
-    // Create column names for the JTable
-    String[] columnNames = {"Name", "Serial Number",
-        "Unique Patients Assigned", "Status"};
-
-    // Retrieve the clinical staff list
-    List<ClinicalStaff> clinicalStaffList = getClinicalStaffList();
-    // Assuming this method returns all clinical staff members
-
-    // Create a two-dimensional Object array to hold the table data
-    Object[][] data = new Object[clinicalStaffList.size()][4];
-
-    // Fill the data array with clinical staff information
-    int i = 0;
-    for (ClinicalStaff clinicalStaff : clinicalStaffList) {
-      data[i][0] = clinicalStaff.getFullName();
-      data[i][1] = clinicalStaff.getSerialNumber();
-      data[i][2] = clinicalStaff.getUniquePatientCount();
-      data[i][3] = clinicalStaff.isDeactivated() ? "Inactive" : "Active";
-      i++;
-    }
-
-    // Create a JTable to display the clinical staff and their patient counts
-    JTable table = new JTable(data, columnNames);
+    // Create a JTable that reads the counts straight from the workload view
+    JTable table = new JTable(StaffTableModel.workload(this));
     table.setPreferredScrollableViewportSize(new Dimension(500, 70));
     table.setFillsViewportHeight(true);
 
@@ -1339,27 +1567,15 @@ public class Clinic implements ClinicInterface {
   public void listInactivePatientsForYearGui() {
     StringBuilder sb = new StringBuilder();
     sb.append("Listing patients with last visit record more than a year ago:\n");
-    boolean foundInactivePatient = false;
-
-    // Assuming getAllPatients retrieves all patients, including deactivated ones
-    List<Patient> allPatients = getAllPatients();
-
-    for (Patient patient : allPatients) {
-      List<Visitrecord> visitRecords = patient.getVisitRecords();
-      if (!visitRecords.isEmpty()) {
-        Visitrecord lastVisit = visitRecords.get(visitRecords.size() - 1);
-        long daysSinceLastVisit = ChronoUnit.DAYS.between(lastVisit
-            .getRegistrationDateTime().toLocalDate(), LocalDate.now());
-
-        if (daysSinceLastVisit > 365) {
-          foundInactivePatient = true;
-          sb.append("Patient Serial Number: ").append(patient.getSerialNumber())
-              .append(", Name: ").append(patient.getFullName())
-              .append(", Last Visit Date: ")
-              .append(lastVisit.getRegistrationDateTime().toLocalDate())
-              .append("\n");
-        }
-      }
+    List<ReportEngine.InactivePatientRow> rows = reportEngine.inactivePatients()
+        .collect(Collectors.toList());
+    boolean foundInactivePatient = !rows.isEmpty();
+
+    for (ReportEngine.InactivePatientRow row : rows) {
+      sb.append("Patient Serial Number: ").append(row.getSerialNumber())
+          .append(", Name: ").append(row.getName())
+          .append(", Last Visit Date: ").append(row.getLastVisitDate())
+          .append("\n");
     }
 
     if (!foundInactivePatient) {
@@ -1388,37 +1604,23 @@ public class Clinic implements ClinicInterface {
                                                        GuiController guiController) {
     StringBuilder sb = new StringBuilder();
     sb.append("Clinical Staff with Active Patients and Incomplete Visits:\n");
-    for (ClinicalStaff clinicalStaff : clinicalStaffList) {
-      if (!clinicalStaff.isDeactivated()) {
-        List<Patient> assignedPatients = clinicalStaff.getAssignedPatients();
-        boolean hasIncompleteVisit = false;
-        for (Patient patient : assignedPatients) {
-          // Check if the patient has at least one active visit
-          List<Visitrecord> visitRecords = patient.getVisitRecords();
-          if (!visitRecords.isEmpty()) {
-            Visitrecord lastVisit = visitRecords.get(visitRecords.size() - 1);
-            if (!patient.isDeactivated() && lastVisit.islastvisitwithinayear()) {
-              hasIncompleteVisit = true;
-              break;
-            }
-          }
-        }
-        if (hasIncompleteVisit) {
-          sb.append("Name: ").append(clinicalStaff.getFullName()).append("\n");
-          sb.append("Job Title: ").append(clinicalStaff.getJobTitle()).append("\n");
-          sb.append("Currently Assigned Patients with Incomplete Visits:\n");
-          for (Patient patient : assignedPatients) {
-            List<Visitrecord> visitRecords = patient.getVisitRecords();
-            if (!visitRecords.isEmpty()) {
-              Visitrecord lastVisit = visitRecords.get(visitRecords.size() - 1);
-              if (!patient.isDeactivated() && lastVisit.islastvisitwithinayear()) {
-                sb.append("- ").append(patient.getFullName()).append("\n");
-              }
-            }
-          }
+    int currentStaffSerial = -1;
+    List<ReportEngine.IncompleteVisitRow> rows = reportEngine
+        .staffWithIncompleteVisits(clinicalStaffList).collect(Collectors.toList());
+    for (ReportEngine.IncompleteVisitRow row : rows) {
+      if (row.getStaffSerialNumber() != currentStaffSerial) {
+        if (currentStaffSerial != -1) {
           sb.append("--------------------------\n");
         }
+        currentStaffSerial = row.getStaffSerialNumber();
+        sb.append("Name: ").append(row.getStaffName()).append("\n");
+        sb.append("Job Title: ").append(row.getJobTitle()).append("\n");
+        sb.append("Currently Assigned Patients with Incomplete Visits:\n");
       }
+      sb.append("- ").append(row.getPatientName()).append("\n");
+    }
+    if (currentStaffSerial != -1) {
+      sb.append("--------------------------\n");
     }
 
     // Display the information in a JOptionPane dialog
@@ -1436,49 +1638,332 @@ public class Clinic implements ClinicInterface {
    */
   @Override
   public void listPatientsWithMultipleVisitsInLastYear(GuiController guiController) {
-    StringBuilder sb = new StringBuilder();
-    sb.append("Patients with two or more visits in the past 365 days:\n");
-    LocalDate oneYearAgo = LocalDate.now().minusDays(365);
-
-    for (Patient patient : getAllPatients()) {
-      int recentVisitCount = 0;
+    listPatientsWithMultipleVisitsGui(guiController, 2, 365);
+  }
 
-      for (Visitrecord visitRecord : patient.getVisitRecords()) {
-        if (visitRecord.getRegistrationDateTime().toLocalDate().isAfter(oneYearAgo)) {
-          recentVisitCount++;
-        }
-      }
+  /**
+   * Displays a GUI dialog showing patients with at least a number of visits
+   * inside a rolling window of days.
+   *
+   * @param guiController The GUI controller object.
+   * @param minVisits     The minimum number of visits.
+   * @param windowDays    The length of the window in days.
+   */
+  @Override
+  public void listPatientsWithMultipleVisitsGui(GuiController guiController,
+                                                int minVisits, int windowDays) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Patients with ").append(minVisits).append(" or more visits in the past ")
+        .append(windowDays).append(" days:\n");
 
-      if (recentVisitCount >= 2) {
+    reportEngine.patientsWithMultipleVisits(minVisits, windowDays).forEach(row ->
         sb.append("Patient: ")
-            .append(patient.getFullName())
+            .append(row.getName())
             .append(" - Serial Number: ")
-            .append(patient.getSerialNumber())
-            .append(" - Number of Visits in Last Year: ")
-            .append(recentVisitCount)
-            .append("\n");
-      }
-    }
+            .append(row.getSerialNumber())
+            .append(" - Number of Visits in Last ").append(windowDays).append(" Days: ")
+            .append(row.getVisitCount())
+            .append("\n"));
 
     // Display the information in a JOptionPane dialog
     JTextArea textArea = new JTextArea(sb.toString());
     textArea.setEditable(false);
     JScrollPane scrollPane = new JScrollPane(textArea);
     JOptionPane.showMessageDialog(guiController.frame, scrollPane,
-        "Patients with Multiple Visits in Last Year",
+        "Patients with Multiple Visits in Last " + windowDays + " Days",
         JOptionPane.INFORMATION_MESSAGE);
   }
 
+  /**
+   * Prompts for a visit threshold and window length, then displays the
+   * patients that meet them.
+   *
+   * @param guiController The GUI controller object.
+   */
+  @Override
+  public void listPatientsByVisitFrequencyGui(GuiController guiController) {
+    JTextField minVisitsField = new JTextField("3");
+    JTextField windowDaysField = new JTextField("90");
+    Object[] message = {
+        "Minimum Number of Visits:", minVisitsField,
+        "Window Length (days):", windowDaysField,
+    };
+
+    int option = JOptionPane.showConfirmDialog(guiController.frame,
+        message, "List Patients by Visit Frequency", JOptionPane.OK_CANCEL_OPTION);
+    if (option != JOptionPane.OK_OPTION) {
+      return;
+    }
+
+    try {
+      int minVisits = Integer.parseInt(minVisitsField.getText().trim());
+      int windowDays = Integer.parseInt(windowDaysField.getText().trim());
+      listPatientsWithMultipleVisitsGui(guiController, minVisits, windowDays);
+    } catch (NumberFormatException e) {
+      JOptionPane.showMessageDialog(guiController.frame,
+          "Please enter whole numbers for the visit count and window length.",
+          "Error", JOptionPane.ERROR_MESSAGE);
+    }
+  }
+
+  /**
+   * Finds active patients with at least a number of visits inside a rolling
+   * window of days. Counts are maintained as visits are recorded, so this is a
+   * filter over ready-made counts rather than a scan of every visit record.
+   *
+   * @param minVisits  The minimum number of visits.
+   * @param windowDays The length of the window in days.
+   * @return The matching patients, ordered by serial number.
+   * @throws IllegalArgumentException if either value is not positive.
+   */
+  @Override
+  public List<Patient> findPatientsWithRecentVisits(int minVisits, int windowDays)
+      throws IllegalArgumentException {
+    if (minVisits <= 0) {
+      throw new IllegalArgumentException("Minimum number of visits must be positive.");
+    }
+    List<Patient> result = new ArrayList<>();
+    for (Patient patient : getVisitCounter(windowDays).patientsWithAtLeast(minVisits)) {
+      if (!patient.isDeactivated()) {
+        result.add(patient);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the number of visits a patient has inside a rolling window of days.
+   *
+   * @param patient    The patient to look up.
+   * @param windowDays The length of the window in days.
+   * @return The number of visits inside the window.
+   * @throws IllegalArgumentException if the patient is null or the window is not positive.
+   */
+  @Override
+  public int getRecentVisitCount(Patient patient, int windowDays)
+      throws IllegalArgumentException {
+    if (patient == null) {
+      throw new IllegalArgumentException("Patient cannot be null.");
+    }
+    return getVisitCounter(windowDays).getCount(patient);
+  }
+
+  /**
+   * Gets the dictionary that the clinic's names and chief complaints are
+   * interned through.
+   *
+   * @return The string dictionary.
+   */
+  @Override
+  public StringDictionary getStringDictionary() {
+    return strings;
+  }
+
+  /**
+   * Finds the patients with at least one visit for a chief complaint. The
+   * complaint is looked up once and visits are matched by dictionary id.
+   *
+   * @param chiefComplaint The complaint, matched exactly.
+   * @return The matching patients, in roster order.
+   * @throws IllegalArgumentException if the complaint is null.
+   */
+  @Override
+  public List<Patient> findPatientsWithComplaint(String chiefComplaint)
+      throws IllegalArgumentException {
+    if (chiefComplaint == null) {
+      throw new IllegalArgumentException("Chief complaint cannot be null.");
+    }
+    int complaintId = strings.idOf(chiefComplaint);
+    List<Patient> result = new ArrayList<>();
+    if (complaintId == StringDictionary.NO_ID) {
+      return result;
+    }
+    for (Patient patient : patients) {
+      if (patient.countVisitsWithComplaint(complaintId) > 0) {
+        result.add(patient);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the engine that computes this clinic's reports as typed rows.
+   *
+   * @return The report engine.
+   */
+  @Override
+  public ReportEngine getReportEngine() {
+    return reportEngine;
+  }
+
+  /**
+   * Switches the clinic's reports between sequential and parallel execution.
+   *
+   * @param pool The fork-join pool to run reports on, or null to run them sequentially.
+   */
+  public void setReportPool(ForkJoinPool pool) {
+    reportEngine = new ReportEngine(this, pool);
+  }
+
+  /**
+   * Displays a GUI dialog to pick a report and a format, then streams the
+   * report rows to the chosen file as CSV or newline delimited JSON.
+   *
+   * @param guiController The GUI controller object.
+   */
+  @Override
+  public void exportReportGui(GuiController guiController) {
+    JComboBox<ReportEngine.ReportType> reportComboBox =
+        new JComboBox<>(ReportEngine.ReportType.values());
+    JComboBox<String> formatComboBox = new JComboBox<>(new String[] {"CSV", "JSON"});
+    Object[] message = {
+        "Report:", reportComboBox,
+        "Format:", formatComboBox,
+    };
+
+    int option = JOptionPane.showConfirmDialog(guiController.frame,
+        message, "Export Report", JOptionPane.OK_CANCEL_OPTION);
+    if (option != JOptionPane.OK_OPTION) {
+      return;
+    }
+
+    ReportEngine.ReportType reportType =
+        (ReportEngine.ReportType) reportComboBox.getSelectedItem();
+    boolean csv = "CSV".equals(formatComboBox.getSelectedItem());
+    JFileChooser fileChooser = new JFileChooser();
+    fileChooser.setDialogTitle("Save Report");
+    fileChooser.setSelectedFile(new File(reportType.name().toLowerCase()
+        + (csv ? ".csv" : ".json")));
+    if (fileChooser.showSaveDialog(guiController.frame) != JFileChooser.APPROVE_OPTION) {
+      return;
+    }
+
+    ReportWriter writer = csv ? new CsvReportWriter() : new JsonReportWriter();
+    try (Writer out = Files.newBufferedWriter(fileChooser.getSelectedFile().toPath(),
+        StandardCharsets.UTF_8)) {
+      writer.write(reportType.getColumns(), reportEngine.rows(reportType), out);
+      JOptionPane.showMessageDialog(guiController.frame,
+          "Report exported to " + fileChooser.getSelectedFile().getAbsolutePath(),
+          "Export Report", JOptionPane.INFORMATION_MESSAGE);
+    } catch (IOException e) {
+      JOptionPane.showMessageDialog(guiController.frame,
+          "Failed to export report: " + e.getMessage(),
+          "Error", JOptionPane.ERROR_MESSAGE);
+    }
+  }
+
+  /**
+   * Displays a dialog to pick an output format and optional gzip compression,
+   * then streams the entire clinic to the file the user chooses.
+   *
+   * @param guiController The GUI controller object.
+   */
+  @Override
+  public void exportClinicGui(GuiController guiController) {
+    JComboBox<ClinicExporter.Format> formatComboBox =
+        new JComboBox<>(ClinicExporter.Format.values());
+    JCheckBox gzipCheckBox = new JCheckBox("Compress with gzip");
+    Object[] message = {
+        "Format:", formatComboBox,
+        gzipCheckBox,
+    };
+
+    int option = JOptionPane.showConfirmDialog(guiController.frame,
+        message, "Export Entire Clinic", JOptionPane.OK_CANCEL_OPTION);
+    if (option != JOptionPane.OK_OPTION) {
+      return;
+    }
+
+    ClinicExporter.Format format = (ClinicExporter.Format) formatComboBox.getSelectedItem();
+    boolean gzip = gzipCheckBox.isSelected();
+    JFileChooser fileChooser = new JFileChooser();
+    fileChooser.setDialogTitle("Save Clinic Export");
+    fileChooser.setSelectedFile(new File("clinic" + format.getExtension()
+        + (gzip ? ".gz" : "")));
+    if (fileChooser.showSaveDialog(guiController.frame) != JFileChooser.APPROVE_OPTION) {
+      return;
+    }
+
+    try {
+      new ClinicExporter(this).export(fileChooser.getSelectedFile().toPath(), format, gzip);
+      JOptionPane.showMessageDialog(guiController.frame,
+          "Clinic exported to " + fileChooser.getSelectedFile().getAbsolutePath(),
+          "Export Entire Clinic", JOptionPane.INFORMATION_MESSAGE);
+    } catch (IOException e) {
+      JOptionPane.showMessageDialog(guiController.frame,
+          "Failed to export clinic: " + e.getMessage(),
+          "Error", JOptionPane.ERROR_MESSAGE);
+    }
+  }
+
+  /**
+   * Gets the rolling visit counter for a window length, creating and filling
+   * it from the existing visit records the first time it is requested. Only
+   * the most recently used window lengths keep a counter, so recording a
+   * visit updates a bounded number of them; a window whose counter was
+   * dropped is refilled when it is requested again.
+   *
+   * @param windowDays The length of the window in days.
+   * @return The counter for that window.
+   */
+  private RollingVisitCounter getVisitCounter(int windowDays) {
+    synchronized (visitCounters) {
+      RollingVisitCounter counter = visitCounters.get(windowDays);
+      if (counter == null) {
+        counter = new RollingVisitCounter(windowDays, clock);
+        for (Patient patient : patients) {
+          for (Visitrecord visitRecord : patient.getVisitRecords()) {
+            counter.recordVisit(patient, visitRecord.getRegistrationDateTime().toLocalDate());
+          }
+        }
+        visitCounters.put(windowDays, counter);
+      }
+      return counter;
+    }
+  }
+
+  /**
+   * Gets the number of rolling visit counters currently kept.
+   *
+   * @return The number of window lengths with a counter.
+   */
+  public int getVisitCounterCount() {
+    synchronized (visitCounters) {
+      return visitCounters.size();
+    }
+  }
+
+  /**
+   * Adds a newly recorded visit to every rolling visit counter and to the
+   * open visit index.
+   *
+   * @param patient     The patient the visit belongs to.
+   * @param visitRecord The visit that was recorded.
+   */
+  private void onVisitRecorded(Patient patient, Visitrecord visitRecord) {
+    LocalDate visitDate = visitRecord.getRegistrationDateTime().toLocalDate();
+    synchronized (visitCounters) {
+      for (RollingVisitCounter counter : visitCounters.values()) {
+        counter.recordVisit(patient, visitDate);
+      }
+    }
+    openVisitIndex.visitRecorded(patient);
+    modelChanged();
+  }
+
   /**
    * Clears all data from the clinic model, including patient records, clinical staff records,
    * room assignments, and visit records.
    */
   @Override
   public void clearModel() {
+    openVisitIndex.clear();
+    workloadView.clear();
     clearPatientRecords();
     clearStaffRecords();
     clearRoom();
     clearVisitRecords();
+    rosterChanged();
   }
 
   /**
@@ -1503,6 +1988,7 @@ public class Clinic implements ClinicInterface {
       room.getAssignedPatients().clear(); // Clearing the list of assigned patients for each room
     }
     rooms.clear(); // Clearing the list of rooms
+    mapLayout = null;
   }
 
   /**
@@ -1512,6 +1998,9 @@ public class Clinic implements ClinicInterface {
     for (Patient patient : patients) {
       patient.clearVisitRecords();
     }
+    synchronized (visitCounters) {
+      visitCounters.clear();
+    }
   }
 
 }
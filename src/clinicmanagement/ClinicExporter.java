@@ -0,0 +1,205 @@
+package clinicmanagement;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the whole clinic, its rooms, staff, patients, care-team assignments,
+ * visit records and deactivation history, to CSV or newline delimited JSON.
+ *
+ * <p>Records are produced lazily from the clinic's rosters and written through a
+ * {@link ChannelWriter}, so nothing is built up per patient and memory use does
+ * not grow with the size of the clinic. Every record starts with a
+ * {@code record} column naming its section; in CSV each section is preceded by
+ * its own header line.
+ */
+public class ClinicExporter {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String[] ROOM_COLUMNS = {"record", "roomNumber", "name", "type",
+      "lowerLeftX", "lowerLeftY", "upperRightX", "upperRightY"};
+  private static final String[] STAFF_COLUMNS = {"record", "serialNumber", "jobTitle",
+      "firstName", "lastName", "educationLevel", "npi", "deactivated"};
+  private static final String[] PATIENT_COLUMNS = {"record", "serialNumber", "firstName",
+      "lastName", "dateOfBirth", "roomNumber", "deactivated"};
+  private static final String[] CARE_TEAM_COLUMNS = {"record", "patientSerialNumber",
+      "staffSerialNumber"};
+  private static final String[] VISIT_COLUMNS = {"record", "patientSerialNumber",
+      "registrationDateTime", "chiefComplaint", "bodyTemperature"};
+  private static final String[] DEACTIVATION_COLUMNS = {"record", "patientSerialNumber",
+      "deactivationDate", "reactivationDate"};
+
+  private final ClinicInterface clinic;
+
+  /**
+   * The output formats of the exporter.
+   */
+  public enum Format {
+    CSV(".csv"),
+    NDJSON(".ndjson");
+
+    private final String extension;
+
+    Format(String extension) {
+      this.extension = extension;
+    }
+
+    /**
+     * Get the file name extension of the format.
+     *
+     * @return The extension, including the leading dot.
+     */
+    public String getExtension() {
+      return extension;
+    }
+  }
+
+  /**
+   * Creates an exporter for a clinic.
+   *
+   * @param clinic The clinic to export.
+   * @throws IllegalArgumentException if the clinic is null.
+   */
+  public ClinicExporter(ClinicInterface clinic) throws IllegalArgumentException {
+    if (clinic == null) {
+      throw new IllegalArgumentException("Clinic cannot be null.");
+    }
+    this.clinic = clinic;
+  }
+
+  /**
+   * Exports the clinic to a file, replacing it if it exists.
+   *
+   * @param path   The file to write.
+   * @param format The output format.
+   * @param gzip   True to gzip-compress the output.
+   * @throws IOException if the file cannot be written.
+   * @throws IllegalArgumentException if the path or format is null.
+   */
+  public void export(Path path, Format format, boolean gzip)
+      throws IOException, IllegalArgumentException {
+    if (path == null || format == null) {
+      throw new IllegalArgumentException("Path and format cannot be null.");
+    }
+    WritableByteChannel channel;
+    if (gzip) {
+      OutputStream out = Files.newOutputStream(path);
+      try {
+        channel = Channels.newChannel(new GZIPOutputStream(out, BUFFER_SIZE));
+      } catch (IOException | RuntimeException e) {
+        try {
+          out.close();
+        } catch (IOException closeFailure) {
+          e.addSuppressed(closeFailure);
+        }
+        throw e;
+      }
+    } else {
+      channel = FileChannel.open(path, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+    try (ChannelWriter writer = new ChannelWriter(channel, BUFFER_SIZE)) {
+      export(writer, format);
+    }
+  }
+
+  /**
+   * Exports the clinic to a character sink.
+   *
+   * @param out    The sink to write to.
+   * @param format The output format.
+   * @throws IOException if writing fails.
+   * @throws IllegalArgumentException if the sink or format is null.
+   */
+  public void export(Appendable out, Format format) throws IOException, IllegalArgumentException {
+    if (out == null || format == null) {
+      throw new IllegalArgumentException("Output and format cannot be null.");
+    }
+    ReportWriter writer = format == Format.CSV ? new CsvReportWriter() : new JsonReportWriter();
+    writer.write(ROOM_COLUMNS, rooms(), out);
+    writer.write(STAFF_COLUMNS, staff(), out);
+    writer.write(PATIENT_COLUMNS, patients(), out);
+    writer.write(CARE_TEAM_COLUMNS, careTeams(), out);
+    writer.write(VISIT_COLUMNS, visits(), out);
+    writer.write(DEACTIVATION_COLUMNS, deactivations(), out);
+  }
+
+  /**
+   * Streams one record per room.
+   *
+   * @return The records.
+   */
+  private Stream<ReportRow> rooms() {
+    return clinic.getRooms().stream().map(room -> () -> new Object[] {"room",
+        room.getRoomNumber(), room.getName(), room.getType(),
+        room.getLowerLeftX(), room.getLowerLeftY(),
+        room.getUpperRightX(), room.getUpperRightY()});
+  }
+
+  /**
+   * Streams one record per staff member.
+   *
+   * @return The records.
+   */
+  private Stream<ReportRow> staff() {
+    return clinic.getStaffRoster().stream().map(member -> () -> new Object[] {"staff",
+        member.getSerialNumber(), member.getJobTitle(), member.getFirstName(),
+        member.getLastName(), member.getEducationLevel(),
+        member instanceof ClinicalStaff ? ((ClinicalStaff) member).getNpi() : null,
+        member.isDeactivated()});
+  }
+
+  /**
+   * Streams one record per patient.
+   *
+   * @return The records.
+   */
+  private Stream<ReportRow> patients() {
+    return clinic.getPatientRoster().stream().map(patient -> () -> new Object[] {"patient",
+        patient.getSerialNumber(), patient.getFirstName(), patient.getLastName(),
+        patient.getDateOfBirth(), patient.getRoomNumber(), patient.isDeactivated()});
+  }
+
+  /**
+   * Streams one record per clinical staff member on each patient's care team.
+   *
+   * @return The records.
+   */
+  private Stream<ReportRow> careTeams() {
+    return clinic.getPatientRoster().stream().flatMap(patient ->
+        patient.getAssignedClinicalStaff().stream().map(member -> () -> new Object[] {
+            "careTeam", patient.getSerialNumber(), member.getSerialNumber()}));
+  }
+
+  /**
+   * Streams one record per visit, patient by patient.
+   *
+   * @return The records.
+   */
+  private Stream<ReportRow> visits() {
+    return clinic.getPatientRoster().stream().flatMap(patient ->
+        patient.getVisitRecords().stream().map(visit -> () -> new Object[] {"visit",
+            patient.getSerialNumber(), visit.getRegistrationDateTime(),
+            visit.getChiefComplaint(), visit.getBodyTemperature()}));
+  }
+
+  /**
+   * Streams one record per entry in each patient's deactivation history.
+   *
+   * @return The records.
+   */
+  private Stream<ReportRow> deactivations() {
+    return clinic.getPatientRoster().stream().flatMap(patient ->
+        IntStream.range(0, patient.getDeactivationCount()).mapToObj(i -> () -> new Object[] {
+            "deactivation", patient.getSerialNumber(), patient.getDeactivationDate(i),
+            patient.getReactivationDate(i)}));
+  }
+}
@@ -0,0 +1,546 @@
+package clinicmanagement;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes synthetic clinic files in the format read by {@link ClinicFileParser},
+ * for load and scale testing. The output depends only on the seed, the
+ * reference date and the settings, so the same clinic can be regenerated
+ * anywhere; patients are written as they are generated, so files with
+ * millions of patients need little memory.
+ *
+ * <p>Room 1 is always a waiting room. The rooms are laid out in rows with a
+ * gap between neighbours, so no two rooms overlap. Staff are a mix of
+ * physicians and nurses, with ten-digit identifiers, and non-clinical staff.
+ * Names are drawn from common first names and surnames weighted by how often
+ * they occur, and ages follow a typical patient population. Each exam or
+ * procedure room holds at most one patient; everyone else is in a waiting
+ * room. No two patients share a name and date of birth.
+ *
+ * <p>A visit history can be written alongside the clinic file, one visit per
+ * line in the form {@code first last M/d/yyyy yyyy-MM-ddTHH:mm temperature
+ * chief complaint}, ready for {@link ClinicFileParser#parseVisitHistory}.
+ */
+public class ClinicFileGenerator {
+  private static final DateTimeFormatter DOB_FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy");
+  private static final DateTimeFormatter VISIT_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+  private static final long VISIT_SEED_MIX = 0x5DEECE66DL;
+  private static final int DAYS_PER_DECADE = 3652;
+  private static final int MAX_ATTEMPTS = 1000;
+
+  private static final String[] FIRST_NAMES = {
+      "Michael", "James", "Robert", "John", "Mary", "David", "William", "Richard", "Joseph",
+      "Thomas", "Patricia", "Jennifer", "Christopher", "Linda", "Charles", "Daniel",
+      "Elizabeth", "Matthew", "Barbara", "Anthony", "Mark", "Susan", "Donald", "Jessica",
+      "Steven", "Sarah", "Karen", "Paul", "Andrew", "Joshua", "Lisa", "Nancy", "Kenneth",
+      "Kevin", "Brian", "George", "Betty", "Margaret", "Sandra", "Ashley", "Kimberly",
+      "Emily", "Timothy", "Ronald", "Edward", "Jason", "Jeffrey", "Donna", "Michelle",
+      "Carol", "Amanda", "Dorothy", "Melissa", "Deborah", "Stephanie", "Ryan", "Jacob",
+      "Gary", "Nicholas", "Eric", "Jonathan", "Stephen", "Rebecca", "Sharon", "Laura",
+      "Cynthia", "Kathleen", "Amy", "Angela", "Larry", "Justin", "Scott", "Brandon",
+      "Benjamin", "Samuel", "Gregory", "Alexander", "Frank", "Shirley", "Anna", "Brenda",
+      "Pamela", "Emma", "Nicole", "Helen", "Samantha", "Katherine", "Christine", "Debra",
+      "Rachel", "Jose", "Luis", "Maria", "Carlos", "Wei", "Mei", "Priya", "Arjun", "Fatima",
+      "Omar"
+  };
+
+  private static final int[] FIRST_NAME_WEIGHTS = {
+      43, 33, 32, 32, 30, 24, 23, 18, 16, 15, 15, 14, 14, 14, 13, 13, 13, 12, 12, 11, 11,
+      11, 10, 10, 10, 10, 10, 9, 9, 9, 9, 9, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 7, 7, 7, 7, 7,
+      7, 7, 7, 7, 7, 7, 7, 7, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 5, 5, 5, 5, 5, 5,
+      5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 4, 4, 4, 3, 3, 3, 3, 3, 3
+  };
+
+  private static final String[] LAST_NAMES = {
+      "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis",
+      "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson",
+      "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White",
+      "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson", "Walker", "Young",
+      "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores", "Green",
+      "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter",
+      "Roberts", "Gomez", "Phillips", "Evans", "Turner", "Diaz", "Parker", "Cruz", "Edwards",
+      "Collins", "Reyes", "Stewart", "Morris", "Morales", "Murphy", "Cook", "Rogers",
+      "Gutierrez", "Ortiz", "Morgan", "Cooper", "Peterson", "Bailey", "Reed", "Kelly",
+      "Howard", "Ramos", "Kim", "Cox", "Ward", "Richardson", "Watson", "Brooks", "Chavez",
+      "Wood", "James", "Bennett", "Gray", "Mendoza", "Ruiz", "Hughes", "Price", "Alvarez",
+      "Castillo", "Sanders", "Patel", "Myers", "Long", "Ross", "Foster", "Jimenez"
+  };
+
+  private static final int[] LAST_NAME_WEIGHTS = {
+      828, 655, 550, 487, 483, 404, 393, 380, 377, 354, 352, 295, 286, 269, 264, 246, 243,
+      235, 233, 232, 229, 221, 218, 216, 201, 198, 182, 181, 174, 173, 170, 160, 159, 157,
+      155, 143, 141, 135, 135, 135, 133, 132, 130, 128, 127, 125, 122, 121, 119, 118, 113,
+      112, 111, 110, 109, 108, 107, 106, 106, 105, 103, 101, 99, 98, 98, 97, 96, 96, 95, 94,
+      93, 92, 91, 90, 90, 89, 88, 88, 87, 86, 85, 84, 84, 84, 83, 82, 82, 81, 81, 80, 79, 79,
+      78, 77, 77, 77, 76, 76, 75, 75
+  };
+
+  /**
+   * Relative share of patients in each decade of age, from 0-9 to 90-99.
+   */
+  private static final int[] AGE_DECADE_WEIGHTS = {12, 11, 12, 13, 12, 13, 12, 9, 5, 1};
+
+  private static final String[] COMPLAINTS = {
+      "Annual checkup", "Follow-up", "Fever", "Cough", "Sore throat", "Headache", "Back pain",
+      "Abdominal pain", "Vaccination", "Rash", "Ear pain", "Fatigue", "Joint pain",
+      "Chest pain", "Shortness of breath", "Dizziness", "Nausea", "Urinary symptoms",
+      "Sprained ankle", "Laceration"
+  };
+
+  private static final int[] COMPLAINT_WEIGHTS = {
+      20, 12, 10, 10, 8, 7, 7, 6, 6, 5, 4, 4, 4, 3, 3, 3, 3, 3, 2, 2
+  };
+
+  private static final String[] NON_CLINICAL_TITLES = {
+      "reception", "billing", "administrator", "custodian"
+  };
+
+  private static final String[] NURSE_EDUCATION = {
+      "masters", "masters", "doctoral", "allied", "allied"
+  };
+
+  private static final String[] CPR_LEVELS = {"A", "B", "C"};
+
+  private final long seed;
+  private final LocalDate today;
+  private String clinicName;
+  private int roomCount;
+  private int clinicalStaffCount;
+  private int nonClinicalStaffCount;
+  private int patientCount;
+  private double meanVisitsPerPatient;
+  private int historyDays;
+
+  /**
+   * Creates a generator for a clinic of 10 rooms, 10 clinical and 3
+   * non-clinical staff and 1,000 patients with 2 visits each on average over
+   * the last three years.
+   *
+   * @param seed  The seed; the same seed and date always give the same files.
+   * @param today The date that ages and visit dates are counted back from.
+   * @throws IllegalArgumentException if the date is null.
+   */
+  public ClinicFileGenerator(long seed, LocalDate today) throws IllegalArgumentException {
+    if (today == null) {
+      throw new IllegalArgumentException("Date cannot be null.");
+    }
+    this.seed = seed;
+    this.today = today;
+    this.clinicName = "Synthetic Clinic";
+    this.roomCount = 10;
+    this.clinicalStaffCount = 10;
+    this.nonClinicalStaffCount = 3;
+    this.patientCount = 1000;
+    this.meanVisitsPerPatient = 2.0;
+    this.historyDays = 3 * 365;
+  }
+
+  /**
+   * Sets the clinic name written on the first line.
+   *
+   * @param clinicName The clinic name.
+   * @throws IllegalArgumentException if the name is null or blank.
+   */
+  public void setClinicName(String clinicName) throws IllegalArgumentException {
+    if (clinicName == null || clinicName.trim().isEmpty()) {
+      throw new IllegalArgumentException("Clinic name cannot be empty.");
+    }
+    this.clinicName = clinicName.trim();
+  }
+
+  /**
+   * Sets the number of rooms.
+   *
+   * @param roomCount The number of rooms, at least 1.
+   * @throws IllegalArgumentException if the count is less than 1.
+   */
+  public void setRoomCount(int roomCount) throws IllegalArgumentException {
+    if (roomCount < 1) {
+      throw new IllegalArgumentException("A clinic needs at least one room.");
+    }
+    this.roomCount = roomCount;
+  }
+
+  /**
+   * Sets the number of physicians and nurses.
+   *
+   * @param clinicalStaffCount The number of clinical staff.
+   * @throws IllegalArgumentException if the count is negative.
+   */
+  public void setClinicalStaffCount(int clinicalStaffCount) throws IllegalArgumentException {
+    if (clinicalStaffCount < 0) {
+      throw new IllegalArgumentException("Staff count cannot be negative.");
+    }
+    this.clinicalStaffCount = clinicalStaffCount;
+  }
+
+  /**
+   * Sets the number of non-clinical staff.
+   *
+   * @param nonClinicalStaffCount The number of non-clinical staff.
+   * @throws IllegalArgumentException if the count is negative.
+   */
+  public void setNonClinicalStaffCount(int nonClinicalStaffCount)
+      throws IllegalArgumentException {
+    if (nonClinicalStaffCount < 0) {
+      throw new IllegalArgumentException("Staff count cannot be negative.");
+    }
+    this.nonClinicalStaffCount = nonClinicalStaffCount;
+  }
+
+  /**
+   * Sets the number of patients.
+   *
+   * @param patientCount The number of patients.
+   * @throws IllegalArgumentException if the count is negative.
+   */
+  public void setPatientCount(int patientCount) throws IllegalArgumentException {
+    if (patientCount < 0) {
+      throw new IllegalArgumentException("Patient count cannot be negative.");
+    }
+    this.patientCount = patientCount;
+  }
+
+  /**
+   * Sets the average number of visits per patient in the visit history.
+   *
+   * @param meanVisitsPerPatient The average, zero or more.
+   * @throws IllegalArgumentException if the average is negative or not a number.
+   */
+  public void setMeanVisitsPerPatient(double meanVisitsPerPatient)
+      throws IllegalArgumentException {
+    if (!(meanVisitsPerPatient >= 0)) {
+      throw new IllegalArgumentException("Mean visits cannot be negative.");
+    }
+    this.meanVisitsPerPatient = meanVisitsPerPatient;
+  }
+
+  /**
+   * Sets how many days back from the reference date visits can fall.
+   *
+   * @param historyDays The number of days, at least 1.
+   * @throws IllegalArgumentException if the number is less than 1.
+   */
+  public void setHistoryDays(int historyDays) throws IllegalArgumentException {
+    if (historyDays < 1) {
+      throw new IllegalArgumentException("History must cover at least one day.");
+    }
+    this.historyDays = historyDays;
+  }
+
+  /**
+   * Writes a clinic file.
+   *
+   * @param clinicFile Where to write the clinic file.
+   * @throws IOException if writing fails.
+   * @throws IllegalArgumentException if the writer is null.
+   */
+  public void generate(Writer clinicFile) throws IOException, IllegalArgumentException {
+    generate(clinicFile, null);
+  }
+
+  /**
+   * Writes a clinic file and, optionally, the visit history of its patients.
+   * The clinic file is the same whether or not the visit history is written.
+   *
+   * @param clinicFile   Where to write the clinic file.
+   * @param visitHistory Where to write the visit history, or null for none.
+   * @throws IOException if writing fails.
+   * @throws IllegalArgumentException if the clinic file writer is null.
+   * @throws IllegalStateException if the names run out of distinct
+   *                               name and date of birth combinations.
+   */
+  public void generate(Writer clinicFile, Writer visitHistory)
+      throws IOException, IllegalArgumentException, IllegalStateException {
+    if (clinicFile == null) {
+      throw new IllegalArgumentException("Writer cannot be null.");
+    }
+    Random random = new Random(seed);
+    Random visitRandom = new Random(seed ^ VISIT_SEED_MIX);
+    int[] firstNameTotals = cumulative(FIRST_NAME_WEIGHTS);
+    int[] lastNameTotals = cumulative(LAST_NAME_WEIGHTS);
+
+    clinicFile.write(clinicName + "\n");
+    List<Integer> waitingRooms = new ArrayList<>();
+    List<Integer> singleRooms = new ArrayList<>();
+    writeRooms(clinicFile, random, waitingRooms, singleRooms);
+    writeStaff(clinicFile, random, firstNameTotals, lastNameTotals);
+
+    clinicFile.write(patientCount + "\n");
+    List<Integer> occupiedRooms = new ArrayList<>();
+    for (int room : singleRooms) {
+      if (random.nextBoolean()) {
+        occupiedRooms.add(room);
+      }
+    }
+    IntSet seen = new IntHashSet(Math.min(patientCount, 1 << 29));
+    int[] ageTotals = cumulative(AGE_DECADE_WEIGHTS);
+    int[] complaintTotals = cumulative(COMPLAINT_WEIGHTS);
+    for (int i = 0; i < patientCount; i++) {
+      int key = 0;
+      int attempts = 0;
+      do {
+        if (++attempts > MAX_ATTEMPTS) {
+          throw new IllegalStateException("Ran out of distinct patients after " + i + ".");
+        }
+        int first = pick(random, firstNameTotals);
+        int last = pick(random, lastNameTotals);
+        int decade = pick(random, ageTotals);
+        int ageDays = decade * DAYS_PER_DECADE + random.nextInt(DAYS_PER_DECADE);
+        key = first << 23 | last << 16 | ageDays;
+      } while (!seen.add(key));
+      int room = i < occupiedRooms.size() ? occupiedRooms.get(i)
+          : waitingRooms.get(random.nextInt(waitingRooms.size()));
+      String firstName = FIRST_NAMES[key >>> 23];
+      String lastName = LAST_NAMES[(key >>> 16) & 0x7F];
+      LocalDate dateOfBirth = today.minusDays(key & 0xFFFF);
+      String dob = dateOfBirth.format(DOB_FORMATTER);
+      clinicFile.write(room + " " + firstName + " " + lastName + " " + dob + "\n");
+      if (visitHistory != null) {
+        writeVisits(visitHistory, visitRandom, complaintTotals,
+            firstName + " " + lastName + " " + dob, dateOfBirth);
+      }
+    }
+    clinicFile.flush();
+    if (visitHistory != null) {
+      visitHistory.flush();
+    }
+  }
+
+  /**
+   * Writes the room count and rooms, packed left to right in rows with a gap
+   * of one unit between rooms and between rows.
+   *
+   * @param out          Where to write.
+   * @param random       The random source.
+   * @param waitingRooms Receives the numbers of the waiting rooms.
+   * @param singleRooms  Receives the numbers of the exam and procedure rooms.
+   * @throws IOException if writing fails.
+   */
+  private void writeRooms(Writer out, Random random, List<Integer> waitingRooms,
+                          List<Integer> singleRooms) throws IOException {
+    out.write(roomCount + "\n");
+    int rowWidth = Math.max(24, (int) Math.ceil(Math.sqrt(roomCount)) * 9);
+    int x = 0;
+    int y = 0;
+    int rowHeight = 0;
+    int[] typeCounts = new int[Room.RoomType.values().length];
+    for (int number = 1; number <= roomCount; number++) {
+      int width = 4 + random.nextInt(5);
+      int height = 4 + random.nextInt(3);
+      if (x > 0 && x + width > rowWidth) {
+        x = 0;
+        y += rowHeight + 1;
+        rowHeight = 0;
+      }
+      int roll = random.nextInt(100);
+      Room.RoomType type = number == 1 || roll < 15 ? Room.RoomType.WAITING
+          : roll < 40 ? Room.RoomType.PROCEDURE : Room.RoomType.EXAM;
+      int typeNumber = ++typeCounts[type.ordinal()];
+      String name = number == 1 ? "Front_Waiting"
+          : Character.toUpperCase(type.getType().charAt(0)) + type.getType().substring(1)
+              + "_" + typeNumber;
+      out.write(x + " " + y + " " + (x + width) + " " + (y + height) + " "
+          + type.getType() + " " + name + "\n");
+      if (type == Room.RoomType.WAITING) {
+        waitingRooms.add(number);
+      } else {
+        singleRooms.add(number);
+      }
+      x += width + 1;
+      rowHeight = Math.max(rowHeight, height);
+    }
+  }
+
+  /**
+   * Writes the staff count and staff: physicians and nurses with distinct
+   * ten-digit identifiers, then non-clinical staff with a CPR level.
+   *
+   * @param out             Where to write.
+   * @param random          The random source.
+   * @param firstNameTotals The running totals of the first name weights.
+   * @param lastNameTotals  The running totals of the surname weights.
+   * @throws IOException if writing fails.
+   */
+  private void writeStaff(Writer out, Random random, int[] firstNameTotals,
+                          int[] lastNameTotals) throws IOException {
+    out.write((clinicalStaffCount + nonClinicalStaffCount) + "\n");
+    Set<Long> identifiers = new HashSet<>();
+    for (int i = 0; i < clinicalStaffCount; i++) {
+      boolean physician = random.nextInt(5) < 2;
+      String education = physician ? "doctoral"
+          : NURSE_EDUCATION[random.nextInt(NURSE_EDUCATION.length)];
+      long identifier;
+      do {
+        identifier = 1_000_000_000L + (long) (random.nextDouble() * 8_999_999_999L);
+      } while (!identifiers.add(identifier));
+      out.write((physician ? "physician" : "nurse") + " "
+          + FIRST_NAMES[pick(random, firstNameTotals)] + " "
+          + LAST_NAMES[pick(random, lastNameTotals)] + " " + education + " " + identifier + "\n");
+    }
+    for (int i = 0; i < nonClinicalStaffCount; i++) {
+      out.write(NON_CLINICAL_TITLES[random.nextInt(NON_CLINICAL_TITLES.length)] + " "
+          + FIRST_NAMES[pick(random, firstNameTotals)] + " "
+          + LAST_NAMES[pick(random, lastNameTotals)] + " allied "
+          + CPR_LEVELS[random.nextInt(CPR_LEVELS.length)] + "\n");
+    }
+  }
+
+  /**
+   * Writes one patient's visits in date order. The number of visits follows a
+   * geometric distribution with the configured mean. Visits fall in opening
+   * hours within the history period, never before the patient was born.
+   *
+   * @param out             Where to write.
+   * @param random          The random source for visits.
+   * @param complaintTotals The running totals of the complaint weights.
+   * @param patient         The patient's name and date of birth as written.
+   * @param dateOfBirth     The patient's date of birth.
+   * @throws IOException if writing fails.
+   */
+  private void writeVisits(Writer out, Random random, int[] complaintTotals, String patient,
+                           LocalDate dateOfBirth) throws IOException {
+    int visits = 0;
+    if (meanVisitsPerPatient > 0) {
+      double stop = 1 / (meanVisitsPerPatient + 1);
+      while (random.nextDouble() >= stop) {
+        visits++;
+      }
+    }
+    if (visits == 0) {
+      return;
+    }
+    long span = Math.min(historyDays, today.toEpochDay() - dateOfBirth.toEpochDay() + 1);
+    LocalDateTime[] times = new LocalDateTime[visits];
+    for (int v = 0; v < visits; v++) {
+      times[v] = today.minusDays(random.nextInt((int) span)).atTime(8, 0)
+          .plusMinutes(random.nextInt(10 * 60));
+    }
+    Arrays.sort(times);
+    for (LocalDateTime time : times) {
+      int complaint = pick(random, complaintTotals);
+      double mean = COMPLAINTS[complaint].equals("Fever") ? 38.6 : 36.8;
+      long tenths = Math.round((mean + random.nextGaussian() * 0.3) * 10);
+      out.write(patient + " " + time.format(VISIT_FORMATTER) + " " + tenths / 10 + "."
+          + tenths % 10 + " " + COMPLAINTS[complaint] + "\n");
+    }
+  }
+
+  /**
+   * Turns weights into running totals for {@link #pick}.
+   *
+   * @param weights The weights.
+   * @return The running totals.
+   */
+  private static int[] cumulative(int[] weights) {
+    int[] totals = new int[weights.length];
+    int total = 0;
+    for (int i = 0; i < weights.length; i++) {
+      total += weights[i];
+      totals[i] = total;
+    }
+    return totals;
+  }
+
+  /**
+   * Picks an index with probability proportional to its weight.
+   *
+   * @param random The random source.
+   * @param totals The running totals of the weights.
+   * @return The index.
+   */
+  private static int pick(Random random, int[] totals) {
+    int target = random.nextInt(totals[totals.length - 1]);
+    int index = Arrays.binarySearch(totals, target + 1);
+    return index >= 0 ? index : -index - 1;
+  }
+
+  /**
+   * Writes a clinic file, and optionally a visit history, from the command
+   * line.
+   *
+   * <p>Usage: {@code ClinicFileGenerator <clinic file> [--patients <n>]
+   * [--rooms <n>] [--clinical <n>] [--nonclinical <n>] [--seed <n>]
+   * [--visits <file>] [--mean-visits <x>] [--history-days <n>]
+   * [--today <yyyy-MM-dd>]}
+   *
+   * @param args The command-line arguments.
+   * @throws IOException if a file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.out.println("Usage: ClinicFileGenerator <clinic file> [--patients <n>]"
+          + " [--rooms <n>] [--clinical <n>] [--nonclinical <n>] [--seed <n>]"
+          + " [--visits <file>] [--mean-visits <x>] [--history-days <n>]"
+          + " [--today <yyyy-MM-dd>]");
+      return;
+    }
+    Path clinicFile = Paths.get(args[0]);
+    Path visitFile = null;
+    long seed = 1;
+    LocalDate today = LocalDate.now();
+    for (int i = 1; i + 1 < args.length; i += 2) {
+      if ("--seed".equals(args[i])) {
+        seed = Long.parseLong(args[i + 1]);
+      } else if ("--today".equals(args[i])) {
+        today = LocalDate.parse(args[i + 1]);
+      }
+    }
+    ClinicFileGenerator generator = new ClinicFileGenerator(seed, today);
+    for (int i = 1; i + 1 < args.length; i += 2) {
+      String value = args[i + 1];
+      switch (args[i]) {
+        case "--patients":
+          generator.setPatientCount(Integer.parseInt(value));
+          break;
+        case "--rooms":
+          generator.setRoomCount(Integer.parseInt(value));
+          break;
+        case "--clinical":
+          generator.setClinicalStaffCount(Integer.parseInt(value));
+          break;
+        case "--nonclinical":
+          generator.setNonClinicalStaffCount(Integer.parseInt(value));
+          break;
+        case "--visits":
+          visitFile = Paths.get(value);
+          break;
+        case "--mean-visits":
+          generator.setMeanVisitsPerPatient(Double.parseDouble(value));
+          break;
+        case "--history-days":
+          generator.setHistoryDays(Integer.parseInt(value));
+          break;
+        case "--seed":
+        case "--today":
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option: " + args[i]);
+      }
+    }
+
+    long start = System.nanoTime();
+    try (BufferedWriter clinicOut = Files.newBufferedWriter(clinicFile, StandardCharsets.UTF_8);
+         BufferedWriter visitOut = visitFile == null ? null
+             : Files.newBufferedWriter(visitFile, StandardCharsets.UTF_8)) {
+      generator.generate(clinicOut, visitOut);
+    }
+    System.out.printf("Wrote %s in %.1f s%n", clinicFile, (System.nanoTime() - start) / 1e9);
+  }
+}
@@ -3,11 +3,18 @@ package clinicmanagement;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * This class is responsible for parsing clinic information.
  */
 public class ClinicFileParser implements ClinicFileParserInterface {
+  private static final DateTimeFormatter DOB_FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy");
   private Reader reader;
   private String clinicName;
 
@@ -43,6 +50,63 @@ public class ClinicFileParser implements ClinicFileParserInterface {
     return clinic;
   }
 
+  /**
+   * Reads a visit history and adds each visit to the clinic's patient with
+   * the same name and date of birth. Each non-blank line holds one visit:
+   * {@code first last M/d/yyyy yyyy-MM-ddTHH:mm temperature chief complaint},
+   * as written by {@link ClinicFileGenerator}.
+   *
+   * @param visitReader The visit history.
+   * @param clinic      The clinic whose patients had the visits.
+   * @return The number of visits added.
+   * @throws IOException if the visit history cannot be read.
+   * @throws IllegalArgumentException if an argument is null, a line is
+   *                                  malformed or names an unknown patient.
+   */
+  @Override
+  public int parseVisitHistory(Reader visitReader, Clinic clinic)
+      throws IOException, IllegalArgumentException {
+    if (visitReader == null || clinic == null) {
+      throw new IllegalArgumentException("Reader and clinic cannot be null.");
+    }
+    Map<String, Patient> patients = new HashMap<>();
+    for (Patient patient : clinic.getPatientRoster()) {
+      patients.putIfAbsent(patient.getFirstName() + " " + patient.getLastName() + " "
+          + patient.getDateOfBirth(), patient);
+    }
+    int visits = 0;
+    try (BufferedReader reader = new BufferedReader(visitReader)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        if (line.isEmpty()) {
+          continue;
+        }
+        String[] parts = line.split("\\s+", 6);
+        if (parts.length < 6) {
+          throw new IllegalArgumentException("Invalid visit format: " + line);
+        }
+        Patient patient;
+        LocalDateTime registrationDateTime;
+        double bodyTemperature;
+        try {
+          patient = patients.get(parts[0] + " " + parts[1] + " "
+              + LocalDate.parse(parts[2], DOB_FORMATTER));
+          registrationDateTime = LocalDateTime.parse(parts[3]);
+          bodyTemperature = Double.parseDouble(parts[4]);
+        } catch (DateTimeParseException | NumberFormatException e) {
+          throw new IllegalArgumentException("Invalid visit format: " + line);
+        }
+        if (patient == null) {
+          throw new IllegalArgumentException("Unknown patient in visit: " + line);
+        }
+        patient.addVisitRecord(registrationDateTime, parts[5], bodyTemperature);
+        visits++;
+      }
+    }
+    return visits;
+  }
+
   /**
    * Parses the name of the clinic from a BufferedReader and returns it.
    *
@@ -15,4 +15,14 @@ public interface ClinicFileParserInterface {
    * @throws IOException if an I/O error occurs while parsing the file.
    */
   Clinic parseFile() throws IOException;
+
+  /**
+   * Reads a visit history and adds each visit to the matching patient of a clinic.
+   *
+   * @param visitReader The visit history.
+   * @param clinic      The clinic whose patients had the visits.
+   * @return The number of visits added.
+   * @throws IOException if an I/O error occurs while reading the visit history.
+   */
+  int parseVisitHistory(Reader visitReader, Clinic clinic) throws IOException;
 }
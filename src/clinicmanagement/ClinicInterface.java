@@ -1,5 +1,7 @@
 package clinicmanagement;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.List;
 import javax.swing.JFrame;
 
@@ -60,6 +62,51 @@ public interface ClinicInterface {
    */
   void assignClinicalStaffToPatient(Patient patientToStaff, ClinicalStaff clinicalStaffMember);
 
+  /**
+   * Unassign a clinical staff member from a patient's care team.
+   * @param patient patient input
+   * @param clinicalStaff clinical staff input
+   */
+  void unassignClinicalStaffFromPatient(Patient patient, ClinicalStaff clinicalStaff);
+
+  /**
+   * Deactivate a clinical staff member and remove them from their patients' care teams.
+   * @param clinicalStaff clinical staff input
+   */
+  void deactivateClinicalStaff(ClinicalStaff clinicalStaff);
+
+  /**
+   * Get the index of patients with an open visit per clinical staff member.
+   * @param cutoff earliest last-visit date that still counts as open
+   * @return the open visit index, pruned for the cutoff
+   */
+  OpenVisitIndex getOpenVisitIndex(LocalDate cutoff);
+
+  /**
+   * Get the live workload view of every clinical staff member.
+   * @return the staff workload view
+   */
+  StaffWorkloadView getStaffWorkloadView();
+
+  /**
+   * Get the model version, which increases on every change to the clinic.
+   * @return the current model version
+   */
+  long getModelVersion();
+
+  /**
+   * Get the roster version, which increases only when a patient is added,
+   * registered, discharged or reactivated.
+   * @return the current roster version
+   */
+  long getRosterVersion();
+
+  /**
+   * Get the clock that decides the current date for time-windowed logic.
+   * @return the clinic's clock
+   */
+  Clock getClock();
+
   /**
    * Assigns a patient to a specific room.
    *
@@ -164,6 +211,24 @@ public interface ClinicInterface {
    */
   List<Room> getRooms();
 
+  /**
+   * Get the map layout of the current rooms.
+   * @return the map layout, or null if there are no rooms
+   */
+  ClinicMapLayout getMapLayout();
+
+  /**
+   * Registers a listener to be told when the patients in a room change.
+   * @param listener the listener to add
+   */
+  void addRoomListener(RoomListener listener);
+
+  /**
+   * Removes a room listener.
+   * @param listener the listener to remove
+   */
+  void removeRoomListener(RoomListener listener);
+
   /**
    * Registers a new clinical staff member.
    *
@@ -199,6 +264,25 @@ public interface ClinicInterface {
    */
   List<Patient> getAllPatients() throws IllegalArgumentException;
 
+  /**
+   * Get a read-only view of every patient, active or not, in registration order.
+   * The view is not copied, so it splits evenly for parallel streams.
+   * @return read-only view of all patients
+   */
+  List<Patient> getPatientRoster();
+
+  /**
+   * Get a read-only view of every staff member, clinical or not, in registration order.
+   * @return read-only view of all staff
+   */
+  List<Staff> getStaffRoster();
+
+  /**
+   * Get the index that keeps the patients sorted by name.
+   * @return the patient index
+   */
+  PatientIndex getPatientIndex();
+
   /**
    * Register new patient in the clinic.
    * @param guiController controller input
@@ -273,6 +357,68 @@ public interface ClinicInterface {
    */
   void listPatientsWithMultipleVisitsInLastYear(GuiController guiController);
 
+  /**
+   * Shows patients who have at least a number of visits inside a rolling window of days.
+   * @param guiController controller input
+   * @param minVisits minimum number of visits
+   * @param windowDays window length in days
+   */
+  void listPatientsWithMultipleVisitsGui(GuiController guiController, int minVisits,
+                                         int windowDays);
+
+  /**
+   * Prompts for a visit threshold and window length and shows the matching patients.
+   * @param guiController controller input
+   */
+  void listPatientsByVisitFrequencyGui(GuiController guiController);
+
+  /**
+   * Find active patients with at least a number of visits inside a rolling window of days.
+   * @param minVisits minimum number of visits
+   * @param windowDays window length in days
+   * @return matching patients ordered by serial number
+   */
+  List<Patient> findPatientsWithRecentVisits(int minVisits, int windowDays);
+
+  /**
+   * Get the number of visits a patient has inside a rolling window of days.
+   * @param patient patient to look up
+   * @param windowDays window length in days
+   * @return number of visits inside the window
+   */
+  int getRecentVisitCount(Patient patient, int windowDays);
+
+  /**
+   * Get the engine that computes the clinic reports as typed rows.
+   * @return the report engine
+   */
+  ReportEngine getReportEngine();
+
+  /**
+   * Get the dictionary that names and chief complaints are interned through.
+   * @return the string dictionary
+   */
+  StringDictionary getStringDictionary();
+
+  /**
+   * Find the patients with at least one visit for a chief complaint.
+   * @param chiefComplaint the complaint, matched exactly
+   * @return the matching patients
+   */
+  List<Patient> findPatientsWithComplaint(String chiefComplaint);
+
+  /**
+   * Export a report to a CSV or JSON file chosen by the user.
+   * @param guiController controller input
+   */
+  void exportReportGui(GuiController guiController);
+
+  /**
+   * Export the entire clinic to a CSV or NDJSON file chosen by the user.
+   * @param guiController controller input
+   */
+  void exportClinicGui(GuiController guiController);
+
   /**
    * Clear the whole clinic model data.
    */
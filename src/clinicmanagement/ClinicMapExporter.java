@@ -0,0 +1,404 @@
+package clinicmanagement;
+
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Exports the clinic map without a user interface, as a PNG image or as an
+ * SVG drawing built straight from the room coordinates. It runs with
+ * {@code java.awt.headless=true}, for example to refresh a wall display or
+ * keep an audit trail of room occupancy.
+ *
+ * <p>An exporter is meant to be kept and asked for frame after frame. It holds
+ * a {@link ClinicMapRenderer} registered on the clinic, so a PNG frame redraws
+ * only the rooms whose patients changed, and a {@link PngEncoder} that
+ * compresses again only the strips of the image that changed. The output
+ * buffers and the SVG text encoder are reused between frames, and files are
+ * replaced atomically so a reader never sees a half-written map.
+ */
+public class ClinicMapExporter implements Closeable {
+  private static final DateTimeFormatter FILE_TIME_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+  private final Clinic clinic;
+  private final ClinicMapRenderer renderer;
+  private final ByteArrayOutputStream pngBuffer;
+  private final StringBuilder svgBuffer;
+  private final CharsetEncoder svgEncoder;
+  private final ByteBuffer svgBytes;
+  private final PngEncoder pngEncoder;
+
+  /**
+   * The output formats of the exporter.
+   */
+  public enum Format {
+    PNG(".png"),
+    SVG(".svg");
+
+    private final String extension;
+
+    Format(String extension) {
+      this.extension = extension;
+    }
+
+    /**
+     * Get the file name extension of the format.
+     *
+     * @return The extension, including the leading dot.
+     */
+    public String getExtension() {
+      return extension;
+    }
+  }
+
+  /**
+   * Creates an exporter for a clinic and starts following its room changes.
+   *
+   * @param clinic The clinic to export.
+   * @throws IllegalArgumentException if the clinic is null.
+   */
+  public ClinicMapExporter(Clinic clinic) throws IllegalArgumentException {
+    if (clinic == null) {
+      throw new IllegalArgumentException("Clinic cannot be null.");
+    }
+    this.clinic = clinic;
+    this.renderer = new ClinicMapRenderer(clinic);
+    this.pngBuffer = new ByteArrayOutputStream(256 * 1024);
+    this.svgBuffer = new StringBuilder(64 * 1024);
+    this.svgEncoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.svgBytes = ByteBuffer.allocate(16 * 1024);
+    this.pngEncoder = new PngEncoder();
+    clinic.addRoomListener(renderer);
+  }
+
+  /**
+   * Exports the current map to a file, replacing it atomically.
+   *
+   * @param path   The file to write.
+   * @param format The output format.
+   * @throws IOException if the file cannot be written.
+   * @throws IllegalArgumentException if the path or format is null or the clinic has no rooms.
+   */
+  public void export(Path path, Format format) throws IOException, IllegalArgumentException {
+    if (path == null || format == null) {
+      throw new IllegalArgumentException("Path and format cannot be null.");
+    }
+    Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(temporary)) {
+        if (format == Format.PNG) {
+          pngBuffer.reset();
+          writePng(pngBuffer);
+          pngBuffer.writeTo(out);
+        } else {
+          svgBuffer.setLength(0);
+          writeSvg(svgBuffer);
+          writeUtf8(svgBuffer, out);
+        }
+      }
+      try {
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * Encodes text as UTF-8 straight from the builder through the reused
+   * encoder and byte buffer, a buffer's worth at a time.
+   *
+   * @param text The text to write.
+   * @param out  The stream to write to.
+   * @throws IOException if writing fails.
+   */
+  private void writeUtf8(CharSequence text, OutputStream out) throws IOException {
+    CharBuffer chars = CharBuffer.wrap(text);
+    svgEncoder.reset();
+    CoderResult result;
+    do {
+      result = svgEncoder.encode(chars, svgBytes, true);
+      out.write(svgBytes.array(), 0, svgBytes.position());
+      svgBytes.clear();
+    } while (result.isOverflow());
+    do {
+      result = svgEncoder.flush(svgBytes);
+      out.write(svgBytes.array(), 0, svgBytes.position());
+      svgBytes.clear();
+    } while (result.isOverflow());
+  }
+
+  /**
+   * Brings the map image up to date, redrawing only rooms that changed.
+   *
+   * @return The map image.
+   * @throws IllegalArgumentException if the clinic has no rooms.
+   */
+  public BufferedImage renderFrame() throws IllegalArgumentException {
+    BufferedImage image = renderer.render();
+    if (image == null) {
+      throw new IllegalArgumentException("There are no rooms in the clinic to display.");
+    }
+    return image;
+  }
+
+  /**
+   * Writes the current map as a PNG image.
+   *
+   * @param out The stream to write to.
+   * @throws IOException if writing fails.
+   * @throws IllegalArgumentException if the stream is null or the clinic has no rooms.
+   */
+  public void writePng(OutputStream out) throws IOException, IllegalArgumentException {
+    if (out == null) {
+      throw new IllegalArgumentException("Output cannot be null.");
+    }
+    pngEncoder.encode(renderFrame(), out);
+  }
+
+  /**
+   * Writes the current map as an SVG drawing. Rooms, titles and patient lists
+   * are placed exactly as on the PNG map, with the same colors and the same
+   * limit on names per room, but the shapes are vectors.
+   *
+   * @param out The sink to write to.
+   * @throws IOException if writing fails.
+   * @throws IllegalArgumentException if the sink is null or the clinic has no rooms.
+   */
+  public void writeSvg(Appendable out) throws IOException, IllegalArgumentException {
+    if (out == null) {
+      throw new IllegalArgumentException("Output cannot be null.");
+    }
+    ClinicMapLayout layout = clinic.getMapLayout();
+    if (layout == null) {
+      throw new IllegalArgumentException("There are no rooms in the clinic to display.");
+    }
+    out.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"")
+        .append(Integer.toString(layout.getWidth())).append("\" height=\"")
+        .append(Integer.toString(layout.getHeight())).append("\">\n")
+        .append("<rect width=\"100%\" height=\"100%\" fill=\"#ffffff\"/>\n")
+        .append("<g font-family=\"sans-serif\" font-size=\"12\" font-weight=\"bold\">\n");
+    for (int i = 0; i < layout.getRoomCount(); i++) {
+      Room room = layout.getRoom(i);
+      Rectangle bounds = layout.getScreenBounds(i);
+      appendRect(out, bounds, ClinicMapRenderer.roomColor(room), true);
+      appendText(out, ClinicMapRenderer.getRoomLabel(room),
+          ClinicMapRenderer.getLabelX(layout, i), ClinicMapRenderer.titleBaseline(bounds));
+    }
+    out.append("</g>\n<g font-family=\"sans-serif\" font-size=\"11\">\n");
+    for (int i = 0; i < layout.getRoomCount(); i++) {
+      appendOccupants(out, layout, i);
+    }
+    out.append("</g>\n</svg>\n");
+  }
+
+  /**
+   * Stops following the clinic's room changes.
+   */
+  @Override
+  public void close() {
+    clinic.removeRoomListener(renderer);
+  }
+
+  /**
+   * Writes one room's patient list, clipped to the room.
+   *
+   * @param out    The sink to write to.
+   * @param layout The map layout.
+   * @param index  The room position.
+   * @throws IOException if writing fails.
+   */
+  private void appendOccupants(Appendable out, ClinicMapLayout layout, int index)
+      throws IOException {
+    Rectangle bounds = ClinicMapRenderer.paintBounds(layout, index);
+    out.append("<clipPath id=\"room").append(Integer.toString(index)).append("\">");
+    appendRect(out, bounds, null, false);
+    out.append("</clipPath>\n<g clip-path=\"url(#room").append(Integer.toString(index))
+        .append(")\">\n");
+
+    List<Patient> patients = layout.getRoom(index).getAssignedPatients();
+    int occupants = patients.size();
+    int lineCapacity = ClinicMapRenderer.nameLineCapacity(layout, index);
+    Rectangle room = layout.getScreenBounds(index);
+    Color tint = ClinicMapRenderer.crowdingTint(occupants, lineCapacity);
+    if (tint != null) {
+      appendRect(out, room, tint, false);
+    }
+    int nameY = ClinicMapRenderer.firstNameBaseline(room);
+    if (occupants == 0) {
+      appendText(out, "Empty", ClinicMapRenderer.getLabelX(layout, index), nameY);
+    } else {
+      int shown = ClinicMapRenderer.namesShown(occupants, lineCapacity);
+      for (int i = 0; i < shown; i++) {
+        String name = patients.get(i).getFullName();
+        appendText(out, name, ClinicMapRenderer.nameX(room, name), nameY);
+        nameY += ClinicMapRenderer.nameLineHeight();
+      }
+      if (shown < occupants && lineCapacity > 0) {
+        String more = ClinicMapRenderer.moreLabel(occupants - shown);
+        appendText(out, more, ClinicMapRenderer.nameX(room, more), nameY);
+      }
+    }
+    out.append("</g>\n");
+  }
+
+  /**
+   * Writes a rectangle element.
+   *
+   * @param out    The sink to write to.
+   * @param bounds The rectangle.
+   * @param fill   The fill color, or null for no fill attribute.
+   * @param stroke True to outline the rectangle in black.
+   * @throws IOException if writing fails.
+   */
+  private static void appendRect(Appendable out, Rectangle bounds, Color fill, boolean stroke)
+      throws IOException {
+    out.append("<rect x=\"").append(Integer.toString(bounds.x))
+        .append("\" y=\"").append(Integer.toString(bounds.y))
+        .append("\" width=\"").append(Integer.toString(bounds.width))
+        .append("\" height=\"").append(Integer.toString(bounds.height)).append('"');
+    if (fill != null) {
+      out.append(" fill=\"").append(String.format(Locale.ROOT, "#%02x%02x%02x",
+              fill.getRed(), fill.getGreen(), fill.getBlue()))
+          .append("\" fill-opacity=\"")
+          .append(String.format(Locale.ROOT, "%.3f", fill.getAlpha() / 255.0)).append('"');
+    }
+    if (stroke) {
+      out.append(" stroke=\"#000000\"");
+    }
+    out.append("/>\n");
+  }
+
+  /**
+   * Writes a text element, escaping XML special characters.
+   *
+   * @param out  The sink to write to.
+   * @param text The text.
+   * @param x    The start of the text.
+   * @param y    The baseline of the text.
+   * @throws IOException if writing fails.
+   */
+  private static void appendText(Appendable out, String text, int x, int y)
+      throws IOException {
+    out.append("<text x=\"").append(Integer.toString(x)).append("\" y=\"")
+        .append(Integer.toString(y)).append("\">");
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '<':
+          out.append("&lt;");
+          break;
+        case '>':
+          out.append("&gt;");
+          break;
+        case '&':
+          out.append("&amp;");
+          break;
+        case '"':
+          out.append("&quot;");
+          break;
+        default:
+          out.append(c);
+      }
+    }
+    out.append("</text>\n");
+  }
+
+  /**
+   * Exports the map of a clinic file from the command line. With
+   * {@code --every} the export repeats on a fixed interval, reloading the
+   * clinic file when it changes. If the output is a directory, each export
+   * writes a new time-stamped file there; otherwise the one file is replaced.
+   *
+   * <p>Usage: {@code ClinicMapExporter <clinic file> <output> [png|svg]
+   * [--every <seconds>]}
+   *
+   * @param args The command-line arguments.
+   * @throws IOException if the clinic file cannot be read or the map cannot be written.
+   * @throws InterruptedException if interrupted while waiting between exports.
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    System.setProperty("java.awt.headless", "true");
+    if (args.length < 2) {
+      System.out.println("Usage: ClinicMapExporter <clinic file> <output> [png|svg]"
+          + " [--every <seconds>]");
+      return;
+    }
+    Path clinicFile = Paths.get(args[0]);
+    Path output = Paths.get(args[1]);
+    Format format = Format.PNG;
+    long intervalSeconds = 0;
+    for (int i = 2; i < args.length; i++) {
+      if ("--every".equals(args[i]) && i + 1 < args.length) {
+        intervalSeconds = Long.parseLong(args[++i]);
+      } else {
+        format = Format.valueOf(args[i].toUpperCase(Locale.ROOT));
+      }
+    }
+
+    long loadedModified = Files.getLastModifiedTime(clinicFile).toMillis();
+    ClinicMapExporter exporter = new ClinicMapExporter(loadClinic(clinicFile));
+    try {
+      while (true) {
+        Path target = Files.isDirectory(output)
+            ? output.resolve("clinic-map-" + LocalDateTime.now().format(FILE_TIME_FORMATTER)
+                + format.getExtension())
+            : output;
+        long start = System.nanoTime();
+        exporter.export(target, format);
+        System.out.printf("Wrote %s in %.1f ms%n", target, (System.nanoTime() - start) / 1e6);
+        if (intervalSeconds <= 0) {
+          return;
+        }
+        Thread.sleep(intervalSeconds * 1000);
+        long modified = Files.getLastModifiedTime(clinicFile).toMillis();
+        if (modified != loadedModified) {
+          loadedModified = modified;
+          exporter.close();
+          exporter = new ClinicMapExporter(loadClinic(clinicFile));
+        }
+      }
+    } finally {
+      exporter.close();
+    }
+  }
+
+  /**
+   * Loads a clinic from a clinic file.
+   *
+   * @param clinicFile The clinic file.
+   * @return The clinic.
+   * @throws IOException if the file cannot be read or parsed.
+   */
+  private static Clinic loadClinic(Path clinicFile) throws IOException {
+    try (FileReader reader = new FileReader(clinicFile.toFile(), StandardCharsets.UTF_8)) {
+      return new ClinicFileParser(reader).parseFile();
+    }
+  }
+}
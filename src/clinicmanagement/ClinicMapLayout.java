@@ -0,0 +1,257 @@
+package clinicmanagement;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The transform between clinic floor coordinates and clinic map pixels for one
+ * set of rooms. The bounds, scale and padding are worked out once when the
+ * layout is built, together with every room's floor and screen rectangle, and
+ * both map rendering and click hit-testing read them from here. Point and
+ * rectangle lookups go through a {@link RoomGrid} built with the layout.
+ *
+ * <p>A layout is immutable. {@link Clinic} keeps one and builds a new one after
+ * its rooms change.
+ */
+public class ClinicMapLayout {
+  /**
+   * The width of the clinic map image in pixels.
+   */
+  public static final int MAP_WIDTH = 1200;
+  /**
+   * The height of the clinic map image in pixels.
+   */
+  public static final int MAP_HEIGHT = 800;
+  private static final double MARGIN = 100.0;
+
+  private final int width;
+  private final int height;
+  private final int minClinicX;
+  private final int minClinicY;
+  private final double scaleFactor;
+  private final int paddingX;
+  private final int paddingY;
+  private final Room[] rooms;
+  private final int[] lowerLeftX;
+  private final int[] lowerLeftY;
+  private final int[] upperRightX;
+  private final int[] upperRightY;
+  private final Rectangle[] screenBounds;
+  private final RoomGrid grid;
+
+  /**
+   * Lays out rooms on a map of the default size.
+   *
+   * @param rooms The rooms to lay out.
+   * @throws IllegalArgumentException if the rooms are null or empty.
+   */
+  public ClinicMapLayout(List<Room> rooms) throws IllegalArgumentException {
+    this(rooms, MAP_WIDTH, MAP_HEIGHT);
+  }
+
+  /**
+   * Lays out rooms on a map of the given size, scaled to fit inside a margin
+   * and centred.
+   *
+   * @param rooms  The rooms to lay out.
+   * @param width  The map width in pixels.
+   * @param height The map height in pixels.
+   * @throws IllegalArgumentException if the rooms are null or empty or the size is not positive.
+   */
+  public ClinicMapLayout(List<Room> rooms, int width, int height)
+      throws IllegalArgumentException {
+    if (rooms == null || rooms.isEmpty()) {
+      throw new IllegalArgumentException("Rooms cannot be null or empty.");
+    }
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Map size must be positive.");
+    }
+    this.width = width;
+    this.height = height;
+    int count = rooms.size();
+    this.rooms = rooms.toArray(new Room[0]);
+    this.lowerLeftX = new int[count];
+    this.lowerLeftY = new int[count];
+    this.upperRightX = new int[count];
+    this.upperRightY = new int[count];
+
+    int minX = Integer.MAX_VALUE;
+    int minY = Integer.MAX_VALUE;
+    int maxX = Integer.MIN_VALUE;
+    int maxY = Integer.MIN_VALUE;
+    for (int i = 0; i < count; i++) {
+      Room room = this.rooms[i];
+      lowerLeftX[i] = room.getLowerLeftX();
+      lowerLeftY[i] = room.getLowerLeftY();
+      upperRightX[i] = room.getUpperRightX();
+      upperRightY[i] = room.getUpperRightY();
+      minX = Math.min(minX, lowerLeftX[i]);
+      minY = Math.min(minY, lowerLeftY[i]);
+      maxX = Math.max(maxX, upperRightX[i]);
+      maxY = Math.max(maxY, upperRightY[i]);
+    }
+    this.grid = new RoomGrid(lowerLeftX, lowerLeftY, upperRightX, upperRightY);
+    this.minClinicX = minX;
+    this.minClinicY = minY;
+
+    int spanX = Math.max(1, maxX - minX);
+    int spanY = Math.max(1, maxY - minY);
+    this.scaleFactor = Math.min((width - MARGIN) / spanX, (height - MARGIN) / spanY);
+    this.paddingX = (width - (int) (spanX * scaleFactor)) / 2;
+    this.paddingY = (height - (int) (spanY * scaleFactor)) / 2;
+
+    this.screenBounds = new Rectangle[count];
+    for (int i = 0; i < count; i++) {
+      int x1 = toScreenX(lowerLeftX[i]);
+      int y1 = toScreenY(lowerLeftY[i]);
+      int x2 = toScreenX(upperRightX[i]);
+      int y2 = toScreenY(upperRightY[i]);
+      screenBounds[i] = new Rectangle(x1, y2, x2 - x1, y1 - y2);
+    }
+  }
+
+  /**
+   * Lays out the same rooms on a map enlarged by a whole factor, for zooming.
+   * The room coordinates are read again from the rooms.
+   *
+   * @param factor The enlargement, at least 1.
+   * @return The enlarged layout, or this layout for a factor of 1.
+   * @throws IllegalArgumentException if the factor is less than 1 or the map would be too large.
+   */
+  public ClinicMapLayout scaled(int factor) throws IllegalArgumentException {
+    if (factor < 1 || (long) width * factor > Integer.MAX_VALUE / 2
+        || (long) height * factor > Integer.MAX_VALUE / 2) {
+      throw new IllegalArgumentException("Invalid zoom factor: " + factor);
+    }
+    if (factor == 1) {
+      return this;
+    }
+    return new ClinicMapLayout(Arrays.asList(rooms), width * factor, height * factor);
+  }
+
+  /**
+   * Gets the map width in pixels.
+   *
+   * @return The width.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the map height in pixels.
+   *
+   * @return The height.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Gets the number of pixels per unit of floor coordinates.
+   *
+   * @return The scale factor.
+   */
+  public double getScaleFactor() {
+    return scaleFactor;
+  }
+
+  /**
+   * Gets the number of rooms in the layout.
+   *
+   * @return The room count.
+   */
+  public int getRoomCount() {
+    return rooms.length;
+  }
+
+  /**
+   * Gets a room by its position in the clinic's room list.
+   *
+   * @param index The room position.
+   * @return The room.
+   */
+  public Room getRoom(int index) {
+    return rooms[index];
+  }
+
+  /**
+   * Gets a copy of a room's rectangle on the map, in pixels with y growing downwards.
+   *
+   * @param index The room position.
+   * @return The room's screen rectangle.
+   */
+  public Rectangle getScreenBounds(int index) {
+    return new Rectangle(screenBounds[index]);
+  }
+
+  /**
+   * Converts a floor x coordinate to a map pixel column.
+   *
+   * @param clinicX The floor x coordinate.
+   * @return The pixel column.
+   */
+  public int toScreenX(int clinicX) {
+    return (int) ((clinicX - minClinicX) * scaleFactor) + paddingX;
+  }
+
+  /**
+   * Converts a floor y coordinate to a map pixel row. Floor y grows upwards
+   * and pixel rows grow downwards.
+   *
+   * @param clinicY The floor y coordinate.
+   * @return The pixel row.
+   */
+  public int toScreenY(int clinicY) {
+    return height - ((int) ((clinicY - minClinicY) * scaleFactor) + paddingY);
+  }
+
+  /**
+   * Converts a map pixel column to a floor x coordinate.
+   *
+   * @param screenX The pixel column.
+   * @return The floor x coordinate.
+   */
+  public int toClinicX(int screenX) {
+    return (int) ((screenX - paddingX) / scaleFactor + minClinicX);
+  }
+
+  /**
+   * Converts a map pixel row to a floor y coordinate.
+   *
+   * @param screenY The pixel row.
+   * @return The floor y coordinate.
+   */
+  public int toClinicY(int screenY) {
+    return (int) ((height - screenY - paddingY) / scaleFactor + minClinicY);
+  }
+
+  /**
+   * Finds the room under a map pixel. When rooms overlap, the one earliest in
+   * the clinic's room list wins, matching a scan of the list in order.
+   *
+   * @param screenX The pixel column.
+   * @param screenY The pixel row.
+   * @return The position of the room, or -1 if the pixel is outside every room.
+   */
+  public int roomIndexAt(int screenX, int screenY) {
+    return grid.roomAt(toClinicX(screenX), toClinicY(screenY));
+  }
+
+  /**
+   * Finds the rooms that may be visible in part of the map, for example a
+   * scrolled viewport. The pixel rectangle is widened by one floor unit on
+   * each side so rounding never drops a room at the edge.
+   *
+   * @param viewport The pixel rectangle, with y growing downwards.
+   * @return The positions of the rooms overlapping it in ascending order.
+   */
+  public int[] roomIndexesIn(Rectangle viewport) {
+    int left = toClinicX(viewport.x) - 1;
+    int right = toClinicX(viewport.x + viewport.width) + 1;
+    int bottom = toClinicY(viewport.y + viewport.height) - 1;
+    int top = toClinicY(viewport.y) + 1;
+    return grid.roomsIntersecting(left, bottom, right, top);
+  }
+}
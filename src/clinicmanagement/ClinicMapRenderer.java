@@ -0,0 +1,582 @@
+package clinicmanagement;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A retained renderer for the clinic map. The floor plan, meaning the room
+ * fills, borders and titles, is drawn once per {@link ClinicMapLayout} into a
+ * separate image, and patient names are drawn over it.
+ *
+ * <p>When registered as a {@link RoomListener}, the renderer marks the rooms
+ * whose occupants changed, and the next frame repaints only those rooms from
+ * the floor plan. The whole map is redrawn only when the clinic's layout
+ * changes. Patient names are clipped to their room so a repaint never has to
+ * touch pixels outside the rooms that changed.
+ *
+ * <p>A room lists only as many names as fit below its title. When there are
+ * more, the last line reads "+N more" and the room is tinted red, deeper the
+ * more it is over capacity. Text widths come from a shared
+ * {@link TextWidthCache}, so a redraw costs at most one line of text per
+ * line the room can hold, however crowded it is.
+ *
+ * <p>Rendering is split in two so it can run off the event dispatch thread.
+ * {@link #snapshot()} reads the clinic and must run on the thread that changes
+ * it. {@link #render(Snapshot)} only reads the snapshot and may run on a
+ * background thread, one frame at a time, under its own lock so the model
+ * thread can keep marking rooms while a frame is drawn. Frames are drawn into
+ * a back buffer and the buffers are swapped when the frame is done, so the
+ * returned front image is never drawn into while it is on screen.
+ */
+public class ClinicMapRenderer implements RoomListener {
+  private static final Font ROOM_FONT = new Font("SansSerif", Font.BOLD, 12);
+  private static final Font PATIENT_FONT = new Font("SansSerif", Font.PLAIN, 11);
+  private static final Color SURGICAL_COLOR = new Color(255, 228, 196, 123); // Light bisque
+  private static final Color EXAM_COLOR = new Color(144, 238, 144, 123); // Light green
+  private static final Color PROCEDURE_COLOR = new Color(173, 216, 230, 123); // Light blue
+  private static final Color WAITING_COLOR = new Color(255, 250, 205, 123); // Light yellow
+  private static final Color DEFAULT_COLOR = new Color(240, 240, 240, 123); // Light gray
+  private static final int MARGIN = 5;
+  private static final int SPACE_BELOW_TITLE = 5;
+  private static final int TITLE_BASELINE = 15;
+  private static final int HEAT_LEVELS = 8;
+  private static final Color[] HEAT_COLORS = new Color[HEAT_LEVELS];
+  private static final FontMetrics ROOM_METRICS;
+  private static final FontMetrics PATIENT_METRICS;
+  private static final TextWidthCache ROOM_WIDTHS;
+  private static final TextWidthCache NAME_WIDTHS;
+
+  static {
+    for (int level = 0; level < HEAT_LEVELS; level++) {
+      HEAT_COLORS[level] = new Color(220, 40, 40, 32 + level * 16); // Deepening red tint
+    }
+    Graphics2D scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+    ROOM_METRICS = scratch.getFontMetrics(ROOM_FONT);
+    PATIENT_METRICS = scratch.getFontMetrics(PATIENT_FONT);
+    scratch.dispose();
+    ROOM_WIDTHS = new TextWidthCache(ROOM_METRICS, 4096);
+    NAME_WIDTHS = new TextWidthCache(PATIENT_METRICS, 65536);
+  }
+
+  private final Clinic clinic;
+  private final Map<Room, Integer> roomIndexes;
+  private final BitSet dirtyRooms;
+  private ClinicMapLayout snapshotLayout;
+  private BitSet backStale;
+
+  private final Object renderLock;
+  private ClinicMapLayout layout;
+  private BufferedImage floorPlan;
+  private BufferedImage front;
+  private BufferedImage back;
+  private int lastRedrawCount;
+
+  /**
+   * The clinic state one frame needs: the layout, which rooms to repaint and
+   * the patient names of every room drawn over them. A snapshot is immutable
+   * and safe to hand to another thread.
+   */
+  public static final class Snapshot {
+    private final ClinicMapLayout layout;
+    private final boolean fullRedraw;
+    private final BitSet regions;
+    private final String[][] names;
+    private final int[] counts;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param layout     The layout to draw.
+     * @param fullRedraw Whether the whole map must be drawn from scratch.
+     * @param regions    The rooms whose pixels are repainted.
+     * @param names      The patient names per room that fit on the map, null
+     *                   for rooms not drawn.
+     * @param counts     The number of patients per room.
+     */
+    private Snapshot(ClinicMapLayout layout, boolean fullRedraw, BitSet regions,
+        String[][] names, int[] counts) {
+      this.layout = layout;
+      this.fullRedraw = fullRedraw;
+      this.regions = regions;
+      this.names = names;
+      this.counts = counts;
+    }
+
+    /**
+     * Checks whether the frame leaves the map as it is.
+     *
+     * @return True if nothing needs repainting.
+     */
+    public boolean isEmpty() {
+      return !fullRedraw && regions.isEmpty();
+    }
+  }
+
+  /**
+   * Creates a renderer for a clinic. The renderer does not register itself;
+   * add it with {@link Clinic#addRoomListener(RoomListener)} to get
+   * incremental updates.
+   *
+   * @param clinic The clinic to draw.
+   * @throws IllegalArgumentException if the clinic is null.
+   */
+  public ClinicMapRenderer(Clinic clinic) throws IllegalArgumentException {
+    if (clinic == null) {
+      throw new IllegalArgumentException("Clinic cannot be null.");
+    }
+    this.clinic = clinic;
+    this.roomIndexes = new IdentityHashMap<>();
+    this.dirtyRooms = new BitSet();
+    this.backStale = new BitSet();
+    this.renderLock = new Object();
+  }
+
+  /**
+   * Gets the clinic this renderer draws.
+   *
+   * @return The clinic.
+   */
+  public Clinic getClinic() {
+    return clinic;
+  }
+
+  /**
+   * Marks a room to be repainted by the next frame.
+   *
+   * @param room The room whose assigned patients changed.
+   */
+  @Override
+  public synchronized void roomOccupantsChanged(Room room) {
+    Integer index = roomIndexes.get(room);
+    if (index != null) {
+      dirtyRooms.set(index);
+    }
+  }
+
+  /**
+   * Reads what the next frame needs from the clinic and clears the dirty rooms.
+   * The back buffer still lacks the rooms repainted in the previous frame, so
+   * those are repainted again along with the rooms that changed since. When no
+   * room changed the snapshot is empty and the front image stays current.
+   *
+   * @return The snapshot, or null if the clinic has no rooms.
+   */
+  public synchronized Snapshot snapshot() {
+    ClinicMapLayout current = clinic.getMapLayout();
+    if (current == null) {
+      snapshotLayout = null;
+      roomIndexes.clear();
+      dirtyRooms.clear();
+      backStale = new BitSet();
+      return null;
+    }
+    int count = current.getRoomCount();
+    String[][] names = new String[count][];
+    int[] counts = new int[count];
+    boolean fullRedraw = current != snapshotLayout;
+    BitSet regions = new BitSet();
+    if (fullRedraw) {
+      snapshotLayout = current;
+      roomIndexes.clear();
+      for (int i = 0; i < count; i++) {
+        roomIndexes.putIfAbsent(current.getRoom(i), i);
+        names[i] = occupantNames(current, i);
+        counts[i] = current.getRoom(i).getAssignedPatients().size();
+      }
+      backStale = new BitSet();
+    } else if (!dirtyRooms.isEmpty()) {
+      regions.or(dirtyRooms);
+      regions.or(backStale);
+      for (int region = regions.nextSetBit(0); region >= 0;
+          region = regions.nextSetBit(region + 1)) {
+        for (int i : current.roomIndexesIn(paintBounds(current, region))) {
+          if (names[i] == null) {
+            names[i] = occupantNames(current, i);
+            counts[i] = current.getRoom(i).getAssignedPatients().size();
+          }
+        }
+      }
+      backStale = (BitSet) dirtyRooms.clone();
+    }
+    dirtyRooms.clear();
+    return new Snapshot(current, fullRedraw, regions, names, counts);
+  }
+
+  /**
+   * Brings the map up to date on the calling thread and returns it.
+   *
+   * @return The clinic map, or null if the clinic has no rooms.
+   */
+  public BufferedImage render() {
+    Snapshot snapshot = snapshot();
+    return snapshot == null ? null : render(snapshot);
+  }
+
+  /**
+   * Draws a frame into the back buffer and swaps it to the front. A frame with
+   * nothing to repaint returns the current front image unchanged. Frames must
+   * be rendered one at a time, in the order their snapshots were taken.
+   *
+   * @param snapshot The frame to draw.
+   * @return The new front image.
+   * @throws IllegalArgumentException if the snapshot is null.
+   */
+  public BufferedImage render(Snapshot snapshot) throws IllegalArgumentException {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Snapshot cannot be null.");
+    }
+    synchronized (renderLock) {
+      if (snapshot.fullRedraw || snapshot.layout != layout) {
+        redrawAll(snapshot);
+      } else if (!snapshot.regions.isEmpty()) {
+        redrawRegions(snapshot);
+      } else {
+        lastRedrawCount = 0;
+      }
+      return front;
+    }
+  }
+
+  /**
+   * Gets the number of rooms whose occupants the last frame drew.
+   *
+   * @return The number of rooms redrawn.
+   */
+  public int getLastRedrawCount() {
+    synchronized (renderLock) {
+      return lastRedrawCount;
+    }
+  }
+
+  /**
+   * Draws the floor plan and every room's patients for a new layout into both
+   * buffers.
+   *
+   * @param snapshot The frame to draw.
+   */
+  private void redrawAll(Snapshot snapshot) {
+    layout = snapshot.layout;
+    floorPlan = newImage();
+    Graphics2D graphics = floorPlan.createGraphics();
+    graphics.setColor(Color.white);
+    graphics.fillRect(0, 0, layout.getWidth(), layout.getHeight());
+    for (int i = 0; i < layout.getRoomCount(); i++) {
+      drawRoom(graphics, layout, i);
+    }
+    graphics.dispose();
+
+    front = newImage();
+    graphics = front.createGraphics();
+    graphics.drawImage(floorPlan, 0, 0, null);
+    for (int i = 0; i < layout.getRoomCount(); i++) {
+      graphics.setClip(paintBounds(layout, i));
+      drawOccupants(graphics, layout, i, snapshot.names[i], snapshot.counts[i]);
+    }
+    graphics.dispose();
+
+    back = newImage();
+    graphics = back.createGraphics();
+    graphics.drawImage(front, 0, 0, null);
+    graphics.dispose();
+    lastRedrawCount = layout.getRoomCount();
+  }
+
+  /**
+   * Restores the floor plan under each repainted room in the back buffer,
+   * draws the patients of every room sharing those pixels and swaps buffers.
+   *
+   * @param snapshot The frame to draw.
+   */
+  private void redrawRegions(Snapshot snapshot) {
+    lastRedrawCount = 0;
+    Graphics2D graphics = back.createGraphics();
+    for (int region = snapshot.regions.nextSetBit(0); region >= 0;
+        region = snapshot.regions.nextSetBit(region + 1)) {
+      Rectangle bounds = paintBounds(layout, region);
+      graphics.setClip(bounds);
+      graphics.drawImage(floorPlan, 0, 0, null);
+      for (int i : layout.roomIndexesIn(bounds)) {
+        graphics.setClip(bounds);
+        graphics.clip(paintBounds(layout, i));
+        drawOccupants(graphics, layout, i, snapshot.names[i], snapshot.counts[i]);
+        lastRedrawCount++;
+      }
+    }
+    graphics.dispose();
+    BufferedImage drawn = back;
+    back = front;
+    front = drawn;
+  }
+
+  /**
+   * Creates a blank image the size of the map.
+   *
+   * @return The image.
+   */
+  private BufferedImage newImage() {
+    return new BufferedImage(layout.getWidth(), layout.getHeight(),
+        BufferedImage.TYPE_INT_RGB);
+  }
+
+  /**
+   * Gets the full names of the patients in a room that fit on the map.
+   *
+   * @param roomLayout The layout the room belongs to.
+   * @param index      The room position.
+   * @return The names in assignment order, no more than the room has lines for.
+   */
+  static String[] occupantNames(ClinicMapLayout roomLayout, int index) {
+    List<Patient> patients = roomLayout.getRoom(index).getAssignedPatients();
+    int shown = namesShown(patients.size(), nameLineCapacity(roomLayout, index));
+    String[] names = new String[shown];
+    for (int i = 0; i < shown; i++) {
+      names[i] = patients.get(i).getFullName();
+    }
+    return names;
+  }
+
+  /**
+   * Gets how many lines of patient names fit in a room below its title.
+   *
+   * @param roomLayout The layout the room belongs to.
+   * @param index      The room position.
+   * @return The number of name lines.
+   */
+  public static int nameLineCapacity(ClinicMapLayout roomLayout, int index) {
+    Rectangle bounds = roomLayout.getScreenBounds(index);
+    int bottom = bounds.y + bounds.height - PATIENT_METRICS.getDescent();
+    int firstBaseline = firstNameBaseline(bounds);
+    if (firstBaseline > bottom) {
+      return 0;
+    }
+    return (bottom - firstBaseline) / PATIENT_METRICS.getHeight() + 1;
+  }
+
+  /**
+   * Gets how many names are listed for a room, leaving the last line for the
+   * "+N more" summary when they do not all fit.
+   *
+   * @param occupants    The number of patients in the room.
+   * @param lineCapacity The number of name lines that fit.
+   * @return The number of names listed.
+   */
+  static int namesShown(int occupants, int lineCapacity) {
+    if (occupants <= lineCapacity) {
+      return occupants;
+    }
+    return Math.max(0, lineCapacity - 1);
+  }
+
+  /**
+   * Gets the baseline of the first patient name in a room.
+   *
+   * @param bounds The room's pixel rectangle.
+   * @return The baseline y position.
+   */
+  static int firstNameBaseline(Rectangle bounds) {
+    return bounds.y + TITLE_BASELINE + ROOM_METRICS.getHeight() + SPACE_BELOW_TITLE;
+  }
+
+
+  /**
+   * Gets the pixels a room covers, including the right and bottom border line.
+   *
+   * @param roomLayout The layout the room belongs to.
+   * @param index      The room position.
+   * @return The room's pixel rectangle.
+   */
+  static Rectangle paintBounds(ClinicMapLayout roomLayout, int index) {
+    Rectangle bounds = roomLayout.getScreenBounds(index);
+    bounds.width++;
+    bounds.height++;
+    return bounds;
+  }
+
+  /**
+   * Draws a room's fill, border and title.
+   *
+   * @param graphics   The graphics to draw with.
+   * @param roomLayout The layout the room belongs to.
+   * @param index      The room position.
+   */
+  static void drawRoom(Graphics2D graphics, ClinicMapLayout roomLayout, int index) {
+    Room room = roomLayout.getRoom(index);
+    Rectangle bounds = roomLayout.getScreenBounds(index);
+    graphics.setColor(roomColor(room));
+    graphics.fill(bounds);
+    graphics.setColor(Color.black);
+    graphics.draw(bounds);
+    graphics.setFont(ROOM_FONT);
+    graphics.drawString(getRoomLabel(room), getLabelX(roomLayout, index),
+        titleBaseline(bounds));
+  }
+
+  /**
+   * Draws the names of a room's patients below its title, or "Empty". A room
+   * with more patients than lines is tinted by how crowded it is and ends its
+   * list with a "+N more" line.
+   *
+   * @param graphics   The graphics to draw with, clipped by the caller.
+   * @param roomLayout The layout the room belongs to.
+   * @param index      The room position.
+   * @param names      The patient names that fit, from {@link #occupantNames}.
+   * @param occupants  The number of patients in the room.
+   */
+  static void drawOccupants(Graphics2D graphics, ClinicMapLayout roomLayout, int index,
+      String[] names, int occupants) {
+    Rectangle bounds = roomLayout.getScreenBounds(index);
+    int lineCapacity = nameLineCapacity(roomLayout, index);
+    int nameY = firstNameBaseline(bounds);
+    Color tint = crowdingTint(occupants, lineCapacity);
+    if (tint != null) {
+      graphics.setColor(tint);
+      graphics.fill(bounds);
+    }
+    graphics.setColor(Color.black);
+    graphics.setFont(PATIENT_FONT);
+    if (occupants == 0) {
+      graphics.drawString("Empty", getLabelX(roomLayout, index), nameY);
+      return;
+    }
+    int shown = Math.min(names.length, namesShown(occupants, lineCapacity));
+    for (int i = 0; i < shown; i++) {
+      graphics.drawString(names[i], nameX(bounds, names[i]), nameY);
+      nameY += nameLineHeight();
+    }
+    if (shown < occupants && lineCapacity > 0) {
+      String more = moreLabel(occupants - shown);
+      graphics.drawString(more, nameX(bounds, more), nameY);
+    }
+  }
+
+  /**
+   * Gets the red tint of a room with more patients than name lines, deeper
+   * the further it is over capacity.
+   *
+   * @param occupants    The number of patients in the room.
+   * @param lineCapacity The number of name lines that fit.
+   * @return The tint, or null if every name fits.
+   */
+  static Color crowdingTint(int occupants, int lineCapacity) {
+    if (occupants <= lineCapacity) {
+      return null;
+    }
+    int overflow = occupants / Math.max(1, lineCapacity);
+    return HEAT_COLORS[Math.min(HEAT_LEVELS - 1, overflow)];
+  }
+
+  /**
+   * Gets where a line of the patient list starts, shifted left if it would
+   * cross the room's right edge.
+   *
+   * @param bounds The room's pixel rectangle.
+   * @param text   The line.
+   * @return The line's x position.
+   */
+  static int nameX(Rectangle bounds, String text) {
+    int right = bounds.x + bounds.width;
+    int nameX = bounds.x + MARGIN;
+    int nameWidth = NAME_WIDTHS.width(text);
+    if (nameX + nameWidth > right) {
+      nameX = right - nameWidth - MARGIN;
+    }
+    return nameX;
+  }
+
+  /**
+   * Gets the distance between lines of the patient list.
+   *
+   * @return The line height in pixels.
+   */
+  static int nameLineHeight() {
+    return PATIENT_METRICS.getHeight();
+  }
+
+  /**
+   * Gets the summary line that ends a list with names left out.
+   *
+   * @param hidden The number of names left out.
+   * @return The summary line.
+   */
+  static String moreLabel(int hidden) {
+    return "+" + hidden + " more";
+  }
+
+  /**
+   * Gets a room's fill color.
+   *
+   * @param room The room.
+   * @return The translucent color of the room's type.
+   */
+  static Color roomColor(Room room) {
+    return getColorForRoomType(String.valueOf(room.getType()));
+  }
+
+  /**
+   * Gets the baseline of a room's title.
+   *
+   * @param bounds The room's pixel rectangle.
+   * @return The baseline y position.
+   */
+  static int titleBaseline(Rectangle bounds) {
+    return bounds.y + TITLE_BASELINE;
+  }
+
+  /**
+   * Gets where a room's title starts, shifted left if it would cross the
+   * room's right edge.
+   *
+   * @param roomLayout The layout the room belongs to.
+   * @param index      The room position.
+   * @return The title's x position.
+   */
+  static int getLabelX(ClinicMapLayout roomLayout, int index) {
+    Rectangle bounds = roomLayout.getScreenBounds(index);
+    int right = bounds.x + bounds.width;
+    int labelWidth = ROOM_WIDTHS.width(getRoomLabel(roomLayout.getRoom(index)));
+    int labelX = bounds.x + MARGIN;
+    if (labelX + labelWidth > right) {
+      labelX = right - labelWidth - MARGIN;
+    }
+    return labelX;
+  }
+
+  /**
+   * Gets the title drawn at the top of a room.
+   *
+   * @param room The room.
+   * @return The room name and number.
+   */
+  static String getRoomLabel(Room room) {
+    return room.getName() + " (#" + room.getRoomNumber() + ")";
+  }
+
+  /**
+   * Determines the color for a room based on its type.
+   *
+   * @param type The type of the room.
+   * @return The Color object representing the room color.
+   */
+  private static Color getColorForRoomType(String type) {
+    switch (type.toLowerCase()) {
+      case "surgical":
+        return SURGICAL_COLOR;
+      case "exam":
+        return EXAM_COLOR;
+      case "procedure":
+        return PROCEDURE_COLOR;
+      case "waiting":
+        return WAITING_COLOR;
+      default:
+        return DEFAULT_COLOR;
+    }
+  }
+}
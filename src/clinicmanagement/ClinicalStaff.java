@@ -1,10 +1,10 @@
 package clinicmanagement;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
+import java.util.RandomAccess;
 
 /**
  * A class representing clinical staff members.
@@ -13,8 +13,10 @@ public class ClinicalStaff extends Staff implements ClinicalStaffInterface,
     Comparable<ClinicalStaff> {
   private String prefix;
   private String npi; // National Provider Identifier for clinical staff
+  private static final int BITMAP_CHECK_SIZE = 256;
   private List<Patient> assignedPatients;
-  private Set<Integer> uniquePatientSerials = new HashSet<>();
+  private IntSet uniquePatientSerials = new IntHashSet();
+  private final List<CaseloadListener> caseloadListeners = new ArrayList<>();
 
   /**
    * Constructs a ClinicalStaff object with specified attributes.
@@ -34,7 +36,7 @@ public class ClinicalStaff extends Staff implements ClinicalStaffInterface,
       throw new IllegalArgumentException("Parameters cannot be null or empty");
     }
     this.npi = npi;
-    this.assignedPatients = new ArrayList<>();
+    this.assignedPatients = new Caseload();
 
     // Determine and set the prefix based on the job title
     if ("Nurse".equalsIgnoreCase(jobTitle)) {
@@ -47,7 +49,10 @@ public class ClinicalStaff extends Staff implements ClinicalStaffInterface,
   }
 
   /**
-   * Gets the Assigned Patient for staff of the clinical staff.
+   * Gets the Assigned Patient for staff of the clinical staff. The list keeps
+   * the patients' serial numbers in a hash set, so checking whether a patient
+   * is assigned takes constant time. A patient appears at most once; adding
+   * one already assigned throws an IllegalArgumentException.
    *
    * @return assigned Patients.
    */
@@ -99,9 +104,71 @@ public class ClinicalStaff extends Staff implements ClinicalStaffInterface,
    * Assigns a patient for counting unique patient serial numbers.
    *
    * @param patient The patient to assign for counting.
+   * @return True if this is the first time the patient has been assigned.
    */
-  public void assignPatientforCount(Patient patient) {
-    uniquePatientSerials.add(patient.getSerialNumber());
+  public boolean assignPatientforCount(Patient patient) {
+    boolean added = uniquePatientSerials.add(patient.getSerialNumber());
+    int size = uniquePatientSerials.size();
+    if (added && size >= BITMAP_CHECK_SIZE && Integer.bitCount(size) == 1
+        && uniquePatientSerials instanceof IntHashSet) {
+      useBitmapIfDense();
+    }
+    if (added) {
+      for (CaseloadListener listener : caseloadListeners) {
+        listener.uniquePatientCounted(this);
+      }
+    }
+    return added;
+  }
+
+  /**
+   * Registers a listener to be notified whenever the caseload or the lifetime
+   * patient count changes. Registering the same listener twice has no effect.
+   *
+   * @param listener The listener to register.
+   * @throws IllegalArgumentException if the listener is null.
+   */
+  public void addCaseloadListener(CaseloadListener listener) throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("Caseload listener cannot be null.");
+    }
+    if (!caseloadListeners.contains(listener)) {
+      caseloadListeners.add(listener);
+    }
+  }
+
+  /**
+   * Removes a previously registered caseload listener.
+   *
+   * @param listener The listener to remove.
+   */
+  public void removeCaseloadListener(CaseloadListener listener) {
+    caseloadListeners.remove(listener);
+  }
+
+  /**
+   * Tells the caseload listeners how many patients were added or removed.
+   *
+   * @param delta The change in the number of assigned patients.
+   */
+  private void fireCaseloadChanged(int delta) {
+    for (CaseloadListener listener : caseloadListeners) {
+      listener.caseloadChanged(this, delta);
+    }
+  }
+
+  /**
+   * Switches the lifetime patient serials to a bitmap once they are dense
+   * enough that one bit per serial up to the highest is smaller than the hash
+   * table, which holds at least two ints per serial. Checked only when the
+   * count reaches a power of two, so the scan costs constant time per patient.
+   */
+  private void useBitmapIfDense() {
+    int[] highest = new int[1];
+    uniquePatientSerials.forEach(serial -> highest[0] = Math.max(highest[0], serial));
+    if ((long) highest[0] < (long) uniquePatientSerials.size() * Integer.SIZE * 2) {
+      uniquePatientSerials = new IntBitmapSet(uniquePatientSerials);
+    }
   }
 
   /**
@@ -162,6 +229,127 @@ public class ClinicalStaff extends Staff implements ClinicalStaffInterface,
     return this.getFullName().compareTo(o.getFullName());
   }
 
+  /**
+   * A list of assigned patients that also keeps their serial numbers in a
+   * hash set, so {@link #contains(Object)} and a missed
+   * {@link #remove(Object)} take constant time without boxing. The list keeps
+   * the order patients were assigned in, so removing a patient still shifts
+   * the ones after it. Every change in size is reported to the staff member's
+   * caseload listeners.
+   */
+  private final class Caseload extends AbstractList<Patient> implements RandomAccess {
+    private final List<Patient> patients = new ArrayList<>();
+    private final IntHashSet serials = new IntHashSet();
+
+    @Override
+    public Patient get(int index) {
+      return patients.get(index);
+    }
+
+    @Override
+    public int size() {
+      return patients.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof Patient && serials.contains(((Patient) o).getSerialNumber());
+    }
+
+    /**
+     * Assigns a patient at the end of the list.
+     *
+     * @param patient The patient.
+     * @return True, as the list always changes.
+     * @throws IllegalArgumentException if the patient is already assigned.
+     */
+    @Override
+    public boolean add(Patient patient) throws IllegalArgumentException {
+      if (!serials.add(patient.getSerialNumber())) {
+        throw new IllegalArgumentException("Patient is already assigned.");
+      }
+      patients.add(patient);
+      modCount++;
+      fireCaseloadChanged(1);
+      return true;
+    }
+
+    /**
+     * Assigns a patient at a position.
+     *
+     * @param index   The position.
+     * @param patient The patient.
+     * @throws IllegalArgumentException if the patient is already assigned.
+     */
+    @Override
+    public void add(int index, Patient patient) throws IllegalArgumentException {
+      if (index < 0 || index > patients.size()) {
+        throw new IndexOutOfBoundsException("Index " + index + " outside " + patients.size());
+      }
+      if (!serials.add(patient.getSerialNumber())) {
+        throw new IllegalArgumentException("Patient is already assigned.");
+      }
+      patients.add(index, patient);
+      modCount++;
+      fireCaseloadChanged(1);
+    }
+
+    /**
+     * Replaces the patient at a position.
+     *
+     * @param index   The position.
+     * @param patient The new patient.
+     * @return The patient that was replaced.
+     * @throws IllegalArgumentException if the new patient is assigned at another position.
+     */
+    @Override
+    public Patient set(int index, Patient patient) {
+      Patient old = patients.get(index);
+      if (old.getSerialNumber() != patient.getSerialNumber()
+          && !serials.add(patient.getSerialNumber())) {
+        throw new IllegalArgumentException("Patient is already assigned.");
+      }
+      serials.remove(old.getSerialNumber());
+      serials.add(patient.getSerialNumber());
+      return patients.set(index, patient);
+    }
+
+    @Override
+    public Patient remove(int index) {
+      Patient removed = patients.remove(index);
+      serials.remove(removed.getSerialNumber());
+      modCount++;
+      fireCaseloadChanged(-1);
+      return removed;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!contains(o)) {
+        return false;
+      }
+      int serial = ((Patient) o).getSerialNumber();
+      for (int i = 0; i < patients.size(); i++) {
+        if (patients.get(i).getSerialNumber() == serial) {
+          remove(i);
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public void clear() {
+      int removed = patients.size();
+      patients.clear();
+      serials.clear();
+      modCount++;
+      if (removed > 0) {
+        fireCaseloadChanged(-removed);
+      }
+    }
+  }
+
   /**
    * Finds a clinical staff member by their serial number.
    *
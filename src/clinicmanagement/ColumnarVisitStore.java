@@ -0,0 +1,588 @@
+package clinicmanagement;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Keeps visit records in columns rather than as {@link Visitrecord} objects:
+ * registration times as epoch seconds, temperatures as floats, chief
+ * complaints as ids in a {@link StringDictionary}, and the patient's
+ * serial number for each visit. Rows are grouped by patient and ordered by
+ * registration time, with an offset table giving each patient's first row, so
+ * a report scan reads a few primitive arrays front to back.
+ *
+ * <p>Like {@link PatientIndex}, the store regroups lazily. Visits added since
+ * the last regroup form a tail at the end of the columns, chained per
+ * patient in time order, so reading one patient's visits right after adding
+ * one reads only that patient's rows. Removing a patient's visits only marks
+ * their rows dead, and reads skip them. Scanning the columns by row regroups
+ * first, merging each patient's tail into place in one pass, so loading an
+ * archive costs one regroup, not one per visit.
+ *
+ * <p>Registration times are kept to the second, read as UTC. Temperatures
+ * are kept as floats and read back as the shortest decimal that float holds,
+ * so 37.1 reads back as 37.1. The store is not safe for use by several
+ * threads.
+ */
+public class ColumnarVisitStore {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private long[] epochSeconds;
+  private float[] temperatures;
+  private int[] complaintIds;
+  private int[] patientSerials;
+  private int size;
+  private int liveSize;
+
+  private final StringDictionary strings;
+
+  private int[] patientStarts;
+  private int groupedSize;
+  private int[] tailFirst;
+  private int[] tailLast;
+  private int[] tailNext;
+  private final BitSet tailUnordered;
+  private int[] removedBefore;
+  private boolean removalsPending;
+
+  /**
+   * Creates an empty store.
+   */
+  public ColumnarVisitStore() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty store sized for an expected number of visits.
+   *
+   * @param expectedVisits The number of visits expected.
+   * @throws IllegalArgumentException if the expected count is negative.
+   */
+  public ColumnarVisitStore(int expectedVisits) throws IllegalArgumentException {
+    this(new StringDictionary(), expectedVisits);
+  }
+
+  /**
+   * Creates an empty store that encodes complaints through a shared
+   * dictionary, such as a clinic's, so its complaint ids match the ids on
+   * that clinic's visit records.
+   *
+   * @param strings        The dictionary to encode complaints with.
+   * @param expectedVisits The number of visits expected.
+   * @throws IllegalArgumentException if the dictionary is null or the expected count is negative.
+   */
+  public ColumnarVisitStore(StringDictionary strings, int expectedVisits)
+      throws IllegalArgumentException {
+    if (strings == null) {
+      throw new IllegalArgumentException("String dictionary cannot be null.");
+    }
+    if (expectedVisits < 0) {
+      throw new IllegalArgumentException("Expected visits cannot be negative.");
+    }
+    this.strings = strings;
+    int capacity = Math.max(DEFAULT_CAPACITY, expectedVisits);
+    this.epochSeconds = new long[capacity];
+    this.temperatures = new float[capacity];
+    this.complaintIds = new int[capacity];
+    this.patientSerials = new int[capacity];
+    this.patientStarts = new int[1];
+    this.tailFirst = new int[0];
+    this.tailLast = new int[0];
+    this.tailNext = new int[0];
+    this.tailUnordered = new BitSet();
+    this.removedBefore = new int[0];
+  }
+
+  /**
+   * Adds a visit for a patient.
+   *
+   * @param serial               The patient's serial number.
+   * @param registrationDateTime The date and time of the visit.
+   * @param chiefComplaint       The chief complaint.
+   * @param bodyTemperature      The body temperature.
+   * @throws IllegalArgumentException if the serial number or a visit field is invalid.
+   */
+  public void add(int serial, LocalDateTime registrationDateTime, String chiefComplaint,
+      double bodyTemperature) throws IllegalArgumentException {
+    if (serial <= 0) {
+      throw new IllegalArgumentException("Serial number must be greater than zero.");
+    }
+    if (registrationDateTime == null) {
+      throw new IllegalArgumentException("Registration date and time cannot be null.");
+    }
+    if (chiefComplaint == null || chiefComplaint.isEmpty()) {
+      throw new IllegalArgumentException("Chief complaint cannot be null or empty.");
+    }
+    if (bodyTemperature <= 0) {
+      throw new IllegalArgumentException("Body temperature must be a positive value.");
+    }
+    if (size == epochSeconds.length) {
+      int capacity = size + (size >> 1);
+      epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+      temperatures = Arrays.copyOf(temperatures, capacity);
+      complaintIds = Arrays.copyOf(complaintIds, capacity);
+      patientSerials = Arrays.copyOf(patientSerials, capacity);
+    }
+    epochSeconds[size] = registrationDateTime.toEpochSecond(ZoneOffset.UTC);
+    temperatures[size] = (float) bodyTemperature;
+    complaintIds[size] = strings.id(chiefComplaint);
+    patientSerials[size] = serial;
+    linkTail(serial, size);
+    size++;
+    liveSize++;
+  }
+
+  /**
+   * Adds all of a patient's visits.
+   *
+   * @param patient The patient.
+   * @throws IllegalArgumentException if the patient is null.
+   */
+  public void addAll(Patient patient) throws IllegalArgumentException {
+    if (patient == null) {
+      throw new IllegalArgumentException("Patient cannot be null.");
+    }
+    for (Visitrecord visit : patient.getVisitRecords()) {
+      add(patient.getSerialNumber(), visit.getRegistrationDateTime(),
+          visit.getChiefComplaint(), visit.getBodyTemperature());
+    }
+  }
+
+  /**
+   * Removes all of a patient's visits. The rows are only marked dead, by
+   * noting that the patient's rows before the current end of the store no
+   * longer count; they are dropped at the next regroup. Visits added for the
+   * patient afterwards are kept.
+   *
+   * @param serial The patient's serial number.
+   */
+  public void removeAll(int serial) {
+    int count = getVisitCount(serial);
+    if (count == 0) {
+      return;
+    }
+    if (serial >= removedBefore.length) {
+      removedBefore = Arrays.copyOf(removedBefore,
+          Math.max(serial + 1, removedBefore.length * 2));
+    }
+    removedBefore[serial] = size;
+    removalsPending = true;
+    liveSize -= count;
+  }
+
+  /**
+   * Gets the number of visits in the store.
+   *
+   * @return The visit count.
+   */
+  public int size() {
+    return liveSize;
+  }
+
+  /**
+   * Gets the number of visits of one patient. Only that patient's rows are
+   * read; the store is not regrouped.
+   *
+   * @param serial The patient's serial number.
+   * @return The patient's visit count.
+   */
+  public int getVisitCount(int serial) {
+    if (serial <= 0) {
+      return 0;
+    }
+    if (tailRow(serial) < 0 && !removalsPending) {
+      return groupedEnd(serial) - groupedStart(serial);
+    }
+    int count = 0;
+    for (RowCursor rows = new RowCursor(serial); rows.next() >= 0; ) {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Gets a read-only list of a patient's visits, oldest first, in the form
+   * {@link Patient#getVisitRecords()} returns. The list reads the columns
+   * and builds each record when it is asked for, so it always shows the
+   * patient's current visits.
+   *
+   * @param serial The patient's serial number.
+   * @return The patient's visits.
+   */
+  public List<Visitrecord> getVisitRecords(int serial) {
+    return new PatientVisits(serial);
+  }
+
+  /**
+   * Gets the first row of a patient's visits, for scanning the columns
+   * directly. The patient's rows run up to {@link #getEndRow(int)}.
+   *
+   * @param serial The patient's serial number.
+   * @return The first row.
+   */
+  public int getStartRow(int serial) {
+    ensureSorted();
+    if (serial <= 0 || serial + 1 >= patientStarts.length) {
+      return size;
+    }
+    return patientStarts[serial];
+  }
+
+  /**
+   * Gets the row after the last of a patient's visits.
+   *
+   * @param serial The patient's serial number.
+   * @return The end row, exclusive.
+   */
+  public int getEndRow(int serial) {
+    ensureSorted();
+    if (serial <= 0 || serial + 1 >= patientStarts.length) {
+      return size;
+    }
+    return patientStarts[serial + 1];
+  }
+
+  /**
+   * Gets the registration time of a row.
+   *
+   * @param row The row.
+   * @return The registration time in epoch seconds, UTC.
+   */
+  public long getEpochSecond(int row) {
+    ensureSorted();
+    return epochSeconds[checkRow(row)];
+  }
+
+  /**
+   * Gets the body temperature of a row.
+   *
+   * @param row The row.
+   * @return The temperature.
+   */
+  public float getTemperature(int row) {
+    ensureSorted();
+    return temperatures[checkRow(row)];
+  }
+
+  /**
+   * Gets the chief complaint id of a row.
+   *
+   * @param row The row.
+   * @return The complaint id, as given by {@link #getComplaintId(String)}.
+   */
+  public int getComplaintId(int row) {
+    ensureSorted();
+    return complaintIds[checkRow(row)];
+  }
+
+  /**
+   * Gets the patient serial number of a row.
+   *
+   * @param row The row.
+   * @return The serial number.
+   */
+  public int getPatientSerial(int row) {
+    ensureSorted();
+    return patientSerials[checkRow(row)];
+  }
+
+  /**
+   * Looks up the id of a chief complaint, for filtering rows by comparing ids.
+   *
+   * @param chiefComplaint The complaint.
+   * @return The id, or {@link StringDictionary#NO_ID} if the complaint was never recorded.
+   */
+  public int getComplaintId(String chiefComplaint) {
+    return strings.idOf(chiefComplaint);
+  }
+
+  /**
+   * Gets the text of a chief complaint id.
+   *
+   * @param id The complaint id.
+   * @return The complaint.
+   * @throws IndexOutOfBoundsException if no complaint has that id.
+   */
+  public String getComplaint(int id) {
+    return strings.get(id);
+  }
+
+  /**
+   * Checks that a row is in the store.
+   *
+   * @param row The row.
+   * @return The row.
+   * @throws IndexOutOfBoundsException if the row is outside the store.
+   */
+  private int checkRow(int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Row " + row + " outside " + size + " visits.");
+    }
+    return row;
+  }
+
+  /**
+   * Checks whether a row still counts, that is, it was not removed by
+   * {@link #removeAll(int)} since the last regroup.
+   *
+   * @param row The row.
+   * @return True if the row is live.
+   */
+  private boolean isLive(int row) {
+    int serial = patientSerials[row];
+    return serial >= removedBefore.length || row >= removedBefore[serial];
+  }
+
+  /**
+   * Gets the first grouped row of a patient.
+   *
+   * @param serial The patient's serial number.
+   * @return The first row, or the end of the grouped rows if the patient has none.
+   */
+  private int groupedStart(int serial) {
+    return serial + 1 < patientStarts.length ? patientStarts[serial] : groupedSize;
+  }
+
+  /**
+   * Gets the row after a patient's last grouped row.
+   *
+   * @param serial The patient's serial number.
+   * @return The end row, exclusive.
+   */
+  private int groupedEnd(int serial) {
+    return serial + 1 < patientStarts.length ? patientStarts[serial + 1] : groupedSize;
+  }
+
+  /**
+   * Gets a patient's first tail row, ordering their tail first if needed.
+   *
+   * @param serial The patient's serial number.
+   * @return The first tail row, or -1 if the patient has none.
+   */
+  private int tailRow(int serial) {
+    if (serial >= tailFirst.length) {
+      return -1;
+    }
+    if (tailUnordered.get(serial)) {
+      orderTail(serial);
+    }
+    return tailFirst[serial];
+  }
+
+  /**
+   * Gets the tail row after a row of the same patient.
+   *
+   * @param row The tail row.
+   * @return The next tail row, or -1 if it was the patient's last.
+   */
+  private int nextTailRow(int row) {
+    return tailNext[row - groupedSize];
+  }
+
+  /**
+   * Appends a new row to its patient's tail. A row that is not the latest of
+   * the tail marks it unordered, to be sorted when it is next read.
+   *
+   * @param serial The patient's serial number.
+   * @param row    The new row.
+   */
+  private void linkTail(int serial, int row) {
+    if (serial >= tailFirst.length) {
+      int oldLength = tailFirst.length;
+      int capacity = Math.max(serial + 1, oldLength * 2);
+      tailFirst = Arrays.copyOf(tailFirst, capacity);
+      tailLast = Arrays.copyOf(tailLast, capacity);
+      Arrays.fill(tailFirst, oldLength, capacity, -1);
+      Arrays.fill(tailLast, oldLength, capacity, -1);
+    }
+    if (row - groupedSize >= tailNext.length) {
+      tailNext = Arrays.copyOf(tailNext, Math.max(DEFAULT_CAPACITY, tailNext.length * 2));
+    }
+    tailNext[row - groupedSize] = -1;
+    int last = tailLast[serial];
+    if (last < 0) {
+      tailFirst[serial] = row;
+    } else {
+      tailNext[last - groupedSize] = row;
+      if (epochSeconds[row] < epochSeconds[last]) {
+        tailUnordered.set(serial);
+      }
+    }
+    tailLast[serial] = row;
+  }
+
+  /**
+   * Sorts a patient's tail by time. The sort is stable, so visits at the same
+   * time stay in the order they were added.
+   *
+   * @param serial The patient's serial number.
+   */
+  private void orderTail(int serial) {
+    int count = 0;
+    for (int row = tailFirst[serial]; row >= 0; row = nextTailRow(row)) {
+      count++;
+    }
+    Integer[] rows = new Integer[count];
+    count = 0;
+    for (int row = tailFirst[serial]; row >= 0; row = nextTailRow(row)) {
+      rows[count++] = row;
+    }
+    Arrays.sort(rows, Comparator.comparingLong(row -> epochSeconds[row]));
+    tailFirst[serial] = rows[0];
+    for (int i = 1; i < count; i++) {
+      tailNext[rows[i - 1] - groupedSize] = rows[i];
+    }
+    tailNext[rows[count - 1] - groupedSize] = -1;
+    tailLast[serial] = rows[count - 1];
+    tailUnordered.clear(serial);
+  }
+
+  /**
+   * Groups the rows by patient and orders each patient's rows by time, if
+   * visits were added or removed since the last regroup. Live rows are
+   * counted per serial number, then each patient's grouped rows and tail,
+   * both already in time order, are merged into place, dropping dead rows.
+   */
+  private void ensureSorted() {
+    if (groupedSize == size && !removalsPending) {
+      return;
+    }
+    int maxSerial = Math.max(0, patientStarts.length - 2);
+    for (int row = groupedSize; row < size; row++) {
+      maxSerial = Math.max(maxSerial, patientSerials[row]);
+    }
+    int[] starts = new int[maxSerial + 2];
+    for (int row = 0; row < size; row++) {
+      if (isLive(row)) {
+        starts[patientSerials[row] + 1]++;
+      }
+    }
+    for (int serial = 1; serial < starts.length; serial++) {
+      starts[serial] += starts[serial - 1];
+    }
+
+    long[] newSeconds = new long[epochSeconds.length];
+    float[] newTemperatures = new float[temperatures.length];
+    int[] newComplaints = new int[complaintIds.length];
+    int[] newSerials = new int[patientSerials.length];
+    for (int serial = 1; serial <= maxSerial; serial++) {
+      int target = starts[serial];
+      for (RowCursor rows = new RowCursor(serial); ; target++) {
+        int row = rows.next();
+        if (row < 0) {
+          break;
+        }
+        newSeconds[target] = epochSeconds[row];
+        newTemperatures[target] = temperatures[row];
+        newComplaints[target] = complaintIds[row];
+        newSerials[target] = serial;
+      }
+    }
+    epochSeconds = newSeconds;
+    temperatures = newTemperatures;
+    complaintIds = newComplaints;
+    patientSerials = newSerials;
+    size = liveSize;
+    groupedSize = liveSize;
+    patientStarts = starts;
+    tailFirst = new int[0];
+    tailLast = new int[0];
+    tailNext = new int[0];
+    if (removalsPending) {
+      removedBefore = new int[0];
+      removalsPending = false;
+    }
+  }
+
+  /**
+   * Walks one patient's live rows in time order, merging their grouped rows
+   * with their tail. On equal times grouped rows come first, as they were
+   * added first.
+   */
+  private final class RowCursor {
+    private int grouped;
+    private final int groupedEnd;
+    private int tail;
+
+    /**
+     * Starts a walk over a patient's rows.
+     *
+     * @param serial The patient's serial number.
+     */
+    private RowCursor(int serial) {
+      this.grouped = groupedStart(serial);
+      this.groupedEnd = groupedEnd(serial);
+      this.tail = tailRow(serial);
+    }
+
+    /**
+     * Gets the patient's next live row.
+     *
+     * @return The row, or -1 if there are no more.
+     */
+    private int next() {
+      while (grouped < groupedEnd && !isLive(grouped)) {
+        grouped++;
+      }
+      while (tail >= 0 && !isLive(tail)) {
+        tail = nextTailRow(tail);
+      }
+      if (grouped < groupedEnd
+          && (tail < 0 || epochSeconds[grouped] <= epochSeconds[tail])) {
+        return grouped++;
+      }
+      int row = tail;
+      if (tail >= 0) {
+        tail = nextTailRow(tail);
+      }
+      return row;
+    }
+  }
+
+  /**
+   * A read-only list of one patient's visits that builds each
+   * {@link Visitrecord} from the columns when it is read.
+   */
+  private final class PatientVisits extends AbstractList<Visitrecord> implements RandomAccess {
+    private final int serial;
+
+    /**
+     * Creates the list for a patient.
+     *
+     * @param serial The patient's serial number.
+     */
+    private PatientVisits(int serial) {
+      this.serial = serial;
+    }
+
+    @Override
+    public Visitrecord get(int index) {
+      int count = getVisitCount(serial);
+      if (index < 0 || index >= count) {
+        throw new IndexOutOfBoundsException("Index " + index + " outside " + count + " visits.");
+      }
+      int row = groupedStart(serial) + index;
+      if (tailRow(serial) >= 0 || removalsPending) {
+        RowCursor rows = new RowCursor(serial);
+        for (int i = 0; i <= index; i++) {
+          row = rows.next();
+        }
+      }
+      int complaintId = complaintIds[row];
+      return new Visitrecord(LocalDateTime.ofEpochSecond(epochSeconds[row], 0, ZoneOffset.UTC),
+          strings.get(complaintId), Double.parseDouble(Float.toString(temperatures[row])),
+          complaintId);
+    }
+
+    @Override
+    public int size() {
+      return getVisitCount(serial);
+    }
+  }
+}
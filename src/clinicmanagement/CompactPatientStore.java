@@ -0,0 +1,619 @@
+package clinicmanagement;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A patient store for large archives that keeps each patient's core fields in
+ * parallel arrays indexed by serial number instead of in a {@link Patient}
+ * object. The date of birth is kept as an epoch day, the room as a short
+ * room number, both names as ids in a {@link StringDictionary}, and the
+ * deactivated flag in a bit set. Room names and types are kept once per room
+ * number rather than once per patient.
+ *
+ * <p>Visits are kept in a {@link ColumnarVisitStore}. Most archived patients
+ * have little or no other history, so care teams and deactivation history
+ * live in side tables holding only the patients that have any.
+ * {@link #get(int)} returns a {@link PatientView}, a small object holding
+ * just the serial number that reads and writes the arrays.
+ *
+ * <p>The store is not safe for use by several threads.
+ */
+public class CompactPatientStore {
+  private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy");
+  private static final int NO_DATE = Integer.MIN_VALUE;
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private int[] dateOfBirthDays;
+  private short[] roomNumbers;
+  private int[] firstNameIds;
+  private int[] lastNameIds;
+  private final BitSet present;
+  private final BitSet deactivated;
+  private final StringDictionary strings;
+  private int size;
+
+  private String[] roomNames;
+  private Room.RoomType[] roomTypes;
+
+  private final ColumnarVisitStore visits;
+  private final Map<Integer, List<ClinicalStaff>> careTeams;
+  private final Map<Integer, int[]> deactivationDays;
+  private Clock clock;
+
+  /**
+   * Creates an empty store.
+   */
+  public CompactPatientStore() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty store sized for serial numbers up to an expected count.
+   *
+   * @param expectedPatients The number of patients expected.
+   * @throws IllegalArgumentException if the expected count is negative.
+   */
+  public CompactPatientStore(int expectedPatients) throws IllegalArgumentException {
+    this(new StringDictionary(), expectedPatients);
+  }
+
+  /**
+   * Creates an empty store that encodes names and chief complaints through a
+   * shared dictionary, such as a clinic's.
+   *
+   * @param strings          The dictionary to encode strings with.
+   * @param expectedPatients The number of patients expected.
+   * @throws IllegalArgumentException if the dictionary is null or the expected count is negative.
+   */
+  public CompactPatientStore(StringDictionary strings, int expectedPatients)
+      throws IllegalArgumentException {
+    if (strings == null) {
+      throw new IllegalArgumentException("String dictionary cannot be null.");
+    }
+    if (expectedPatients < 0) {
+      throw new IllegalArgumentException("Expected patients cannot be negative.");
+    }
+    int capacity = Math.max(DEFAULT_CAPACITY, expectedPatients + 1);
+    this.dateOfBirthDays = new int[capacity];
+    this.roomNumbers = new short[capacity];
+    this.firstNameIds = new int[capacity];
+    this.lastNameIds = new int[capacity];
+    this.present = new BitSet(capacity);
+    this.deactivated = new BitSet(capacity);
+    this.strings = strings;
+    this.roomNames = new String[DEFAULT_CAPACITY];
+    this.roomTypes = new Room.RoomType[DEFAULT_CAPACITY];
+    this.visits = new ColumnarVisitStore(strings, 0);
+    this.careTeams = new HashMap<>();
+    this.deactivationDays = new HashMap<>();
+    this.clock = Clock.systemDefaultZone();
+  }
+
+  /**
+   * Sets the clock used to date deactivations and reactivations made through
+   * the store's views.
+   *
+   * @param clock The clock that decides the current date.
+   * @throws IllegalArgumentException if the clock is null.
+   */
+  public void setClock(Clock clock) throws IllegalArgumentException {
+    if (clock == null) {
+      throw new IllegalArgumentException("Clock cannot be null.");
+    }
+    this.clock = clock;
+  }
+
+  /**
+   * Records a room's name and type, which every patient stored with that room
+   * number reports.
+   *
+   * @param room The room.
+   * @throws IllegalArgumentException if the room is null or its number does not fit in a short.
+   */
+  public void registerRoom(Room room) throws IllegalArgumentException {
+    if (room == null) {
+      throw new IllegalArgumentException("Room cannot be null.");
+    }
+    int number = checkRoomNumber(room.getRoomNumber());
+    ensureRoomCapacity(number);
+    roomNames[number] = room.getName();
+    roomTypes[number] = room.getType();
+  }
+
+  /**
+   * Grows the room name and type arrays to hold a room number.
+   *
+   * @param number The room number.
+   */
+  private void ensureRoomCapacity(int number) {
+    if (number >= roomNames.length) {
+      int capacity = Math.max(number + 1, roomNames.length * 2);
+      roomNames = Arrays.copyOf(roomNames, capacity);
+      roomTypes = Arrays.copyOf(roomTypes, capacity);
+    }
+  }
+
+  /**
+   * Copies a patient into the store, including their visits, care team,
+   * deactivation history and room. A patient already stored under the same
+   * serial number is replaced.
+   *
+   * @param patient The patient to copy.
+   * @return The view of the stored patient.
+   * @throws IllegalArgumentException if the patient is null or does not fit the store.
+   */
+  public PatientView add(Patient patient) throws IllegalArgumentException {
+    if (patient == null) {
+      throw new IllegalArgumentException("Patient cannot be null.");
+    }
+    int serial = patient.getSerialNumber();
+    put(serial, patient.getFirstName(), patient.getLastName(), patient.getDateOfBirth(),
+        patient.getRoomNumber());
+    if (patient.isDeactivated()) {
+      deactivated.set(serial);
+    }
+
+    int count = patient.getDeactivationCount();
+    if (count > 0) {
+      int[] days = new int[count * 2];
+      for (int i = 0; i < count; i++) {
+        days[2 * i] = (int) patient.getDeactivationDate(i).toEpochDay();
+        LocalDate reactivated = patient.getReactivationDate(i);
+        days[2 * i + 1] = reactivated == null ? NO_DATE : (int) reactivated.toEpochDay();
+      }
+      deactivationDays.put(serial, days);
+    }
+    visits.addAll(patient);
+    List<ClinicalStaff> careTeam = patient.getAssignedClinicalStaff();
+    if (!careTeam.isEmpty()) {
+      careTeams.put(serial, careTeam);
+    }
+    return new PatientView(serial);
+  }
+
+  /**
+   * Stores a patient's core fields without building a {@link Patient}, as an
+   * archive import does. A patient already stored under the same serial
+   * number is replaced and loses their history.
+   *
+   * @param serial      The patient's serial number.
+   * @param firstName   The first name.
+   * @param lastName    The last name.
+   * @param dateOfBirth The date of birth.
+   * @param roomNumber  The room number.
+   * @return The view of the stored patient.
+   * @throws IllegalArgumentException if a field is missing or does not fit the store.
+   */
+  public PatientView add(int serial, String firstName, String lastName, LocalDate dateOfBirth,
+      int roomNumber) throws IllegalArgumentException {
+    put(serial, firstName, lastName, dateOfBirth, roomNumber);
+    return new PatientView(serial);
+  }
+
+  /**
+   * Gets a view of a stored patient.
+   *
+   * @param serial The patient's serial number.
+   * @return The view, or null if no patient has that serial number.
+   */
+  public PatientView get(int serial) {
+    return contains(serial) ? new PatientView(serial) : null;
+  }
+
+  /**
+   * Checks whether a patient is stored under a serial number.
+   *
+   * @param serial The serial number.
+   * @return True if a patient has that serial number.
+   */
+  public boolean contains(int serial) {
+    return serial > 0 && present.get(serial);
+  }
+
+  /**
+   * Gets the columns holding every stored patient's visits, for reports
+   * that scan visits without going through the views.
+   *
+   * @return The visit store.
+   */
+  public ColumnarVisitStore getVisitStore() {
+    return visits;
+  }
+
+  /**
+   * Gets the number of stored patients.
+   *
+   * @return The patient count.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the serial numbers of all stored patients.
+   *
+   * @return The serial numbers in ascending order.
+   */
+  public int[] serialNumbers() {
+    return present.stream().toArray();
+  }
+
+  /**
+   * Writes a patient's core fields into the arrays.
+   *
+   * @param serial      The serial number.
+   * @param firstName   The first name.
+   * @param lastName    The last name.
+   * @param dateOfBirth The date of birth.
+   * @param roomNumber  The room number.
+   * @throws IllegalArgumentException if a field is missing or does not fit the store.
+   */
+  private void put(int serial, String firstName, String lastName, LocalDate dateOfBirth,
+      int roomNumber) throws IllegalArgumentException {
+    if (serial <= 0) {
+      throw new IllegalArgumentException("Serial number must be greater than zero.");
+    }
+    if (firstName == null || lastName == null || dateOfBirth == null) {
+      throw new IllegalArgumentException("Names and date of birth cannot be null.");
+    }
+    short room = (short) checkRoomNumber(roomNumber);
+    ensureCapacity(serial);
+    firstNameIds[serial] = strings.id(firstName);
+    lastNameIds[serial] = strings.id(lastName);
+    dateOfBirthDays[serial] = (int) dateOfBirth.toEpochDay();
+    roomNumbers[serial] = room;
+
+    if (!present.get(serial)) {
+      present.set(serial);
+      size++;
+      return;
+    }
+    deactivated.clear(serial);
+    visits.removeAll(serial);
+    careTeams.remove(serial);
+    deactivationDays.remove(serial);
+  }
+
+  /**
+   * Grows the arrays to hold a serial number.
+   *
+   * @param serial The serial number.
+   */
+  private void ensureCapacity(int serial) {
+    if (serial < dateOfBirthDays.length) {
+      return;
+    }
+    int capacity = (int) Math.min(Integer.MAX_VALUE - 8,
+        Math.max(serial + 1L, dateOfBirthDays.length + (dateOfBirthDays.length >> 1)));
+    dateOfBirthDays = Arrays.copyOf(dateOfBirthDays, capacity);
+    roomNumbers = Arrays.copyOf(roomNumbers, capacity);
+    firstNameIds = Arrays.copyOf(firstNameIds, capacity);
+    lastNameIds = Arrays.copyOf(lastNameIds, capacity);
+  }
+
+  /**
+   * Checks that a room number fits in a short.
+   *
+   * @param roomNumber The room number.
+   * @return The room number.
+   * @throws IllegalArgumentException if the room number is negative or too large.
+   */
+  private static int checkRoomNumber(int roomNumber) throws IllegalArgumentException {
+    if (roomNumber < 0 || roomNumber > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("Room number out of range: " + roomNumber);
+    }
+    return roomNumber;
+  }
+
+  /**
+   * A patient stored in a {@link CompactPatientStore}. A view holds only the
+   * patient's serial number; every getter reads the store and every setter
+   * writes to it, so two views of the same patient always agree.
+   *
+   * <p>Room names and types belong to the room number, so
+   * {@link #setRoomName(String)} and {@link #setRoomType(Room.RoomType)}
+   * re-register the name or type of the patient's room, and every patient
+   * stored with that room number reports the new value.
+   */
+  public final class PatientView implements PatientInterface {
+    private final int serial;
+
+    /**
+     * Creates a view of a stored patient.
+     *
+     * @param serial The patient's serial number.
+     */
+    private PatientView(int serial) {
+      this.serial = serial;
+    }
+
+    @Override
+    public int getSerialNumber() {
+      return serial;
+    }
+
+    @Override
+    public String getFirstName() {
+      return strings.get(firstNameIds[serial]);
+    }
+
+    @Override
+    public String getLastName() {
+      return strings.get(lastNameIds[serial]);
+    }
+
+    @Override
+    public String getFullName() {
+      return getFirstName() + " " + getLastName();
+    }
+
+    @Override
+    public LocalDate getDateOfBirth() {
+      return LocalDate.ofEpochDay(dateOfBirthDays[serial]);
+    }
+
+    @Override
+    public int getRoomNumber() {
+      return roomNumbers[serial];
+    }
+
+    @Override
+    public void setRoomNumber(int roomNumber) throws IllegalArgumentException {
+      if (roomNumber <= 0) {
+        throw new IllegalArgumentException("Room number cannot be Empty or negative");
+      }
+      roomNumbers[serial] = (short) checkRoomNumber(roomNumber);
+    }
+
+    /**
+     * Retrieves the name of the patient's room.
+     *
+     * @return The room name.
+     * @throws IllegalArgumentException if the room was never registered with the store.
+     */
+    @Override
+    public String getRoomName() throws IllegalArgumentException {
+      int room = roomNumbers[serial];
+      if (room >= roomNames.length || roomNames[room] == null) {
+        throw new IllegalArgumentException("Room name cannot be null or empty");
+      }
+      return roomNames[room];
+    }
+
+    /**
+     * Retrieves the type of the patient's room.
+     *
+     * @return The room type.
+     * @throws IllegalArgumentException if the room was never registered with the store.
+     */
+    @Override
+    public Room.RoomType getRoomType() throws IllegalArgumentException {
+      int room = roomNumbers[serial];
+      if (room >= roomTypes.length || roomTypes[room] == null) {
+        throw new IllegalArgumentException("Room type cannot be null");
+      }
+      return roomTypes[room];
+    }
+
+    /**
+     * Sets the name of the patient's room, for every patient in that room.
+     *
+     * @param roomName The room name.
+     * @throws IllegalArgumentException if the name is null.
+     */
+    @Override
+    public void setRoomName(String roomName) throws IllegalArgumentException {
+      if (roomName == null) {
+        throw new IllegalArgumentException("name cannot be Empty");
+      }
+      int room = roomNumbers[serial];
+      ensureRoomCapacity(room);
+      roomNames[room] = roomName;
+    }
+
+    /**
+     * Sets the type of the patient's room, for every patient in that room.
+     *
+     * @param roomType The room type.
+     * @throws IllegalArgumentException if the type is null.
+     */
+    @Override
+    public void setRoomType(Room.RoomType roomType) throws IllegalArgumentException {
+      if (roomType == null) {
+        throw new IllegalArgumentException("name cannot be Empty");
+      }
+      int room = roomNumbers[serial];
+      ensureRoomCapacity(room);
+      roomTypes[room] = roomType;
+    }
+
+    /**
+     * Moves the patient to a room and registers the room with the store.
+     *
+     * @param room The room.
+     * @throws IllegalArgumentException if the room is null or its number does not fit.
+     */
+    @Override
+    public void populateRoomInfo(Room room) throws IllegalArgumentException {
+      registerRoom(room);
+      roomNumbers[serial] = (short) room.getRoomNumber();
+    }
+
+    /**
+     * Checks whether the patient is deactivated.
+     *
+     * @return True if the patient is deactivated.
+     */
+    public boolean isDeactivated() {
+      return deactivated.get(serial);
+    }
+
+    @Override
+    public void setDeactivated(boolean deactivate) {
+      if (deactivate == isDeactivated()) {
+        return;
+      }
+      if (deactivate) {
+        appendDeactivation((int) LocalDate.now(clock).toEpochDay());
+      } else {
+        setReactivated();
+      }
+    }
+
+    @Override
+    public void setReactivated() {
+      if (!isDeactivated()) {
+        return;
+      }
+      deactivated.clear(serial);
+      int[] days = deactivationDays.get(serial);
+      if (days != null && days[days.length - 1] == NO_DATE) {
+        days[days.length - 1] = (int) LocalDate.now(clock).toEpochDay();
+      }
+    }
+
+    @Override
+    public void deactivateAtPastDate(LocalDate deactivationDate) {
+      appendDeactivation((int) deactivationDate.toEpochDay());
+    }
+
+    /**
+     * Retrieves the last deactivation date of the patient.
+     *
+     * @return The last deactivation date, or null if the patient is active.
+     */
+    public LocalDate getLastDeactivationDate() {
+      int[] days = deactivationDays.get(serial);
+      if (days == null || days[days.length - 1] != NO_DATE) {
+        return null;
+      }
+      return LocalDate.ofEpochDay(days[days.length - 2]);
+    }
+
+    /**
+     * Gets the number of entries in the patient's deactivation history.
+     *
+     * @return The number of times the patient has been deactivated.
+     */
+    public int getDeactivationCount() {
+      int[] days = deactivationDays.get(serial);
+      return days == null ? 0 : days.length / 2;
+    }
+
+    /**
+     * Records a deactivation and marks the patient deactivated.
+     *
+     * @param epochDay The day of the deactivation.
+     */
+    private void appendDeactivation(int epochDay) {
+      deactivated.set(serial);
+      int[] days = deactivationDays.get(serial);
+      int length = days == null ? 0 : days.length;
+      days = days == null ? new int[2] : Arrays.copyOf(days, length + 2);
+      days[length] = epochDay;
+      days[length + 1] = NO_DATE;
+      deactivationDays.put(serial, days);
+    }
+
+    @Override
+    public List<ClinicalStaff> getAssignedClinicalStaff() {
+      List<ClinicalStaff> careTeam = careTeams.get(serial);
+      return careTeam == null ? new ArrayList<>() : new ArrayList<>(careTeam);
+    }
+
+    /**
+     * Gets the patient's visit records, oldest first. The list is read-only;
+     * add visits with {@link #addVisitRecord(LocalDateTime, String, double)}.
+     *
+     * @return The visit records.
+     */
+    @Override
+    public List<Visitrecord> getVisitRecords() {
+      return visits.getVisitRecords(serial);
+    }
+
+    @Override
+    public void addVisitRecord(LocalDateTime registrationDateTime, String chiefComplaint,
+        double bodyTemperature) throws IllegalArgumentException {
+      visits.add(serial, registrationDateTime, chiefComplaint, bodyTemperature);
+    }
+
+    @Override
+    public String getFullInformation() {
+      StringBuilder info = new StringBuilder();
+      info.append("Patient Information:\n");
+      info.append("Serial Number: ").append(serial).append("\n");
+      info.append("Name: ").append(getFullName()).append("\n");
+      info.append("Date of Birth: ").append(FORMATTER.format(getDateOfBirth())).append("\n");
+      int room = roomNumbers[serial];
+      info.append("Room Number: ").append(room).append("\n");
+      info.append("Room Name: ").append(room < roomNames.length ? roomNames[room] : null)
+          .append("\n");
+      Room.RoomType type = room < roomTypes.length ? roomTypes[room] : null;
+      info.append("Room Type: ").append(type != null ? type.getType() : "N/A").append("\n\n");
+
+      List<Visitrecord> visitRecords = getVisitRecords();
+      if (visitRecords.isEmpty()) {
+        info.append("No visit records available.\n");
+      } else {
+        info.append("Visit Records:\n");
+        for (Visitrecord visitRecord : visitRecords) {
+          PatientDetailsView.appendVisit(visitRecord, info);
+        }
+      }
+      return info.toString();
+    }
+
+    /**
+     * Checks whether another object is a view of the same patient in the same store.
+     *
+     * @param obj The object to compare with.
+     * @return True if both view the same stored patient.
+     */
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof PatientView)) {
+        return false;
+      }
+      PatientView other = (PatientView) obj;
+      return serial == other.serial && store() == other.store();
+    }
+
+    /**
+     * Computes the hash code from the serial number.
+     *
+     * @return The hash code.
+     */
+    @Override
+    public int hashCode() {
+      return Objects.hash(serial);
+    }
+
+    /**
+     * Gets the store this view reads.
+     *
+     * @return The store.
+     */
+    private CompactPatientStore store() {
+      return CompactPatientStore.this;
+    }
+
+    @Override
+    public String toString() {
+      return getFirstName() + " " + getLastName() + " - DOB: " + getDateOfBirth();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package clinicmanagement;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes report rows as comma separated values, with a header line of column names.
+ * Values containing commas, quotes or line breaks are quoted.
+ */
+public class CsvReportWriter implements ReportWriter {
+
+  @Override
+  public void write(String[] columns, Stream<? extends ReportRow> rows, Appendable out)
+      throws IOException {
+    if (columns == null || rows == null || out == null) {
+      throw new IllegalArgumentException("Columns, rows and output cannot be null.");
+    }
+    writeLine(columns, out);
+    Iterator<? extends ReportRow> iterator = rows.iterator();
+    while (iterator.hasNext()) {
+      writeLine(iterator.next().getValues(), out);
+    }
+  }
+
+  /**
+   * Writes one line of values.
+   *
+   * @param values The values to write.
+   * @param out    The sink to write to.
+   * @throws IOException if writing fails.
+   */
+  private void writeLine(Object[] values, Appendable out) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      appendValue(values[i] == null ? "" : String.valueOf(values[i]), out);
+    }
+    out.append('\n');
+  }
+
+  /**
+   * Appends a single value, quoting it when needed.
+   *
+   * @param value The value to append.
+   * @param out   The sink to write to.
+   * @throws IOException if writing fails.
+   */
+  static void appendValue(CharSequence value, Appendable out) throws IOException {
+    boolean needsQuotes = false;
+    for (int i = 0; i < value.length() && !needsQuotes; i++) {
+      char c = value.charAt(i);
+      needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (!needsQuotes) {
+      out.append(value);
+      return;
+    }
+    out.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        out.append('"');
+      }
+      out.append(c);
+    }
+    out.append('"');
+  }
+}
@@ -6,12 +6,18 @@ import static clinicmanagement.GuiDriver.selectClinicFile;
 import java.awt.BorderLayout;
 import java.awt.Component;
 import java.awt.Font;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import javax.swing.Icon;
 import javax.swing.ImageIcon;
+import javax.swing.JComponent;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JMenu;
@@ -20,6 +26,7 @@ import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JScrollPane;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.border.EmptyBorder;
 
 
@@ -36,6 +43,11 @@ public class GuiController {
   protected Clinic clinic;
   protected JFrame frame;
   protected JLabel clinicMapLabel;
+  private ClinicMapRenderer mapRenderer;
+  private JScrollPane mapScrollPane;
+  private TiledClinicMapView tiledMapView;
+  private boolean mapRenderRunning;
+  private boolean mapRenderPending;
   private Map<Integer, Command> commands;
 
   /**
@@ -108,8 +120,14 @@ public class GuiController {
     commands.put(12, () -> clinic.listClinicalStaffWithIncompleteVisitsGui(clinic
         .getClinicalStaffList(), this));
     commands.put(13, () -> clinic.listPatientsWithMultipleVisitsInLastYear(this));
-    commands.put(14, this::loadNewClinicFile);
-    commands.put(15, () -> System.exit(0));
+    commands.put(14, () -> clinic.listPatientsByVisitFrequencyGui(this));
+    commands.put(15, () -> clinic.exportReportGui(this));
+    commands.put(16, () -> clinic.exportClinicGui(this));
+    commands.put(17, this::loadNewClinicFile);
+    commands.put(18, () -> System.exit(0));
+    commands.put(19, () -> zoomMap(1));
+    commands.put(20, () -> zoomMap(-1));
+    commands.put(21, () -> zoomMap(-TiledClinicMapView.MAX_ZOOM));
   }
 
   /**
@@ -133,9 +151,19 @@ public class GuiController {
     addMenuItem(fileMenu, "List Inactive Patients for Over a Year", 11);
     addMenuItem(fileMenu, "List Clinical Staff with Incomplete Visit", 12);
     addMenuItem(fileMenu, "List Patients with Multiple Visits in Last Year", 13);
-    addMenuItem(fileMenu, "Clear the Current Clinic and Load new Clinic File", 14);
-    addMenuItem(fileMenu, "Exit", 15);
+    addMenuItem(fileMenu, "List Patients by Visit Frequency", 14);
+    addMenuItem(fileMenu, "Export Report to CSV or JSON", 15);
+    addMenuItem(fileMenu, "Export Entire Clinic to CSV or NDJSON", 16);
+    addMenuItem(fileMenu, "Clear the Current Clinic and Load new Clinic File", 17);
+    addMenuItem(fileMenu, "Exit", 18);
     menuBar.add(fileMenu);
+
+    JMenu viewMenu = new JMenu("View");
+    viewMenu.setFont(new Font("Arial", Font.BOLD, 14));
+    addMenuItem(viewMenu, "Zoom In on Clinic Map", 19);
+    addMenuItem(viewMenu, "Zoom Out of Clinic Map", 20);
+    addMenuItem(viewMenu, "Fit Clinic Map to Window", 21);
+    menuBar.add(viewMenu);
     frame.setJMenuBar(menuBar);
   }
 
@@ -169,8 +197,64 @@ public class GuiController {
   private void displayClinicMap() {
     clinicMapLabel = new JLabel();
     updateMapImage();
-    JScrollPane scrollPane = new JScrollPane(clinicMapLabel);
-    frame.add(scrollPane, BorderLayout.CENTER);
+    mapScrollPane = new JScrollPane(clinicMapLabel);
+    frame.add(mapScrollPane, BorderLayout.CENTER);
+  }
+
+  /**
+   * Zooms the clinic map in or out by a number of levels. Zoom level 0 shows
+   * the map fitted into one image; higher levels switch to a tiled map that
+   * draws only the tiles scrolled into view.
+   *
+   * @param levels The number of levels to zoom in, or out if negative.
+   */
+  private void zoomMap(int levels) {
+    int current = tiledMapView == null ? 0 : tiledMapView.getZoom();
+    int target = Math.max(0, Math.min(TiledClinicMapView.MAX_ZOOM, current + levels));
+    if (target == 0) {
+      showFittedMap();
+      return;
+    }
+    if (tiledMapView == null) {
+      tiledMapView = new TiledClinicMapView(clinic);
+      clinic.addRoomListener(tiledMapView);
+      mapScrollPane.setViewportView(tiledMapView);
+    }
+    tiledMapView.setZoom(target);
+  }
+
+  /**
+   * Switches the map back to the fitted image, releasing the tiled map.
+   */
+  private void showFittedMap() {
+    if (tiledMapView != null) {
+      tiledMapView.getClinic().removeRoomListener(tiledMapView);
+      tiledMapView = null;
+      mapScrollPane.setViewportView(clinicMapLabel);
+      scheduleMapRender();
+    }
+  }
+
+  /**
+   * Waits for the user to click on the clinic map and passes the room under
+   * the click to a callback, whichever zoom level the map is shown at.
+   *
+   * @param onRoomSelected Called once with the clicked room, or null if the
+   *                       click was outside every room.
+   */
+  public void selectRoomOnMap(Consumer<Room> onRoomSelected) {
+    TiledClinicMapView tiledView = tiledMapView;
+    JComponent mapView = tiledView != null ? tiledView : clinicMapLabel;
+    mapView.addMouseListener(new MouseAdapter() {
+      @Override
+      public void mouseClicked(MouseEvent e) {
+        mapView.removeMouseListener(this);
+        Room clickedRoom = tiledView != null
+            ? tiledView.getRoomAt(e.getX(), e.getY())
+            : ClinicMap.getRoomFromCoordinates(clinic, e.getX(), e.getY());
+        onRoomSelected.accept(clickedRoom);
+      }
+    });
   }
 
   /**
@@ -232,31 +316,93 @@ public class GuiController {
 
   /**
    * Updates the displayed clinic map image in the GUI.
-   * This method generates a new clinic map image using the ClinicMap class
-   * and sets it as the icon for the clinic map label. If the clinic map
-   * cannot be generated, an error message dialog is displayed.
+   * The clinic is read on the Event Dispatch Thread and the map is drawn by a
+   * {@link SwingWorker} into a back buffer, so menus stay responsive while a
+   * large map is drawn. The finished image is shown on the Event Dispatch
+   * Thread. Requests made while a frame is being drawn are merged into one
+   * more frame when it finishes.
    */
   public void updateMapImage() {
-    BufferedImage clinicMap = ClinicMap.createClinicMap(clinic);
-    if (clinicMap == null) {
+    if (SwingUtilities.isEventDispatchThread()) {
+      scheduleMapRender();
+    } else {
+      SwingUtilities.invokeLater(this::scheduleMapRender);
+    }
+  }
+
+  /**
+   * Asynchronously updates the clinic map in the GUI.
+   * This method queues the update on the Event Dispatch Thread (EDT) using
+   * SwingUtilities.invokeLater(), so it is safe to call from any thread.
+   */
+  public void updateClinicMap() {
+    SwingUtilities.invokeLater(this::scheduleMapRender);
+  }
+
+  /**
+   * Starts drawing a map frame in the background, or marks one as pending if a
+   * frame is already being drawn. Must run on the Event Dispatch Thread.
+   */
+  private void scheduleMapRender() {
+    if (mapRenderRunning) {
+      mapRenderPending = true;
+      return;
+    }
+    if (tiledMapView != null && tiledMapView.getClinic() != clinic) {
+      showFittedMap();
+      return;
+    }
+    if (mapRenderer == null || mapRenderer.getClinic() != clinic) {
+      if (mapRenderer != null) {
+        mapRenderer.getClinic().removeRoomListener(mapRenderer);
+      }
+      mapRenderer = new ClinicMapRenderer(clinic);
+      clinic.addRoomListener(mapRenderer);
+    }
+    ClinicMapRenderer renderer = mapRenderer;
+    ClinicMapRenderer.Snapshot snapshot = renderer.snapshot();
+    if (snapshot == null) {
       JOptionPane.showMessageDialog(frame, "Failed to generate clinic map.",
           "Error", JOptionPane.ERROR_MESSAGE);
       return;
     }
-    ImageIcon newIcon = new ImageIcon(clinicMap);
-    clinicMapLabel.setIcon(newIcon);
-    clinicMapLabel.revalidate();
-    clinicMapLabel.repaint();
+    mapRenderRunning = true;
+    new SwingWorker<BufferedImage, Void>() {
+      @Override
+      protected BufferedImage doInBackground() {
+        return renderer.render(snapshot);
+      }
+
+      @Override
+      protected void done() {
+        mapRenderRunning = false;
+        try {
+          showMapImage(get());
+        } catch (InterruptedException | ExecutionException ex) {
+          JOptionPane.showMessageDialog(frame, "Failed to generate clinic map: "
+              + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+        if (mapRenderPending) {
+          mapRenderPending = false;
+          scheduleMapRender();
+        }
+      }
+    }.execute();
   }
 
   /**
-   * Asynchronously updates the clinic map in the GUI.
-   * This method invokes the updateMapImage() method using SwingUtilities.invokeLater(),
-   * ensuring that the update operation is performed on the Event Dispatch Thread (EDT).
-   * This is necessary for safely updating GUI components from a background thread.
+   * Shows a finished map image, replacing the label's icon only when the
+   * image differs from the one on screen.
+   *
+   * @param clinicMap The map image.
    */
-  public void updateClinicMap() {
-    SwingUtilities.invokeLater(this::updateMapImage);
+  private void showMapImage(BufferedImage clinicMap) {
+    Icon icon = clinicMapLabel.getIcon();
+    if (!(icon instanceof ImageIcon) || ((ImageIcon) icon).getImage() != clinicMap) {
+      clinicMapLabel.setIcon(new ImageIcon(clinicMap));
+      clinicMapLabel.revalidate();
+    }
+    clinicMapLabel.repaint();
   }
 
 }
@@ -0,0 +1,143 @@
+package clinicmanagement;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * An {@link IntSet} of non-negative values kept as one bit per value. The
+ * bitmap is cut into blocks of 4096 values that are only allocated once they
+ * hold a value, so empty stretches of a range cost one reference each. For
+ * serial numbers that fill most of a range this takes far less memory than a
+ * hash set, and a lookup is a shift and a mask.
+ *
+ * <p>The set is not safe for use by several threads.
+ */
+public class IntBitmapSet implements IntSet {
+  private static final int BLOCK_SHIFT = 12;
+  private static final int WORDS_PER_BLOCK = (1 << BLOCK_SHIFT) / Long.SIZE;
+  private static final long[][] NO_BLOCKS = new long[0][];
+
+  private long[][] blocks;
+  private int size;
+
+  /**
+   * Creates an empty set.
+   */
+  public IntBitmapSet() {
+    this.blocks = NO_BLOCKS;
+  }
+
+  /**
+   * Creates a set holding the values of another set.
+   *
+   * @param values The values to copy.
+   * @throws IllegalArgumentException if the set is null or holds a negative value.
+   */
+  public IntBitmapSet(IntSet values) throws IllegalArgumentException {
+    this();
+    if (values == null) {
+      throw new IllegalArgumentException("Values cannot be null.");
+    }
+    values.forEach(this::add);
+  }
+
+  /**
+   * Adds a value.
+   *
+   * @param value The value.
+   * @return True if the value was not already in the set.
+   * @throws IllegalArgumentException if the value is negative.
+   */
+  @Override
+  public boolean add(int value) throws IllegalArgumentException {
+    if (value < 0) {
+      throw new IllegalArgumentException("Bitmap sets hold only non-negative values.");
+    }
+    int block = value >>> BLOCK_SHIFT;
+    if (block >= blocks.length) {
+      blocks = Arrays.copyOf(blocks, Math.max(block + 1, blocks.length * 2));
+    }
+    if (blocks[block] == null) {
+      blocks[block] = new long[WORDS_PER_BLOCK];
+    }
+    long[] words = blocks[block];
+    int word = (value >>> 6) & (WORDS_PER_BLOCK - 1);
+    long bit = 1L << value;
+    if ((words[word] & bit) != 0) {
+      return false;
+    }
+    words[word] |= bit;
+    size++;
+    return true;
+  }
+
+  @Override
+  public boolean remove(int value) {
+    long[] words = words(value);
+    if (words == null) {
+      return false;
+    }
+    int word = (value >>> 6) & (WORDS_PER_BLOCK - 1);
+    long bit = 1L << value;
+    if ((words[word] & bit) == 0) {
+      return false;
+    }
+    words[word] &= ~bit;
+    size--;
+    return true;
+  }
+
+  @Override
+  public boolean contains(int value) {
+    long[] words = words(value);
+    return words != null && (words[(value >>> 6) & (WORDS_PER_BLOCK - 1)] & (1L << value)) != 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    blocks = NO_BLOCKS;
+    size = 0;
+  }
+
+  /**
+   * Passes every value to an action in ascending order.
+   *
+   * @param action The action.
+   */
+  @Override
+  public void forEach(IntConsumer action) {
+    for (int block = 0; block < blocks.length; block++) {
+      long[] words = blocks[block];
+      if (words == null) {
+        continue;
+      }
+      for (int word = 0; word < WORDS_PER_BLOCK; word++) {
+        long bits = words[word];
+        while (bits != 0) {
+          int bit = Long.numberOfTrailingZeros(bits);
+          action.accept((block << BLOCK_SHIFT) + word * Long.SIZE + bit);
+          bits &= bits - 1;
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the block holding a value's bit.
+   *
+   * @param value The value.
+   * @return The block's words, or null if the value's block was never allocated.
+   */
+  private long[] words(int value) {
+    if (value < 0) {
+      return null;
+    }
+    int block = value >>> BLOCK_SHIFT;
+    return block < blocks.length ? blocks[block] : null;
+  }
+}
@@ -0,0 +1,176 @@
+package clinicmanagement;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * An {@link IntSet} kept in an open-addressing hash table of ints with linear
+ * probing. A lookup hashes the value and reads neighbouring slots of one
+ * array, with no boxing and no node objects. The table is kept at most half
+ * full, and removal shifts later entries back rather than leaving markers.
+ *
+ * <p>The set is not safe for use by several threads.
+ */
+public class IntHashSet implements IntSet {
+  private static final int EMPTY = 0;
+  private static final int MIN_CAPACITY = 8;
+
+  private int[] table;
+  private int mask;
+  private int size;
+  private boolean containsZero;
+
+  /**
+   * Creates an empty set.
+   */
+  public IntHashSet() {
+    this(MIN_CAPACITY / 2);
+  }
+
+  /**
+   * Creates an empty set sized for an expected number of values.
+   *
+   * @param expectedSize The number of values expected.
+   * @throws IllegalArgumentException if the expected size is negative or too large.
+   */
+  public IntHashSet(int expectedSize) throws IllegalArgumentException {
+    if (expectedSize < 0 || expectedSize > (1 << 29)) {
+      throw new IllegalArgumentException("Expected size out of range: " + expectedSize);
+    }
+    int capacity = MIN_CAPACITY;
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    this.table = new int[capacity];
+    this.mask = capacity - 1;
+  }
+
+  @Override
+  public boolean add(int value) {
+    if (value == EMPTY) {
+      if (containsZero) {
+        return false;
+      }
+      containsZero = true;
+      size++;
+      return true;
+    }
+    int slot = slot(value);
+    while (table[slot] != EMPTY) {
+      if (table[slot] == value) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = value;
+    size++;
+    if (size * 2 > table.length) {
+      rehash(table.length * 2);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean remove(int value) {
+    if (value == EMPTY) {
+      if (!containsZero) {
+        return false;
+      }
+      containsZero = false;
+      size--;
+      return true;
+    }
+    int slot = slot(value);
+    while (table[slot] != value) {
+      if (table[slot] == EMPTY) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    // Shift later entries of the probe run back so no lookup stops early
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (table[next] != EMPTY) {
+      int home = slot(table[next]);
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        table[gap] = table[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    table[gap] = EMPTY;
+    size--;
+    return true;
+  }
+
+  @Override
+  public boolean contains(int value) {
+    if (value == EMPTY) {
+      return containsZero;
+    }
+    int slot = slot(value);
+    while (table[slot] != EMPTY) {
+      if (table[slot] == value) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(table, EMPTY);
+    containsZero = false;
+    size = 0;
+  }
+
+  @Override
+  public void forEach(IntConsumer action) {
+    if (containsZero) {
+      action.accept(EMPTY);
+    }
+    for (int value : table) {
+      if (value != EMPTY) {
+        action.accept(value);
+      }
+    }
+  }
+
+  /**
+   * Gets the home slot of a value. Serial numbers are consecutive, so the
+   * value is scrambled first to spread them over the table.
+   *
+   * @param value The value.
+   * @return The slot.
+   */
+  private int slot(int value) {
+    int hash = value * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+  /**
+   * Moves every value into a table of a new size.
+   *
+   * @param capacity The new table size, a power of two.
+   */
+  private void rehash(int capacity) {
+    int[] old = table;
+    table = new int[capacity];
+    mask = capacity - 1;
+    for (int value : old) {
+      if (value != EMPTY) {
+        int slot = slot(value);
+        while (table[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+      }
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package clinicmanagement;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A set of primitive ints, so membership of serial numbers can be tracked
+ * without boxing each one into an {@link Integer} and a hash node.
+ * {@link IntHashSet} suits a few values spread over a wide range, and
+ * {@link IntBitmapSet} suits many values packed into a narrow range.
+ */
+public interface IntSet {
+
+  /**
+   * Adds a value.
+   *
+   * @param value The value.
+   * @return True if the value was not already in the set.
+   */
+  boolean add(int value);
+
+  /**
+   * Removes a value.
+   *
+   * @param value The value.
+   * @return True if the value was in the set.
+   */
+  boolean remove(int value);
+
+  /**
+   * Checks whether a value is in the set.
+   *
+   * @param value The value.
+   * @return True if the value is in the set.
+   */
+  boolean contains(int value);
+
+  /**
+   * Gets the number of values in the set.
+   *
+   * @return The value count.
+   */
+  int size();
+
+  /**
+   * Removes every value.
+   */
+  void clear();
+
+  /**
+   * Passes every value in the set to an action.
+   *
+   * @param action The action.
+   */
+  void forEach(IntConsumer action);
+
+  /**
+   * Checks whether the set is empty.
+   *
+   * @return True if the set has no values.
+   */
+  default boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Copies the values into an array.
+   *
+   * @return The values, in the set's iteration order.
+   */
+  default int[] toArray() {
+    int[] values = new int[size()];
+    int[] next = new int[1];
+    forEach(value -> values[next[0]++] = value);
+    return values;
+  }
+}
@@ -0,0 +1,90 @@
+package clinicmanagement;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes report rows as newline delimited JSON: one object per row, keyed by
+ * column name. Numbers and booleans are written as JSON literals and every
+ * other value as a string.
+ */
+public class JsonReportWriter implements ReportWriter {
+
+  @Override
+  public void write(String[] columns, Stream<? extends ReportRow> rows, Appendable out)
+      throws IOException {
+    if (columns == null || rows == null || out == null) {
+      throw new IllegalArgumentException("Columns, rows and output cannot be null.");
+    }
+    Iterator<? extends ReportRow> iterator = rows.iterator();
+    while (iterator.hasNext()) {
+      Object[] values = iterator.next().getValues();
+      out.append('{');
+      for (int i = 0; i < columns.length; i++) {
+        if (i > 0) {
+          out.append(',');
+        }
+        appendString(columns[i], out);
+        out.append(':');
+        appendValue(i < values.length ? values[i] : null, out);
+      }
+      out.append("}\n");
+    }
+  }
+
+  /**
+   * Appends a single value as a JSON literal.
+   *
+   * @param value The value to append.
+   * @param out   The sink to write to.
+   * @throws IOException if writing fails.
+   */
+  static void appendValue(Object value, Appendable out) throws IOException {
+    if (value == null) {
+      out.append("null");
+    } else if (value instanceof Number || value instanceof Boolean) {
+      out.append(String.valueOf(value));
+    } else {
+      appendString(String.valueOf(value), out);
+    }
+  }
+
+  /**
+   * Appends a quoted and escaped JSON string.
+   *
+   * @param value The string to append.
+   * @param out   The sink to write to.
+   * @throws IOException if writing fails.
+   */
+  static void appendString(CharSequence value, Appendable out) throws IOException {
+    out.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          out.append("\\\"");
+          break;
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            out.append(String.format("\\u%04x", (int) c));
+          } else {
+            out.append(c);
+          }
+      }
+    }
+    out.append('"');
+  }
+}
@@ -0,0 +1,274 @@
+package clinicmanagement;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the patients with an open visit for each clinical staff member. A
+ * patient has an open visit when they are active and their last visit is on or
+ * after the report cutoff. The index is built once from the staff caseloads and
+ * then kept up to date as patients are assigned, unassigned, discharged and
+ * visited, so reports scale with the number of open visits rather than with the
+ * total number of assignments. Visits that age past the cutoff are dropped by
+ * {@link #prune(LocalDate)}, which only scans the index when the cutoff moves;
+ * until then, patients are indexed only if they are open for the last cutoff.
+ * Every change to a clinician's count is reported to the index's
+ * {@link OpenVisitListener}.
+ */
+public class OpenVisitIndex {
+  private final Map<Integer, Set<Patient>> openByClinician;
+  private final OpenVisitListener listener;
+  private boolean built;
+  private LocalDate cutoff;
+
+  /**
+   * Creates an empty index that has not been built yet.
+   */
+  public OpenVisitIndex() {
+    this((staffSerial, count) -> {
+    });
+  }
+
+  /**
+   * Creates an empty index that reports count changes to a listener.
+   *
+   * @param listener The listener told about every change to a clinician's count.
+   * @throws IllegalArgumentException if the listener is null.
+   */
+  public OpenVisitIndex(OpenVisitListener listener) throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("Open visit listener cannot be null.");
+    }
+    this.openByClinician = new HashMap<>();
+    this.listener = listener;
+    this.built = false;
+  }
+
+  /**
+   * Checks whether the index has been built from the staff caseloads.
+   *
+   * @return True if the index has been built.
+   */
+  public boolean isBuilt() {
+    return built;
+  }
+
+  /**
+   * Rebuilds the index from the caseloads of the given clinical staff members.
+   *
+   * @param clinicalStaffList The clinical staff members to index.
+   */
+  public void rebuild(List<ClinicalStaff> clinicalStaffList) {
+    openByClinician.clear();
+    cutoff = null;
+    for (ClinicalStaff clinicalStaff : clinicalStaffList) {
+      if (!clinicalStaff.isDeactivated()) {
+        for (Patient patient : clinicalStaff.getAssignedPatients()) {
+          addIfVisited(clinicalStaff.getSerialNumber(), patient);
+        }
+      }
+      countChanged(clinicalStaff.getSerialNumber());
+    }
+    built = true;
+  }
+
+  /**
+   * Records that a clinical staff member joined the clinic, indexing the
+   * patients already on their caseload.
+   *
+   * @param clinicalStaff The new clinical staff member.
+   */
+  public void staffAdded(ClinicalStaff clinicalStaff) {
+    if (built && !clinicalStaff.isDeactivated()) {
+      for (Patient patient : clinicalStaff.getAssignedPatients()) {
+        addIfVisited(clinicalStaff.getSerialNumber(), patient);
+      }
+      countChanged(clinicalStaff.getSerialNumber());
+    }
+  }
+
+  /**
+   * Records that a patient was assigned to a clinical staff member.
+   *
+   * @param clinicalStaff The clinical staff member.
+   * @param patient       The patient assigned to them.
+   */
+  public void patientAssigned(ClinicalStaff clinicalStaff, Patient patient) {
+    if (built && !clinicalStaff.isDeactivated()
+        && addIfVisited(clinicalStaff.getSerialNumber(), patient)) {
+      countChanged(clinicalStaff.getSerialNumber());
+    }
+  }
+
+  /**
+   * Records that a patient was unassigned from a clinical staff member.
+   *
+   * @param clinicalStaff The clinical staff member.
+   * @param patient       The patient unassigned from them.
+   */
+  public void patientUnassigned(ClinicalStaff clinicalStaff, Patient patient) {
+    Set<Patient> open = openByClinician.get(clinicalStaff.getSerialNumber());
+    if (open != null && open.remove(patient)) {
+      countChanged(clinicalStaff.getSerialNumber());
+    }
+  }
+
+  /**
+   * Records that a patient was sent home, closing their visit for every clinician.
+   *
+   * @param patient The discharged patient.
+   */
+  public void patientDischarged(Patient patient) {
+    for (Map.Entry<Integer, Set<Patient>> entry : openByClinician.entrySet()) {
+      if (entry.getValue().remove(patient)) {
+        listener.openVisitCountChanged(entry.getKey(), entry.getValue().size());
+      }
+    }
+  }
+
+  /**
+   * Records that a clinical staff member was deactivated.
+   *
+   * @param clinicalStaff The deactivated clinical staff member.
+   */
+  public void staffDeactivated(ClinicalStaff clinicalStaff) {
+    openByClinician.remove(clinicalStaff.getSerialNumber());
+    countChanged(clinicalStaff.getSerialNumber());
+  }
+
+  /**
+   * Records a new visit for a patient under every clinician currently caring for them.
+   *
+   * @param patient The patient who visited.
+   */
+  public void visitRecorded(Patient patient) {
+    if (!built || patient.isDeactivated()) {
+      return;
+    }
+    for (ClinicalStaff clinicalStaff : patient.getAssignedClinicalStaff()) {
+      if (!clinicalStaff.isDeactivated()
+          && clinicalStaff.getAssignedPatients().contains(patient)) {
+        if (addIfVisited(clinicalStaff.getSerialNumber(), patient)) {
+          countChanged(clinicalStaff.getSerialNumber());
+        }
+      }
+    }
+  }
+
+  /**
+   * Drops every patient whose visit is no longer open for the given cutoff.
+   * Pruning again with the same cutoff does nothing, as the index has been
+   * kept open for that cutoff since.
+   *
+   * @param cutoff The earliest last-visit date that still counts as open.
+   */
+  public void prune(LocalDate cutoff) {
+    if (cutoff.equals(this.cutoff)) {
+      return;
+    }
+    this.cutoff = cutoff;
+    for (Map.Entry<Integer, Set<Patient>> entry : openByClinician.entrySet()) {
+      boolean removed = false;
+      Iterator<Patient> iterator = entry.getValue().iterator();
+      while (iterator.hasNext()) {
+        if (!hasOpenVisit(iterator.next(), cutoff)) {
+          iterator.remove();
+          removed = true;
+        }
+      }
+      if (removed) {
+        listener.openVisitCountChanged(entry.getKey(), entry.getValue().size());
+      }
+    }
+  }
+
+  /**
+   * Gets the patients with an open visit for a clinical staff member, in the
+   * order they were indexed.
+   *
+   * @param clinicalStaff The clinical staff member.
+   * @return Read-only list of the clinician's patients with an open visit.
+   */
+  public List<Patient> openPatients(ClinicalStaff clinicalStaff) {
+    Set<Patient> open = openByClinician.get(clinicalStaff.getSerialNumber());
+    if (open == null || open.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(new ArrayList<>(open));
+  }
+
+  /**
+   * Gets the number of patients with an open visit for a clinical staff member.
+   *
+   * @param clinicalStaff The clinical staff member.
+   * @return The number of open visits.
+   */
+  public int openVisitCount(ClinicalStaff clinicalStaff) {
+    return openVisitCountOf(clinicalStaff.getSerialNumber());
+  }
+
+  /**
+   * Empties the index and marks it as not built.
+   */
+  public void clear() {
+    openByClinician.clear();
+    built = false;
+    cutoff = null;
+  }
+
+  /**
+   * Checks whether a patient has an open visit for the given cutoff.
+   *
+   * @param patient The patient to check.
+   * @param cutoff  The earliest last-visit date that still counts as open.
+   * @return True if the patient is active and last visited on or after the cutoff.
+   */
+  public static boolean hasOpenVisit(Patient patient, LocalDate cutoff) {
+    List<Visitrecord> visitRecords = patient.getVisitRecords();
+    return !patient.isDeactivated() && !visitRecords.isEmpty()
+        && visitRecords.get(visitRecords.size() - 1).islastvisitwithinayear(cutoff);
+  }
+
+  /**
+   * Adds a patient under a clinician if the patient is active and has visited,
+   * on or after the last cutoff once the index has been pruned.
+   *
+   * @param staffSerial The clinician's serial number.
+   * @param patient     The patient to add.
+   * @return True if the patient was not already indexed under the clinician.
+   */
+  private boolean addIfVisited(int staffSerial, Patient patient) {
+    boolean open = cutoff == null
+        ? !patient.isDeactivated() && !patient.getVisitRecords().isEmpty()
+        : hasOpenVisit(patient, cutoff);
+    return open && openByClinician.computeIfAbsent(staffSerial, serial -> new LinkedHashSet<>())
+        .add(patient);
+  }
+
+  /**
+   * Tells the listener a clinician's current count.
+   *
+   * @param staffSerial The clinician's serial number.
+   */
+  private void countChanged(int staffSerial) {
+    listener.openVisitCountChanged(staffSerial, openVisitCountOf(staffSerial));
+  }
+
+  /**
+   * Gets the number of open visits indexed under a clinician's serial number.
+   *
+   * @param staffSerial The clinician's serial number.
+   * @return The number of open visits.
+   */
+  private int openVisitCountOf(int staffSerial) {
+    Set<Patient> open = openByClinician.get(staffSerial);
+    return open == null ? 0 : open.size();
+  }
+}
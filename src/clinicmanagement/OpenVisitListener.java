@@ -0,0 +1,18 @@
+package clinicmanagement;
+
+/**
+ * Listener notified whenever the number of open visits the
+ * {@link OpenVisitIndex} holds for a clinical staff member changes. The
+ * clinic's workload view uses it to show open visits without asking the index
+ * for every clinician when the dashboard opens.
+ */
+public interface OpenVisitListener {
+
+  /**
+   * Called after a clinician's open visit count has changed.
+   *
+   * @param staffSerial The clinician's serial number.
+   * @param count       The clinician's new open visit count.
+   */
+  void openVisitCountChanged(int staffSerial, int count);
+}
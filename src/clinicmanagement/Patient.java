@@ -1,6 +1,7 @@
 package clinicmanagement;
 
 import java.io.IOException;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -16,8 +17,6 @@ import java.util.Objects;
 import java.util.Scanner;
 import java.util.stream.Collectors;
 import javax.swing.JOptionPane;
-import javax.swing.JScrollPane;
-import javax.swing.JTextArea;
 
 /**
  * Represents a patient in a clinic.
@@ -26,6 +25,10 @@ public class Patient implements PatientInterface {
   private static int nextSerial = 1; // Start serial numbers at 1
   // Static counter for serial numbers // Serial number for each patient object
   private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy");
+  private static final DateTimeFormatter INPUT_DATE_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd");
+  private static final DateTimeFormatter INPUT_TIME_FORMATTER =
+      DateTimeFormatter.ofPattern("HH:mm:ss");
   private static final Map<String, Integer> nameDobToSerial = new HashMap<>();
   boolean deactivated;
   private final int serialNumber; // Serial number for each patient object
@@ -41,6 +44,9 @@ public class Patient implements PatientInterface {
   // Added field for assigned clinical staff
 
   private List<Visitrecord> visitRecords;
+  private final List<VisitListener> visitListeners = new ArrayList<>();
+  private Clock clock = Clock.systemDefaultZone();
+  private StringDictionary strings;
 
 
   /**
@@ -78,6 +84,43 @@ public class Patient implements PatientInterface {
   }
 
 
+  /**
+   * Sets the clock used to date deactivations and reactivations. The clinic
+   * hands its own clock to every patient it admits.
+   *
+   * @param clock The clock that decides the current date.
+   * @throws IllegalArgumentException if the clock is null.
+   */
+  public void setClock(Clock clock) throws IllegalArgumentException {
+    if (clock == null) {
+      throw new IllegalArgumentException("Clock cannot be null.");
+    }
+    this.clock = clock;
+  }
+
+  /**
+   * Sets the dictionary that the patient's names and chief complaints are
+   * interned through. The clinic hands its own dictionary to every patient it
+   * admits; names and visits the patient already has are interned then.
+   *
+   * @param strings The clinic's string dictionary.
+   * @throws IllegalArgumentException if the dictionary is null.
+   */
+  public void setStringDictionary(StringDictionary strings) throws IllegalArgumentException {
+    if (strings == null) {
+      throw new IllegalArgumentException("String dictionary cannot be null.");
+    }
+    this.strings = strings;
+    firstName = strings.intern(firstName);
+    lastName = strings.intern(lastName);
+    for (int i = 0; i < visitRecords.size(); i++) {
+      Visitrecord visit = visitRecords.get(i);
+      int complaintId = strings.id(visit.getChiefComplaint());
+      visitRecords.set(i, new Visitrecord(visit.getRegistrationDateTime(),
+          strings.get(complaintId), visit.getBodyTemperature(), complaintId));
+    }
+  }
+
   /**
    * Sets the deactivated status of the patient and records the date of the action.
    *
@@ -90,7 +133,7 @@ public class Patient implements PatientInterface {
 
       if (deactivated) {
         // Record the deactivation event
-        deactivationHistory.add(new DeactivationRecord(LocalDate.now()));
+        deactivationHistory.add(new DeactivationRecord(LocalDate.now(clock)));
       } else {
         // Record the reactivation event, if
         // there's a previous deactivation record without a reactivation date
@@ -98,7 +141,7 @@ public class Patient implements PatientInterface {
           DeactivationRecord lastRecord = deactivationHistory
               .get(deactivationHistory.size() - 1);
           if (lastRecord.getReactivationDate() == null) {
-            lastRecord.setReactivationDate(LocalDate.now());
+            lastRecord.setReactivationDate(LocalDate.now(clock));
           }
         }
       }
@@ -120,7 +163,7 @@ public class Patient implements PatientInterface {
         DeactivationRecord lastRecord = deactivationHistory.get(deactivationHistory.size() - 1);
         if (lastRecord.getReactivationDate() == null) {
           // Set the reactivation date to now
-          lastRecord.setReactivationDate(LocalDate.now());
+          lastRecord.setReactivationDate(LocalDate.now(clock));
         }
       }
     }
@@ -343,12 +386,46 @@ public class Patient implements PatientInterface {
     }
 
     // All parameters are valid, proceed to add the visit record
-    Visitrecord visitRecord = new Visitrecord(registrationDateTime,
-        chiefComplaint, bodyTemperature);
+    Visitrecord visitRecord;
+    if (strings != null) {
+      int complaintId = strings.id(chiefComplaint);
+      visitRecord = new Visitrecord(registrationDateTime, strings.get(complaintId),
+          bodyTemperature, complaintId);
+    } else {
+      visitRecord = new Visitrecord(registrationDateTime, chiefComplaint, bodyTemperature);
+    }
     visitRecords.add(visitRecord);
 
     // Sort the list every time a new record is added
     Collections.sort(visitRecords, Comparator.comparing(Visitrecord::getRegistrationDateTime));
+
+    for (VisitListener listener : visitListeners) {
+      listener.visitRecorded(this, visitRecord);
+    }
+  }
+
+  /**
+   * Registers a listener to be notified whenever a visit record is added.
+   * Registering the same listener twice has no effect.
+   *
+   * @param listener The listener to register.
+   */
+  public void addVisitListener(VisitListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Visit listener cannot be null.");
+    }
+    if (!visitListeners.contains(listener)) {
+      visitListeners.add(listener);
+    }
+  }
+
+  /**
+   * Removes a previously registered visit listener.
+   *
+   * @param listener The listener to remove.
+   */
+  public void removeVisitListener(VisitListener listener) {
+    visitListeners.remove(listener);
   }
 
   @Override
@@ -362,31 +439,55 @@ public class Patient implements PatientInterface {
   @Override
   public String getFullInformation() {
     StringBuilder info = new StringBuilder();
-    info.append("Patient Information:\n");
-    info.append("Serial Number: ").append(getSerialNumber()).append("\n");
-    info.append("Name: ").append(getFullName()).append("\n");
-    info.append("Date of Birth: ").append(dateOfBirth
-        .format(DateTimeFormatter.ofPattern("M/d/yyyy"))).append("\n");
-    info.append("Room Number: ").append(roomNumber).append("\n");
-    info.append("Room Name: ").append(roomName).append("\n");
-    info.append("Room Type: ").append(roomType != null ? roomType.getType() : "N/A").append("\n\n");
+    appendPatientHeader(info);
 
     if (visitRecords.isEmpty()) {
       info.append("No visit records available.\n");
     } else {
       info.append("Visit Records:\n");
       for (Visitrecord visitRecord : visitRecords) {
-        info.append("\tRegistration Date and Time: ")
-            .append(visitRecord.getRegistrationDateTime()
-                .format(DateTimeFormatter.ofPattern("M/d/yyyy HH:mm:ss")))
-            .append("\n\tChief Complaint: ")
-            .append(visitRecord.getChiefComplaint())
-            .append("\n\tBody Temperature: ")
-            .append(String.format("%.1f°C", visitRecord.getBodyTemperature()))
-            .append("\n\t--------------------------\n");
+        PatientDetailsView.appendVisit(visitRecord, info);
       }
     }
 
+    appendAssignedStaff(info);
+    return info.toString();
+  }
+
+  /**
+   * Retrieves the patient's information without the visit history, which
+   * {@link PatientDetailsView} shows a page at a time.
+   *
+   * @return The patient's details and assigned clinical staff.
+   */
+  public String getSummaryInformation() {
+    StringBuilder info = new StringBuilder();
+    appendPatientHeader(info);
+    appendAssignedStaff(info);
+    return info.toString();
+  }
+
+  /**
+   * Appends the patient's identity and room details.
+   *
+   * @param info The text to append to.
+   */
+  private void appendPatientHeader(StringBuilder info) {
+    info.append("Patient Information:\n");
+    info.append("Serial Number: ").append(getSerialNumber()).append("\n");
+    info.append("Name: ").append(getFullName()).append("\n");
+    info.append("Date of Birth: ").append(FORMATTER.format(dateOfBirth)).append("\n");
+    info.append("Room Number: ").append(roomNumber).append("\n");
+    info.append("Room Name: ").append(roomName).append("\n");
+    info.append("Room Type: ").append(roomType != null ? roomType.getType() : "N/A").append("\n\n");
+  }
+
+  /**
+   * Appends the patient's active assigned clinical staff.
+   *
+   * @param info The text to append to.
+   */
+  private void appendAssignedStaff(StringBuilder info) {
     // Append only active assigned clinical staff
     List<ClinicalStaff> activeAssignedStaff = getAssignedClinicalStaff().stream()
         .filter(staff -> !staff.isDeactivated())
@@ -401,8 +502,6 @@ public class Patient implements PatientInterface {
     } else {
       info.append("No clinical staff assigned.\n");
     }
-
-    return info.toString();
   }
 
 
@@ -448,6 +547,37 @@ public class Patient implements PatientInterface {
     return deactivationHistory.get(deactivationHistory.size() - 1).getDeactivationDate();
   }
 
+  /**
+   * Gets the number of entries in the patient's deactivation history.
+   *
+   * @return The number of times the patient has been deactivated.
+   */
+  public int getDeactivationCount() {
+    return deactivationHistory.size();
+  }
+
+  /**
+   * Gets the date of one deactivation in the patient's history, oldest first.
+   *
+   * @param index The position in the deactivation history.
+   * @return The date the patient was deactivated.
+   * @throws IndexOutOfBoundsException if the index is outside the history.
+   */
+  public LocalDate getDeactivationDate(int index) {
+    return deactivationHistory.get(index).getDeactivationDate();
+  }
+
+  /**
+   * Gets the date the patient was reactivated after one deactivation in their history.
+   *
+   * @param index The position in the deactivation history.
+   * @return The reactivation date, or null if that deactivation is still in effect.
+   * @throws IndexOutOfBoundsException if the index is outside the history.
+   */
+  public LocalDate getReactivationDate(int index) {
+    return deactivationHistory.get(index).getReactivationDate();
+  }
+
   /**
    * Deactivates the patient at a specified past date.
    * This method is primarily intended for testing purposes
@@ -474,11 +604,11 @@ public class Patient implements PatientInterface {
     try {
       System.out.println("Enter registration date (yyyy-MM-dd): ");
       LocalDate registrationDate = LocalDate.parse(sc.nextLine().trim(),
-          DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+          INPUT_DATE_FORMATTER);
 
       System.out.println("Enter registration time (HH:mm:ss): ");
       LocalTime registrationTime = LocalTime.parse(sc.nextLine().trim(),
-          DateTimeFormatter.ofPattern("HH:mm:ss"));
+          INPUT_TIME_FORMATTER);
 
       LocalDateTime registrationDateTime = LocalDateTime.of(registrationDate,
           registrationTime);
@@ -522,7 +652,7 @@ public class Patient implements PatientInterface {
     LocalDate registrationDate;
     try {
       registrationDate = LocalDate.parse(registrationDateStr.trim(),
-          DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+          INPUT_DATE_FORMATTER);
     } catch (DateTimeParseException e) {
       JOptionPane.showMessageDialog(guiController.frame,
           "Invalid date format. Please enter the date in yyyy-MM-dd format.",
@@ -541,7 +671,7 @@ public class Patient implements PatientInterface {
     LocalTime registrationTime;
     try {
       registrationTime = LocalTime.parse(registrationTimeStr.trim(),
-          DateTimeFormatter.ofPattern("HH:mm:ss"));
+          INPUT_TIME_FORMATTER);
     } catch (DateTimeParseException e) {
       JOptionPane.showMessageDialog(guiController.frame,
           "Invalid time format. Please enter the time in HH:mm:ss format.",
@@ -601,18 +731,12 @@ public class Patient implements PatientInterface {
   }
 
   /**
-   * Displays the full information of a patient in a scrollable dialog.
+   * Displays the full information of a patient in a dialog with paged visit history.
    *
    * @param guiController The GUI controller for handling user interactions.
    */
   public void displayPatientFullInformation(GuiController guiController) {
-    String patientInfo = getFullInformation();
-    JTextArea textArea = new JTextArea(6, 25);
-    textArea.setText(patientInfo);
-    textArea.setEditable(false);
-    JScrollPane scrollPane = new JScrollPane(textArea);
-    JOptionPane.showMessageDialog(guiController.frame, scrollPane,
-        "Patient Full Information", JOptionPane.INFORMATION_MESSAGE);
+    PatientDetailsView.showDialog(guiController.frame, this, "Patient Full Information");
   }
 
   /**
@@ -680,6 +804,26 @@ public class Patient implements PatientInterface {
     }
   }
 
+  /**
+   * Counts the patient's visits with a chief complaint, comparing dictionary
+   * ids rather than text.
+   *
+   * @param complaintId The complaint's id in the clinic's string dictionary.
+   * @return The number of matching visits.
+   */
+  public int countVisitsWithComplaint(int complaintId) {
+    if (complaintId < 0) {
+      return 0;
+    }
+    int count = 0;
+    for (Visitrecord visitRecord : visitRecords) {
+      if (visitRecord.getComplaintId() == complaintId) {
+        count++;
+      }
+    }
+    return count;
+  }
+
   /**
    * Clears the visit records for this patient.
    */
@@ -0,0 +1,195 @@
+package clinicmanagement;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.FlowLayout;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+
+/**
+ * Shows a patient's details with their visit history split into pages, newest
+ * visit first. Only the page on screen is formatted, so opening a patient costs
+ * the same however long their history is; the previous and next buttons format
+ * the neighbouring pages on demand.
+ */
+public class PatientDetailsView {
+  /**
+   * The number of visits shown per page unless another size is given.
+   */
+  public static final int DEFAULT_PAGE_SIZE = 20;
+  static final DateTimeFormatter VISIT_FORMATTER =
+      DateTimeFormatter.ofPattern("M/d/yyyy HH:mm:ss");
+  private final Patient patient;
+  private final int pageSize;
+  private int page;
+
+  /**
+   * Creates a details view with the default page size.
+   *
+   * @param patient The patient to show.
+   * @throws IllegalArgumentException if the patient is null.
+   */
+  public PatientDetailsView(Patient patient) throws IllegalArgumentException {
+    this(patient, DEFAULT_PAGE_SIZE);
+  }
+
+  /**
+   * Creates a details view.
+   *
+   * @param patient  The patient to show.
+   * @param pageSize The number of visits per page.
+   * @throws IllegalArgumentException if the patient is null or the page size is not positive.
+   */
+  public PatientDetailsView(Patient patient, int pageSize) throws IllegalArgumentException {
+    if (patient == null) {
+      throw new IllegalArgumentException("Patient cannot be null.");
+    }
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException("Page size must be positive.");
+    }
+    this.patient = patient;
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * Gets the number of pages of visits; a patient with no visits has one empty page.
+   *
+   * @return The number of pages.
+   */
+  public int getPageCount() {
+    int visits = patient.getVisitRecords().size();
+    return Math.max(1, (visits + pageSize - 1) / pageSize);
+  }
+
+  /**
+   * Gets the current page, counting from zero.
+   *
+   * @return The current page.
+   */
+  public int getPage() {
+    return page;
+  }
+
+  /**
+   * Moves to a page.
+   *
+   * @param page The page to show, counting from zero.
+   * @throws IllegalArgumentException if the page does not exist.
+   */
+  public void setPage(int page) throws IllegalArgumentException {
+    if (page < 0 || page >= getPageCount()) {
+      throw new IllegalArgumentException("Page " + page + " does not exist.");
+    }
+    this.page = page;
+  }
+
+  /**
+   * Describes which visits the current page holds.
+   *
+   * @return A label such as "Visits 21-40 of 3000, newest first".
+   */
+  public String getPageLabel() {
+    int visits = patient.getVisitRecords().size();
+    if (visits == 0) {
+      return "No visit records available.";
+    }
+    int first = page * pageSize + 1;
+    int last = Math.min(visits, first + pageSize - 1);
+    return "Visits " + first + "-" + last + " of " + visits + ", newest first";
+  }
+
+  /**
+   * Formats the visits on the current page.
+   *
+   * @return The text of the current page.
+   */
+  public String renderPage() {
+    List<Visitrecord> visitRecords = patient.getVisitRecords();
+    StringBuilder text = new StringBuilder();
+    int newest = visitRecords.size() - 1 - page * pageSize;
+    int oldest = Math.max(0, newest - pageSize + 1);
+    for (int i = newest; i >= oldest; i--) {
+      appendVisit(visitRecords.get(i), text);
+    }
+    return text.toString();
+  }
+
+  /**
+   * Builds the Swing component: the patient summary above the visit page and
+   * its paging controls.
+   *
+   * @return The details component.
+   */
+  public JComponent createComponent() {
+    JTextArea summaryArea = new JTextArea(patient.getSummaryInformation());
+    summaryArea.setEditable(false);
+
+    JTextArea visitArea = new JTextArea(12, 30);
+    visitArea.setEditable(false);
+    JLabel pageLabel = new JLabel();
+    JButton previousButton = new JButton("Previous");
+    JButton nextButton = new JButton("Next");
+    Runnable refresh = () -> {
+      visitArea.setText(renderPage());
+      visitArea.setCaretPosition(0);
+      pageLabel.setText(getPageLabel());
+      previousButton.setEnabled(page > 0);
+      nextButton.setEnabled(page < getPageCount() - 1);
+    };
+    previousButton.addActionListener(e -> {
+      setPage(page - 1);
+      refresh.run();
+    });
+    nextButton.addActionListener(e -> {
+      setPage(page + 1);
+      refresh.run();
+    });
+    refresh.run();
+
+    JPanel pagingPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+    pagingPanel.add(previousButton);
+    pagingPanel.add(pageLabel);
+    pagingPanel.add(nextButton);
+
+    JPanel panel = new JPanel(new BorderLayout());
+    panel.add(summaryArea, BorderLayout.NORTH);
+    panel.add(new JScrollPane(visitArea), BorderLayout.CENTER);
+    panel.add(pagingPanel, BorderLayout.SOUTH);
+    return panel;
+  }
+
+  /**
+   * Shows a patient's paged details in a message dialog.
+   *
+   * @param parent  The parent component of the dialog, or null.
+   * @param patient The patient to show.
+   * @param title   The dialog title.
+   */
+  public static void showDialog(Component parent, Patient patient, String title) {
+    JOptionPane.showMessageDialog(parent, new PatientDetailsView(patient).createComponent(),
+        title, JOptionPane.INFORMATION_MESSAGE);
+  }
+
+  /**
+   * Appends one visit record in the patient details format.
+   *
+   * @param visitRecord The visit record to format.
+   * @param text        The text to append to.
+   */
+  static void appendVisit(Visitrecord visitRecord, StringBuilder text) {
+    text.append("\tRegistration Date and Time: ")
+        .append(VISIT_FORMATTER.format(visitRecord.getRegistrationDateTime()))
+        .append("\n\tChief Complaint: ")
+        .append(visitRecord.getChiefComplaint())
+        .append("\n\tBody Temperature: ")
+        .append(String.format("%.1f°C", visitRecord.getBodyTemperature()))
+        .append("\n\t--------------------------\n");
+  }
+}
@@ -0,0 +1,384 @@
+package clinicmanagement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Keeps the clinic's patients sorted by a case-folded "last, first" name key
+ * and serial number, for pickers and tables that page through them and for
+ * type-ahead search. Updates are lazy: the index notices a new roster version
+ * on the next query. The roster only grows until it is cleared, so the index
+ * sorts just the patients registered since the last query and merges them
+ * into its sorted arrays in one linear pass, and re-filters the active
+ * patients in the same way. A burst of registrations costs one small sort and
+ * one merge, and visits and room moves cost nothing.
+ *
+ * <p>Because the keys are sorted, all patients whose key starts with a typed
+ * prefix sit next to each other. A search is one binary search for the first
+ * of them followed by reading at most k entries, whatever the roster size.
+ */
+public class PatientIndex {
+  private static final char SEPARATOR = '\u0000';
+  private static final Patient[] NONE = new Patient[0];
+  private static final String[] NO_KEYS = new String[0];
+  private static final Comparator<Patient> BY_SERIAL =
+      Comparator.comparingInt(Patient::getSerialNumber);
+
+  /**
+   * Which patients a query covers.
+   */
+  public enum Filter {
+    ALL,
+    ACTIVE
+  }
+
+  private final ClinicInterface clinic;
+  private Patient[] all;
+  private String[] allKeys;
+  private Patient[] active;
+  private String[] activeKeys;
+  private Patient[] bySerial;
+  private int indexedCount;
+  private Patient lastIndexed;
+  private long builtVersion;
+
+  /**
+   * Creates an index over a clinic's patient roster.
+   *
+   * @param clinic The clinic whose patients are indexed.
+   * @throws IllegalArgumentException if the clinic is null.
+   */
+  public PatientIndex(ClinicInterface clinic) throws IllegalArgumentException {
+    if (clinic == null) {
+      throw new IllegalArgumentException("Clinic cannot be null.");
+    }
+    this.clinic = clinic;
+    this.all = NONE;
+    this.allKeys = NO_KEYS;
+    this.active = NONE;
+    this.activeKeys = NO_KEYS;
+    this.bySerial = NONE;
+    this.builtVersion = -1;
+  }
+
+  /**
+   * Gets the number of patients matching a filter.
+   *
+   * @param filter The patients to count.
+   * @return The number of matching patients.
+   */
+  public synchronized int size(Filter filter) {
+    refresh();
+    return patients(filter).length;
+  }
+
+  /**
+   * Gets a patient by position in sorted order.
+   *
+   * @param filter The patients to index into.
+   * @param index  The position in sorted order.
+   * @return The patient at that position.
+   * @throws IndexOutOfBoundsException if the position is outside the filtered patients.
+   */
+  public synchronized Patient get(Filter filter, int index) {
+    refresh();
+    return patients(filter)[index];
+  }
+
+  /**
+   * Finds the sorted position of a patient.
+   *
+   * @param filter  The patients to search.
+   * @param patient The patient to find.
+   * @return The position of the patient, or -1 if absent.
+   */
+  public synchronized int indexOf(Filter filter, Patient patient) {
+    if (patient == null) {
+      return -1;
+    }
+    refresh();
+    Patient[] patients = patients(filter);
+    String[] keys = keys(filter);
+    String key = keyOf(patient);
+    for (int i = lowerBound(keys, key); i < keys.length && keys[i].equals(key); i++) {
+      if (patients[i] == patient) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Finds up to a number of patients matching what has been typed so far, in
+   * sorted order. A query of digits matches serial numbers exactly; anything
+   * else is a case-insensitive prefix of "last, first", so "bak" matches every
+   * Baker and "baker, a" every Baker whose first name starts with A. An empty
+   * query returns the first patients in sorted order.
+   *
+   * @param filter The patients to search.
+   * @param query  The text typed so far.
+   * @param limit  The largest number of matches to return.
+   * @return The matching patients, at most {@code limit} of them.
+   * @throws IllegalArgumentException if the query is null or the limit is negative.
+   */
+  public synchronized List<Patient> search(Filter filter, String query, int limit)
+      throws IllegalArgumentException {
+    if (query == null || limit < 0) {
+      throw new IllegalArgumentException("Query cannot be null and limit cannot be negative.");
+    }
+    refresh();
+    String trimmed = query.trim();
+    if (!trimmed.isEmpty() && trimmed.chars().allMatch(Character::isDigit)) {
+      return searchSerial(filter, trimmed, limit);
+    }
+    Patient[] patients = patients(filter);
+    String[] keys = keys(filter);
+    String prefix = queryKey(trimmed);
+    List<Patient> matches = new ArrayList<>(Math.min(limit, 64));
+    for (int i = lowerBound(keys, prefix);
+         i < keys.length && matches.size() < limit && keys[i].startsWith(prefix); i++) {
+      matches.add(patients[i]);
+    }
+    return matches;
+  }
+
+  /**
+   * Finds patients with an exact serial number. Several patients can share a
+   * serial number when they have the same name and date of birth.
+   *
+   * @param filter The patients to search.
+   * @param digits The serial number as typed.
+   * @param limit  The largest number of matches to return.
+   * @return The matching patients.
+   */
+  private List<Patient> searchSerial(Filter filter, String digits, int limit) {
+    int serial;
+    try {
+      serial = Integer.parseInt(digits);
+    } catch (NumberFormatException e) {
+      return Collections.emptyList();
+    }
+    int low = 0;
+    int high = bySerial.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (bySerial[mid].getSerialNumber() < serial) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    List<Patient> matches = new ArrayList<>();
+    for (int i = low; i < bySerial.length && matches.size() < limit
+        && bySerial[i].getSerialNumber() == serial; i++) {
+      if (filter == Filter.ALL || !bySerial[i].isDeactivated()) {
+        matches.add(bySerial[i]);
+      }
+    }
+    return matches;
+  }
+
+  /**
+   * Brings the index up to date if the clinic's roster has changed since the
+   * last query. Patients appended to the roster since then are sorted on
+   * their own and merged in; if the roster was cleared, the index starts over.
+   */
+  private void refresh() {
+    long version = clinic.getRosterVersion();
+    if (version == builtVersion) {
+      return;
+    }
+    List<Patient> roster = clinic.getPatientRoster();
+    if (indexedCount > roster.size()
+        || indexedCount > 0 && roster.get(indexedCount - 1) != lastIndexed) {
+      all = NONE;
+      allKeys = NO_KEYS;
+      bySerial = NONE;
+      indexedCount = 0;
+    }
+    Entry[] added = new Entry[roster.size() - indexedCount];
+    Patient[] addedBySerial = new Patient[added.length];
+    for (int i = 0; i < added.length; i++) {
+      Patient patient = roster.get(indexedCount + i);
+      added[i] = new Entry(keyOf(patient), patient);
+      addedBySerial[i] = patient;
+    }
+    if (added.length > 0) {
+      Arrays.parallelSort(added);
+      Arrays.parallelSort(addedBySerial, BY_SERIAL);
+      mergeByName(added);
+      bySerial = mergeBySerial(addedBySerial);
+    }
+    filterActive();
+    indexedCount = roster.size();
+    lastIndexed = indexedCount > 0 ? roster.get(indexedCount - 1) : null;
+    builtVersion = version;
+  }
+
+  /**
+   * Merges sorted new entries into the patients sorted by name.
+   *
+   * @param added The new entries, sorted.
+   */
+  private void mergeByName(Entry[] added) {
+    Patient[] patients = new Patient[all.length + added.length];
+    String[] keys = new String[patients.length];
+    int old = 0;
+    int next = 0;
+    for (int i = 0; i < patients.length; i++) {
+      if (next == added.length || old < all.length
+          && compare(allKeys[old], all[old], added[next].key, added[next].patient) <= 0) {
+        patients[i] = all[old];
+        keys[i] = allKeys[old++];
+      } else {
+        patients[i] = added[next].patient;
+        keys[i] = added[next++].key;
+      }
+    }
+    all = patients;
+    allKeys = keys;
+  }
+
+  /**
+   * Merges new patients, sorted by serial number, into the patients sorted by
+   * serial number.
+   *
+   * @param added The new patients, sorted by serial number.
+   * @return The merged patients.
+   */
+  private Patient[] mergeBySerial(Patient[] added) {
+    Patient[] patients = new Patient[bySerial.length + added.length];
+    int old = 0;
+    int next = 0;
+    for (int i = 0; i < patients.length; i++) {
+      if (next == added.length
+          || old < bySerial.length && BY_SERIAL.compare(bySerial[old], added[next]) <= 0) {
+        patients[i] = bySerial[old++];
+      } else {
+        patients[i] = added[next++];
+      }
+    }
+    return patients;
+  }
+
+  /**
+   * Rebuilds the active patients from the patients sorted by name, keeping
+   * their order. Deactivations and reactivations only change this view.
+   */
+  private void filterActive() {
+    int activeCount = 0;
+    for (Patient patient : all) {
+      if (!patient.isDeactivated()) {
+        activeCount++;
+      }
+    }
+    active = new Patient[activeCount];
+    activeKeys = new String[activeCount];
+    int next = 0;
+    for (int i = 0; i < all.length; i++) {
+      if (!all[i].isDeactivated()) {
+        active[next] = all[i];
+        activeKeys[next++] = allKeys[i];
+      }
+    }
+  }
+
+  private Patient[] patients(Filter filter) {
+    return filter == Filter.ACTIVE ? active : all;
+  }
+
+  private String[] keys(Filter filter) {
+    return filter == Filter.ACTIVE ? activeKeys : allKeys;
+  }
+
+  /**
+   * Builds a patient's search key. The separator sorts below every character
+   * a name can contain, so ordering by key is ordering by last name first.
+   *
+   * @param patient The patient.
+   * @return The case-folded key.
+   */
+  private static String keyOf(Patient patient) {
+    return fold(patient.getLastName()) + SEPARATOR + fold(patient.getFirstName());
+  }
+
+  /**
+   * Turns typed text into a key prefix: text before a comma is the start of a
+   * last name, text after it the start of a first name.
+   *
+   * @param query The trimmed query.
+   * @return The key prefix.
+   */
+  private static String queryKey(String query) {
+    int comma = query.indexOf(',');
+    if (comma < 0) {
+      return fold(query);
+    }
+    return fold(query.substring(0, comma).trim()) + SEPARATOR
+        + fold(query.substring(comma + 1).trim());
+  }
+
+  private static String fold(String text) {
+    return text.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Finds the first position whose key is not less than a value.
+   *
+   * @param keys  The sorted keys.
+   * @param value The value to look for.
+   * @return The first position at or after the value.
+   */
+  private static int lowerBound(String[] keys, String value) {
+    int low = 0;
+    int high = keys.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (keys[mid].compareTo(value) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Orders two patients by key, then by serial number.
+   *
+   * @param key          The first patient's key.
+   * @param patient      The first patient.
+   * @param otherKey     The second patient's key.
+   * @param otherPatient The second patient.
+   * @return A negative number, zero or a positive number as the first patient
+   *     sorts before, with or after the second.
+   */
+  private static int compare(String key, Patient patient, String otherKey,
+                             Patient otherPatient) {
+    int byKey = key.compareTo(otherKey);
+    return byKey != 0 ? byKey
+        : Integer.compare(patient.getSerialNumber(), otherPatient.getSerialNumber());
+  }
+
+  /**
+   * A patient paired with their key while the index is sorted.
+   */
+  private static final class Entry implements Comparable<Entry> {
+    private final String key;
+    private final Patient patient;
+
+    Entry(String key, Patient patient) {
+      this.key = key;
+      this.patient = patient;
+    }
+
+    @Override
+    public int compareTo(Entry other) {
+      return compare(key, patient, other.key, other.patient);
+    }
+  }
+}
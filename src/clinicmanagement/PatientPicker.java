@@ -0,0 +1,154 @@
+package clinicmanagement;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.AbstractListModel;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+/**
+ * A type-ahead patient picker: a search field above the best matches from a
+ * {@link PatientIndex}. Each keystroke runs a prefix search for the top
+ * matches, so the picker stays responsive however many patients the clinic
+ * holds. The first match is selected automatically.
+ */
+public class PatientPicker extends JPanel {
+  private static final long serialVersionUID = 1L;
+  /**
+   * The number of matches shown at a time.
+   */
+  public static final int MAX_MATCHES = 50;
+  private final PatientIndex index;
+  private final PatientIndex.Filter filter;
+  private final JTextField searchField;
+  private final MatchListModel matches;
+  private final JList<Patient> matchList;
+  private final JLabel statusLabel;
+
+  /**
+   * Creates a picker over the patients of an index that match a filter.
+   *
+   * @param index  The patient index to search.
+   * @param filter The patients to offer.
+   * @throws IllegalArgumentException if the index or filter is null.
+   */
+  public PatientPicker(PatientIndex index, PatientIndex.Filter filter)
+      throws IllegalArgumentException {
+    super(new BorderLayout(0, 4));
+    if (index == null || filter == null) {
+      throw new IllegalArgumentException("Index and filter cannot be null.");
+    }
+    this.index = index;
+    this.filter = filter;
+    this.searchField = new JTextField(24);
+    this.matches = new MatchListModel();
+    this.matchList = new JList<>(matches);
+    this.statusLabel = new JLabel();
+
+    matchList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    matchList.setVisibleRowCount(8);
+    JScrollPane scrollPane = new JScrollPane(matchList);
+    scrollPane.setPreferredSize(new Dimension(360, 160));
+    searchField.setToolTipText("Type a last name, \"last, first\" or a serial number");
+    searchField.getDocument().addDocumentListener(new DocumentListener() {
+      @Override
+      public void insertUpdate(DocumentEvent e) {
+        updateMatches();
+      }
+
+      @Override
+      public void removeUpdate(DocumentEvent e) {
+        updateMatches();
+      }
+
+      @Override
+      public void changedUpdate(DocumentEvent e) {
+        updateMatches();
+      }
+    });
+
+    add(searchField, BorderLayout.NORTH);
+    add(scrollPane, BorderLayout.CENTER);
+    add(statusLabel, BorderLayout.SOUTH);
+    updateMatches();
+  }
+
+  /**
+   * Gets the patient currently selected in the match list.
+   *
+   * @return The selected patient, or null if nothing matches.
+   */
+  public Patient getSelectedPatient() {
+    return matchList.getSelectedValue();
+  }
+
+  /**
+   * Checks whether the index holds any patients this picker can offer.
+   *
+   * @return True if there are no patients to pick from.
+   */
+  public boolean isRosterEmpty() {
+    return index.size(filter) == 0;
+  }
+
+  /**
+   * Gets the search field, so callers can type into it or give it focus.
+   *
+   * @return The search field.
+   */
+  public JTextField getSearchField() {
+    return searchField;
+  }
+
+  /**
+   * Re-runs the search for the current text and selects the first match.
+   */
+  private void updateMatches() {
+    List<Patient> found = index.search(filter, searchField.getText(), MAX_MATCHES);
+    matches.setPatients(found);
+    if (!found.isEmpty()) {
+      matchList.setSelectedIndex(0);
+    }
+    int total = index.size(filter);
+    statusLabel.setText(found.isEmpty() ? "No matching patients."
+        : found.size() < MAX_MATCHES ? found.size() + " matching patients."
+        : "Showing the first " + MAX_MATCHES + " of " + total + " patients; type to narrow.");
+  }
+
+  /**
+   * The list model holding the current matches.
+   */
+  private static final class MatchListModel extends AbstractListModel<Patient> {
+    private static final long serialVersionUID = 1L;
+    private List<Patient> patients = Collections.emptyList();
+
+    void setPatients(List<Patient> patients) {
+      int oldSize = this.patients.size();
+      this.patients = patients;
+      if (oldSize > 0) {
+        fireIntervalRemoved(this, 0, oldSize - 1);
+      }
+      if (!patients.isEmpty()) {
+        fireIntervalAdded(this, 0, patients.size() - 1);
+      }
+    }
+
+    @Override
+    public int getSize() {
+      return patients.size();
+    }
+
+    @Override
+    public Patient getElementAt(int index) {
+      return patients.get(index);
+    }
+  }
+}
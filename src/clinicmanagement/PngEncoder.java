@@ -0,0 +1,336 @@
+package clinicmanagement;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A PNG encoder for a sequence of frames that mostly repeat, such as a clinic
+ * map exported every minute. The image is cut into horizontal strips that are
+ * compressed independently into one deflate stream. Each frame is compared
+ * with the previous one and only the strips whose pixels changed are
+ * compressed again; the rest are copied from the last frame.
+ *
+ * <p>Images are written as 8-bit RGB without transparency. The encoder keeps
+ * its buffers between frames and is not safe for use by several threads.
+ */
+public class PngEncoder {
+  private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+  private static final byte[] ZLIB_HEADER = {0x78, 0x01};
+  private static final byte[] FINAL_EMPTY_BLOCK = {0x03, 0x00};
+  private static final int ADLER_BASE = 65521;
+  private static final int FILTER_NONE = 0;
+  private static final int FILTER_UP = 2;
+
+  private final int stripRows;
+  private final Deflater deflater;
+  private final CRC32 crc;
+  private final Adler32 adler;
+  private final byte[] chunkHeader;
+  private int width;
+  private int height;
+  private int[] previous;
+  private int[] scratchPixels;
+  private byte[] raw;
+  private byte[] deflateBuffer;
+  private byte[][] strips;
+  private long[] stripAdlers;
+  private int stripsEncoded;
+
+  /**
+   * Creates an encoder that compresses 16-row strips.
+   */
+  public PngEncoder() {
+    this(16);
+  }
+
+  /**
+   * Creates an encoder.
+   *
+   * @param stripRows The number of pixel rows per independently compressed strip.
+   * @throws IllegalArgumentException if the strip height is not positive.
+   */
+  public PngEncoder(int stripRows) throws IllegalArgumentException {
+    if (stripRows <= 0) {
+      throw new IllegalArgumentException("Strip rows must be positive.");
+    }
+    this.stripRows = stripRows;
+    this.deflater = new Deflater(Deflater.BEST_SPEED, true);
+    this.crc = new CRC32();
+    this.adler = new Adler32();
+    this.chunkHeader = new byte[8];
+  }
+
+  /**
+   * Writes an image as a PNG file, compressing again only the strips that
+   * changed since the previous image of the same size.
+   *
+   * @param image The image to write.
+   * @param out   The stream to write to.
+   * @throws IOException if writing fails.
+   * @throws IllegalArgumentException if the image or stream is null.
+   */
+  public void encode(BufferedImage image, OutputStream out)
+      throws IOException, IllegalArgumentException {
+    if (image == null || out == null) {
+      throw new IllegalArgumentException("Image and output cannot be null.");
+    }
+    if (image.getWidth() != width || image.getHeight() != height || previous == null) {
+      reset(image.getWidth(), image.getHeight());
+    }
+    int[] pixels = pixelsOf(image);
+    stripsEncoded = 0;
+    for (int strip = 0; strip < strips.length; strip++) {
+      int from = strip * stripRows * width;
+      int to = Math.min(height, (strip + 1) * stripRows) * width;
+      if (strips[strip] == null
+          || Arrays.mismatch(previous, from, to, pixels, from, to) >= 0) {
+        System.arraycopy(pixels, from, previous, from, to - from);
+        compressStrip(strip);
+        stripsEncoded++;
+      }
+    }
+
+    int dataLength = ZLIB_HEADER.length + FINAL_EMPTY_BLOCK.length + 4;
+    long checksum = 1;
+    for (int strip = 0; strip < strips.length; strip++) {
+      dataLength += strips[strip].length;
+      checksum = combineAdler(checksum, stripAdlers[strip], rawLength(strip));
+    }
+
+    out.write(SIGNATURE);
+    byte[] header = new byte[13];
+    putInt(header, 0, width);
+    putInt(header, 4, height);
+    header[8] = 8; // Bit depth
+    header[9] = 2; // Color type: RGB
+    writeChunk(out, "IHDR", header);
+
+    startChunk(out, "IDAT", dataLength);
+    writeChunkData(out, ZLIB_HEADER);
+    for (byte[] strip : strips) {
+      writeChunkData(out, strip);
+    }
+    writeChunkData(out, FINAL_EMPTY_BLOCK);
+    byte[] trailer = new byte[4];
+    putInt(trailer, 0, (int) checksum);
+    writeChunkData(out, trailer);
+    endChunk(out);
+
+    writeChunk(out, "IEND", new byte[0]);
+  }
+
+  /**
+   * Gets the number of strips compressed for the last image.
+   *
+   * @return The strips compressed.
+   */
+  public int getStripsEncoded() {
+    return stripsEncoded;
+  }
+
+  /**
+   * Gets the number of strips an image is cut into.
+   *
+   * @return The strip count, or 0 before the first image.
+   */
+  public int getStripCount() {
+    return strips == null ? 0 : strips.length;
+  }
+
+  /**
+   * Drops the previous frame and sizes the buffers for a new image size.
+   *
+   * @param newWidth  The image width.
+   * @param newHeight The image height.
+   */
+  private void reset(int newWidth, int newHeight) {
+    width = newWidth;
+    height = newHeight;
+    previous = new int[width * height];
+    scratchPixels = null;
+    int count = (height + stripRows - 1) / stripRows;
+    strips = new byte[count][];
+    stripAdlers = new long[count];
+    raw = new byte[stripRows * (width * 3 + 1)];
+    deflateBuffer = new byte[Math.max(64, raw.length / 4)];
+  }
+
+  /**
+   * Gets an image's pixels as packed RGB, without copying when the image
+   * already stores them that way.
+   *
+   * @param image The image.
+   * @return The pixels, row by row.
+   */
+  private int[] pixelsOf(BufferedImage image) {
+    if (image.getType() == BufferedImage.TYPE_INT_RGB
+        && image.getRaster().getDataBuffer() instanceof DataBufferInt) {
+      return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+    if (scratchPixels == null) {
+      scratchPixels = new int[width * height];
+    }
+    image.getRGB(0, 0, width, height, scratchPixels, 0, width);
+    return scratchPixels;
+  }
+
+  /**
+   * Filters and compresses one strip from the previous frame's pixels. The
+   * first row of a strip is unfiltered and the others are stored as the
+   * difference from the row above, so a strip never depends on another.
+   *
+   * @param strip The strip number.
+   */
+  private void compressStrip(int strip) {
+    int firstRow = strip * stripRows;
+    int rows = Math.min(stripRows, height - firstRow);
+    int position = 0;
+    for (int row = firstRow; row < firstRow + rows; row++) {
+      int start = row * width;
+      boolean up = row > firstRow;
+      raw[position++] = (byte) (up ? FILTER_UP : FILTER_NONE);
+      for (int x = 0; x < width; x++) {
+        int pixel = previous[start + x];
+        int above = up ? previous[start - width + x] : 0;
+        raw[position++] = (byte) ((pixel >> 16) - (above >> 16));
+        raw[position++] = (byte) ((pixel >> 8) - (above >> 8));
+        raw[position++] = (byte) (pixel - above);
+      }
+    }
+    adler.reset();
+    adler.update(raw, 0, position);
+    stripAdlers[strip] = adler.getValue();
+
+    deflater.reset();
+    deflater.setInput(raw, 0, position);
+    byte[] compressed = new byte[0];
+    int length = 0;
+    int written;
+    do {
+      written = deflater.deflate(deflateBuffer, 0, deflateBuffer.length, Deflater.SYNC_FLUSH);
+      if (length + written > compressed.length) {
+        compressed = Arrays.copyOf(compressed, Math.max(length + written, compressed.length * 2));
+      }
+      System.arraycopy(deflateBuffer, 0, compressed, length, written);
+      length += written;
+    } while (written == deflateBuffer.length);
+    strips[strip] = length == compressed.length ? compressed : Arrays.copyOf(compressed, length);
+  }
+
+  /**
+   * Gets the number of filtered bytes in a strip.
+   *
+   * @param strip The strip number.
+   * @return The strip's uncompressed length.
+   */
+  private long rawLength(int strip) {
+    int rows = Math.min(stripRows, height - strip * stripRows);
+    return (long) rows * (width * 3 + 1);
+  }
+
+  /**
+   * Combines the Adler-32 checksums of two pieces of data into the checksum
+   * of the pieces joined together, as zlib's {@code adler32_combine} does.
+   *
+   * @param first        The checksum of the first piece.
+   * @param second       The checksum of the second piece.
+   * @param secondLength The length of the second piece.
+   * @return The checksum of both pieces.
+   */
+  static long combineAdler(long first, long second, long secondLength) {
+    long remainder = secondLength % ADLER_BASE;
+    long sum1 = first & 0xffff;
+    long sum2 = (remainder * sum1) % ADLER_BASE;
+    sum1 += (second & 0xffff) + ADLER_BASE - 1;
+    sum2 += ((first >> 16) & 0xffff) + ((second >> 16) & 0xffff) + ADLER_BASE - remainder;
+    if (sum1 >= ADLER_BASE) {
+      sum1 -= ADLER_BASE;
+    }
+    if (sum1 >= ADLER_BASE) {
+      sum1 -= ADLER_BASE;
+    }
+    if (sum2 >= 2L * ADLER_BASE) {
+      sum2 -= 2L * ADLER_BASE;
+    }
+    if (sum2 >= ADLER_BASE) {
+      sum2 -= ADLER_BASE;
+    }
+    return sum1 | (sum2 << 16);
+  }
+
+  /**
+   * Writes a whole chunk.
+   *
+   * @param out  The stream to write to.
+   * @param type The four-letter chunk type.
+   * @param data The chunk data.
+   * @throws IOException if writing fails.
+   */
+  private void writeChunk(OutputStream out, String type, byte[] data) throws IOException {
+    startChunk(out, type, data.length);
+    writeChunkData(out, data);
+    endChunk(out);
+  }
+
+  /**
+   * Writes a chunk's length and type and starts its checksum.
+   *
+   * @param out    The stream to write to.
+   * @param type   The four-letter chunk type.
+   * @param length The length of the chunk data.
+   * @throws IOException if writing fails.
+   */
+  private void startChunk(OutputStream out, String type, int length) throws IOException {
+    putInt(chunkHeader, 0, length);
+    for (int i = 0; i < 4; i++) {
+      chunkHeader[4 + i] = (byte) type.charAt(i);
+    }
+    out.write(chunkHeader);
+    crc.reset();
+    crc.update(chunkHeader, 4, 4);
+  }
+
+  /**
+   * Writes part of a chunk's data.
+   *
+   * @param out  The stream to write to.
+   * @param data The data.
+   * @throws IOException if writing fails.
+   */
+  private void writeChunkData(OutputStream out, byte[] data) throws IOException {
+    out.write(data);
+    crc.update(data);
+  }
+
+  /**
+   * Writes a chunk's checksum.
+   *
+   * @param out The stream to write to.
+   * @throws IOException if writing fails.
+   */
+  private void endChunk(OutputStream out) throws IOException {
+    byte[] checksum = new byte[4];
+    putInt(checksum, 0, (int) crc.getValue());
+    out.write(checksum);
+  }
+
+  /**
+   * Stores an int in big-endian order.
+   *
+   * @param buffer The buffer.
+   * @param offset Where to store it.
+   * @param value  The value.
+   */
+  private static void putInt(byte[] buffer, int offset, int value) {
+    buffer[offset] = (byte) (value >>> 24);
+    buffer[offset + 1] = (byte) (value >>> 16);
+    buffer[offset + 2] = (byte) (value >>> 8);
+    buffer[offset + 3] = (byte) value;
+  }
+}
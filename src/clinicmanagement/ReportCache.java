@@ -0,0 +1,110 @@
+package clinicmanagement;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the rows of recently computed reports, keyed by report name and
+ * parameters. Every entry belongs to one model version and one calendar day:
+ * as soon as the clinic reports a newer version, or the day rolls over, all
+ * entries are dropped and the next request recomputes from the model.
+ */
+public class ReportCache {
+  private final Map<Key, List<?>> entries;
+  private long version;
+  private LocalDate day;
+
+  /**
+   * Creates an empty report cache.
+   */
+  public ReportCache() {
+    this.entries = new HashMap<>();
+    this.version = -1;
+  }
+
+  /**
+   * Returns the cached rows of a report, computing and remembering them if the
+   * report has not been run for these parameters at this version and day.
+   *
+   * @param report     The name of the report.
+   * @param parameters The parameters the report was run with.
+   * @param version    The current model version.
+   * @param today      The current date.
+   * @param compute    Computes the rows on a cache miss.
+   * @param <R>        The row type.
+   * @return The rows of the report.
+   * @throws IllegalArgumentException if the report, parameters, date or supplier is null.
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized <R> List<R> get(String report, Object[] parameters, long version,
+                                      LocalDate today, Supplier<List<R>> compute)
+      throws IllegalArgumentException {
+    if (report == null || parameters == null || today == null || compute == null) {
+      throw new IllegalArgumentException("Report, parameters, date and supplier cannot be null.");
+    }
+    if (version != this.version || !today.equals(day)) {
+      entries.clear();
+      this.version = version;
+      this.day = today;
+    }
+    Key key = new Key(report, parameters);
+    List<R> rows = (List<R>) entries.get(key);
+    if (rows == null) {
+      rows = List.copyOf(compute.get());
+      entries.put(key, rows);
+    }
+    return rows;
+  }
+
+  /**
+   * Gets the number of cached reports.
+   *
+   * @return The number of cached entries.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Drops every cached report.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    version = -1;
+    day = null;
+  }
+
+  /**
+   * The name and parameters of a cached report.
+   */
+  private static final class Key {
+    private final String report;
+    private final Object[] parameters;
+
+    Key(String report, Object[] parameters) {
+      this.report = report;
+      this.parameters = parameters.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return report.equals(other.report) && Arrays.equals(parameters, other.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * report.hashCode() + Arrays.hashCode(parameters);
+    }
+  }
+}
@@ -0,0 +1,425 @@
+package clinicmanagement;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Computes the clinic-wide reports as streams of typed rows, independently of
+ * how they are displayed. The Swing dialogs in {@link Clinic} are one consumer
+ * of these rows; the {@link ReportWriter} implementations are another.
+ *
+ * <p>An engine created with a {@link ForkJoinPool} splits the patient and staff
+ * rosters across the pool's workers. Each worker collects its own slice of rows
+ * and the slices are joined in encounter order, so the output is identical to
+ * the sequential engine's.
+ *
+ * <p>Report rows are cached per report and parameters until the clinic's model
+ * version or the date changes, so re-opening an unchanged report is free.
+ */
+public class ReportEngine {
+  private final ClinicInterface clinic;
+  private final ForkJoinPool pool;
+  private final ReportCache cache;
+
+  /**
+   * The reports the engine can produce, with their titles and column names.
+   */
+  public enum ReportType {
+    STAFF_PATIENT_COUNTS("Clinical Staff and Their Patient Assignment Counts",
+        StaffPatientCountRow.COLUMNS),
+    INACTIVE_PATIENTS("Patients with Last Visit Over a Year Ago",
+        InactivePatientRow.COLUMNS),
+    INCOMPLETE_VISITS("Clinical Staff with Incomplete Visits",
+        IncompleteVisitRow.COLUMNS),
+    MULTIPLE_VISITS("Patients with Multiple Visits in Last Year",
+        VisitFrequencyRow.COLUMNS);
+
+    private final String title;
+    private final String[] columns;
+
+    ReportType(String title, String[] columns) {
+      this.title = title;
+      this.columns = columns;
+    }
+
+    /**
+     * Get the title of the report.
+     *
+     * @return The report title.
+     */
+    public String getTitle() {
+      return title;
+    }
+
+    /**
+     * Get the column names of the report.
+     *
+     * @return A copy of the column names.
+     */
+    public String[] getColumns() {
+      return columns.clone();
+    }
+
+    @Override
+    public String toString() {
+      return title;
+    }
+  }
+
+  /**
+   * Creates a report engine over the given clinic.
+   *
+   * @param clinic The clinic to report on.
+   * @throws IllegalArgumentException if the clinic is null.
+   */
+  public ReportEngine(ClinicInterface clinic) throws IllegalArgumentException {
+    this(clinic, null);
+  }
+
+  /**
+   * Creates a report engine that runs its reports in parallel on the given pool.
+   *
+   * @param clinic The clinic to report on.
+   * @param pool   The pool to run reports on, or null to run them sequentially.
+   * @throws IllegalArgumentException if the clinic is null.
+   */
+  public ReportEngine(ClinicInterface clinic, ForkJoinPool pool)
+      throws IllegalArgumentException {
+    if (clinic == null) {
+      throw new IllegalArgumentException("Clinic cannot be null.");
+    }
+    this.clinic = clinic;
+    this.pool = pool;
+    this.cache = new ReportCache();
+  }
+
+  /**
+   * Checks whether this engine runs its reports in parallel.
+   *
+   * @return True if reports run on a fork-join pool, false if sequentially.
+   */
+  public boolean isParallel() {
+    return pool != null;
+  }
+
+  /**
+   * Produces the rows of a report using its default parameters.
+   *
+   * @param type The report to produce.
+   * @return The rows of the report.
+   */
+  public Stream<? extends ReportRow> rows(ReportType type) {
+    if (type == null) {
+      throw new IllegalArgumentException("Report type cannot be null.");
+    }
+    switch (type) {
+      case STAFF_PATIENT_COUNTS:
+        return staffPatientCounts();
+      case INACTIVE_PATIENTS:
+        return inactivePatients();
+      case INCOMPLETE_VISITS:
+        return staffWithIncompleteVisits(clinic.getClinicalStaffList());
+      case MULTIPLE_VISITS:
+        return patientsWithMultipleVisits(2, 365);
+      default:
+        throw new IllegalArgumentException("Unknown report type: " + type);
+    }
+  }
+
+  /**
+   * Produces one row per clinical staff member with their unique patient count,
+   * active caseload and open visits, read from the clinic's workload view.
+   *
+   * @return The rows of the report.
+   */
+  public Stream<StaffPatientCountRow> staffPatientCounts() {
+    return cached(ReportType.STAFF_PATIENT_COUNTS, new Object[0], today -> {
+      StaffWorkloadView view = clinic.getStaffWorkloadView();
+      return evaluate(IntStream.range(0, view.size())
+          .mapToObj(slot -> new StaffPatientCountRow(view.getStaff(slot).getFullName(),
+              view.getStaff(slot).getSerialNumber(), view.getLifetimeUniquePatients(slot),
+              view.getActiveCaseload(slot), view.getOpenVisits(slot),
+              !view.isDeactivated(slot))));
+    });
+  }
+
+  /**
+   * Produces one row per active patient whose last visit was more than a year ago.
+   *
+   * @return The rows of the report.
+   */
+  public Stream<InactivePatientRow> inactivePatients() {
+    return cached(ReportType.INACTIVE_PATIENTS, new Object[0], today ->
+        evaluate(clinic.getPatientRoster().stream()
+            .filter(patient -> !patient.isDeactivated() && !patient.getVisitRecords().isEmpty())
+            .map(patient -> {
+              List<Visitrecord> visitRecords = patient.getVisitRecords();
+              LocalDate lastVisitDate = visitRecords.get(visitRecords.size() - 1)
+                  .getRegistrationDateTime().toLocalDate();
+              return ChronoUnit.DAYS.between(lastVisitDate, today) > 365
+                  ? new InactivePatientRow(patient.getSerialNumber(), patient.getFullName(),
+                  lastVisitDate)
+                  : null;
+            })
+            .filter(row -> row != null)));
+  }
+
+  /**
+   * Produces one row per pair of active clinical staff member and assigned active
+   * patient whose last visit was within the past year. The cutoff is computed
+   * once per run and each clinician's rows come straight from the open visit
+   * index, in a single pass over the open visits.
+   *
+   * @param clinicalStaffList The clinical staff members to report on.
+   * @return The rows of the report, grouped by staff member.
+   */
+  public Stream<IncompleteVisitRow> staffWithIncompleteVisits(
+      List<ClinicalStaff> clinicalStaffList) {
+    if (clinicalStaffList == null) {
+      throw new IllegalArgumentException("Clinical staff list cannot be null.");
+    }
+    Object[] staffSerials = clinicalStaffList.stream()
+        .map(ClinicalStaff::getSerialNumber).toArray();
+    return cached(ReportType.INCOMPLETE_VISITS, staffSerials, today -> {
+      OpenVisitIndex openVisits = clinic.getOpenVisitIndex(today.minusYears(1));
+      return evaluate(clinicalStaffList.stream()
+          .filter(clinicalStaff -> !clinicalStaff.isDeactivated())
+          .flatMap(clinicalStaff -> openVisits.openPatients(clinicalStaff).stream()
+              .map(patient -> new IncompleteVisitRow(clinicalStaff.getSerialNumber(),
+                  clinicalStaff.getFullName(), clinicalStaff.getJobTitle(),
+                  patient.getSerialNumber(), patient.getFullName()))));
+    });
+  }
+
+  /**
+   * Produces one row per active patient with at least a number of visits inside
+   * a rolling window of days. The matching patients are found once, then their
+   * rows are built like every other report's.
+   *
+   * @param minVisits  The minimum number of visits.
+   * @param windowDays The length of the window in days.
+   * @return The rows of the report.
+   */
+  public Stream<VisitFrequencyRow> patientsWithMultipleVisits(int minVisits, int windowDays) {
+    return cached(ReportType.MULTIPLE_VISITS, new Object[] {minVisits, windowDays}, today ->
+        evaluate(clinic.findPatientsWithRecentVisits(minVisits, windowDays).stream()
+            .map(patient -> new VisitFrequencyRow(patient.getSerialNumber(),
+                patient.getFullName(), clinic.getRecentVisitCount(patient, windowDays)))));
+  }
+
+  /**
+   * Gets the number of report results currently cached.
+   *
+   * @return The number of cached reports.
+   */
+  public int getCachedReportCount() {
+    return cache.size();
+  }
+
+  /**
+   * Serves a report from the cache, computing it on a miss. The clinic's clock
+   * is read once here and the same date is used for the cache key and for
+   * every cutoff inside the report.
+   *
+   * @param type       The report being produced.
+   * @param parameters The parameters the report is run with.
+   * @param compute    Computes the rows for a given current date on a cache miss.
+   * @param <R>        The row type.
+   * @return A stream over the report rows.
+   */
+  private <R> Stream<R> cached(ReportType type, Object[] parameters,
+                               Function<LocalDate, List<R>> compute) {
+    LocalDate today = LocalDate.now(clinic.getClock());
+    return cache.get(type.name(), parameters, clinic.getModelVersion(), today,
+        () -> compute.apply(today)).stream();
+  }
+
+  /**
+   * Evaluates a row stream, on the pool if this engine is parallel, and returns
+   * the rows in encounter order.
+   *
+   * @param rows The row stream to evaluate.
+   * @param <R>  The row type.
+   * @return The evaluated rows.
+   */
+  private <R> List<R> evaluate(Stream<R> rows) {
+    if (pool == null) {
+      return rows.collect(Collectors.toList());
+    }
+    return pool.submit(() -> rows.parallel().collect(Collectors.toList())).join();
+  }
+
+  /**
+   * A row of the clinical staff and patient counts report.
+   */
+  public static final class StaffPatientCountRow implements ReportRow {
+    static final String[] COLUMNS = {"Name", "Serial Number",
+        "Unique Patients Assigned", "Active Caseload", "Open Visits", "Status"};
+    private final String name;
+    private final int serialNumber;
+    private final int uniquePatientCount;
+    private final int activeCaseload;
+    private final int openVisits;
+    private final boolean active;
+
+    StaffPatientCountRow(String name, int serialNumber, int uniquePatientCount,
+                         int activeCaseload, int openVisits, boolean active) {
+      this.name = name;
+      this.serialNumber = serialNumber;
+      this.uniquePatientCount = uniquePatientCount;
+      this.activeCaseload = activeCaseload;
+      this.openVisits = openVisits;
+      this.active = active;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public int getSerialNumber() {
+      return serialNumber;
+    }
+
+    public int getUniquePatientCount() {
+      return uniquePatientCount;
+    }
+
+    public int getActiveCaseload() {
+      return activeCaseload;
+    }
+
+    public int getOpenVisits() {
+      return openVisits;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+
+    @Override
+    public Object[] getValues() {
+      return new Object[] {name, serialNumber, uniquePatientCount, activeCaseload,
+          openVisits, active ? "Active" : "Inactive"};
+    }
+  }
+
+  /**
+   * A row of the inactive patients report.
+   */
+  public static final class InactivePatientRow implements ReportRow {
+    static final String[] COLUMNS = {"Patient Serial Number", "Name", "Last Visit Date"};
+    private final int serialNumber;
+    private final String name;
+    private final LocalDate lastVisitDate;
+
+    InactivePatientRow(int serialNumber, String name, LocalDate lastVisitDate) {
+      this.serialNumber = serialNumber;
+      this.name = name;
+      this.lastVisitDate = lastVisitDate;
+    }
+
+    public int getSerialNumber() {
+      return serialNumber;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public LocalDate getLastVisitDate() {
+      return lastVisitDate;
+    }
+
+    @Override
+    public Object[] getValues() {
+      return new Object[] {serialNumber, name, lastVisitDate};
+    }
+  }
+
+  /**
+   * A row of the clinical staff with incomplete visits report.
+   */
+  public static final class IncompleteVisitRow implements ReportRow {
+    static final String[] COLUMNS = {"Staff Serial Number", "Staff Name", "Job Title",
+        "Patient Serial Number", "Patient Name"};
+    private final int staffSerialNumber;
+    private final String staffName;
+    private final String jobTitle;
+    private final int patientSerialNumber;
+    private final String patientName;
+
+    IncompleteVisitRow(int staffSerialNumber, String staffName, String jobTitle,
+                       int patientSerialNumber, String patientName) {
+      this.staffSerialNumber = staffSerialNumber;
+      this.staffName = staffName;
+      this.jobTitle = jobTitle;
+      this.patientSerialNumber = patientSerialNumber;
+      this.patientName = patientName;
+    }
+
+    public int getStaffSerialNumber() {
+      return staffSerialNumber;
+    }
+
+    public String getStaffName() {
+      return staffName;
+    }
+
+    public String getJobTitle() {
+      return jobTitle;
+    }
+
+    public int getPatientSerialNumber() {
+      return patientSerialNumber;
+    }
+
+    public String getPatientName() {
+      return patientName;
+    }
+
+    @Override
+    public Object[] getValues() {
+      return new Object[] {staffSerialNumber, staffName, jobTitle,
+          patientSerialNumber, patientName};
+    }
+  }
+
+  /**
+   * A row of the patients with multiple visits report.
+   */
+  public static final class VisitFrequencyRow implements ReportRow {
+    static final String[] COLUMNS = {"Serial Number", "Name", "Number of Visits"};
+    private final int serialNumber;
+    private final String name;
+    private final int visitCount;
+
+    VisitFrequencyRow(int serialNumber, String name, int visitCount) {
+      this.serialNumber = serialNumber;
+      this.name = name;
+      this.visitCount = visitCount;
+    }
+
+    public int getSerialNumber() {
+      return serialNumber;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public int getVisitCount() {
+      return visitCount;
+    }
+
+    @Override
+    public Object[] getValues() {
+      return new Object[] {serialNumber, name, visitCount};
+    }
+  }
+}
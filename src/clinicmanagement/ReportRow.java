@@ -0,0 +1,16 @@
+package clinicmanagement;
+
+/**
+ * A single typed row produced by the {@link ReportEngine}. Rows expose their
+ * cell values in column order so that any consumer, such as a Swing table or a
+ * streaming {@link ReportWriter}, can render them without knowing the row type.
+ */
+public interface ReportRow {
+
+  /**
+   * Gets the cell values of this row in column order.
+   *
+   * @return The cell values.
+   */
+  Object[] getValues();
+}
@@ -0,0 +1,22 @@
+package clinicmanagement;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of report rows to a character sink one row at a time,
+ * so that a report never has to be held in memory as a single string.
+ */
+public interface ReportWriter {
+
+  /**
+   * Writes the given rows to the output.
+   *
+   * @param columns The column names of the report.
+   * @param rows    The rows to write, in order.
+   * @param out     The sink the rows are written to.
+   * @throws IOException if writing to the sink fails.
+   */
+  void write(String[] columns, Stream<? extends ReportRow> rows, Appendable out)
+      throws IOException;
+}
@@ -0,0 +1,144 @@
+package clinicmanagement;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Keeps a per-patient count of visits that fall inside a rolling window of days.
+ * Counts are incremented as visits are recorded and visits are aged out by a
+ * sweep that runs at most once per day, when the clock's date has moved on.
+ * A visit on date {@code d} is inside the window when {@code d} is after
+ * {@code today - windowDays}.
+ *
+ * <p>Every method synchronizes on the counter, so a parallel report engine
+ * can look up counts from several workers at once.
+ */
+public class RollingVisitCounter {
+  private final int windowDays;
+  private final Clock clock;
+  private final Map<Patient, Integer> counts;
+  private final TreeMap<LocalDate, List<Patient>> visitsByDay;
+  private LocalDate lastSweepDate;
+
+  /**
+   * Creates an empty counter for the given window length.
+   *
+   * @param windowDays The length of the rolling window in days.
+   * @param clock      The clock that decides the current date.
+   * @throws IllegalArgumentException if the window is not positive or the clock is null.
+   */
+  public RollingVisitCounter(int windowDays, Clock clock) throws IllegalArgumentException {
+    if (windowDays <= 0) {
+      throw new IllegalArgumentException("Window length must be a positive number of days.");
+    }
+    if (clock == null) {
+      throw new IllegalArgumentException("Clock cannot be null.");
+    }
+    this.windowDays = windowDays;
+    this.clock = clock;
+    this.counts = new HashMap<>();
+    this.visitsByDay = new TreeMap<>();
+    this.lastSweepDate = LocalDate.now(clock);
+  }
+
+  /**
+   * Gets the length of the rolling window.
+   *
+   * @return The window length in days.
+   */
+  public int getWindowDays() {
+    return windowDays;
+  }
+
+  /**
+   * Records a visit for a patient. Visits already outside the window are ignored.
+   *
+   * @param patient   The patient who visited.
+   * @param visitDate The date of the visit.
+   * @throws IllegalArgumentException if the patient or date is null.
+   */
+  public synchronized void recordVisit(Patient patient, LocalDate visitDate) throws IllegalArgumentException {
+    if (patient == null || visitDate == null) {
+      throw new IllegalArgumentException("Patient and visit date cannot be null.");
+    }
+    sweep();
+    if (!visitDate.isAfter(cutoff())) {
+      return;
+    }
+    visitsByDay.computeIfAbsent(visitDate, day -> new ArrayList<>()).add(patient);
+    counts.merge(patient, 1, Integer::sum);
+  }
+
+  /**
+   * Ages out visits that have left the window. Does nothing if a sweep
+   * already ran for the clock's current date.
+   */
+  public synchronized void sweep() {
+    LocalDate today = LocalDate.now(clock);
+    if (today.equals(lastSweepDate)) {
+      return;
+    }
+    lastSweepDate = today;
+    NavigableMap<LocalDate, List<Patient>> expired = visitsByDay.headMap(cutoff(), true);
+    for (List<Patient> dayVisits : expired.values()) {
+      for (Patient patient : dayVisits) {
+        counts.computeIfPresent(patient, (p, count) -> count > 1 ? count - 1 : null);
+      }
+    }
+    expired.clear();
+  }
+
+  /**
+   * Gets the number of visits a patient has inside the window.
+   *
+   * @param patient The patient to look up.
+   * @return The number of visits in the window, or 0 if there are none.
+   */
+  public synchronized int getCount(Patient patient) {
+    sweep();
+    return counts.getOrDefault(patient, 0);
+  }
+
+  /**
+   * Gets the patients with at least the given number of visits inside the window,
+   * ordered by serial number.
+   *
+   * @param minVisits The minimum number of visits.
+   * @return The matching patients.
+   */
+  public synchronized List<Patient> patientsWithAtLeast(int minVisits) {
+    sweep();
+    List<Patient> result = new ArrayList<>();
+    for (Map.Entry<Patient, Integer> entry : counts.entrySet()) {
+      if (entry.getValue() >= minVisits) {
+        result.add(entry.getKey());
+      }
+    }
+    result.sort(Comparator.comparingInt(Patient::getSerialNumber));
+    return result;
+  }
+
+  /**
+   * Removes every recorded visit from the counter.
+   */
+  public synchronized void clear() {
+    counts.clear();
+    visitsByDay.clear();
+  }
+
+  /**
+   * Gets the last date that is outside the window.
+   *
+   * @return The cutoff date for the last sweep.
+   */
+  private LocalDate cutoff() {
+    return lastSweepDate.minusDays(windowDays);
+  }
+}
@@ -1,7 +1,8 @@
 package clinicmanagement;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -11,7 +12,10 @@ import java.util.Objects;
  */
 public class Room implements RoomInterface {
   private int roomNumber; //
-  private Map<String, Integer> coordinates = new HashMap<>();
+  private final int lowerLeftX;
+  private final int lowerLeftY;
+  private final int upperRightX;
+  private final int upperRightY;
   private RoomType type;
   private String name;
   private List<Patient> assignedPatients; // List of assigned patients
@@ -67,10 +71,10 @@ public class Room implements RoomInterface {
     if (parts.length < 6) {
       throw new IllegalArgumentException("Invalid room input format");
     }
-    coordinates.put("lowerLeftX", Integer.parseInt(parts[0]));
-    coordinates.put("lowerLeftY", Integer.parseInt(parts[1]));
-    coordinates.put("upperRightX", Integer.parseInt(parts[2]));
-    coordinates.put("upperRightY", Integer.parseInt(parts[3]));
+    this.lowerLeftX = Integer.parseInt(parts[0]);
+    this.lowerLeftY = Integer.parseInt(parts[1]);
+    this.upperRightX = Integer.parseInt(parts[2]);
+    this.upperRightY = Integer.parseInt(parts[3]);
     this.type = RoomType.fromString(parts[4]);
     this.name = parts[5]; // Assumes the rest of the line is the room name
     this.assignedPatients = new ArrayList<>(); // Initialize assigned patients as an empty list
@@ -87,15 +91,59 @@ public class Room implements RoomInterface {
   }
 
   /**
-   * Get the room's coordinates.
+   * Get the room's coordinates keyed by "lowerLeftX", "lowerLeftY",
+   * "upperRightX" and "upperRightY". This builds a new read-only map on each
+   * call; use the individual coordinate getters where speed matters.
    *
    * @return The coordinates.
    */
-  public Map<String, Integer> getCoordinates() throws IllegalArgumentException {
-    if (coordinates == null) {
-      throw new IllegalArgumentException("Coordinates Cant be empty.");
-    }
-    return coordinates;
+  public Map<String, Integer> getCoordinates() {
+    Map<String, Integer> coordinates = new LinkedHashMap<>();
+    coordinates.put("lowerLeftX", lowerLeftX);
+    coordinates.put("lowerLeftY", lowerLeftY);
+    coordinates.put("upperRightX", upperRightX);
+    coordinates.put("upperRightY", upperRightY);
+    return Collections.unmodifiableMap(coordinates);
+  }
+
+  /**
+   * Get the x coordinate of the room's lower left corner.
+   *
+   * @return The lower left x coordinate.
+   */
+  @Override
+  public int getLowerLeftX() {
+    return lowerLeftX;
+  }
+
+  /**
+   * Get the y coordinate of the room's lower left corner.
+   *
+   * @return The lower left y coordinate.
+   */
+  @Override
+  public int getLowerLeftY() {
+    return lowerLeftY;
+  }
+
+  /**
+   * Get the x coordinate of the room's upper right corner.
+   *
+   * @return The upper right x coordinate.
+   */
+  @Override
+  public int getUpperRightX() {
+    return upperRightX;
+  }
+
+  /**
+   * Get the y coordinate of the room's upper right corner.
+   *
+   * @return The upper right y coordinate.
+   */
+  @Override
+  public int getUpperRightY() {
+    return upperRightY;
   }
 
   /**
@@ -222,7 +270,13 @@ public class Room implements RoomInterface {
     Room room = (Room) obj;
     return roomNumber == room.roomNumber
         &&
-        Objects.equals(coordinates, room.coordinates)
+        lowerLeftX == room.lowerLeftX
+        &&
+        lowerLeftY == room.lowerLeftY
+        &&
+        upperRightX == room.upperRightX
+        &&
+        upperRightY == room.upperRightY
         &&
         type == room.type
         &&
@@ -238,7 +292,12 @@ public class Room implements RoomInterface {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(roomNumber, coordinates, type, name, assignedPatients);
+    int result = roomNumber;
+    result = 31 * result + lowerLeftX;
+    result = 31 * result + lowerLeftY;
+    result = 31 * result + upperRightX;
+    result = 31 * result + upperRightY;
+    return 31 * result + Objects.hash(type, name, assignedPatients);
   }
 
 }
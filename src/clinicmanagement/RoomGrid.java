@@ -0,0 +1,188 @@
+package clinicmanagement;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A uniform grid over room rectangles in floor coordinates. The floor bounds
+ * are cut into roughly one cell per room and every room is listed in each cell
+ * it overlaps, so a point query only checks the few rooms sharing one cell and
+ * a rectangle query only visits the cells it covers.
+ *
+ * <p>Rooms are identified by their position in the clinic's room list. Cells
+ * list rooms in ascending order, so the first match in a cell is the same room
+ * a scan of the whole list would find.
+ */
+public class RoomGrid {
+  private static final int MAX_CELLS_PER_AXIS = 1024;
+
+  private final int[] lowerLeftX;
+  private final int[] lowerLeftY;
+  private final int[] upperRightX;
+  private final int[] upperRightY;
+  private final int minX;
+  private final int minY;
+  private final int maxX;
+  private final int maxY;
+  private final int columns;
+  private final int rows;
+  private final long cellWidth;
+  private final long cellHeight;
+  private final int[] cellStart;
+  private final int[] cellRooms;
+
+  /**
+   * Builds a grid over room rectangles. The arrays are shared, not copied, and
+   * must not change afterwards.
+   *
+   * @param lowerLeftX  The lower left x coordinate of each room.
+   * @param lowerLeftY  The lower left y coordinate of each room.
+   * @param upperRightX The upper right x coordinate of each room.
+   * @param upperRightY The upper right y coordinate of each room.
+   * @throws IllegalArgumentException if the arrays are empty or differ in length.
+   */
+  public RoomGrid(int[] lowerLeftX, int[] lowerLeftY, int[] upperRightX, int[] upperRightY)
+      throws IllegalArgumentException {
+    int count = lowerLeftX.length;
+    if (count == 0 || lowerLeftY.length != count || upperRightX.length != count
+        || upperRightY.length != count) {
+      throw new IllegalArgumentException(
+          "Room coordinate arrays must be non-empty and equal length.");
+    }
+    this.lowerLeftX = lowerLeftX;
+    this.lowerLeftY = lowerLeftY;
+    this.upperRightX = upperRightX;
+    this.upperRightY = upperRightY;
+
+    int boundsMinX = Integer.MAX_VALUE;
+    int boundsMinY = Integer.MAX_VALUE;
+    int boundsMaxX = Integer.MIN_VALUE;
+    int boundsMaxY = Integer.MIN_VALUE;
+    for (int i = 0; i < count; i++) {
+      boundsMinX = Math.min(boundsMinX, lowerLeftX[i]);
+      boundsMinY = Math.min(boundsMinY, lowerLeftY[i]);
+      boundsMaxX = Math.max(boundsMaxX, upperRightX[i]);
+      boundsMaxY = Math.max(boundsMaxY, upperRightY[i]);
+    }
+    this.minX = boundsMinX;
+    this.minY = boundsMinY;
+    this.maxX = boundsMaxX;
+    this.maxY = boundsMaxY;
+
+    int perAxis = (int) Math.min(MAX_CELLS_PER_AXIS, Math.ceil(Math.sqrt(count)));
+    long spanX = (long) maxX - minX + 1;
+    long spanY = (long) maxY - minY + 1;
+    this.columns = (int) Math.min(perAxis, spanX);
+    this.rows = (int) Math.min(perAxis, spanY);
+    this.cellWidth = (spanX + columns - 1) / columns;
+    this.cellHeight = (spanY + rows - 1) / rows;
+
+    // Count the rooms per cell, turn the counts into offsets, then fill.
+    int[] counts = new int[columns * rows + 1];
+    for (int i = 0; i < count; i++) {
+      for (int row = rowOf(lowerLeftY[i]); row <= rowOf(upperRightY[i]); row++) {
+        for (int column = columnOf(lowerLeftX[i]); column <= columnOf(upperRightX[i]); column++) {
+          counts[row * columns + column + 1]++;
+        }
+      }
+    }
+    for (int cell = 1; cell < counts.length; cell++) {
+      counts[cell] += counts[cell - 1];
+    }
+    this.cellStart = counts;
+    this.cellRooms = new int[counts[counts.length - 1]];
+    int[] next = Arrays.copyOf(counts, counts.length - 1);
+    for (int i = 0; i < count; i++) {
+      for (int row = rowOf(lowerLeftY[i]); row <= rowOf(upperRightY[i]); row++) {
+        for (int column = columnOf(lowerLeftX[i]); column <= columnOf(upperRightX[i]); column++) {
+          cellRooms[next[row * columns + column]++] = i;
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the number of rooms in the grid.
+   *
+   * @return The room count.
+   */
+  public int size() {
+    return lowerLeftX.length;
+  }
+
+  /**
+   * Finds the first room whose rectangle, edges included, contains a point.
+   *
+   * @param x The floor x coordinate.
+   * @param y The floor y coordinate.
+   * @return The lowest room position containing the point, or -1 if none does.
+   */
+  public int roomAt(int x, int y) {
+    if (x < minX || x > maxX || y < minY || y > maxY) {
+      return -1;
+    }
+    int cell = rowOf(y) * columns + columnOf(x);
+    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+      int i = cellRooms[k];
+      if (x >= lowerLeftX[i] && x <= upperRightX[i]
+          && y >= lowerLeftY[i] && y <= upperRightY[i]) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Finds every room whose rectangle overlaps a query rectangle. Touching
+   * edges count as overlapping.
+   *
+   * @param x1 The lower left x coordinate of the query.
+   * @param y1 The lower left y coordinate of the query.
+   * @param x2 The upper right x coordinate of the query.
+   * @param y2 The upper right y coordinate of the query.
+   * @return The positions of the overlapping rooms in ascending order.
+   */
+  public int[] roomsIntersecting(int x1, int y1, int x2, int y2) {
+    int left = Math.max(Math.min(x1, x2), minX);
+    int right = Math.min(Math.max(x1, x2), maxX);
+    int bottom = Math.max(Math.min(y1, y2), minY);
+    int top = Math.min(Math.max(y1, y2), maxY);
+    if (left > right || bottom > top) {
+      return new int[0];
+    }
+    BitSet found = new BitSet(size());
+    for (int row = rowOf(bottom); row <= rowOf(top); row++) {
+      for (int column = columnOf(left); column <= columnOf(right); column++) {
+        int cell = row * columns + column;
+        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+          int i = cellRooms[k];
+          if (!found.get(i) && lowerLeftX[i] <= right && upperRightX[i] >= left
+              && lowerLeftY[i] <= top && upperRightY[i] >= bottom) {
+            found.set(i);
+          }
+        }
+      }
+    }
+    return found.stream().toArray();
+  }
+
+  /**
+   * Gets the grid column holding a floor x coordinate inside the bounds.
+   *
+   * @param x The floor x coordinate.
+   * @return The column.
+   */
+  private int columnOf(int x) {
+    return (int) (((long) x - minX) / cellWidth);
+  }
+
+  /**
+   * Gets the grid row holding a floor y coordinate inside the bounds.
+   *
+   * @param y The floor y coordinate.
+   * @return The row.
+   */
+  private int rowOf(int y) {
+    return (int) (((long) y - minY) / cellHeight);
+  }
+}
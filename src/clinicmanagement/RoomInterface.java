@@ -28,6 +28,34 @@ public interface RoomInterface {
    */
   String getName();
 
+  /**
+   * Get the x coordinate of the room's lower left corner.
+   *
+   * @return The lower left x coordinate.
+   */
+  int getLowerLeftX();
+
+  /**
+   * Get the y coordinate of the room's lower left corner.
+   *
+   * @return The lower left y coordinate.
+   */
+  int getLowerLeftY();
+
+  /**
+   * Get the x coordinate of the room's upper right corner.
+   *
+   * @return The upper right x coordinate.
+   */
+  int getUpperRightX();
+
+  /**
+   * Get the y coordinate of the room's upper right corner.
+   *
+   * @return The upper right y coordinate.
+   */
+  int getUpperRightY();
+
   /**
    * Get the list of assigned patients.
    *
@@ -0,0 +1,16 @@
+package clinicmanagement;
+
+/**
+ * Listener notified whenever the patients assigned to a room change. The
+ * clinic map renderer uses it to redraw only the rooms that changed instead of
+ * the whole floor plan.
+ */
+public interface RoomListener {
+
+  /**
+   * Called after a patient has been added to or removed from a room.
+   *
+   * @param room The room whose assigned patients changed.
+   */
+  void roomOccupantsChanged(Room room);
+}
@@ -126,6 +126,18 @@ public abstract class Staff implements StaffInterface {
     return deactivated;
   }
 
+  /**
+   * Replaces the staff member's names and job title with the instances
+   * stored in a clinic's string dictionary.
+   *
+   * @param strings The clinic's dictionary.
+   */
+  void internNames(StringDictionary strings) {
+    jobTitle = strings.intern(jobTitle);
+    firstName = strings.intern(firstName);
+    lastName = strings.intern(lastName);
+  }
+
 
 }
 
@@ -0,0 +1,154 @@
+package clinicmanagement;
+
+import java.util.stream.IntStream;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * A table model over the clinic's {@link StaffWorkloadView}. Cells are read
+ * from the view when the table paints them; only the list of visible slots is
+ * kept, and it is rebuilt when the clinic's model version changes.
+ */
+public class StaffTableModel extends AbstractTableModel {
+  private static final long serialVersionUID = 1L;
+  private final ClinicInterface clinic;
+  private final boolean activeOnly;
+  private final Column[] columns;
+  private StaffWorkloadView view;
+  private int[] slots;
+  private long builtVersion;
+
+  /**
+   * The columns a staff table can show.
+   */
+  public enum Column {
+    NAME("Name"),
+    PREFIXED_NAME("Name"),
+    SERIAL_NUMBER("Serial Number"),
+    JOB_TITLE("Job Title"),
+    EDUCATION_LEVEL("Education Level"),
+    NPI("Unique Identifier (NPI)"),
+    UNIQUE_PATIENTS("Unique Patients Assigned"),
+    ACTIVE_CASELOAD("Active Caseload"),
+    OPEN_VISITS("Open Visits"),
+    STATUS("Status");
+
+    private final String title;
+
+    Column(String title) {
+      this.title = title;
+    }
+
+    /**
+     * Get the column heading.
+     *
+     * @return The heading.
+     */
+    public String getTitle() {
+      return title;
+    }
+  }
+
+  /**
+   * Creates a staff table model.
+   *
+   * @param clinic     The clinic whose staff are shown.
+   * @param activeOnly True to leave out deactivated staff.
+   * @param columns    The columns to show, in order.
+   * @throws IllegalArgumentException if the clinic is null or no columns are given.
+   */
+  public StaffTableModel(ClinicInterface clinic, boolean activeOnly, Column... columns)
+      throws IllegalArgumentException {
+    if (clinic == null || columns == null || columns.length == 0) {
+      throw new IllegalArgumentException("Clinic and columns cannot be null or empty.");
+    }
+    this.clinic = clinic;
+    this.activeOnly = activeOnly;
+    this.columns = columns.clone();
+    this.builtVersion = -1;
+  }
+
+  /**
+   * Creates the model behind the staff and patient counts dashboard.
+   *
+   * @param clinic The clinic whose staff are shown.
+   * @return The workload table model.
+   */
+  public static StaffTableModel workload(ClinicInterface clinic) {
+    return new StaffTableModel(clinic, false, Column.NAME, Column.SERIAL_NUMBER,
+        Column.UNIQUE_PATIENTS, Column.ACTIVE_CASELOAD, Column.OPEN_VISITS, Column.STATUS);
+  }
+
+  /**
+   * Creates the model behind the active clinical staff list.
+   *
+   * @param clinic The clinic whose staff are shown.
+   * @return The staff directory table model.
+   */
+  public static StaffTableModel directory(ClinicInterface clinic) {
+    return new StaffTableModel(clinic, true, Column.SERIAL_NUMBER, Column.PREFIXED_NAME,
+        Column.JOB_TITLE, Column.EDUCATION_LEVEL, Column.NPI);
+  }
+
+  @Override
+  public int getRowCount() {
+    return slots().length;
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columns.length;
+  }
+
+  @Override
+  public String getColumnName(int column) {
+    return columns[column].getTitle();
+  }
+
+  @Override
+  public Object getValueAt(int row, int column) {
+    int slot = slots()[row];
+    ClinicalStaff clinicalStaff = view.getStaff(slot);
+    switch (columns[column]) {
+      case NAME:
+        return clinicalStaff.getFullName();
+      case PREFIXED_NAME:
+        return clinicalStaff.getPrefix() + " " + clinicalStaff.getFullName();
+      case SERIAL_NUMBER:
+        return clinicalStaff.getSerialNumber();
+      case JOB_TITLE:
+        return clinicalStaff.getJobTitle();
+      case EDUCATION_LEVEL:
+        return clinicalStaff.getEducationLevel();
+      case NPI:
+        return clinicalStaff.getNpi();
+      case UNIQUE_PATIENTS:
+        return view.getLifetimeUniquePatients(slot);
+      case ACTIVE_CASELOAD:
+        return view.getActiveCaseload(slot);
+      case OPEN_VISITS:
+        return view.getOpenVisits(slot);
+      case STATUS:
+        return view.isDeactivated(slot) ? "Inactive" : "Active";
+      default:
+        throw new IllegalStateException("Unknown column: " + columns[column]);
+    }
+  }
+
+  /**
+   * Gets the workload view slots shown as rows, rebuilding them if the clinic
+   * has changed since they were last built.
+   *
+   * @return The slot of each row.
+   */
+  private int[] slots() {
+    long version = clinic.getModelVersion();
+    if (version != builtVersion) {
+      view = clinic.getStaffWorkloadView();
+      slots = IntStream.range(0, view.size())
+          .filter(slot -> !activeOnly || !view.isDeactivated(slot))
+          .toArray();
+      builtVersion = version;
+    }
+    return slots;
+  }
+}
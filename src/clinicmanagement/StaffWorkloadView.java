@@ -0,0 +1,233 @@
+package clinicmanagement;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Materialized view of every clinical staff member's workload: current active
+ * caseload, lifetime unique patients and open visits. The counts live in
+ * primitive arrays indexed by registration slot. As a {@link CaseloadListener}
+ * of each registered staff member the view follows every assignment,
+ * unassignment and discharge, and as the clinic's {@link OpenVisitListener} it
+ * follows the open visit index, so reading a count never recounts anything.
+ */
+public class StaffWorkloadView implements CaseloadListener, OpenVisitListener {
+  private static final int INITIAL_CAPACITY = 16;
+  private ClinicalStaff[] staff;
+  private int[] activeCaseload;
+  private int[] lifetimeUnique;
+  private int[] openVisits;
+  private int[] slotBySerial;
+  private final BitSet deactivated;
+  private int size;
+
+  /**
+   * Creates an empty workload view.
+   */
+  public StaffWorkloadView() {
+    this.deactivated = new BitSet();
+    this.staff = new ClinicalStaff[0];
+    clear();
+  }
+
+  /**
+   * Adds a clinical staff member to the view, starting from their current counts,
+   * and follows their caseload from then on. Registering the same staff member
+   * twice has no effect.
+   *
+   * @param clinicalStaff The clinical staff member to add.
+   * @throws IllegalArgumentException if the staff member is null.
+   */
+  public void register(ClinicalStaff clinicalStaff) throws IllegalArgumentException {
+    if (clinicalStaff == null) {
+      throw new IllegalArgumentException("Clinical staff cannot be null.");
+    }
+    if (slotOf(clinicalStaff) >= 0) {
+      return;
+    }
+    if (size == staff.length) {
+      int capacity = staff.length * 2;
+      staff = Arrays.copyOf(staff, capacity);
+      activeCaseload = Arrays.copyOf(activeCaseload, capacity);
+      lifetimeUnique = Arrays.copyOf(lifetimeUnique, capacity);
+      openVisits = Arrays.copyOf(openVisits, capacity);
+    }
+    int serial = clinicalStaff.getSerialNumber();
+    if (serial >= slotBySerial.length) {
+      int oldLength = slotBySerial.length;
+      slotBySerial = Arrays.copyOf(slotBySerial, Math.max(serial + 1, oldLength * 2));
+      Arrays.fill(slotBySerial, oldLength, slotBySerial.length, -1);
+    }
+    int slot = size++;
+    slotBySerial[serial] = slot;
+    staff[slot] = clinicalStaff;
+    activeCaseload[slot] = clinicalStaff.getAssignedPatients().size();
+    lifetimeUnique[slot] = clinicalStaff.getUniquePatientCount();
+    openVisits[slot] = 0;
+    deactivated.set(slot, clinicalStaff.isDeactivated());
+    clinicalStaff.addCaseloadListener(this);
+  }
+
+  /**
+   * Records that patients joined or left a clinician's caseload.
+   *
+   * @param clinicalStaff The clinical staff member.
+   * @param delta         The change in the number of assigned patients.
+   */
+  @Override
+  public void caseloadChanged(ClinicalStaff clinicalStaff, int delta) {
+    int slot = slotOf(clinicalStaff);
+    if (slot >= 0) {
+      activeCaseload[slot] += delta;
+    }
+  }
+
+  /**
+   * Records that a clinician was assigned a patient for the first time.
+   *
+   * @param clinicalStaff The clinical staff member.
+   */
+  @Override
+  public void uniquePatientCounted(ClinicalStaff clinicalStaff) {
+    int slot = slotOf(clinicalStaff);
+    if (slot >= 0) {
+      lifetimeUnique[slot]++;
+    }
+  }
+
+  /**
+   * Records a clinician's new open visit count. Deactivated clinicians keep
+   * a count of zero.
+   *
+   * @param staffSerial The clinician's serial number.
+   * @param count       The clinician's open visit count.
+   */
+  @Override
+  public void openVisitCountChanged(int staffSerial, int count) {
+    if (staffSerial >= 0 && staffSerial < slotBySerial.length && slotBySerial[staffSerial] >= 0) {
+      int slot = slotBySerial[staffSerial];
+      openVisits[slot] = deactivated.get(slot) ? 0 : count;
+    }
+  }
+
+  /**
+   * Records that a clinical staff member was deactivated.
+   *
+   * @param clinicalStaff The deactivated clinical staff member.
+   */
+  public void staffDeactivated(ClinicalStaff clinicalStaff) {
+    int slot = slotOf(clinicalStaff);
+    if (slot >= 0) {
+      deactivated.set(slot);
+      openVisits[slot] = 0;
+    }
+  }
+
+  /**
+   * Gets the number of clinical staff members in the view.
+   *
+   * @return The number of staff members.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the clinical staff member in a slot.
+   *
+   * @param slot The registration slot.
+   * @return The clinical staff member.
+   */
+  public ClinicalStaff getStaff(int slot) {
+    checkSlot(slot);
+    return staff[slot];
+  }
+
+  /**
+   * Gets the current active caseload of the staff member in a slot.
+   *
+   * @param slot The registration slot.
+   * @return The number of patients currently assigned.
+   */
+  public int getActiveCaseload(int slot) {
+    checkSlot(slot);
+    return activeCaseload[slot];
+  }
+
+  /**
+   * Gets the number of unique patients ever assigned to the staff member in a slot.
+   *
+   * @param slot The registration slot.
+   * @return The lifetime unique patient count.
+   */
+  public int getLifetimeUniquePatients(int slot) {
+    checkSlot(slot);
+    return lifetimeUnique[slot];
+  }
+
+  /**
+   * Gets the number of open visits of the staff member in a slot.
+   *
+   * @param slot The registration slot.
+   * @return The open visit count as last reported by the open visit index.
+   */
+  public int getOpenVisits(int slot) {
+    checkSlot(slot);
+    return openVisits[slot];
+  }
+
+  /**
+   * Checks whether the staff member in a slot is deactivated.
+   *
+   * @param slot The registration slot.
+   * @return True if the staff member is deactivated.
+   */
+  public boolean isDeactivated(int slot) {
+    checkSlot(slot);
+    return deactivated.get(slot);
+  }
+
+  /**
+   * Removes every staff member from the view and stops following their caseloads.
+   */
+  public void clear() {
+    for (int slot = 0; slot < size; slot++) {
+      staff[slot].removeCaseloadListener(this);
+    }
+    staff = new ClinicalStaff[INITIAL_CAPACITY];
+    activeCaseload = new int[INITIAL_CAPACITY];
+    lifetimeUnique = new int[INITIAL_CAPACITY];
+    openVisits = new int[INITIAL_CAPACITY];
+    slotBySerial = new int[INITIAL_CAPACITY];
+    Arrays.fill(slotBySerial, -1);
+    deactivated.clear();
+    size = 0;
+  }
+
+  /**
+   * Finds the slot of a clinical staff member.
+   *
+   * @param clinicalStaff The clinical staff member.
+   * @return The slot, or -1 if the staff member is not in the view.
+   */
+  private int slotOf(ClinicalStaff clinicalStaff) {
+    int serial = clinicalStaff.getSerialNumber();
+    if (serial < 0 || serial >= slotBySerial.length) {
+      return -1;
+    }
+    int slot = slotBySerial[serial];
+    return slot >= 0 && staff[slot] == clinicalStaff ? slot : -1;
+  }
+
+  /**
+   * Validates a slot index.
+   *
+   * @param slot The slot to check.
+   * @throws IndexOutOfBoundsException if the slot is outside the view.
+   */
+  private void checkSlot(int slot) {
+    if (slot < 0 || slot >= size) {
+      throw new IndexOutOfBoundsException("Slot " + slot + " is outside the workload view.");
+    }
+  }
+}
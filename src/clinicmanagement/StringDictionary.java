@@ -0,0 +1,105 @@
+package clinicmanagement;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores each distinct string once and numbers them from 0 in the order they
+ * were first seen. A clinic keeps one dictionary for names and chief
+ * complaints, which repeat heavily across records, so every record refers to
+ * the same string instance and can be compared by id instead of by text.
+ *
+ * <p>Ids are never reused or removed. The dictionary is safe for use by
+ * several threads.
+ */
+public class StringDictionary {
+  /**
+   * The id reported for strings that are not in the dictionary.
+   */
+  public static final int NO_ID = -1;
+
+  private final Map<String, Integer> ids;
+  private String[] strings;
+  private int size;
+
+  /**
+   * Creates an empty dictionary.
+   */
+  public StringDictionary() {
+    this.ids = new HashMap<>();
+    this.strings = new String[16];
+  }
+
+  /**
+   * Gets the id of a string, adding the string if it is new.
+   *
+   * @param value The string.
+   * @return The id.
+   * @throws IllegalArgumentException if the string is null.
+   */
+  public synchronized int id(String value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("String cannot be null.");
+    }
+    Integer id = ids.get(value);
+    if (id != null) {
+      return id;
+    }
+    if (size == strings.length) {
+      strings = Arrays.copyOf(strings, size * 2);
+    }
+    strings[size] = value;
+    ids.put(value, size);
+    return size++;
+  }
+
+  /**
+   * Gets the stored instance equal to a string, adding the string if it is
+   * new, so equal strings held by many records share one instance.
+   *
+   * @param value The string, or null.
+   * @return The stored instance, or null for null.
+   */
+  public synchronized String intern(String value) {
+    if (value == null) {
+      return null;
+    }
+    int id = id(value);
+    return strings[id];
+  }
+
+  /**
+   * Looks up the id of a string without adding it.
+   *
+   * @param value The string.
+   * @return The id, or {@link #NO_ID} if the string is not in the dictionary.
+   */
+  public synchronized int idOf(String value) {
+    Integer id = value == null ? null : ids.get(value);
+    return id == null ? NO_ID : id;
+  }
+
+  /**
+   * Gets the string with an id.
+   *
+   * @param id The id.
+   * @return The string.
+   * @throws IndexOutOfBoundsException if no string has that id.
+   */
+  public synchronized String get(int id) {
+    if (id < 0 || id >= size) {
+      throw new IndexOutOfBoundsException("No string with id " + id);
+    }
+    return strings[id];
+  }
+
+  /**
+   * Gets the number of distinct strings.
+   *
+   * @return The string count.
+   */
+  public synchronized int size() {
+    return size;
+  }
+}
@@ -0,0 +1,72 @@
+package clinicmanagement;
+
+import java.awt.FontMetrics;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the drawn width of strings in one font, so text that is drawn
+ * again and again, such as patient names on the clinic map, is laid out once.
+ * The cache is safe to share between threads. When it grows past its capacity
+ * it starts over rather than tracking which widths were used recently.
+ */
+public class TextWidthCache {
+  private final FontMetrics metrics;
+  private final int capacity;
+  private final Map<String, Integer> widths;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param metrics  The metrics of the font the text is drawn in.
+   * @param capacity The most widths kept at once.
+   * @throws IllegalArgumentException if the metrics are null or the capacity is not positive.
+   */
+  public TextWidthCache(FontMetrics metrics, int capacity) throws IllegalArgumentException {
+    if (metrics == null) {
+      throw new IllegalArgumentException("Font metrics cannot be null.");
+    }
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive.");
+    }
+    this.metrics = metrics;
+    this.capacity = capacity;
+    this.widths = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Gets the width of a string, measuring it only the first time.
+   *
+   * @param text The text.
+   * @return The width in pixels.
+   */
+  public int width(String text) {
+    Integer width = widths.get(text);
+    if (width == null) {
+      if (widths.size() >= capacity) {
+        widths.clear();
+      }
+      width = metrics.stringWidth(text);
+      widths.put(text, width);
+    }
+    return width;
+  }
+
+  /**
+   * Gets the metrics of the font being measured.
+   *
+   * @return The font metrics.
+   */
+  public FontMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Gets the number of widths cached.
+   *
+   * @return The cached width count.
+   */
+  public int size() {
+    return widths.size();
+  }
+}
@@ -0,0 +1,144 @@
+package clinicmanagement;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of rendered map tiles with least recently used eviction.
+ * Tiles are identified by zoom level, column and row, packed into one long so
+ * lookups do not allocate a key object.
+ */
+public class TileCache {
+  private static final int COORDINATE_BITS = 28;
+  private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+
+  private final int capacity;
+  private final LinkedHashMap<Long, BufferedImage> tiles;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param capacity The most tiles kept at once.
+   * @throws IllegalArgumentException if the capacity is not positive.
+   */
+  public TileCache(int capacity) throws IllegalArgumentException {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive.");
+    }
+    this.capacity = capacity;
+    this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+        return size() > TileCache.this.capacity;
+      }
+    };
+  }
+
+  /**
+   * Gets a cached tile and marks it as recently used.
+   *
+   * @param zoom   The zoom level.
+   * @param column The tile column.
+   * @param row    The tile row.
+   * @return The tile, or null if it is not cached.
+   */
+  public BufferedImage get(int zoom, int column, int row) {
+    return tiles.get(key(zoom, column, row));
+  }
+
+  /**
+   * Caches a tile, evicting the least recently used tile if the cache is full.
+   *
+   * @param zoom   The zoom level.
+   * @param column The tile column.
+   * @param row    The tile row.
+   * @param tile   The rendered tile.
+   * @throws IllegalArgumentException if the tile is null.
+   */
+  public void put(int zoom, int column, int row, BufferedImage tile)
+      throws IllegalArgumentException {
+    if (tile == null) {
+      throw new IllegalArgumentException("Tile cannot be null.");
+    }
+    tiles.put(key(zoom, column, row), tile);
+  }
+
+  /**
+   * Drops the cached tiles of one zoom level inside a range of columns and rows.
+   *
+   * @param zoom      The zoom level.
+   * @param minColumn The first column, inclusive.
+   * @param minRow    The first row, inclusive.
+   * @param maxColumn The last column, inclusive.
+   * @param maxRow    The last row, inclusive.
+   */
+  public void invalidate(int zoom, int minColumn, int minRow, int maxColumn, int maxRow) {
+    long cells = ((long) maxColumn - minColumn + 1) * ((long) maxRow - minRow + 1);
+    if (cells <= 0) {
+      return;
+    }
+    if (cells <= tiles.size()) {
+      for (int row = minRow; row <= maxRow; row++) {
+        for (int column = minColumn; column <= maxColumn; column++) {
+          tiles.remove(key(zoom, column, row));
+        }
+      }
+      return;
+    }
+    Iterator<Long> keys = tiles.keySet().iterator();
+    while (keys.hasNext()) {
+      long key = keys.next();
+      int column = (int) ((key >>> COORDINATE_BITS) & COORDINATE_MASK);
+      int row = (int) (key & COORDINATE_MASK);
+      if ((int) (key >>> (2 * COORDINATE_BITS)) == zoom
+          && column >= minColumn && column <= maxColumn && row >= minRow && row <= maxRow) {
+        keys.remove();
+      }
+    }
+  }
+
+  /**
+   * Drops every cached tile.
+   */
+  public void clear() {
+    tiles.clear();
+  }
+
+  /**
+   * Gets the number of cached tiles.
+   *
+   * @return The tile count.
+   */
+  public int size() {
+    return tiles.size();
+  }
+
+  /**
+   * Gets the most tiles kept at once.
+   *
+   * @return The capacity.
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Packs a tile's zoom level, column and row into one key.
+   *
+   * @param zoom   The zoom level.
+   * @param column The tile column.
+   * @param row    The tile row.
+   * @return The key.
+   * @throws IllegalArgumentException if a value is negative or too large to pack.
+   */
+  private static long key(int zoom, int column, int row) throws IllegalArgumentException {
+    if (zoom < 0 || zoom > 0xFF || column < 0 || column > COORDINATE_MASK
+        || row < 0 || row > COORDINATE_MASK) {
+      throw new IllegalArgumentException("Tile out of range: " + zoom + "/" + column
+          + "/" + row);
+    }
+    return ((long) zoom << (2 * COORDINATE_BITS)) | ((long) column << COORDINATE_BITS) | row;
+  }
+}
@@ -0,0 +1,388 @@
+package clinicmanagement;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+
+/**
+ * A zoomable clinic map for large floor plans. At zoom level {@code z} the map
+ * is {@code 2^z} times the size of the fitted map and is cut into square
+ * tiles. A tile is drawn only when the visible part of the scroll pane needs
+ * it, and drawn tiles are kept in a {@link TileCache}, so memory stays bounded
+ * however large the zoomed map is.
+ *
+ * <p>Tiles draw only the rooms the layout's grid reports near them. As a
+ * {@link RoomListener}, the view drops just the tiles under a room whose
+ * patients changed, and it drops every tile when the clinic's layout changes.
+ */
+public class TiledClinicMapView extends JComponent implements Scrollable, RoomListener {
+  private static final long serialVersionUID = 1L;
+  /**
+   * The width and height of a tile in pixels.
+   */
+  public static final int TILE_SIZE = 256;
+  /**
+   * The highest zoom level, a map sixteen times the fitted size.
+   */
+  public static final int MAX_ZOOM = 4;
+  /**
+   * The default number of cached tiles, about 24 MB of pixels.
+   */
+  public static final int DEFAULT_CACHE_TILES = 96;
+
+  private final Clinic clinic;
+  private final TileCache tiles;
+  private final ClinicMapLayout[] zoomLayouts;
+  private final Map<Room, Integer> roomIndexes;
+  private ClinicMapLayout baseLayout;
+  private int zoom;
+  private int tilesRendered;
+
+  /**
+   * Creates a view of a clinic with the default tile cache. The view does not
+   * register itself; add it with {@link Clinic#addRoomListener(RoomListener)}.
+   *
+   * @param clinic The clinic to draw.
+   * @throws IllegalArgumentException if the clinic is null.
+   */
+  public TiledClinicMapView(Clinic clinic) throws IllegalArgumentException {
+    this(clinic, DEFAULT_CACHE_TILES);
+  }
+
+  /**
+   * Creates a view of a clinic.
+   *
+   * @param clinic     The clinic to draw.
+   * @param cacheTiles The most tiles kept in the cache.
+   * @throws IllegalArgumentException if the clinic is null or the cache size is not positive.
+   */
+  public TiledClinicMapView(Clinic clinic, int cacheTiles) throws IllegalArgumentException {
+    if (clinic == null) {
+      throw new IllegalArgumentException("Clinic cannot be null.");
+    }
+    this.clinic = clinic;
+    this.tiles = new TileCache(cacheTiles);
+    this.zoomLayouts = new ClinicMapLayout[MAX_ZOOM + 1];
+    this.roomIndexes = new IdentityHashMap<>();
+    setOpaque(true);
+    setBackground(Color.white);
+  }
+
+  /**
+   * Gets the clinic this view draws.
+   *
+   * @return The clinic.
+   */
+  public Clinic getClinic() {
+    return clinic;
+  }
+
+  /**
+   * Gets the current zoom level.
+   *
+   * @return The zoom level, from 0 to {@link #MAX_ZOOM}.
+   */
+  public int getZoom() {
+    return zoom;
+  }
+
+  /**
+   * Changes the zoom level, keeping the centre of the visible area in place
+   * when the view is inside a scroll pane.
+   *
+   * @param newZoom The zoom level, from 0 to {@link #MAX_ZOOM}.
+   * @throws IllegalArgumentException if the zoom level is out of range.
+   */
+  public void setZoom(int newZoom) throws IllegalArgumentException {
+    if (newZoom < 0 || newZoom > MAX_ZOOM) {
+      throw new IllegalArgumentException("Zoom must be between 0 and " + MAX_ZOOM + ".");
+    }
+    if (newZoom == zoom) {
+      return;
+    }
+    Dimension oldSize = getPreferredSize();
+    zoom = newZoom;
+    Dimension newSize = getPreferredSize();
+    if (getParent() instanceof JViewport && oldSize.width > 0 && oldSize.height > 0) {
+      JViewport viewport = (JViewport) getParent();
+      Rectangle visible = viewport.getViewRect();
+      double centreX = visible.getCenterX() / oldSize.width;
+      double centreY = visible.getCenterY() / oldSize.height;
+      setSize(newSize);
+      viewport.setViewPosition(new Point(
+          Math.max(0, (int) (centreX * newSize.width) - visible.width / 2),
+          Math.max(0, (int) (centreY * newSize.height) - visible.height / 2)));
+    }
+    revalidate();
+    repaint();
+  }
+
+  /**
+   * Zooms in one level, if not already at the highest level.
+   */
+  public void zoomIn() {
+    setZoom(Math.min(MAX_ZOOM, zoom + 1));
+  }
+
+  /**
+   * Zooms out one level, if not already at the fitted level.
+   */
+  public void zoomOut() {
+    setZoom(Math.max(0, zoom - 1));
+  }
+
+  /**
+   * Gets the layout at the current zoom level, starting over if the clinic's
+   * rooms changed since the last call.
+   *
+   * @return The layout, or null if the clinic has no rooms.
+   */
+  public ClinicMapLayout getMapLayout() {
+    ClinicMapLayout current = clinic.getMapLayout();
+    if (current != baseLayout) {
+      baseLayout = current;
+      Arrays.fill(zoomLayouts, null);
+      tiles.clear();
+      roomIndexes.clear();
+      if (current != null) {
+        for (int i = 0; i < current.getRoomCount(); i++) {
+          roomIndexes.putIfAbsent(current.getRoom(i), i);
+        }
+      }
+      revalidate();
+    }
+    if (current == null) {
+      return null;
+    }
+    if (zoomLayouts[zoom] == null) {
+      zoomLayouts[zoom] = current.scaled(1 << zoom);
+    }
+    return zoomLayouts[zoom];
+  }
+
+  /**
+   * Finds the room under a point of the view.
+   *
+   * @param x The x position in the view.
+   * @param y The y position in the view.
+   * @return The room, or null if the point is outside every room.
+   */
+  public Room getRoomAt(int x, int y) {
+    ClinicMapLayout layout = getMapLayout();
+    if (layout == null) {
+      return null;
+    }
+    int index = layout.roomIndexAt(x, y);
+    return index < 0 ? null : layout.getRoom(index);
+  }
+
+  /**
+   * Gets a tile at the current zoom level, drawing and caching it if needed.
+   *
+   * @param column The tile column.
+   * @param row    The tile row.
+   * @return The tile, or null if the clinic has no rooms.
+   */
+  public BufferedImage getTile(int column, int row) {
+    ClinicMapLayout layout = getMapLayout();
+    if (layout == null) {
+      return null;
+    }
+    BufferedImage tile = tiles.get(zoom, column, row);
+    if (tile == null) {
+      tile = renderTile(layout, column, row);
+      tiles.put(zoom, column, row, tile);
+    }
+    return tile;
+  }
+
+  /**
+   * Gets the number of tiles drawn since the view was created.
+   *
+   * @return The tiles drawn.
+   */
+  public int getTilesRendered() {
+    return tilesRendered;
+  }
+
+  /**
+   * Gets the tile cache.
+   *
+   * @return The cache.
+   */
+  public TileCache getTileCache() {
+    return tiles;
+  }
+
+  /**
+   * Drops the tiles under a room at every zoom level already laid out and
+   * repaints the room if it is on screen.
+   *
+   * @param room The room whose assigned patients changed.
+   */
+  @Override
+  public void roomOccupantsChanged(Room room) {
+    Integer index = roomIndexes.get(room);
+    if (index == null) {
+      return;
+    }
+    for (int level = 0; level <= MAX_ZOOM; level++) {
+      ClinicMapLayout layout = zoomLayouts[level];
+      if (layout == null) {
+        continue;
+      }
+      Rectangle bounds = ClinicMapRenderer.paintBounds(layout, index);
+      tiles.invalidate(level, Math.max(0, bounds.x / TILE_SIZE),
+          Math.max(0, bounds.y / TILE_SIZE),
+          (bounds.x + bounds.width - 1) / TILE_SIZE,
+          (bounds.y + bounds.height - 1) / TILE_SIZE);
+      if (level == zoom) {
+        repaint(bounds);
+      }
+    }
+  }
+
+  /**
+   * Gets the size of the map at the current zoom level.
+   *
+   * @return The map size, or zero if the clinic has no rooms.
+   */
+  @Override
+  public Dimension getPreferredSize() {
+    ClinicMapLayout layout = getMapLayout();
+    if (layout == null) {
+      return new Dimension(0, 0);
+    }
+    return new Dimension(layout.getWidth(), layout.getHeight());
+  }
+
+  /**
+   * Paints the tiles that cross the clip.
+   *
+   * @param graphics The graphics to paint with.
+   */
+  @Override
+  protected void paintComponent(Graphics graphics) {
+    Rectangle clip = graphics.getClipBounds();
+    if (clip == null) {
+      clip = new Rectangle(0, 0, getWidth(), getHeight());
+    }
+    graphics.setColor(getBackground());
+    graphics.fillRect(clip.x, clip.y, clip.width, clip.height);
+    ClinicMapLayout layout = getMapLayout();
+    if (layout == null) {
+      return;
+    }
+    int lastColumn = (layout.getWidth() - 1) / TILE_SIZE;
+    int lastRow = (layout.getHeight() - 1) / TILE_SIZE;
+    int minColumn = Math.max(0, clip.x / TILE_SIZE);
+    int minRow = Math.max(0, clip.y / TILE_SIZE);
+    int maxColumn = Math.min(lastColumn, (clip.x + clip.width - 1) / TILE_SIZE);
+    int maxRow = Math.min(lastRow, (clip.y + clip.height - 1) / TILE_SIZE);
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        graphics.drawImage(getTile(column, row), column * TILE_SIZE, row * TILE_SIZE, null);
+      }
+    }
+  }
+
+  /**
+   * Draws one tile. Rooms within a tile's width of it are drawn too, because
+   * a room title may reach past its room.
+   *
+   * @param layout The layout at the tile's zoom level.
+   * @param column The tile column.
+   * @param row    The tile row.
+   * @return The tile.
+   */
+  private BufferedImage renderTile(ClinicMapLayout layout, int column, int row) {
+    BufferedImage tile = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = tile.createGraphics();
+    graphics.setColor(Color.white);
+    graphics.fillRect(0, 0, TILE_SIZE, TILE_SIZE);
+    graphics.translate(-column * TILE_SIZE, -row * TILE_SIZE);
+    Rectangle area = new Rectangle((column - 1) * TILE_SIZE, (row - 1) * TILE_SIZE,
+        3 * TILE_SIZE, 3 * TILE_SIZE);
+    int[] nearby = layout.roomIndexesIn(area);
+    for (int i : nearby) {
+      ClinicMapRenderer.drawRoom(graphics, layout, i);
+    }
+    for (int i : nearby) {
+      graphics.setClip(ClinicMapRenderer.paintBounds(layout, i));
+      ClinicMapRenderer.drawOccupants(graphics, layout, i,
+          ClinicMapRenderer.occupantNames(layout, i),
+          layout.getRoom(i).getAssignedPatients().size());
+    }
+    graphics.dispose();
+    tilesRendered++;
+    return tile;
+  }
+
+  /**
+   * Gets the preferred viewport size, the whole map.
+   *
+   * @return The map size.
+   */
+  @Override
+  public Dimension getPreferredScrollableViewportSize() {
+    return getPreferredSize();
+  }
+
+  /**
+   * Scrolls by a small step for arrow keys and the mouse wheel.
+   *
+   * @param visibleRect The visible area.
+   * @param orientation The scroll direction.
+   * @param direction   Negative for up or left, positive for down or right.
+   * @return The step in pixels.
+   */
+  @Override
+  public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+    return TILE_SIZE / 8;
+  }
+
+  /**
+   * Scrolls by nearly a screen for page keys.
+   *
+   * @param visibleRect The visible area.
+   * @param orientation The scroll direction.
+   * @param direction   Negative for up or left, positive for down or right.
+   * @return The step in pixels.
+   */
+  @Override
+  public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+    int extent = orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    return Math.max(TILE_SIZE / 8, extent - TILE_SIZE / 8);
+  }
+
+  /**
+   * Keeps the map at its own width so it scrolls horizontally.
+   *
+   * @return False.
+   */
+  @Override
+  public boolean getScrollableTracksViewportWidth() {
+    return false;
+  }
+
+  /**
+   * Keeps the map at its own height so it scrolls vertically.
+   *
+   * @return False.
+   */
+  @Override
+  public boolean getScrollableTracksViewportHeight() {
+    return false;
+  }
+}
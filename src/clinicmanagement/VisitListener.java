@@ -0,0 +1,17 @@
+package clinicmanagement;
+
+/**
+ * Listener notified whenever a visit record is added to a patient's history.
+ * The clinic uses it to keep derived data such as rolling visit counters in
+ * step with the visit records without rescanning every patient.
+ */
+public interface VisitListener {
+
+  /**
+   * Called after a visit record has been added to a patient's history.
+   *
+   * @param patient     The patient the visit record belongs to.
+   * @param visitRecord The visit record that was added.
+   */
+  void visitRecorded(Patient patient, Visitrecord visitRecord);
+}
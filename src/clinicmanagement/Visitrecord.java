@@ -1,5 +1,6 @@
 package clinicmanagement;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -10,6 +11,7 @@ public class Visitrecord {
   private LocalDateTime registrationDateTime;
   private String chiefComplaint;
   private double bodyTemperature;
+  private final int complaintId;
 
   /**
    * Constructs a visit record with the specified
@@ -21,10 +23,26 @@ public class Visitrecord {
    */
   public Visitrecord(LocalDateTime registrationDateTime,
                      String chiefComplaint, double bodyTemperature) {
+    this(registrationDateTime, chiefComplaint, bodyTemperature, StringDictionary.NO_ID);
+  }
+
+  /**
+   * Constructs a visit record whose chief complaint was interned through a
+   * clinic's {@link StringDictionary}.
+   *
+   * @param registrationDateTime The date and time when the visit was registered.
+   * @param chiefComplaint       The chief complaint reported by the patient.
+   * @param bodyTemperature      The body temperature of the patient during the visit.
+   * @param complaintId          The complaint's id in the dictionary, or
+   *                             {@link StringDictionary#NO_ID}.
+   */
+  public Visitrecord(LocalDateTime registrationDateTime,
+                     String chiefComplaint, double bodyTemperature, int complaintId) {
     // Assign the values directly without validation in the constructor
     this.registrationDateTime = registrationDateTime;
     this.chiefComplaint = chiefComplaint;
     this.bodyTemperature = bodyTemperature;
+    this.complaintId = complaintId;
   }
 
 
@@ -78,6 +96,17 @@ public class Visitrecord {
     return chiefComplaint;
   }
 
+  /**
+   * Gets the id of the chief complaint in the clinic's string dictionary, so
+   * visits can be filtered by complaint without comparing text.
+   *
+   * @return The complaint id, or {@link StringDictionary#NO_ID} if the visit
+   *         was recorded outside a clinic.
+   */
+  public int getComplaintId() {
+    return complaintId;
+  }
+
   /**
    * Gets the body temperature recorded during the visit.
    *
@@ -110,9 +139,27 @@ public class Visitrecord {
    * @return True if the last visit occurred within the last year, otherwise false.
    */
   public boolean islastvisitwithinayear() {
-    LocalDateTime lastVisitDateTime = getRegistrationDateTime();
-    LocalDate oneYearAgo = LocalDate.now().minusYears(1);
-    return lastVisitDateTime.toLocalDate().isAfter(oneYearAgo)
-        || lastVisitDateTime.toLocalDate().isEqual(oneYearAgo);
+    return islastvisitwithinayear(Clock.systemDefaultZone());
+  }
+
+  /**
+   * Checks if the last visit occurred within the year before the clock's current date.
+   *
+   * @param clock The clock that decides the current date.
+   * @return True if the last visit occurred within the last year, otherwise false.
+   */
+  public boolean islastvisitwithinayear(Clock clock) {
+    return islastvisitwithinayear(LocalDate.now(clock).minusYears(1));
+  }
+
+  /**
+   * Checks if the last visit occurred on or after a precomputed cutoff date,
+   * so callers checking many records can compute one year ago only once.
+   *
+   * @param oneYearAgo The earliest date that counts as within the last year.
+   * @return True if the visit occurred on or after the cutoff, otherwise false.
+   */
+  public boolean islastvisitwithinayear(LocalDate oneYearAgo) {
+    return !registrationDateTime.toLocalDate().isBefore(oneYearAgo);
   }
-}
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import clinicmanagement.ChannelWriter;
+import clinicmanagement.Clinic;
+import clinicmanagement.ClinicExporter;
+import clinicmanagement.ClinicalStaff;
+import clinicmanagement.Patient;
+import clinicmanagement.Room;
+import clinicmanagement.Staff;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link ClinicExporter} and {@link ChannelWriter}.
+ */
+public class ClinicExporterTest {
+  private Clinic clinic;
+  private Patient patient;
+  private ClinicalStaff physician;
+
+  @Before
+  public void setUp() {
+    clinic = new Clinic();
+    clinic.addRoom(new Room("0 0 10 10 waiting Front", 1));
+    patient = new Patient(1, "Export", "Patient", "7/7/1977");
+    clinic.addPatient(patient);
+    patient.addVisitRecord(LocalDateTime.of(2023, 5, 1, 9, 30), "Cough, cold", 37.5);
+    physician = new ClinicalStaff("Physician", "Export", "Doctor",
+        Staff.EducationLevel.DOCTORAL, "3334445556");
+    clinic.addStaff(physician);
+    patient.assignClinicalStaff(physician);
+    patient.deactivateAtPastDate(LocalDate.of(2023, 6, 1));
+  }
+
+  /**
+   * Tests that CSV output has one headed section per record type.
+   */
+  @Test
+  public void testCsv() throws IOException {
+    StringBuilder out = new StringBuilder();
+    new ClinicExporter(clinic).export(out, ClinicExporter.Format.CSV);
+    List<String> lines = List.of(out.toString().split("\n"));
+    assertEquals(12, lines.size());
+    assertTrue(lines.contains("room,1,Front,WAITING,0,0,10,10"));
+    assertTrue(lines.contains("careTeam," + patient.getSerialNumber() + ","
+        + physician.getSerialNumber()));
+    assertTrue(lines.contains("visit," + patient.getSerialNumber()
+        + ",2023-05-01T09:30,\"Cough, cold\",37.5"));
+    assertTrue(lines.contains("deactivation," + patient.getSerialNumber() + ",2023-06-01,"));
+  }
+
+  /**
+   * Tests that gzip NDJSON output decompresses to one object per record.
+   */
+  @Test
+  public void testGzipNdjson() throws IOException {
+    Path file = Files.createTempFile("clinic", ".ndjson.gz");
+    try {
+      new ClinicExporter(clinic).export(file, ClinicExporter.Format.NDJSON, true);
+      String json;
+      try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+        json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      }
+      String[] lines = json.split("\n");
+      assertEquals(6, lines.length);
+      assertTrue(json.contains("{\"record\":\"patient\",\"serialNumber\":"
+          + patient.getSerialNumber() + ",\"firstName\":\"Export\""));
+      assertTrue(json.contains("\"reactivationDate\":null}"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Tests that the channel writer encodes multi-byte text across tiny buffers.
+   */
+  @Test
+  public void testChannelWriterSmallBuffer() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    String text = "Temperature 37.5°C 😀 recorded";
+    try (ChannelWriter writer = new ChannelWriter(Channels.newChannel(bytes), 4)) {
+      writer.append(text, 0, 12).append(text.substring(12)).append('!');
+    }
+    assertEquals(text + "!", new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+  }
+}
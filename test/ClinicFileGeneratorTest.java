@@ -0,0 +1,144 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import clinicmanagement.Clinic;
+import clinicmanagement.ClinicFileGenerator;
+import clinicmanagement.ClinicFileParser;
+import clinicmanagement.Patient;
+import clinicmanagement.Room;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ClinicFileGenerator}.
+ */
+public class ClinicFileGeneratorTest {
+  private static final LocalDate TODAY = LocalDate.of(2024, 6, 1);
+
+  private ClinicFileGenerator generator;
+
+  /**
+   * Sets up a generator for a mid-sized clinic.
+   */
+  @Before
+  public void setUp() {
+    generator = new ClinicFileGenerator(7, TODAY);
+    generator.setRoomCount(25);
+    generator.setClinicalStaffCount(12);
+    generator.setNonClinicalStaffCount(4);
+    generator.setPatientCount(3000);
+  }
+
+  /**
+   * Tests that the same seed gives the same files, with or without a visit
+   * history, and that another seed does not.
+   */
+  @Test
+  public void testDeterministic() throws IOException {
+    StringWriter first = new StringWriter();
+    StringWriter firstVisits = new StringWriter();
+    generator.generate(first, firstVisits);
+    StringWriter second = new StringWriter();
+    StringWriter secondVisits = new StringWriter();
+    generator.generate(second, secondVisits);
+    StringWriter withoutVisits = new StringWriter();
+    generator.generate(withoutVisits);
+
+    assertEquals(first.toString(), second.toString());
+    assertEquals(firstVisits.toString(), secondVisits.toString());
+    assertEquals(first.toString(), withoutVisits.toString());
+
+    StringWriter other = new StringWriter();
+    new ClinicFileGenerator(8, TODAY).generate(other);
+    assertNotEquals(first.toString(), other.toString());
+  }
+
+  /**
+   * Tests that the clinic file parses into the requested rooms, staff and
+   * patients, with no overlapping rooms and no duplicate patients.
+   */
+  @Test
+  public void testGeneratedFileParses() throws IOException {
+    StringWriter out = new StringWriter();
+    generator.generate(out);
+    Clinic clinic = new ClinicFileParser(new StringReader(out.toString())).parseFile();
+
+    List<Room> rooms = clinic.getRooms();
+    assertEquals(25, rooms.size());
+    assertTrue(rooms.get(0).isWaitingRoom());
+    for (int i = 0; i < rooms.size(); i++) {
+      for (int j = i + 1; j < rooms.size(); j++) {
+        Room a = rooms.get(i);
+        Room b = rooms.get(j);
+        assertFalse(a.getName() + " overlaps " + b.getName(),
+            a.getLowerLeftX() <= b.getUpperRightX() && b.getLowerLeftX() <= a.getUpperRightX()
+                && a.getLowerLeftY() <= b.getUpperRightY()
+                && b.getLowerLeftY() <= a.getUpperRightY());
+      }
+      if (!rooms.get(i).isWaitingRoom()) {
+        assertTrue(rooms.get(i).getAssignedPatients().size() <= 1);
+      }
+    }
+
+    assertEquals(16, clinic.getStaffRoster().size());
+    assertEquals(12, clinic.getClinicalStaffList().size());
+    assertEquals(3000, clinic.getPatientRoster().size());
+    Set<Integer> serials = new HashSet<>();
+    for (Patient patient : clinic.getPatientRoster()) {
+      assertTrue(serials.add(patient.getSerialNumber()));
+      assertTrue(patient.getDateOfBirth().isBefore(TODAY.plusDays(1)));
+      assertTrue(patient.getDateOfBirth().isAfter(TODAY.minusYears(101)));
+    }
+  }
+
+  /**
+   * Tests that the visit history loads onto the clinic's patients.
+   */
+  @Test
+  public void testVisitHistoryLoads() throws IOException {
+    generator.setMeanVisitsPerPatient(3);
+    generator.setHistoryDays(365);
+    StringWriter out = new StringWriter();
+    StringWriter visits = new StringWriter();
+    generator.generate(out, visits);
+    ClinicFileParser parser = new ClinicFileParser(new StringReader(out.toString()));
+    Clinic clinic = parser.parseFile();
+
+    int loaded = parser.parseVisitHistory(new StringReader(visits.toString()), clinic);
+
+    assertEquals(visits.toString().split("\n").length, loaded);
+    assertTrue(loaded > 6000);
+    int total = 0;
+    for (Patient patient : clinic.getPatientRoster()) {
+      total += patient.getVisitRecords().size();
+      patient.getVisitRecords().forEach(visit -> {
+        assertFalse(visit.getRegistrationDateTime().toLocalDate().isAfter(TODAY));
+        assertFalse(visit.getRegistrationDateTime().toLocalDate()
+            .isBefore(patient.getDateOfBirth()));
+      });
+    }
+    assertEquals(loaded, total);
+  }
+
+  /**
+   * Tests that a visit for an unknown patient is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownPatientRejected() throws IOException {
+    StringWriter out = new StringWriter();
+    generator.generate(out);
+    ClinicFileParser parser = new ClinicFileParser(new StringReader(out.toString()));
+    Clinic clinic = parser.parseFile();
+    parser.parseVisitHistory(new StringReader(
+        "Nobody Known 1/1/1900 2024-01-01T09:00 36.8 Fever\n"), clinic);
+  }
+}
@@ -1,12 +1,16 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
 
 import clinicmanagement.Clinic;
 import clinicmanagement.ClinicFileParser;
+import clinicmanagement.Room;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -96,6 +100,31 @@ public class ClinicFileParserTest {
     clinicFileParser.parseFile();
   }
 
+  /**
+   * Tests that parsed rooms keep their rectangle coordinates and that the
+   * coordinate map is a read-only view of them.
+   *
+   * @throws IOException if there is an issue reading the file.
+   */
+  @Test
+  public void testRoomCoordinates() throws IOException {
+    String file = "Coordinate Clinic\n2\n28  0 35  5 waiting Front\n"
+        + "30  6 35 11 exam Triage\n0\n0\n";
+    Clinic clinic = new ClinicFileParser(new StringReader(file)).parseFile();
+    Room triage = clinic.getRoomByNumber(2);
+    assertEquals(30, triage.getLowerLeftX());
+    assertEquals(6, triage.getLowerLeftY());
+    assertEquals(35, triage.getUpperRightX());
+    assertEquals(11, triage.getUpperRightY());
+
+    Map<String, Integer> coordinates = triage.getCoordinates();
+    assertEquals(Integer.valueOf(30), coordinates.get("lowerLeftX"));
+    assertEquals(Integer.valueOf(11), coordinates.get("upperRightY"));
+    assertThrows(UnsupportedOperationException.class, () -> coordinates.put("lowerLeftX", 0));
+    assertEquals(new Room("30 6 35 11 exam Triage", 2), triage);
+    assertEquals(new Room("30 6 35 11 exam Triage", 2).hashCode(), triage.hashCode());
+  }
+
 
 }
 
@@ -0,0 +1,186 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import clinicmanagement.Clinic;
+import clinicmanagement.ClinicMapExporter;
+import clinicmanagement.ClinicalStaff;
+import clinicmanagement.Patient;
+import clinicmanagement.PngEncoder;
+import clinicmanagement.Room;
+import clinicmanagement.Staff;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link ClinicMapExporter} and {@link PngEncoder}.
+ */
+public class ClinicMapExporterTest {
+  private Clinic clinic;
+  private ClinicMapExporter exporter;
+  private Patient patient;
+
+  @Before
+  public void setUp() {
+    System.setProperty("java.awt.headless", "true");
+    clinic = new Clinic();
+    clinic.setName("Export Clinic");
+    clinic.addRoom(new Room("0 0 10 10 waiting Lobby", 1));
+    clinic.addRoom(new Room("10 0 20 10 exam <Exam>", 2));
+    patient = new Patient(1, "Wendy", "Waiting", "1/1/1990");
+    clinic.addPatient(patient);
+    clinic.getRooms().get(0).getAssignedPatients().add(patient);
+    exporter = new ClinicMapExporter(clinic);
+  }
+
+  @After
+  public void tearDown() {
+    exporter.close();
+  }
+
+  /**
+   * Reads a PNG image back with the JDK decoder.
+   *
+   * @param png The encoded image.
+   * @return The decoded image.
+   * @throws IOException if decoding fails.
+   */
+  private static BufferedImage decode(byte[] png) throws IOException {
+    return ImageIO.read(new ByteArrayInputStream(png));
+  }
+
+  /**
+   * Asserts that two images have the same size and RGB pixels.
+   *
+   * @param expected The expected image.
+   * @param actual   The actual image.
+   */
+  private static void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        assertEquals((expected.getRGB(x, y) & 0xffffff), (actual.getRGB(x, y) & 0xffffff));
+      }
+    }
+  }
+
+  /**
+   * Tests that exported PNG frames decode to the rendered map, before and
+   * after a change to one room.
+   */
+  @Test
+  public void testPngMatchesRenderedFrame() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exporter.writePng(out);
+    assertSamePixels(exporter.renderFrame(), decode(out.toByteArray()));
+
+    ClinicalStaff physician = new ClinicalStaff("Physician", "Export", "Doctor",
+        Staff.EducationLevel.DOCTORAL, "1231231234");
+    clinic.addStaff(physician);
+    clinic.sendPatientHome(patient, physician);
+    out.reset();
+    exporter.writePng(out);
+    assertSamePixels(exporter.renderFrame(), decode(out.toByteArray()));
+  }
+
+  /**
+   * Tests that the encoder compresses again only the strips that changed.
+   */
+  @Test
+  public void testPngEncoderReusesUnchangedStrips() throws IOException {
+    BufferedImage image = new BufferedImage(37, 50, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    g.setColor(Color.ORANGE);
+    g.fillRect(0, 0, 37, 50);
+    PngEncoder encoder = new PngEncoder(8);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    encoder.encode(image, out);
+    assertEquals(7, encoder.getStripCount());
+    assertEquals(7, encoder.getStripsEncoded());
+    assertSamePixels(image, decode(out.toByteArray()));
+
+    g.setColor(Color.BLUE);
+    g.fillRect(3, 20, 5, 3);
+    g.dispose();
+    out.reset();
+    encoder.encode(image, out);
+    assertEquals(1, encoder.getStripsEncoded());
+    assertSamePixels(image, decode(out.toByteArray()));
+
+    out.reset();
+    encoder.encode(image, out);
+    assertEquals(0, encoder.getStripsEncoded());
+    assertSamePixels(image, decode(out.toByteArray()));
+
+    assertThrows(IllegalArgumentException.class, () -> new PngEncoder(0));
+  }
+
+  /**
+   * Tests that the SVG export draws each room and escapes names.
+   */
+  @Test
+  public void testSvgExport() throws IOException {
+    StringBuilder svg = new StringBuilder();
+    exporter.writeSvg(svg);
+    String text = svg.toString();
+    assertTrue(text.startsWith("<svg"));
+    assertTrue(text.contains("&lt;Exam&gt;"));
+    assertFalse(text.contains("<Exam>"));
+    assertTrue(text.contains("Wendy"));
+    assertTrue(text.trim().endsWith("</svg>"));
+  }
+
+  /**
+   * Tests that exporting to a file replaces it and leaves no temporary file.
+   */
+  @Test
+  public void testExportToFile() throws IOException {
+    Path dir = Files.createTempDirectory("map-export");
+    Path png = dir.resolve("map.png");
+    Path svg = dir.resolve("map.svg");
+    exporter.export(png, ClinicMapExporter.Format.PNG);
+    exporter.export(png, ClinicMapExporter.Format.PNG);
+    exporter.export(svg, ClinicMapExporter.Format.SVG);
+    assertSamePixels(exporter.renderFrame(), ImageIO.read(png.toFile()));
+    assertTrue(new String(Files.readAllBytes(svg), StandardCharsets.UTF_8).contains("Lobby"));
+    try (var files = Files.list(dir)) {
+      assertEquals(2, files.count());
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> exporter.export(null, ClinicMapExporter.Format.PNG));
+  }
+
+  /**
+   * Tests that an SVG file larger than the exporter's byte buffer, with
+   * non-ASCII room names, holds exactly the UTF-8 bytes of the drawing.
+   */
+  @Test
+  public void testLargeSvgFileIsUtf8() throws IOException {
+    for (int i = 0; i < 300; i++) {
+      clinic.addRoom(new Room((20 + i * 10) + " 0 " + (30 + i * 10) + " 10 exam Zimmer Ö"
+          + i, 3 + i));
+    }
+    Path svg = Files.createTempFile("map-export", ".svg");
+    exporter.export(svg, ClinicMapExporter.Format.SVG);
+    StringBuilder expected = new StringBuilder();
+    exporter.writeSvg(expected);
+    byte[] bytes = Files.readAllBytes(svg);
+    assertTrue(bytes.length > 64 * 1024);
+    assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8), bytes);
+    Files.delete(svg);
+  }
+}
@@ -0,0 +1,127 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import clinicmanagement.Clinic;
+import clinicmanagement.ClinicMap;
+import clinicmanagement.ClinicMapLayout;
+import clinicmanagement.Room;
+import clinicmanagement.RoomGrid;
+import java.awt.Rectangle;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link ClinicMapLayout}.
+ */
+public class ClinicMapLayoutTest {
+  private Clinic clinic;
+
+  @Before
+  public void setUp() {
+    clinic = new Clinic();
+    clinic.addRoom(new Room("0 0 10 10 waiting Lobby", 1));
+    clinic.addRoom(new Room("10 0 20 10 exam Exam", 2));
+  }
+
+  /**
+   * Tests that screen and floor coordinates convert back and forth and that
+   * room rectangles are flipped so y grows downwards.
+   */
+  @Test
+  public void testTransform() {
+    ClinicMapLayout layout = clinic.getMapLayout();
+    assertEquals(55.0, layout.getScaleFactor(), 1e-9);
+    assertEquals(50, layout.toScreenX(0));
+    assertEquals(1150, layout.toScreenX(20));
+    assertEquals(675, layout.toScreenY(0));
+    assertEquals(10, layout.toClinicX(layout.toScreenX(10)));
+    assertEquals(7, layout.toClinicY(layout.toScreenY(7)));
+    assertEquals(new Rectangle(50, 125, 550, 550), layout.getScreenBounds(0));
+  }
+
+  /**
+   * Tests that hit-testing finds the first room containing the point.
+   */
+  @Test
+  public void testRoomAt() {
+    ClinicMapLayout layout = clinic.getMapLayout();
+    assertEquals(0, layout.roomIndexAt(100, 300));
+    assertEquals(1, layout.roomIndexAt(900, 300));
+    assertEquals(0, layout.roomIndexAt(layout.toScreenX(10), 300));
+    assertEquals(-1, layout.roomIndexAt(100, 750));
+    List<Room> rooms = clinic.getRooms();
+    assertSame(rooms.get(1), ClinicMap.getRoomFromCoordinates(clinic, 900, 300));
+  }
+
+  /**
+   * Tests that the clinic reuses its layout until the rooms change.
+   */
+  @Test
+  public void testInvalidation() {
+    ClinicMapLayout layout = clinic.getMapLayout();
+    assertSame(layout, clinic.getMapLayout());
+    clinic.addRoom(new Room("0 10 20 30 procedure Theatre", 3));
+    ClinicMapLayout rebuilt = clinic.getMapLayout();
+    assertNotSame(layout, rebuilt);
+    assertEquals(3, rebuilt.getRoomCount());
+    assertNull(new Clinic().getMapLayout());
+    assertThrows(IllegalArgumentException.class, () -> new ClinicMapLayout(List.of()));
+  }
+
+  /**
+   * Tests the grid against a scan of every room on a large random floor plan
+   * with overlapping rooms.
+   */
+  @Test
+  public void testGridMatchesScan() {
+    Random random = new Random(38);
+    int count = 5000;
+    int[] llx = new int[count];
+    int[] lly = new int[count];
+    int[] urx = new int[count];
+    int[] ury = new int[count];
+    for (int i = 0; i < count; i++) {
+      llx[i] = random.nextInt(2000) - 500;
+      lly[i] = random.nextInt(1000);
+      urx[i] = llx[i] + random.nextInt(40);
+      ury[i] = lly[i] + random.nextInt(40);
+    }
+    RoomGrid grid = new RoomGrid(llx, lly, urx, ury);
+    for (int q = 0; q < 2000; q++) {
+      int x = random.nextInt(2200) - 600;
+      int y = random.nextInt(1100) - 50;
+      int expected = IntStream.range(0, count)
+          .filter(i -> x >= llx[i] && x <= urx[i] && y >= lly[i] && y <= ury[i])
+          .findFirst().orElse(-1);
+      assertEquals(expected, grid.roomAt(x, y));
+    }
+    for (int q = 0; q < 200; q++) {
+      int x1 = random.nextInt(2200) - 600;
+      int y1 = random.nextInt(1100) - 50;
+      int x2 = x1 + random.nextInt(300);
+      int y2 = y1 + random.nextInt(300);
+      int[] expected = IntStream.range(0, count)
+          .filter(i -> llx[i] <= x2 && urx[i] >= x1 && lly[i] <= y2 && ury[i] >= y1)
+          .toArray();
+      assertArrayEquals(expected, grid.roomsIntersecting(x1, y1, x2, y2));
+    }
+  }
+
+  /**
+   * Tests that viewport queries return the rooms overlapping a pixel rectangle.
+   */
+  @Test
+  public void testViewportQuery() {
+    ClinicMapLayout layout = clinic.getMapLayout();
+    assertArrayEquals(new int[] {0}, layout.roomIndexesIn(new Rectangle(60, 200, 100, 100)));
+    assertArrayEquals(new int[] {0, 1}, layout.roomIndexesIn(new Rectangle(0, 0, 1200, 800)));
+    assertArrayEquals(new int[0], layout.roomIndexesIn(new Rectangle(0, 1000, 100, 100)));
+  }
+}
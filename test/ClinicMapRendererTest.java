@@ -0,0 +1,201 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import clinicmanagement.Clinic;
+import clinicmanagement.ClinicMap;
+import clinicmanagement.ClinicMapLayout;
+import clinicmanagement.ClinicMapRenderer;
+import clinicmanagement.ClinicalStaff;
+import clinicmanagement.Patient;
+import clinicmanagement.Room;
+import clinicmanagement.Staff;
+import clinicmanagement.TextWidthCache;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link ClinicMapRenderer}.
+ */
+public class ClinicMapRendererTest {
+  private Clinic clinic;
+  private ClinicMapRenderer renderer;
+  private Patient waiting;
+  private Patient examined;
+
+  @Before
+  public void setUp() {
+    clinic = new Clinic();
+    clinic.setName("Renderer Clinic");
+    clinic.addRoom(new Room("0 0 10 10 waiting Lobby", 1));
+    clinic.addRoom(new Room("10 0 20 10 exam Exam", 2));
+    clinic.addRoom(new Room("0 10 20 20 procedure Theatre", 3));
+    clinic.addRoom(new Room("30 0 40 10 exam Annex", 4));
+    waiting = new Patient(1, "Wendy", "Waiting", "1/1/1990");
+    examined = new Patient(2, "Eddie", "Examined", "2/2/1990");
+    clinic.addPatient(waiting);
+    clinic.addPatient(examined);
+    clinic.getRooms().get(0).getAssignedPatients().add(waiting);
+    clinic.getRooms().get(1).getAssignedPatients().add(examined);
+    renderer = new ClinicMapRenderer(clinic);
+    clinic.addRoomListener(renderer);
+  }
+
+  /**
+   * Tests that a discharge repaints only the rooms it touched and leaves the
+   * same pixels a full redraw would.
+   */
+  @Test
+  public void testDirtyRoomRedraw() {
+    BufferedImage image = renderer.render();
+    assertEquals(4, renderer.getLastRedrawCount());
+    assertSame(image, renderer.render());
+    assertEquals(0, renderer.getLastRedrawCount());
+
+    ClinicalStaff physician = new ClinicalStaff("Physician", "Render", "Doctor",
+        Staff.EducationLevel.DOCTORAL, "1231231234");
+    clinic.addStaff(physician);
+    clinic.sendPatientHome(examined, physician);
+    BufferedImage swapped = renderer.render();
+    assertNotSame(image, swapped);
+    // The exam room shares border pixels with the lobby and theatre only.
+    assertEquals(3, renderer.getLastRedrawCount());
+    assertImagesEqual(ClinicMap.createClinicMap(clinic), swapped);
+  }
+
+  /**
+   * Tests that frames alternate between two buffers and that the back buffer
+   * catches up with rooms repainted in the frame before, including after a
+   * frame with nothing to draw.
+   */
+  @Test
+  public void testDoubleBuffering() {
+    ClinicalStaff physician = new ClinicalStaff("Physician", "Buffer", "Doctor",
+        Staff.EducationLevel.DOCTORAL, "3213213214");
+    clinic.addStaff(physician);
+    BufferedImage first = renderer.render();
+
+    clinic.sendPatientHome(waiting, physician);
+    BufferedImage second = renderer.render();
+    assertImagesEqual(ClinicMap.createClinicMap(clinic), second);
+
+    ClinicMapRenderer.Snapshot idle = renderer.snapshot();
+    assertTrue(idle.isEmpty());
+    assertSame(second, renderer.render(idle));
+
+    clinic.getRooms().get(3).getAssignedPatients().add(examined);
+    renderer.roomOccupantsChanged(clinic.getRooms().get(3));
+    BufferedImage third = renderer.render();
+    assertSame(first, third);
+    assertImagesEqual(ClinicMap.createClinicMap(clinic), third);
+  }
+
+  /**
+   * Tests that a frame can be drawn on another thread from a snapshot while
+   * the model keeps changing.
+   */
+  @Test
+  public void testRenderOffThread() throws Exception {
+    renderer.render();
+    clinic.getRooms().get(0).getAssignedPatients().remove(waiting);
+    renderer.roomOccupantsChanged(clinic.getRooms().get(0));
+    ClinicMapRenderer.Snapshot snapshot = renderer.snapshot();
+    BufferedImage expected = ClinicMap.createClinicMap(clinic);
+
+    clinic.getRooms().get(0).getAssignedPatients().add(waiting);
+    renderer.roomOccupantsChanged(clinic.getRooms().get(0));
+    BufferedImage[] drawn = new BufferedImage[1];
+    Thread worker = new Thread(() -> drawn[0] = renderer.render(snapshot));
+    worker.start();
+    worker.join();
+    assertImagesEqual(expected, drawn[0]);
+    assertImagesEqual(ClinicMap.createClinicMap(clinic), renderer.render());
+  }
+
+  /**
+   * Tests that adding a room redraws the whole map into a new image.
+   */
+  @Test
+  public void testLayoutChangeRedrawsAll() {
+    BufferedImage image = renderer.render();
+    clinic.addRoom(new Room("40 0 50 20 exam Overflow", 5));
+    BufferedImage redrawn = renderer.render();
+    assertNotSame(image, redrawn);
+    assertEquals(5, renderer.getLastRedrawCount());
+    clinic.clearModel();
+    assertNull(renderer.render());
+  }
+
+  /**
+   * Checks two images pixel by pixel.
+   *
+   * @param expected The expected image.
+   * @param actual   The actual image.
+   */
+  private static void assertImagesEqual(BufferedImage expected, BufferedImage actual) {
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        assertEquals("pixel " + x + "," + y, expected.getRGB(x, y), actual.getRGB(x, y));
+      }
+    }
+  }
+
+  /**
+   * Tests that a crowded room lists only the names that fit, tints the room
+   * and still matches a full redraw after patients leave.
+   */
+  @Test
+  public void testCrowdedRoomLevelOfDetail() {
+    ClinicMapLayout layout = clinic.getMapLayout();
+    Room lobby = clinic.getRooms().get(0);
+    int capacity = ClinicMapRenderer.nameLineCapacity(layout, 0);
+    assertTrue(capacity > 1);
+    BufferedImage quiet = renderer.render();
+    Rectangle bounds = layout.getScreenBounds(0);
+    int cornerX = bounds.x + bounds.width - 3;
+    int cornerY = bounds.y + bounds.height - 3;
+    int quietCorner = quiet.getRGB(cornerX, cornerY);
+
+    for (int i = 0; i < capacity * 4; i++) {
+      lobby.getAssignedPatients().add(new Patient(100 + i, "Crowd" + i, "Member", "1/1/2000"));
+    }
+    renderer.roomOccupantsChanged(lobby);
+    BufferedImage crowded = renderer.render();
+    Color tinted = new Color(crowded.getRGB(cornerX, cornerY));
+    Color plain = new Color(quietCorner);
+    assertTrue(tinted.getGreen() < plain.getGreen() - 20);
+    assertTrue(tinted.getRed() > tinted.getGreen());
+    assertImagesEqual(ClinicMap.createClinicMap(clinic), crowded);
+
+    lobby.getAssignedPatients().subList(1, lobby.getAssignedPatients().size()).clear();
+    renderer.roomOccupantsChanged(lobby);
+    assertImagesEqual(ClinicMap.createClinicMap(clinic), renderer.render());
+  }
+
+  /**
+   * Tests that text widths are measured once and the cache stays bounded.
+   */
+  @Test
+  public void testTextWidthCache() {
+    FontMetrics metrics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB)
+        .createGraphics().getFontMetrics(new Font("SansSerif", Font.PLAIN, 11));
+    TextWidthCache cache = new TextWidthCache(metrics, 2);
+    assertEquals(metrics.stringWidth("Wendy Waiting"), cache.width("Wendy Waiting"));
+    cache.width("Wendy Waiting");
+    assertEquals(1, cache.size());
+    cache.width("Eddie Examined");
+    cache.width("Third Name");
+    assertTrue(cache.size() <= 2);
+    assertThrows(IllegalArgumentException.class, () -> new TextWidthCache(metrics, 0));
+  }
+}
@@ -0,0 +1,186 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import clinicmanagement.ColumnarVisitStore;
+import clinicmanagement.Patient;
+import clinicmanagement.Visitrecord;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link ColumnarVisitStore}.
+ */
+public class ColumnarVisitStoreTest {
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+  private ColumnarVisitStore store;
+
+  @Before
+  public void setUp() {
+    store = new ColumnarVisitStore();
+  }
+
+  /**
+   * Tests that visits added out of order read back grouped by patient and
+   * oldest first, as a patient's own visit list does.
+   */
+  @Test
+  public void testVisitsMatchPatient() {
+    Patient patient = new Patient(1, "Columnar", "Visits", "1/2/1970");
+    patient.addVisitRecord(START.plusDays(3), "Cough", 37.1);
+    patient.addVisitRecord(START, "Fever", 38.4);
+    patient.addVisitRecord(START.plusDays(1), "Fever", 38.0);
+    store.add(patient.getSerialNumber() + 1, START, "Rash", 36.6);
+    store.addAll(patient);
+
+    List<Visitrecord> visits = store.getVisitRecords(patient.getSerialNumber());
+    List<Visitrecord> expected = patient.getVisitRecords();
+    assertEquals(expected.size(), visits.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getRegistrationDateTime(),
+          visits.get(i).getRegistrationDateTime());
+      assertEquals(expected.get(i).getChiefComplaint(), visits.get(i).getChiefComplaint());
+      assertEquals(expected.get(i).getBodyTemperature(), visits.get(i).getBodyTemperature(), 0.0);
+    }
+    assertEquals(1, store.getVisitCount(patient.getSerialNumber() + 1));
+    assertEquals(0, store.getVisitCount(patient.getSerialNumber() + 2));
+    assertTrue(store.getVisitRecords(999).isEmpty());
+    assertThrows(UnsupportedOperationException.class, () -> visits.add(expected.get(0)));
+
+    store.add(patient.getSerialNumber(), START.minusDays(1), "Cough", 37.0);
+    assertEquals(4, visits.size());
+    assertEquals("Cough", visits.get(0).getChiefComplaint());
+  }
+
+  /**
+   * Tests scanning the columns by row and filtering by complaint id.
+   */
+  @Test
+  public void testColumnScan() {
+    for (int serial = 1; serial <= 50; serial++) {
+      store.add(51 - serial, START.plusHours(serial), serial % 3 == 0 ? "Fever" : "Cough", 37.5);
+      store.add(51 - serial, START.minusHours(serial), "Cough", 36.5);
+    }
+    assertEquals(100, store.size());
+    int fever = store.getComplaintId("Fever");
+    assertEquals("Fever", store.getComplaint(fever));
+    assertEquals(-1, store.getComplaintId("Headache"));
+
+    int feverVisits = 0;
+    long previous = Long.MIN_VALUE;
+    int previousSerial = 0;
+    for (int row = 0; row < store.size(); row++) {
+      if (store.getComplaintId(row) == fever) {
+        feverVisits++;
+      }
+      int serial = store.getPatientSerial(row);
+      if (serial == previousSerial) {
+        assertTrue(store.getEpochSecond(row) >= previous);
+      } else {
+        assertTrue(serial > previousSerial);
+      }
+      previousSerial = serial;
+      previous = store.getEpochSecond(row);
+    }
+    assertEquals(16, feverVisits);
+    assertEquals(2, store.getEndRow(7) - store.getStartRow(7));
+    assertEquals(START.minusHours(44).toEpochSecond(ZoneOffset.UTC),
+        store.getEpochSecond(store.getStartRow(7)));
+
+    store.removeAll(7);
+    assertEquals(98, store.size());
+    assertEquals(0, store.getVisitCount(7));
+    assertEquals(2, store.getVisitCount(8));
+    assertThrows(IndexOutOfBoundsException.class, () -> store.getTemperature(98));
+    assertThrows(IllegalArgumentException.class, () -> store.add(0, START, "Cough", 37.0));
+  }
+
+  /**
+   * Tests that removing a patient's visits before the rows are regrouped
+   * drops only the visits added before the removal.
+   */
+  @Test
+  public void testRemoveBeforeRegroup() {
+    store.add(3, START, "Cough", 37.0);
+    store.add(4, START, "Rash", 36.8);
+    store.add(3, START.plusDays(1), "Fever", 38.2);
+    store.removeAll(3);
+    store.add(3, START.plusDays(2), "Headache", 36.9);
+    store.removeAll(5);
+
+    assertEquals(2, store.size());
+    assertEquals(1, store.getVisitCount(3));
+    assertEquals("Headache", store.getVisitRecords(3).get(0).getChiefComplaint());
+    assertEquals(1, store.getVisitCount(4));
+
+    store.removeAll(4);
+    store.removeAll(3);
+    assertEquals(0, store.size());
+    assertTrue(store.getVisitRecords(3).isEmpty());
+  }
+
+  /**
+   * Tests that a patient with a long history added newest first reads back
+   * oldest first, both through their visit list and by scanning rows.
+   */
+  @Test
+  public void testLongHistoryOutOfOrder() {
+    int visits = 50_000;
+    for (int i = 0; i < visits; i++) {
+      store.add(2, START.minusMinutes(i), i % 2 == 0 ? "Cough" : "Fever", 37.0);
+    }
+    store.add(1, START, "Rash", 36.6);
+    List<Visitrecord> history = store.getVisitRecords(2);
+    assertEquals(visits, history.size());
+    assertEquals(START.minusMinutes(visits - 1), history.get(0).getRegistrationDateTime());
+    assertEquals(START, history.get(visits - 1).getRegistrationDateTime());
+
+    assertEquals(1, store.getEndRow(1) - store.getStartRow(1));
+    for (int row = store.getStartRow(2) + 1; row < store.getEndRow(2); row++) {
+      assertTrue(store.getEpochSecond(row) > store.getEpochSecond(row - 1));
+    }
+  }
+
+  /**
+   * Tests that adding a visit and then reading that patient's visits does not
+   * regroup the whole store: four times the visits must take well under
+   * sixteen times as long.
+   */
+  @Test
+  public void testAddThenReadScalesLinearly() {
+    timeAddThenRead(10_000);
+    long small = Long.MAX_VALUE;
+    long large = Long.MAX_VALUE;
+    for (int run = 0; run < 3; run++) {
+      small = Math.min(small, timeAddThenRead(10_000));
+      large = Math.min(large, timeAddThenRead(40_000));
+    }
+    assertTrue("10k visits took " + small / 1_000_000 + " ms, 40k took "
+        + large / 1_000_000 + " ms", large < small * 10);
+  }
+
+  /**
+   * Adds one visit to each patient of a grouped store, reading the patient's
+   * latest visit after each.
+   *
+   * @param patients The number of patients.
+   * @return The time taken in nanoseconds.
+   */
+  private long timeAddThenRead(int patients) {
+    ColumnarVisitStore load = new ColumnarVisitStore(patients * 2);
+    for (int serial = 1; serial <= patients; serial++) {
+      load.add(serial, START, "Checkup", 37.0);
+    }
+    assertEquals(1, load.getEndRow(1) - load.getStartRow(1));
+    long start = System.nanoTime();
+    for (int serial = patients; serial >= 1; serial--) {
+      load.add(serial, START.plusDays(1), "Follow-up", 37.0);
+      List<Visitrecord> visits = load.getVisitRecords(serial);
+      assertEquals("Follow-up", visits.get(visits.size() - 1).getChiefComplaint());
+    }
+    return System.nanoTime() - start;
+  }
+}
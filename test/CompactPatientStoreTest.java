@@ -0,0 +1,235 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import clinicmanagement.ClinicalStaff;
+import clinicmanagement.CompactPatientStore;
+import clinicmanagement.Patient;
+import clinicmanagement.Room;
+import clinicmanagement.Staff;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link CompactPatientStore}.
+ */
+public class CompactPatientStoreTest {
+  private CompactPatientStore store;
+  private Room exam;
+
+  @Before
+  public void setUp() {
+    store = new CompactPatientStore(4);
+    store.setClock(Clock.fixed(Instant.parse("2024-03-01T10:00:00Z"), ZoneOffset.UTC));
+    exam = new Room("10 0 20 10 exam Exam", 2);
+    store.registerRoom(exam);
+  }
+
+  /**
+   * Tests that a copied patient reads back the same, history included.
+   */
+  @Test
+  public void testCopyPatient() {
+    Patient patient = new Patient(2, "Zoë", "Compact", "4/5/1980");
+    patient.populateRoomInfo(exam);
+    patient.addVisitRecord(LocalDateTime.of(2023, 6, 1, 9, 0), "Fever", 38.5);
+    patient.deactivateAtPastDate(LocalDate.of(2023, 7, 1));
+    ClinicalStaff doctor = new ClinicalStaff("Physician", "Store", "Doctor",
+        Staff.EducationLevel.DOCTORAL, "1231231234");
+    patient.assignClinicalStaff(doctor);
+
+    CompactPatientStore.PatientView view = store.add(patient);
+    assertEquals(patient.getSerialNumber(), view.getSerialNumber());
+    assertEquals("Zoë", view.getFirstName());
+    assertEquals("Compact", view.getLastName());
+    assertEquals("Zoë Compact", view.getFullName());
+    assertEquals(LocalDate.of(1980, 4, 5), view.getDateOfBirth());
+    assertEquals(2, view.getRoomNumber());
+    assertEquals("Exam", view.getRoomName());
+    assertEquals(Room.RoomType.EXAM, view.getRoomType());
+    assertEquals(patient.getVisitRecords().toString(), view.getVisitRecords().toString());
+    assertEquals(1, view.getAssignedClinicalStaff().size());
+    assertTrue(view.isDeactivated());
+    assertEquals(LocalDate.of(2023, 7, 1), view.getLastDeactivationDate());
+    assertTrue(view.getFullInformation().contains("Date of Birth: 4/5/1980"));
+
+    view.setReactivated();
+    assertFalse(store.get(patient.getSerialNumber()).isDeactivated());
+    assertNull(view.getLastDeactivationDate());
+    assertEquals(1, view.getDeactivationCount());
+  }
+
+  /**
+   * Tests that archive imports grow the store and that views of the same
+   * patient share its state.
+   */
+  @Test
+  public void testArchiveImport() {
+    for (int serial = 1; serial <= 1000; serial++) {
+      store.add(serial, "First" + serial, "Last", LocalDate.of(1950, 1, 1).plusDays(serial), 2);
+    }
+    store.add(500, "Replaced", "Name", LocalDate.of(2000, 1, 1), 2);
+    assertEquals(1000, store.size());
+    assertEquals(1000, store.serialNumbers().length);
+    assertEquals("First999", store.get(999).getFirstName());
+    assertEquals("Replaced", store.get(500).getFirstName());
+    assertNull(store.get(1001));
+    assertFalse(store.contains(0));
+
+    CompactPatientStore.PatientView first = store.get(7);
+    CompactPatientStore.PatientView second = store.get(7);
+    assertEquals(first, second);
+    assertNotEquals(first, store.get(8));
+    first.addVisitRecord(LocalDateTime.of(2024, 1, 2, 9, 0), "Cough", 37.0);
+    first.addVisitRecord(LocalDateTime.of(2024, 1, 1, 9, 0), "Fever", 38.0);
+    assertEquals("Fever", second.getVisitRecords().get(0).getChiefComplaint());
+    first.setDeactivated(true);
+    assertTrue(second.isDeactivated());
+    assertEquals(LocalDate.of(2024, 3, 1), second.getLastDeactivationDate());
+    assertTrue(store.get(8).getVisitRecords().isEmpty());
+  }
+
+  /**
+   * Tests that loading patients one at a time, each with a visit, and then
+   * replacing them all takes time linear in the number of patients: four
+   * times the patients must take well under sixteen times as long.
+   */
+  @Test
+  public void testLoadScalesLinearly() {
+    timeLoad(20_000);
+    long small = Long.MAX_VALUE;
+    long large = Long.MAX_VALUE;
+    for (int run = 0; run < 3; run++) {
+      small = Math.min(small, timeLoad(20_000));
+      large = Math.min(large, timeLoad(80_000));
+    }
+    assertTrue("20k patients took " + small / 1_000_000 + " ms, 80k took "
+        + large / 1_000_000 + " ms", large < small * 10);
+  }
+
+  /**
+   * Loads patients with one visit each into a new store, then replaces each
+   * of them with a new visit.
+   *
+   * @param patients The number of patients.
+   * @return The time taken in nanoseconds.
+   */
+  private long timeLoad(int patients) {
+    long start = System.nanoTime();
+    CompactPatientStore load = new CompactPatientStore();
+    load.registerRoom(exam);
+    LocalDate birth = LocalDate.of(1970, 1, 1);
+    LocalDateTime visit = LocalDateTime.of(2024, 1, 1, 9, 0);
+    for (int pass = 0; pass < 2; pass++) {
+      for (int serial = 1; serial <= patients; serial++) {
+        load.add(serial, "Load", "Test", birth, 2).addVisitRecord(visit, "Checkup", 37.0);
+      }
+    }
+    assertEquals(patients, load.getVisitStore().size());
+    assertEquals(1, load.get(patients / 2).getVisitRecords().size());
+    return System.nanoTime() - start;
+  }
+
+  /**
+   * Tests that setting a room name or type renames the room for every
+   * patient stored in it, and that nulls are rejected.
+   */
+  @Test
+  public void testSetRoomInfo() {
+    LocalDate birth = LocalDate.of(1990, 1, 1);
+    CompactPatientStore.PatientView first = store.add(1, "A", "B", birth, 2);
+    CompactPatientStore.PatientView second = store.add(2, "C", "D", birth, 2);
+    first.setRoomName("Recovery");
+    first.setRoomType(Room.RoomType.PROCEDURE);
+    assertEquals("Recovery", second.getRoomName());
+    assertEquals(Room.RoomType.PROCEDURE, second.getRoomType());
+
+    CompactPatientStore.PatientView lobby = store.add(3, "E", "F", birth, 30);
+    lobby.setRoomName("Lobby");
+    lobby.setRoomType(Room.RoomType.WAITING);
+    assertEquals("Lobby", lobby.getRoomName());
+    assertEquals(Room.RoomType.WAITING, lobby.getRoomType());
+    assertEquals("Recovery", first.getRoomName());
+    assertThrows(IllegalArgumentException.class, () -> first.setRoomName(null));
+    assertThrows(IllegalArgumentException.class, () -> first.setRoomType(null));
+  }
+
+  /**
+   * Tests that the store holds an archive of patients with little history in
+   * at most a third of the heap that {@link Patient} objects take. Both sides
+   * share the same name strings, as archived names repeat.
+   */
+  @Test
+  public void testFootprint() {
+    int patients = 50_000;
+    String[] firstNames = new String[100];
+    String[] lastNames = new String[100];
+    for (int i = 0; i < 100; i++) {
+      firstNames[i] = "Footprint" + i;
+      lastNames[i] = "Archive" + i;
+    }
+    LocalDate birth = LocalDate.of(1900, 1, 1);
+
+    long before = usedHeap();
+    List<Patient> objects = new ArrayList<>(patients);
+    for (int i = 0; i < patients; i++) {
+      objects.add(new Patient(2, firstNames[i % 100], lastNames[i / 100 % 100],
+          birth.plusDays(i / 10_000).format(DateTimeFormatter.ofPattern("M/d/yyyy"))));
+    }
+    long objectBytes = usedHeap() - before;
+
+    before = usedHeap();
+    CompactPatientStore compact = new CompactPatientStore(patients);
+    compact.registerRoom(exam);
+    for (int i = 0; i < patients; i++) {
+      compact.add(i + 1, firstNames[i % 100], lastNames[i / 100 % 100],
+          birth.plusDays(i / 10_000), 2);
+    }
+    long compactBytes = usedHeap() - before;
+
+    assertEquals(patients, objects.size());
+    assertEquals(patients, compact.size());
+    assertTrue("Patient objects took " + objectBytes / patients + " bytes each, the store "
+        + compactBytes / patients + " bytes each", compactBytes * 3 <= objectBytes);
+  }
+
+  /**
+   * Measures the heap in use after collecting garbage.
+   *
+   * @return The used heap in bytes.
+   */
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  /**
+   * Tests that invalid patients and room names are rejected.
+   */
+  @Test
+  public void testValidation() {
+    LocalDate birth = LocalDate.of(1990, 1, 1);
+    assertThrows(IllegalArgumentException.class, () -> store.add(0, "A", "B", birth, 1));
+    assertThrows(IllegalArgumentException.class, () -> store.add(1, null, "B", birth, 1));
+    assertThrows(IllegalArgumentException.class, () -> store.add(1, "A", "B", birth, 40000));
+    assertThrows(IllegalArgumentException.class, () -> new CompactPatientStore(-1));
+    CompactPatientStore.PatientView view = store.add(1, "A", "B", birth, 9);
+    assertThrows(IllegalArgumentException.class, view::getRoomName);
+    view.populateRoomInfo(exam);
+    assertEquals("Exam", view.getRoomName());
+  }
+}
@@ -0,0 +1,139 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import clinicmanagement.ClinicalStaff;
+import clinicmanagement.IntBitmapSet;
+import clinicmanagement.IntHashSet;
+import clinicmanagement.IntSet;
+import clinicmanagement.Patient;
+import clinicmanagement.Staff;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * Test class for {@link IntHashSet}, {@link IntBitmapSet} and the clinical
+ * staff caseload built on them.
+ */
+public class IntSetTest {
+
+  /**
+   * Applies the same random adds and removes to a set and to a
+   * {@link HashSet} and checks that they agree.
+   *
+   * @param set   The set under test.
+   * @param range The values to draw from.
+   */
+  private static void assertMatchesHashSet(IntSet set, int range) {
+    Random random = new Random(48);
+    Set<Integer> expected = new HashSet<>();
+    for (int i = 0; i < 20000; i++) {
+      int value = random.nextInt(range);
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(value), set.remove(value));
+      } else {
+        assertEquals(expected.add(value), set.add(value));
+      }
+      assertEquals(expected.size(), set.size());
+    }
+    for (int value = 0; value < range; value++) {
+      assertEquals(expected.contains(value), set.contains(value));
+    }
+    int[] values = set.toArray();
+    Arrays.sort(values);
+    assertArrayEquals(expected.stream().mapToInt(Integer::intValue).sorted().toArray(), values);
+    set.clear();
+    assertTrue(set.isEmpty());
+    assertFalse(set.contains(values.length > 0 ? values[0] : 0));
+  }
+
+  /**
+   * Tests the hash set against a boxed set, over a narrow range to force
+   * long probe runs and a wide one to force growth.
+   */
+  @Test
+  public void testHashSet() {
+    assertMatchesHashSet(new IntHashSet(), 300);
+    assertMatchesHashSet(new IntHashSet(2), 1 << 20);
+    IntHashSet set = new IntHashSet();
+    assertTrue(set.add(0));
+    assertTrue(set.add(-5));
+    assertTrue(set.contains(0));
+    assertTrue(set.remove(0));
+    assertFalse(set.contains(0));
+    assertTrue(set.contains(-5));
+    assertThrows(IllegalArgumentException.class, () -> new IntHashSet(-1));
+  }
+
+  /**
+   * Tests the bitmap set against a boxed set and its ascending iteration.
+   */
+  @Test
+  public void testBitmapSet() {
+    assertMatchesHashSet(new IntBitmapSet(), 20000);
+    IntBitmapSet set = new IntBitmapSet();
+    set.add(100000);
+    set.add(3);
+    set.add(4095);
+    set.add(4096);
+    assertArrayEquals(new int[] {3, 4095, 4096, 100000}, set.toArray());
+    assertFalse(set.contains(-1));
+    assertFalse(set.remove(5000000));
+    assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+
+    IntHashSet source = new IntHashSet();
+    source.add(7);
+    source.add(9);
+    assertArrayEquals(new int[] {7, 9}, new IntBitmapSet(source).toArray());
+  }
+
+  /**
+   * Tests that a clinician's caseload keeps assignment order, ignores
+   * repeated assignments and stays in step with its serial numbers, and that
+   * lifetime unique counts stay exact as they grow.
+   */
+  @Test
+  public void testCaseload() {
+    ClinicalStaff nurse = new ClinicalStaff("Nurse", "Int", "Set",
+        Staff.EducationLevel.ALLIED, "1231231234");
+    Patient first = new Patient(1, "Caseload", "First", "1/1/1970");
+    Patient second = new Patient(1, "Caseload", "Second", "1/1/1971");
+    Patient third = new Patient(1, "Caseload", "Third", "1/1/1972");
+    List<Patient> caseload = nurse.getAssignedPatients();
+    assertTrue(caseload.add(first));
+    assertTrue(caseload.add(second));
+    assertThrows(IllegalArgumentException.class, () -> caseload.add(first));
+    assertThrows(IllegalArgumentException.class, () -> caseload.add(1, second));
+    caseload.add(0, third);
+    assertEquals(Arrays.asList(third, first, second), caseload);
+    assertTrue(caseload.contains(second));
+
+    assertTrue(caseload.remove(first));
+    assertFalse(caseload.contains(first));
+    assertFalse(caseload.remove(first));
+    Iterator<Patient> iterator = caseload.iterator();
+    iterator.next();
+    iterator.remove();
+    assertEquals(Arrays.asList(second), caseload);
+    assertFalse(caseload.contains(third));
+    caseload.set(0, first);
+    assertTrue(caseload.contains(first));
+    assertFalse(caseload.contains(second));
+
+    assertTrue(nurse.assignPatientforCount(first));
+    assertFalse(nurse.assignPatientforCount(first));
+    for (int i = 0; i < 600; i++) {
+      nurse.assignPatientforCount(new Patient(1, "Lifetime" + i, "Patient", "1/1/1990"));
+    }
+    assertEquals(601, nurse.getUniquePatientCount());
+    assertFalse(nurse.assignPatientforCount(second) && nurse.assignPatientforCount(second));
+    assertEquals(602, nurse.getUniquePatientCount());
+  }
+}
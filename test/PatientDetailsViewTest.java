@@ -0,0 +1,69 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import clinicmanagement.Patient;
+import clinicmanagement.PatientDetailsView;
+import java.time.LocalDateTime;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link PatientDetailsView}.
+ */
+public class PatientDetailsViewTest {
+  private Patient patient;
+
+  @Before
+  public void setUp() {
+    patient = new Patient(1, "Paged", "Details", "8/8/1988");
+    LocalDateTime start = LocalDateTime.of(2020, 1, 1, 8, 0);
+    for (int i = 0; i < 45; i++) {
+      patient.addVisitRecord(start.plusDays(i), "Complaint " + i, 37.0);
+    }
+  }
+
+  /**
+   * Tests that pages run newest first and the last page holds the remainder.
+   */
+  @Test
+  public void testPaging() {
+    PatientDetailsView view = new PatientDetailsView(patient, 20);
+    assertEquals(3, view.getPageCount());
+    String first = view.renderPage();
+    assertTrue(first.startsWith("\tRegistration Date and Time: 2/14/2020 08:00:00"));
+    assertTrue(first.contains("Complaint 25\n"));
+    assertFalse(first.contains("Complaint 24\n"));
+    assertEquals("Visits 1-20 of 45, newest first", view.getPageLabel());
+
+    view.setPage(2);
+    String last = view.renderPage();
+    assertEquals(5, last.split("Registration Date and Time").length - 1);
+    assertTrue(last.contains("Complaint 0\n"));
+    assertEquals("Visits 41-45 of 45, newest first", view.getPageLabel());
+    assertThrows(IllegalArgumentException.class, () -> view.setPage(3));
+  }
+
+  /**
+   * Tests that a patient without visits has one empty page.
+   */
+  @Test
+  public void testNoVisits() {
+    PatientDetailsView view = new PatientDetailsView(
+        new Patient(1, "No", "Visits", "9/9/1999"));
+    assertEquals(1, view.getPageCount());
+    assertEquals("", view.renderPage());
+    assertEquals("No visit records available.", view.getPageLabel());
+  }
+
+  /**
+   * Tests that the summary leaves out the visits the full information contains.
+   */
+  @Test
+  public void testSummaryOmitsVisits() {
+    assertFalse(patient.getSummaryInformation().contains("Complaint"));
+    assertTrue(patient.getFullInformation().contains("Complaint 44"));
+    assertTrue(patient.getSummaryInformation().startsWith("Patient Information:\n"));
+  }
+}
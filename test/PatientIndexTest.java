@@ -0,0 +1,162 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import clinicmanagement.Clinic;
+import clinicmanagement.ClinicalStaff;
+import clinicmanagement.Patient;
+import clinicmanagement.PatientIndex;
+import clinicmanagement.PatientPicker;
+import clinicmanagement.Staff;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link PatientIndex} and {@link PatientPicker}.
+ */
+public class PatientIndexTest {
+  private Clinic clinic;
+  private PatientIndex index;
+  private Patient zed;
+  private Patient amy;
+  private Patient bob;
+
+  @Before
+  public void setUp() {
+    clinic = new Clinic();
+    zed = new Patient(1, "Zed", "Adams", "1/1/1950");
+    amy = new Patient(1, "Amy", "baker", "1/1/1960");
+    bob = new Patient(1, "Bob", "Baker", "1/1/1970");
+    clinic.addPatient(bob);
+    clinic.addPatient(zed);
+    clinic.addPatient(amy);
+    index = clinic.getPatientIndex();
+  }
+
+  /**
+   * Tests that patients are sorted by last then first name, ignoring case.
+   */
+  @Test
+  public void testSortedOrder() {
+    assertEquals(3, index.size(PatientIndex.Filter.ALL));
+    assertSame(zed, index.get(PatientIndex.Filter.ALL, 0));
+    assertSame(amy, index.get(PatientIndex.Filter.ALL, 1));
+    assertSame(bob, index.get(PatientIndex.Filter.ALL, 2));
+    assertEquals(2, index.indexOf(PatientIndex.Filter.ALL, bob));
+  }
+
+  /**
+   * Tests that the index re-sorts after the model changes.
+   */
+  @Test
+  public void testFollowsModelChanges() {
+    assertEquals(3, index.size(PatientIndex.Filter.ACTIVE));
+    Patient aaron = new Patient(1, "Aaron", "Aardvark", "2/2/1980");
+    clinic.addPatient(aaron);
+    assertSame(aaron, index.get(PatientIndex.Filter.ALL, 0));
+
+    ClinicalStaff physician = new ClinicalStaff("Physician", "Index", "Doctor",
+        Staff.EducationLevel.DOCTORAL, "6667778889");
+    clinic.addStaff(physician);
+    clinic.sendPatientHome(amy, physician);
+    assertEquals(4, index.size(PatientIndex.Filter.ALL));
+    assertEquals(3, index.size(PatientIndex.Filter.ACTIVE));
+    assertEquals(-1, index.indexOf(PatientIndex.Filter.ACTIVE, amy));
+  }
+
+  /**
+   * Tests that recording a visit changes the model version but not the roster
+   * version the index is keyed on.
+   */
+  @Test
+  public void testVisitsKeepRosterVersion() {
+    long roster = clinic.getRosterVersion();
+    long model = clinic.getModelVersion();
+    amy.addVisitRecord(LocalDateTime.now(), "Cough", 37.0);
+    assertTrue(clinic.getModelVersion() > model);
+    assertEquals(roster, clinic.getRosterVersion());
+    assertSame(amy, index.get(PatientIndex.Filter.ALL, 1));
+  }
+
+  /**
+   * Tests prefix search on last name, on "last, first" and on serial number.
+   */
+  @Test
+  public void testSearch() {
+    assertEquals(List.of(amy, bob), index.search(PatientIndex.Filter.ALL, "BAK", 10));
+    assertEquals(List.of(bob), index.search(PatientIndex.Filter.ALL, "baker, b", 10));
+    assertEquals(List.of(amy), index.search(PatientIndex.Filter.ALL, "ba", 1));
+    assertEquals(List.of(zed, amy, bob), index.search(PatientIndex.Filter.ALL, "", 10));
+    assertTrue(index.search(PatientIndex.Filter.ALL, "bakers", 10).isEmpty());
+    assertEquals(List.of(zed), index.search(PatientIndex.Filter.ALL,
+        String.valueOf(zed.getSerialNumber()), 10));
+  }
+
+  /**
+   * Tests that the picker selects the top match as the search text changes.
+   */
+  @Test
+  public void testPicker() {
+    PatientPicker picker = new PatientPicker(index, PatientIndex.Filter.ACTIVE);
+    assertFalse(picker.isRosterEmpty());
+    assertSame(zed, picker.getSelectedPatient());
+    picker.getSearchField().setText("baker, b");
+    assertSame(bob, picker.getSelectedPatient());
+    picker.getSearchField().setText("nobody");
+    assertNull(picker.getSelectedPatient());
+  }
+
+  /**
+   * Tests that registrations merged in over several queries leave the index in
+   * the same order as sorting the whole roster, and that clearing the clinic
+   * starts the index over.
+   */
+  @Test
+  public void testMergesRegistrations() {
+    List<Patient> expected = new ArrayList<>(List.of(zed, amy, bob));
+    for (int batch = 0; batch < 5; batch++) {
+      for (int i = 0; i < 50; i++) {
+        Patient patient = new Patient(1, "Merge" + (i * 7 + batch) % 50,
+            "Last" + (i * 13 + batch) % 17, "4/4/" + (1950 + batch));
+        clinic.addPatient(patient);
+        expected.add(patient);
+      }
+      expected.sort(Comparator.comparing((Patient patient) ->
+              (patient.getLastName() + "\u0000" + patient.getFirstName()).toLowerCase())
+          .thenComparingInt(Patient::getSerialNumber));
+      assertEquals(expected.size(), index.size(PatientIndex.Filter.ALL));
+      for (int i = 0; i < expected.size(); i++) {
+        assertSame(expected.get(i), index.get(PatientIndex.Filter.ALL, i));
+      }
+      Patient last = expected.get(expected.size() - 1);
+      assertEquals(List.of(last), index.search(PatientIndex.Filter.ALL,
+          String.valueOf(last.getSerialNumber()), 10));
+    }
+
+    clinic.clearModel();
+    assertEquals(0, index.size(PatientIndex.Filter.ALL));
+    clinic.addPatient(bob);
+    assertEquals(1, index.size(PatientIndex.Filter.ACTIVE));
+    assertSame(bob, index.get(PatientIndex.Filter.ALL, 0));
+  }
+
+  /**
+   * Tests prefix search over a large roster with many shared last names.
+   */
+  @Test
+  public void testLargeRosterSearch() {
+    for (int i = 0; i < 100_000; i++) {
+      clinic.addPatient(new Patient(1, "First" + i, "Last" + (i % 5000), "3/3/1993"));
+    }
+    assertEquals(100_003, index.size(PatientIndex.Filter.ALL));
+    List<Patient> matches = index.search(PatientIndex.Filter.ALL, "last4999", 5);
+    assertEquals(5, matches.size());
+    assertEquals("Last4999", matches.get(0).getLastName());
+  }
+}
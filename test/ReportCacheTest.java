@@ -0,0 +1,76 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import clinicmanagement.ReportCache;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link ReportCache}.
+ */
+public class ReportCacheTest {
+  private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+  private ReportCache cache;
+  private AtomicInteger computations;
+  private Supplier<List<String>> compute;
+
+  @Before
+  public void setUp() {
+    cache = new ReportCache();
+    computations = new AtomicInteger();
+    compute = () -> List.of("row" + computations.incrementAndGet());
+  }
+
+  /**
+   * Tests that a repeated request at the same version and day is served from the cache.
+   */
+  @Test
+  public void testHit() {
+    List<String> first = cache.get("report", new Object[] {2, 30}, 7, DAY, compute);
+    List<String> second = cache.get("report", new Object[] {2, 30}, 7, DAY, compute);
+    assertSame(first, second);
+    assertEquals(1, computations.get());
+  }
+
+  /**
+   * Tests that different reports and parameters are cached separately.
+   */
+  @Test
+  public void testKeyedByReportAndParameters() {
+    cache.get("report", new Object[] {2, 30}, 7, DAY, compute);
+    cache.get("report", new Object[] {3, 30}, 7, DAY, compute);
+    cache.get("other", new Object[] {2, 30}, 7, DAY, compute);
+    assertEquals(3, computations.get());
+    assertEquals(3, cache.size());
+  }
+
+  /**
+   * Tests that a new model version or a new day drops every entry.
+   */
+  @Test
+  public void testInvalidation() {
+    cache.get("report", new Object[0], 7, DAY, compute);
+    cache.get("other", new Object[0], 7, DAY, compute);
+    assertEquals(List.of("row3"), cache.get("report", new Object[0], 8, DAY, compute));
+    assertEquals(1, cache.size());
+    assertEquals(List.of("row4"),
+        cache.get("report", new Object[0], 8, DAY.plusDays(1), compute));
+    assertEquals(4, computations.get());
+  }
+
+  /**
+   * Tests that null arguments are rejected.
+   */
+  @Test
+  public void testNullArguments() {
+    assertThrows(IllegalArgumentException.class,
+        () -> cache.get(null, new Object[0], 1, DAY, compute));
+    assertThrows(IllegalArgumentException.class,
+        () -> cache.get("report", new Object[0], 1, null, compute));
+  }
+}
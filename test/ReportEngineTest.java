@@ -0,0 +1,245 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import clinicmanagement.Clinic;
+import clinicmanagement.ClinicalStaff;
+import clinicmanagement.CsvReportWriter;
+import clinicmanagement.JsonReportWriter;
+import clinicmanagement.Patient;
+import clinicmanagement.ReportEngine;
+import clinicmanagement.Room;
+import clinicmanagement.Staff;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link ReportEngine} and the report writers.
+ */
+public class ReportEngineTest {
+  private Clinic clinic;
+  private ReportEngine engine;
+  private Patient recentPatient;
+  private Patient stalePatient;
+  private ClinicalStaff physician;
+
+  /**
+   * Builds a small clinic with one recent and one stale patient.
+   */
+  @Before
+  public void setUp() {
+    clinic = new Clinic();
+    clinic.setName("Report Clinic");
+    clinic.addRoom(new Room("28 0 35 5 waiting Front", 1));
+
+    recentPatient = new Patient(1, "Recent", "Reporter", "1/1/1990");
+    stalePatient = new Patient(1, "Stale", "Reporter", "2/2/1990");
+    clinic.addPatient(recentPatient);
+    clinic.addPatient(stalePatient);
+    recentPatient.addVisitRecord(LocalDateTime.now().minusDays(10), "Fever", 38.0);
+    recentPatient.addVisitRecord(LocalDateTime.now().minusDays(3), "Cough, cold", 37.5);
+    stalePatient.addVisitRecord(LocalDateTime.now().minusDays(500), "Rash", 36.8);
+
+    physician = new ClinicalStaff("Physician", "Report", "Doctor",
+        Staff.EducationLevel.DOCTORAL, "1112223334");
+    clinic.addStaff(physician);
+    physician.getAssignedPatients().add(recentPatient);
+    physician.getAssignedPatients().add(stalePatient);
+    physician.assignPatientforCount(recentPatient);
+    physician.assignPatientforCount(stalePatient);
+    engine = clinic.getReportEngine();
+  }
+
+  /**
+   * Tests the staff and patient counts report rows.
+   */
+  @Test
+  public void testStaffPatientCounts() {
+    List<ReportEngine.StaffPatientCountRow> rows = engine.staffPatientCounts()
+        .collect(Collectors.toList());
+    assertEquals(1, rows.size());
+    assertEquals("Report Doctor", rows.get(0).getName());
+    assertEquals(2, rows.get(0).getUniquePatientCount());
+    assertEquals(2, rows.get(0).getActiveCaseload());
+    assertEquals(1, rows.get(0).getOpenVisits());
+    assertTrue(rows.get(0).isActive());
+  }
+
+  /**
+   * Tests that only patients whose last visit is over a year old are reported inactive.
+   */
+  @Test
+  public void testInactivePatients() {
+    List<ReportEngine.InactivePatientRow> rows = engine.inactivePatients()
+        .collect(Collectors.toList());
+    assertEquals(1, rows.size());
+    assertEquals(stalePatient.getSerialNumber(), rows.get(0).getSerialNumber());
+  }
+
+  /**
+   * Tests that only patients with a recent last visit appear under their clinician.
+   */
+  @Test
+  public void testIncompleteVisits() {
+    List<ReportEngine.IncompleteVisitRow> rows = engine
+        .staffWithIncompleteVisits(clinic.getClinicalStaffList()).collect(Collectors.toList());
+    assertEquals(1, rows.size());
+    assertEquals("Recent Reporter", rows.get(0).getPatientName());
+    assertEquals(physician.getSerialNumber(), rows.get(0).getStaffSerialNumber());
+  }
+
+  /**
+   * Tests that the open visit index follows visits, unassignment and discharge.
+   */
+  @Test
+  public void testIncompleteVisitsFollowModelChanges() {
+    assertEquals(1, engine.staffWithIncompleteVisits(clinic.getClinicalStaffList()).count());
+
+    stalePatient.assignClinicalStaff(physician);
+    stalePatient.addVisitRecord(LocalDateTime.now(), "Follow-up", 37.1);
+    assertEquals(2, engine.staffWithIncompleteVisits(clinic.getClinicalStaffList()).count());
+
+    clinic.unassignClinicalStaffFromPatient(stalePatient, physician);
+    assertEquals(1, engine.staffWithIncompleteVisits(clinic.getClinicalStaffList()).count());
+
+    clinic.sendPatientHome(recentPatient, physician);
+    assertEquals(0, engine.staffWithIncompleteVisits(clinic.getClinicalStaffList()).count());
+  }
+
+  /**
+   * Tests that unchanged reports are served from the cache and mutations recompute them.
+   */
+  @Test
+  public void testReportCacheFollowsModelVersion() {
+    long version = clinic.getModelVersion();
+    engine.inactivePatients().count();
+    engine.inactivePatients().count();
+    assertEquals(1, engine.getCachedReportCount());
+    assertEquals(version, clinic.getModelVersion());
+
+    clinic.sendPatientHome(stalePatient, physician);
+    assertTrue(clinic.getModelVersion() > version);
+    assertEquals(0, engine.inactivePatients().count());
+  }
+
+  /**
+   * Tests that a clinic built on a fixed clock reports and dates deactivations
+   * relative to that clock rather than the system date.
+   */
+  @Test
+  public void testFixedClock() {
+    Clock fixed = Clock.fixed(Instant.parse("2020-06-15T12:00:00Z"), ZoneOffset.UTC);
+    Clinic pastClinic = new Clinic(fixed);
+    Patient patient = new Patient(1, "Fixed", "Clock", "6/6/1966");
+    pastClinic.addPatient(patient);
+    patient.addVisitRecord(LocalDateTime.of(2019, 1, 10, 9, 0), "Sprain", 36.9);
+    assertEquals(1, pastClinic.getReportEngine().inactivePatients().count());
+    assertEquals(0, pastClinic.getReportEngine().patientsWithMultipleVisits(1, 30).count());
+
+    ClinicalStaff nurse = new ClinicalStaff("Nurse", "Fixed", "Nurse",
+        Staff.EducationLevel.MASTERS, "2223334445");
+    pastClinic.addStaff(nurse);
+    pastClinic.sendPatientHome(patient, nurse);
+    assertEquals(LocalDate.of(2020, 6, 15), patient.getLastDeactivationDate());
+  }
+
+  /**
+   * Tests the visit frequency report with a threshold and window.
+   */
+  @Test
+  public void testPatientsWithMultipleVisits() {
+    List<ReportEngine.VisitFrequencyRow> rows = engine.patientsWithMultipleVisits(2, 30)
+        .collect(Collectors.toList());
+    assertEquals(1, rows.size());
+    assertEquals(2, rows.get(0).getVisitCount());
+    assertEquals(0, engine.patientsWithMultipleVisits(3, 30).count());
+  }
+
+  /**
+   * Tests that the clinic keeps visit counters for a bounded number of window
+   * lengths and that a dropped window is refilled with the right counts.
+   */
+  @Test
+  public void testVisitCountersAreBounded() {
+    for (int windowDays = 1; windowDays <= 40; windowDays++) {
+      clinic.findPatientsWithRecentVisits(1, windowDays);
+    }
+    assertTrue(clinic.getVisitCounterCount() <= 8);
+    recentPatient.addVisitRecord(LocalDateTime.now().minusDays(1), "Checkup", 37.0);
+    assertEquals(3, clinic.getRecentVisitCount(recentPatient, 40));
+    assertEquals(3, clinic.getRecentVisitCount(recentPatient, 11));
+    assertEquals(2, clinic.getRecentVisitCount(recentPatient, 5));
+    assertTrue(clinic.getVisitCounterCount() <= 8);
+  }
+
+  /**
+   * Tests that a parallel engine produces exactly the sequential rows, in the same order,
+   * for every report, including many patients with multiple visits.
+   */
+  @Test
+  public void testParallelMatchesSequential() {
+    for (int i = 0; i < 200; i++) {
+      Patient patient = new Patient(1, "Parallel" + i, "Reporter", "3/3/1990");
+      clinic.addPatient(patient);
+      patient.addVisitRecord(LocalDateTime.now().minusDays(i * 7L), "Checkup", 37.0);
+      if (i % 2 == 0) {
+        patient.addVisitRecord(LocalDateTime.now().minusDays(i * 7L + 1), "Follow-up", 37.0);
+      }
+      if (i % 3 == 0) {
+        physician.getAssignedPatients().add(patient);
+      }
+    }
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      ReportEngine parallel = new ReportEngine(clinic, pool);
+      assertTrue(parallel.isParallel());
+      for (ReportEngine.ReportType type : ReportEngine.ReportType.values()) {
+        List<String> expected = engine.rows(type)
+            .map(row -> Arrays.toString(row.getValues())).collect(Collectors.toList());
+        List<String> actual = parallel.rows(type)
+            .map(row -> Arrays.toString(row.getValues())).collect(Collectors.toList());
+        assertEquals(type.getTitle(), expected, actual);
+      }
+      assertEquals(27, parallel.rows(ReportEngine.ReportType.MULTIPLE_VISITS).count());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Tests that the CSV writer emits a header and quotes values containing commas.
+   */
+  @Test
+  public void testCsvWriter() throws IOException {
+    StringBuilder out = new StringBuilder();
+    ReportEngine.ReportType type = ReportEngine.ReportType.STAFF_PATIENT_COUNTS;
+    new CsvReportWriter().write(type.getColumns(), engine.rows(type), out);
+    String[] lines = out.toString().split("\n");
+    assertEquals("Name,Serial Number,Unique Patients Assigned,Active Caseload,"
+        + "Open Visits,Status", lines[0]);
+    assertEquals("Report Doctor," + physician.getSerialNumber() + ",2,2,1,Active", lines[1]);
+  }
+
+  /**
+   * Tests that the JSON writer emits one object per row keyed by column name.
+   */
+  @Test
+  public void testJsonWriter() throws IOException {
+    StringBuilder out = new StringBuilder();
+    ReportEngine.ReportType type = ReportEngine.ReportType.INACTIVE_PATIENTS;
+    new JsonReportWriter().write(type.getColumns(), engine.rows(type), out);
+    String json = out.toString();
+    assertTrue(json.startsWith("{\"Patient Serial Number\":" + stalePatient.getSerialNumber()));
+    assertTrue(json.contains("\"Name\":\"Stale Reporter\""));
+    assertTrue(json.endsWith("}\n"));
+  }
+}
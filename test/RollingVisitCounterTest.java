@@ -0,0 +1,114 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import clinicmanagement.Patient;
+import clinicmanagement.RollingVisitCounter;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link RollingVisitCounter}.
+ */
+public class RollingVisitCounterTest {
+  private MutableClock clock;
+  private Patient patient;
+
+  @Before
+  public void setUp() {
+    clock = new MutableClock(LocalDate.of(2024, 6, 1));
+    patient = new Patient(1, "Rolling", "Counter", "1/1/1980");
+  }
+
+  /**
+   * Tests that visits inside the window are counted and older ones are ignored.
+   */
+  @Test
+  public void testCountsOnlyVisitsInsideWindow() {
+    RollingVisitCounter counter = new RollingVisitCounter(90, clock);
+    counter.recordVisit(patient, LocalDate.of(2024, 5, 20));
+    counter.recordVisit(patient, LocalDate.of(2024, 3, 10));
+    counter.recordVisit(patient, LocalDate.of(2023, 1, 1));
+    assertEquals(2, counter.getCount(patient));
+  }
+
+  /**
+   * Tests that the daily sweep ages visits out of the window as the clock advances.
+   */
+  @Test
+  public void testSweepAgesOutVisits() {
+    RollingVisitCounter counter = new RollingVisitCounter(30, clock);
+    counter.recordVisit(patient, LocalDate.of(2024, 5, 5));
+    counter.recordVisit(patient, LocalDate.of(2024, 5, 25));
+    assertEquals(2, counter.getCount(patient));
+
+    clock.setDate(LocalDate.of(2024, 6, 10));
+    assertEquals(1, counter.getCount(patient));
+
+    clock.setDate(LocalDate.of(2024, 7, 1));
+    assertEquals(0, counter.getCount(patient));
+    assertTrue(counter.patientsWithAtLeast(1).isEmpty());
+  }
+
+  /**
+   * Tests filtering patients by a visit threshold.
+   */
+  @Test
+  public void testPatientsWithAtLeast() {
+    Patient other = new Patient(1, "Other", "Counter", "2/2/1982");
+    RollingVisitCounter counter = new RollingVisitCounter(365, clock);
+    counter.recordVisit(patient, LocalDate.of(2024, 1, 1));
+    counter.recordVisit(patient, LocalDate.of(2024, 2, 1));
+    counter.recordVisit(patient, LocalDate.of(2024, 3, 1));
+    counter.recordVisit(other, LocalDate.of(2024, 4, 1));
+
+    List<Patient> frequent = counter.patientsWithAtLeast(3);
+    assertEquals(1, frequent.size());
+    assertEquals(patient, frequent.get(0));
+    assertEquals(2, counter.patientsWithAtLeast(1).size());
+  }
+
+  /**
+   * Tests that a non-positive window is rejected.
+   */
+  @Test
+  public void testInvalidWindow() {
+    assertThrows(IllegalArgumentException.class, () -> new RollingVisitCounter(0, clock));
+  }
+
+  /**
+   * A clock whose date can be moved forward by the test.
+   */
+  private static class MutableClock extends Clock {
+    private Instant instant;
+
+    MutableClock(LocalDate date) {
+      setDate(date);
+    }
+
+    void setDate(LocalDate date) {
+      instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
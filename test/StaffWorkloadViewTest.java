@@ -0,0 +1,145 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import clinicmanagement.Clinic;
+import clinicmanagement.ClinicalStaff;
+import clinicmanagement.Patient;
+import clinicmanagement.Staff;
+import clinicmanagement.StaffTableModel;
+import clinicmanagement.StaffWorkloadView;
+import java.time.LocalDateTime;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link StaffWorkloadView}.
+ */
+public class StaffWorkloadViewTest {
+  private Clinic clinic;
+  private ClinicalStaff nurse;
+  private Patient first;
+  private Patient second;
+
+  @Before
+  public void setUp() {
+    clinic = new Clinic();
+    first = new Patient(1, "Workload", "First", "4/4/1970");
+    second = new Patient(1, "Workload", "Second", "5/5/1970");
+    clinic.addPatient(first);
+    clinic.addPatient(second);
+    first.addVisitRecord(LocalDateTime.now().minusDays(2), "Headache", 37.1);
+
+    nurse = new ClinicalStaff("Nurse", "Work", "Load",
+        Staff.EducationLevel.MASTERS, "5554443332");
+    nurse.getAssignedPatients().add(first);
+    nurse.getAssignedPatients().add(second);
+    nurse.assignPatientforCount(first);
+    nurse.assignPatientforCount(second);
+    first.assignClinicalStaff(nurse);
+    second.assignClinicalStaff(nurse);
+    clinic.addStaff(nurse);
+  }
+
+  /**
+   * Tests that the view reports the staff member's counts.
+   */
+  @Test
+  public void testCounts() {
+    StaffWorkloadView view = clinic.getStaffWorkloadView();
+    assertEquals(1, view.size());
+    assertSame(nurse, view.getStaff(0));
+    assertEquals(2, view.getActiveCaseload(0));
+    assertEquals(2, view.getLifetimeUniquePatients(0));
+    assertEquals(1, view.getOpenVisits(0));
+    assertFalse(view.isDeactivated(0));
+  }
+
+  /**
+   * Tests that unassignment and discharge shrink the caseload but not the lifetime count.
+   */
+  @Test
+  public void testUnassignAndDischarge() {
+    clinic.unassignClinicalStaffFromPatient(second, nurse);
+    StaffWorkloadView view = clinic.getStaffWorkloadView();
+    assertEquals(1, view.getActiveCaseload(0));
+
+    clinic.sendPatientHome(first, nurse);
+    view = clinic.getStaffWorkloadView();
+    assertEquals(0, view.getActiveCaseload(0));
+    assertEquals(0, view.getOpenVisits(0));
+    assertEquals(2, view.getLifetimeUniquePatients(0));
+  }
+
+  /**
+   * Tests that a view already handed out follows new visits, assignments and
+   * discharges without being fetched again.
+   */
+  @Test
+  public void testOpenVisitsPushedToView() {
+    StaffWorkloadView view = clinic.getStaffWorkloadView();
+    assertEquals(1, view.getOpenVisits(0));
+
+    second.addVisitRecord(LocalDateTime.now().minusDays(1), "Cough", 37.4);
+    assertEquals(2, view.getOpenVisits(0));
+
+    clinic.sendPatientHome(first, nurse);
+    assertEquals(1, view.getOpenVisits(0));
+    assertEquals(1, view.getActiveCaseload(0));
+  }
+
+  /**
+   * Tests that deactivating a staff member is reflected in the view.
+   */
+  @Test
+  public void testDeactivation() {
+    clinic.deactivateClinicalStaff(nurse);
+    StaffWorkloadView view = clinic.getStaffWorkloadView();
+    assertTrue(view.isDeactivated(0));
+    assertEquals(0, view.getOpenVisits(0));
+  }
+
+  /**
+   * Tests that the staff table models read their cells from the workload view.
+   */
+  @Test
+  public void testTableModels() {
+    StaffTableModel workload = StaffTableModel.workload(clinic);
+    assertEquals(1, workload.getRowCount());
+    assertEquals(6, workload.getColumnCount());
+    assertEquals("Active Caseload", workload.getColumnName(3));
+    assertEquals(2, workload.getValueAt(0, 3));
+
+    clinic.unassignClinicalStaffFromPatient(second, nurse);
+    assertEquals(1, workload.getValueAt(0, 3));
+
+    StaffTableModel directory = StaffTableModel.directory(clinic);
+    assertEquals(1, directory.getRowCount());
+    clinic.deactivateClinicalStaff(nurse);
+    assertEquals(0, directory.getRowCount());
+    assertEquals("Inactive", workload.getValueAt(0, 5));
+  }
+
+  /**
+   * Tests that the view follows a caseload changed directly on the staff
+   * member after registration, and that registering twice adds one slot.
+   */
+  @Test
+  public void testCountsReadAfterRegistration() {
+    StaffWorkloadView view = new StaffWorkloadView();
+    ClinicalStaff physician = new ClinicalStaff("Physician", "New", "Hire",
+        Staff.EducationLevel.DOCTORAL, "9998887776");
+    view.register(physician);
+    view.register(physician);
+    assertEquals(1, view.size());
+    assertEquals(0, view.getActiveCaseload(0));
+    physician.getAssignedPatients().add(first);
+    physician.assignPatientforCount(first);
+    physician.assignPatientforCount(first);
+    assertEquals(1, view.getActiveCaseload(0));
+    assertEquals(1, view.getLifetimeUniquePatients(0));
+    view.clear();
+    assertEquals(0, view.size());
+  }
+}
@@ -0,0 +1,88 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import clinicmanagement.Clinic;
+import clinicmanagement.ClinicalStaff;
+import clinicmanagement.ColumnarVisitStore;
+import clinicmanagement.Patient;
+import clinicmanagement.Staff;
+import clinicmanagement.StringDictionary;
+import clinicmanagement.Visitrecord;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Test class for {@link StringDictionary} and the clinic's interning through it.
+ */
+public class StringDictionaryTest {
+  private static final LocalDateTime VISIT = LocalDateTime.of(2024, 2, 1, 9, 30);
+
+  /**
+   * Tests that ids are dense, stable and shared by equal strings.
+   */
+  @Test
+  public void testIds() {
+    StringDictionary strings = new StringDictionary();
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, strings.id("value" + i));
+    }
+    assertEquals(7, strings.id(new String("value7")));
+    assertEquals(100, strings.size());
+    assertEquals("value42", strings.get(42));
+    assertEquals(StringDictionary.NO_ID, strings.idOf("missing"));
+    assertEquals(100, strings.size());
+
+    String first = strings.intern(new String("Smith"));
+    assertSame(first, strings.intern(new String("Smith")));
+    assertNull(strings.intern(null));
+    assertThrows(IllegalArgumentException.class, () -> strings.id(null));
+    assertThrows(IndexOutOfBoundsException.class, () -> strings.get(101));
+  }
+
+  /**
+   * Tests that a clinic interns patient and staff names and chief
+   * complaints, and filters visits by complaint id.
+   */
+  @Test
+  public void testClinicInterning() {
+    Clinic clinic = new Clinic();
+    Patient anna = new Patient(1, "Anna", new String("Smith"), "1/1/1980");
+    Patient ben = new Patient(1, "Ben", new String("Smith"), "2/2/1981");
+    anna.addVisitRecord(VISIT.minusDays(1), new String("Fever"), 38.2);
+    clinic.addPatient(anna);
+    clinic.addPatient(ben);
+    ClinicalStaff doctor = new ClinicalStaff("Physician", "Carl", new String("Smith"),
+        Staff.EducationLevel.DOCTORAL, "1231231234");
+    clinic.addStaff(doctor);
+
+    assertSame(anna.getLastName(), ben.getLastName());
+    assertSame(anna.getLastName(), doctor.getLastName());
+
+    ben.addVisitRecord(VISIT, new String("Fever"), 38.9);
+    ben.addVisitRecord(VISIT.plusDays(1), "Cough", 37.2);
+    Visitrecord annaFever = anna.getVisitRecords().get(0);
+    Visitrecord benFever = ben.getVisitRecords().get(0);
+    StringDictionary strings = clinic.getStringDictionary();
+    assertEquals(strings.idOf("Fever"), annaFever.getComplaintId());
+    assertEquals(annaFever.getComplaintId(), benFever.getComplaintId());
+    assertSame(annaFever.getChiefComplaint(), benFever.getChiefComplaint());
+    assertEquals(1, ben.countVisitsWithComplaint(strings.idOf("Cough")));
+    assertEquals(StringDictionary.NO_ID,
+        new Visitrecord(VISIT, "Fever", 37.0).getComplaintId());
+
+    List<Patient> fever = clinic.findPatientsWithComplaint("Fever");
+    assertEquals(2, fever.size());
+    assertEquals(1, clinic.findPatientsWithComplaint("Cough").size());
+    assertTrue(clinic.findPatientsWithComplaint("Headache").isEmpty());
+
+    ColumnarVisitStore archive = new ColumnarVisitStore(strings, 4);
+    archive.addAll(ben);
+    assertEquals(benFever.getComplaintId(), archive.getComplaintId(0));
+    assertEquals(benFever.getComplaintId(),
+        archive.getVisitRecords(ben.getSerialNumber()).get(0).getComplaintId());
+  }
+}
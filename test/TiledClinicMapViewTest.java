@@ -0,0 +1,123 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import clinicmanagement.Clinic;
+import clinicmanagement.ClinicMap;
+import clinicmanagement.ClinicalStaff;
+import clinicmanagement.Patient;
+import clinicmanagement.Room;
+import clinicmanagement.Staff;
+import clinicmanagement.TileCache;
+import clinicmanagement.TiledClinicMapView;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link TiledClinicMapView} and {@link TileCache}.
+ */
+public class TiledClinicMapViewTest {
+  private static final int TILE = TiledClinicMapView.TILE_SIZE;
+  private Clinic clinic;
+  private TiledClinicMapView view;
+  private Patient patient;
+
+  @Before
+  public void setUp() {
+    clinic = new Clinic();
+    clinic.setName("Tiled Clinic");
+    clinic.addRoom(new Room("0 0 10 10 waiting Lobby", 1));
+    clinic.addRoom(new Room("10 0 20 10 exam Exam", 2));
+    patient = new Patient(1, "Tina", "Tiles", "3/3/1993");
+    clinic.addPatient(patient);
+    clinic.getRooms().get(1).getAssignedPatients().add(patient);
+    view = new TiledClinicMapView(clinic, 8);
+    clinic.addRoomListener(view);
+  }
+
+  /**
+   * Tests that tiles at the fitted zoom level match the fitted map image.
+   */
+  @Test
+  public void testTilesMatchFittedMap() {
+    BufferedImage map = ClinicMap.createClinicMap(clinic);
+    for (int row = 0; row * TILE < map.getHeight(); row++) {
+      for (int column = 0; column * TILE < map.getWidth(); column++) {
+        BufferedImage tile = view.getTile(column, row);
+        int width = Math.min(TILE, map.getWidth() - column * TILE);
+        int height = Math.min(TILE, map.getHeight() - row * TILE);
+        for (int y = 0; y < height; y++) {
+          for (int x = 0; x < width; x++) {
+            assertEquals(map.getRGB(column * TILE + x, row * TILE + y), tile.getRGB(x, y));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests that zooming scales the map and hit-testing follows the zoom.
+   */
+  @Test
+  public void testZoom() {
+    assertEquals(new Dimension(1200, 800), view.getPreferredSize());
+    view.setZoom(3);
+    assertEquals(new Dimension(9600, 6400), view.getPreferredSize());
+    assertSame(clinic.getRooms().get(1), view.getRoomAt(7200, 3200));
+    assertNull(view.getRoomAt(10, 10));
+    view.zoomOut();
+    assertEquals(2, view.getZoom());
+    assertThrows(IllegalArgumentException.class,
+        () -> view.setZoom(TiledClinicMapView.MAX_ZOOM + 1));
+  }
+
+  /**
+   * Tests that tiles are cached and only the tiles under a changed room are
+   * drawn again.
+   */
+  @Test
+  public void testInvalidation() {
+    view.setZoom(1);
+    BufferedImage lobbyTile = view.getTile(1, 3);
+    BufferedImage examTile = view.getTile(6, 3);
+    assertSame(examTile, view.getTile(6, 3));
+    assertEquals(2, view.getTilesRendered());
+
+    ClinicalStaff physician = new ClinicalStaff("Physician", "Tile", "Doctor",
+        Staff.EducationLevel.DOCTORAL, "4564564567");
+    clinic.addStaff(physician);
+    clinic.sendPatientHome(patient, physician);
+    assertSame(lobbyTile, view.getTile(1, 3));
+    assertNotNull(view.getTile(6, 3));
+    assertEquals(3, view.getTilesRendered());
+
+    clinic.addRoom(new Room("20 0 30 10 exam Annex", 3));
+    view.getTile(1, 3);
+    assertEquals(4, view.getTilesRendered());
+  }
+
+  /**
+   * Tests that the cache evicts the least recently used tile.
+   */
+  @Test
+  public void testLeastRecentlyUsedEviction() {
+    TileCache cache = new TileCache(2);
+    BufferedImage a = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+    BufferedImage b = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+    BufferedImage c = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+    cache.put(0, 0, 0, a);
+    cache.put(1, 0, 0, b);
+    assertSame(a, cache.get(0, 0, 0));
+    cache.put(0, 5, 7, c);
+    assertEquals(2, cache.size());
+    assertNull(cache.get(1, 0, 0));
+    assertSame(a, cache.get(0, 0, 0));
+    cache.invalidate(0, 4, 6, 9, 9);
+    assertNull(cache.get(0, 5, 7));
+    assertSame(a, cache.get(0, 0, 0));
+  }
+}